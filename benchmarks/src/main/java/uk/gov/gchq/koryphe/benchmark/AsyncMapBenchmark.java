@@ -0,0 +1,116 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.koryphe.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import uk.gov.gchq.koryphe.impl.function.MultiplyBy;
+import uk.gov.gchq.koryphe.util.IterableUtil;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * Measures the per item cost of {@link IterableUtil#mapAsync} against
+ * {@link IterableUtil#map}, for a function that blocks for 100 microseconds
+ * per item (standing in for a remote lookup) and for a cheap CPU bound function
+ * where the async overhead dominates.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AsyncMapBenchmark {
+    public static final int SIZE = 1000;
+    private static final long BLOCK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    @Param({"16", "64"})
+    private int maxInFlight;
+
+    private final List<Function> blocking = Collections.singletonList(new Block());
+    private final List<Function> multiplyBy = Collections.singletonList(new MultiplyBy(2));
+    private List<Integer> items;
+
+    @Setup
+    public void setup() {
+        items = new ArrayList<>(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            items.add(i);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void blockingMap(final Blackhole blackhole) {
+        consume(IterableUtil.map(items, blocking), blackhole);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void blockingMapAsync(final Blackhole blackhole) {
+        consume(IterableUtil.mapAsync(items, blocking, null, maxInFlight, false), blackhole);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void blockingMapAsyncCompletionOrder(final Blackhole blackhole) {
+        consume(IterableUtil.mapAsync(items, blocking, null, maxInFlight, true), blackhole);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void cheapMap(final Blackhole blackhole) {
+        consume(IterableUtil.map(items, multiplyBy), blackhole);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void cheapMapAsync(final Blackhole blackhole) {
+        consume(IterableUtil.mapAsync(items, multiplyBy, null, maxInFlight, false), blackhole);
+    }
+
+    private static void consume(final Iterable<?> iterable, final Blackhole blackhole) {
+        for (final Object item : iterable) {
+            blackhole.consume(item);
+        }
+    }
+
+    private static final class Block implements Function<Integer, Integer> {
+        @Override
+        public Integer apply(final Integer value) {
+            LockSupport.parkNanos(BLOCK_NANOS);
+            return value;
+        }
+    }
+}
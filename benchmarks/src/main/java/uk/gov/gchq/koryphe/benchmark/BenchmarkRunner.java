@@ -0,0 +1,70 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.koryphe.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Entry point for the Koryphe benchmarks jar.
+ * <p>
+ * Accepts all of the standard JMH command line options. Unless a result format
+ * or result file is provided, the results are written as JSON to
+ * {@code jmh-result-<version>.json} so runs against different Koryphe versions
+ * can be compared with any JMH result viewer or diff tool.
+ * </p>
+ * <pre>
+ * java -jar benchmarks/target/benchmarks.jar [JMH options] [benchmark regex]
+ * </pre>
+ */
+public final class BenchmarkRunner {
+    public static final String UNKNOWN_VERSION = "unknown";
+
+    private BenchmarkRunner() {
+        // Private constructor to prevent instantiation.
+    }
+
+    public static void main(final String[] args) throws CommandLineOptionException, IOException, RunnerException {
+        final CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        if (commandLineOptions.shouldHelp()) {
+            commandLineOptions.showHelp();
+            return;
+        }
+
+        final ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLineOptions);
+        if (!commandLineOptions.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if (!commandLineOptions.getResult().hasValue()) {
+            options.result("jmh-result-" + getVersion() + "." + commandLineOptions.getResultFormat().orElse(ResultFormatType.JSON).toString().toLowerCase(Locale.getDefault()));
+        }
+
+        new Runner(options.build()).run();
+    }
+
+    private static String getVersion() {
+        final String version = BenchmarkRunner.class.getPackage().getImplementationVersion();
+        return null != version ? version : UNKNOWN_VERSION;
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.koryphe.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import uk.gov.gchq.koryphe.serialisation.binary.BinaryTupleReader;
+import uk.gov.gchq.koryphe.serialisation.binary.BinaryTupleWriter;
+import uk.gov.gchq.koryphe.tuple.MapTuple;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures writing and reading a stream of {@link MapTuple}s with the
+ * {@link BinaryTupleWriter} and {@link BinaryTupleReader}, compared with Java
+ * serialisation of the tuple values.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BinaryTupleBenchmark {
+    private static final int TUPLES = 1000;
+
+    private MapTuple<String>[] tuples;
+    private ByteBuffer buffer;
+    private byte[] binary;
+    private byte[] java;
+
+    @Setup
+    public void setup() throws IOException {
+        tuples = new MapTuple[TUPLES];
+        for (int i = 0; i < TUPLES; i++) {
+            final Map<String, Object> values = new HashMap<>();
+            values.put("vertex", "vertex" + i);
+            values.put("group", "BasicEntity");
+            values.put("count", (long) i);
+            values.put("score", i / 3.0);
+            tuples[i] = new MapTuple<>(values);
+        }
+        buffer = ByteBuffer.allocate(1024 * 1024);
+        binary = writeBinary().toByteArray();
+        java = writeJava().toByteArray();
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream writeBinary() throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final BinaryTupleWriter writer = new BinaryTupleWriter(bytes)) {
+            for (final MapTuple<String> tuple : tuples) {
+                writer.write(tuple);
+            }
+        }
+        return bytes;
+    }
+
+    @Benchmark
+    public ByteBuffer writeBinaryByteBuffer() throws IOException {
+        buffer.clear();
+        final BinaryTupleWriter writer = new BinaryTupleWriter(buffer);
+        for (final MapTuple<String> tuple : tuples) {
+            writer.write(tuple);
+        }
+        return buffer;
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream writeJava() throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            for (final MapTuple<String> tuple : tuples) {
+                out.writeObject(tuple.getValues());
+            }
+        }
+        return bytes;
+    }
+
+    @Benchmark
+    public long readBinary() throws IOException {
+        long count = 0;
+        final BinaryTupleReader reader = new BinaryTupleReader(ByteBuffer.wrap(binary));
+        while (null != reader.read()) {
+            count++;
+        }
+        return count;
+    }
+
+    @Benchmark
+    public long readBinaryReusingTuple() throws IOException {
+        long count = 0;
+        final MapTuple<String> tuple = new MapTuple<>();
+        final BinaryTupleReader reader = new BinaryTupleReader(ByteBuffer.wrap(binary));
+        while (reader.read(tuple)) {
+            count++;
+        }
+        return count;
+    }
+
+    @Benchmark
+    public long readJava() throws IOException, ClassNotFoundException {
+        long count = 0;
+        try (final ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(java))) {
+            for (int i = 0; i < TUPLES; i++) {
+                if (null != in.readObject()) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+}
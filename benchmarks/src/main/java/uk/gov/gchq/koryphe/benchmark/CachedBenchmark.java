@@ -0,0 +1,117 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.koryphe.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import uk.gov.gchq.koryphe.function.Cached;
+import uk.gov.gchq.koryphe.impl.function.ParseDate;
+import uk.gov.gchq.koryphe.impl.function.StringRegexReplace;
+
+import java.util.Date;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Measures applying expensive functions to inputs that are heavily repeated,
+ * directly and wrapped in {@link Cached}. Every sixteenth input is unique and
+ * the rest are drawn from a small set of popular values.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CachedBenchmark {
+    private static final int INPUTS = 1024;
+    private static final int POPULAR = 64;
+    private static final int UNIQUE_EVERY = 16;
+    private static final int UNIQUE = 1 << 16;
+
+    private Function<String, Date> parseDate;
+    private Function<String, Date> cachedParseDate;
+    private Function<String, String> regexReplace;
+    private Function<String, String> cachedRegexReplace;
+    private String[] dates;
+    private String[] userAgents;
+    private String[] uniqueDates;
+    private String[] uniqueUserAgents;
+    private int unique;
+
+    @Setup
+    public void setup() {
+        parseDate = new ParseDate().format("yyyy-MM-dd HH:mm:ss");
+        cachedParseDate = new Cached<>(parseDate, 1000);
+        regexReplace = new StringRegexReplace("[^A-Za-z]+(\\d+)[.]\\d+", " v$1");
+        cachedRegexReplace = new Cached<>(regexReplace, 1000);
+
+        final Random random = new Random(1);
+        dates = new String[INPUTS];
+        userAgents = new String[INPUTS];
+        for (int i = 0; i < INPUTS; i++) {
+            final int value = random.nextInt(POPULAR);
+            dates[i] = String.format("2020-01-%02d 12:%02d:00", 1 + value % 28, value);
+            userAgents[i] = "Mozilla/5.0 (X11; Linux x86_64) Firefox/" + value + ".0";
+        }
+        uniqueDates = new String[UNIQUE];
+        uniqueUserAgents = new String[UNIQUE];
+        for (int i = 0; i < UNIQUE; i++) {
+            uniqueDates[i] = String.format("2021-%02d-%02d %02d:%02d:%02d", 1 + i % 12, 1 + i % 28, i % 24, i % 60, (i / 60) % 60);
+            uniqueUserAgents[i] = "Mozilla/5.0 (X11; Linux x86_64) Firefox/" + i + "." + i;
+        }
+    }
+
+    @Benchmark
+    public int parseDate() {
+        return apply(parseDate, dates, uniqueDates);
+    }
+
+    @Benchmark
+    public int parseDateCached() {
+        return apply(cachedParseDate, dates, uniqueDates);
+    }
+
+    @Benchmark
+    public int regexReplace() {
+        return apply(regexReplace, userAgents, uniqueUserAgents);
+    }
+
+    @Benchmark
+    public int regexReplaceCached() {
+        return apply(cachedRegexReplace, userAgents, uniqueUserAgents);
+    }
+
+    private <O> int apply(final Function<String, O> function, final String[] inputs, final String[] uniqueInputs) {
+        int hash = 0;
+        for (int i = 0; i < inputs.length; i++) {
+            final String input = 0 == i % UNIQUE_EVERY ? uniqueInputs[unique++ & (UNIQUE - 1)] : inputs[i];
+            hash += function.apply(input).hashCode();
+        }
+        return hash;
+    }
+}
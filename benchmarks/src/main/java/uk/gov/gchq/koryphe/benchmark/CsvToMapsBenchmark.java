@@ -0,0 +1,78 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.koryphe.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import uk.gov.gchq.koryphe.impl.function.CsvLinesToMaps;
+import uk.gov.gchq.koryphe.impl.function.CsvToMaps;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of parsing 1000 CSV rows with {@link CsvLinesToMaps}
+ * and {@link CsvToMaps} and reading one value from each row.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CsvToMapsBenchmark {
+    private CsvLinesToMaps csvLinesToMaps;
+    private CsvToMaps csvToMaps;
+    private List<String> lines;
+    private String csv;
+
+    @Setup
+    public void setup() {
+        csvLinesToMaps = new CsvLinesToMaps().header("id", "name", "count", "score", "flag");
+        csvToMaps = new CsvToMaps().header("id", "name", "count", "score", "flag");
+        lines = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            lines.add(i + ",name" + i + "," + (i * 7) + "," + (i / 3.0) + "," + (0 == i % 2));
+        }
+        csv = String.join("\n", lines);
+    }
+
+    @Benchmark
+    public void csvLinesToMaps(final Blackhole blackhole) {
+        for (final Map<String, Object> row : csvLinesToMaps.apply(lines)) {
+            blackhole.consume(row.get("name"));
+        }
+    }
+
+    @Benchmark
+    public void csvToMaps(final Blackhole blackhole) {
+        for (final Map<String, Object> row : csvToMaps.apply(csv)) {
+            blackhole.consume(row.get("name"));
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.koryphe.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import uk.gov.gchq.koryphe.impl.function.DeserialiseJson;
+import uk.gov.gchq.koryphe.impl.function.DeserialiseJsonStream;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per record cost of parsing a JSON array of records whole with
+ * {@link DeserialiseJson} against streaming it with {@link DeserialiseJsonStream},
+ * with and without a field selection.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DeserialiseJsonStreamBenchmark {
+    public static final int RECORDS = 10000;
+
+    private final DeserialiseJson<List> deserialiseJson = new DeserialiseJson<>(List.class);
+    private final DeserialiseJsonStream<Object> deserialiseJsonStream = new DeserialiseJsonStream<>();
+    private final DeserialiseJsonStream<Object> deserialiseJsonStreamFields = new DeserialiseJsonStream<>().fields("id", "address.city");
+    private String json;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(1);
+        final StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < RECORDS; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append("{\"id\":").append(i)
+                    .append(",\"name\":\"user-").append(random.nextInt(1000))
+                    .append("\",\"address\":{\"city\":\"city-").append(random.nextInt(50))
+                    .append("\",\"street\":\"").append(random.nextInt(100)).append(" High Street\"}")
+                    .append(",\"scores\":[").append(random.nextInt(100)).append(',').append(random.nextInt(100)).append("]}");
+        }
+        json = builder.append(']').toString();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public void deserialiseWhole(final Blackhole blackhole) {
+        for (final Object record : deserialiseJson.apply(json)) {
+            blackhole.consume(record);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public void deserialiseStream(final Blackhole blackhole) {
+        for (final Object record : deserialiseJsonStream.apply(json)) {
+            blackhole.consume(record);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public void deserialiseStreamSelectedFields(final Blackhole blackhole) {
+        for (final Object record : deserialiseJsonStreamFields.apply(json)) {
+            blackhole.consume(record);
+        }
+    }
+}
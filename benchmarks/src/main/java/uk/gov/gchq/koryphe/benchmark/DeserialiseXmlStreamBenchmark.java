@@ -0,0 +1,100 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.koryphe.benchmark;
+
+import org.json.XML;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import uk.gov.gchq.koryphe.impl.function.DeserialiseXml;
+import uk.gov.gchq.koryphe.impl.function.DeserialiseXmlStream;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per record cost of converting an XML feed of records with
+ * org.json, with {@link DeserialiseXml} and by streaming it with
+ * {@link DeserialiseXmlStream}, with and without a field selection.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DeserialiseXmlStreamBenchmark {
+    public static final int RECORDS = 10000;
+
+    private final DeserialiseXml deserialiseXml = new DeserialiseXml();
+    private final DeserialiseXmlStream deserialiseXmlStream = new DeserialiseXmlStream("feed/entry");
+    private final DeserialiseXmlStream deserialiseXmlStreamFields = new DeserialiseXmlStream("feed/entry").fields("id", "address.city");
+    private String xml;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(1);
+        final StringBuilder builder = new StringBuilder("<feed>");
+        for (int i = 0; i < RECORDS; i++) {
+            builder.append("<entry id=\"").append(i)
+                    .append("\"><name>user-").append(random.nextInt(1000))
+                    .append("</name><address><city>city-").append(random.nextInt(50))
+                    .append("</city><street>").append(random.nextInt(100)).append(" High Street</street></address>")
+                    .append("<score>").append(random.nextInt(100)).append("</score>")
+                    .append("<score>").append(random.nextInt(100)).append("</score></entry>");
+        }
+        xml = builder.append("</feed>").toString();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public void deserialiseOrgJson(final Blackhole blackhole) {
+        blackhole.consume(XML.toJSONObject(xml).toMap());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public void deserialiseWhole(final Blackhole blackhole) {
+        blackhole.consume(deserialiseXml.apply(xml));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public void deserialiseStream(final Blackhole blackhole) {
+        for (final Map<String, Object> record : deserialiseXmlStream.apply(xml)) {
+            blackhole.consume(record);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public void deserialiseStreamSelectedFields(final Blackhole blackhole) {
+        for (final Map<String, Object> record : deserialiseXmlStreamFields.apply(xml)) {
+            blackhole.consume(record);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.koryphe.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import uk.gov.gchq.koryphe.dictionary.MappedDictionaryWriter;
+import uk.gov.gchq.koryphe.impl.function.DictionaryLookup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures looking up keys in a million entry {@link DictionaryLookup} held as
+ * a {@link Map} on the heap, compared with the same dictionary held in a
+ * memory-mapped dictionary file, with and without a cache of recently used
+ * entries. A quarter of the keys looked up are not in the dictionary.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Thread)
+public class DictionaryLookupBenchmark {
+    private static final int ENTRIES = 1000000;
+    private static final int KEYS = 1024;
+    private static final int HOT_KEYS = 4096;
+
+    private File file;
+    private DictionaryLookup<String, String> mapLookup;
+    private DictionaryLookup<String, String> fileLookup;
+    private DictionaryLookup<String, String> cachedFileLookup;
+    private String[] keys;
+
+    @Setup
+    public void setup() throws IOException {
+        final Map<String, String> dictionary = new HashMap<>();
+        for (int i = 0; i < ENTRIES; i++) {
+            dictionary.put("key" + i, "value" + i);
+        }
+        file = Files.createTempFile("dictionary", ".bin").toFile();
+        MappedDictionaryWriter.write(dictionary, file);
+        System.setProperty(DictionaryLookup.DICTIONARY_DIRECTORY_KEY, file.getParent());
+
+        mapLookup = new DictionaryLookup<>(dictionary);
+        fileLookup = new DictionaryLookup<>();
+        fileLookup.setDictionaryFile(file.getName());
+        cachedFileLookup = new DictionaryLookup<>();
+        cachedFileLookup.setDictionaryFile(file.getName());
+        cachedFileLookup.setCacheSize(HOT_KEYS);
+
+        final Random random = new Random(1);
+        keys = new String[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = "key" + (random.nextInt(HOT_KEYS) + (0 == i % 4 ? ENTRIES : 0));
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file.toPath());
+    }
+
+    @Benchmark
+    public int lookUpInMap() {
+        return lookUp(mapLookup);
+    }
+
+    @Benchmark
+    public int lookUpInFile() {
+        return lookUp(fileLookup);
+    }
+
+    @Benchmark
+    public int lookUpInCachedFile() {
+        return lookUp(cachedFileLookup);
+    }
+
+    private int lookUp(final DictionaryLookup<String, String> lookup) {
+        int found = 0;
+        for (final String key : keys) {
+            if (null != lookup.apply(key)) {
+                found++;
+            }
+        }
+        return found;
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.koryphe.benchmark;
+
+import org.apache.commons.io.IOUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import uk.gov.gchq.koryphe.impl.function.DecompressLines;
+import uk.gov.gchq.koryphe.impl.function.Gunzip;
+import uk.gov.gchq.koryphe.impl.function.Gzip;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Measures decompressing gzipped text of different sizes with a new
+ * {@link GZIPInputStream} per call, as {@link Gunzip} used to, against the pooled
+ * {@link Gunzip}, and splitting it into lines either after materialising the whole
+ * payload or lazily with {@link DecompressLines}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GunzipBenchmark {
+    @Param({"1000", "1000000"})
+    private int size;
+
+    private final Gunzip gunzip = new Gunzip();
+    private final DecompressLines decompressLines = new DecompressLines();
+    private byte[] compressed;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(1);
+        final StringBuilder text = new StringBuilder(size);
+        while (text.length() < size) {
+            text.append(random.nextInt(1000)).append(",value-").append(random.nextInt(100)).append('\n');
+        }
+        compressed = new Gzip().apply(text.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public byte[] gunzipNewStream() throws IOException {
+        try (final GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return IOUtils.toByteArray(in);
+        }
+    }
+
+    @Benchmark
+    public byte[] gunzipPooled() {
+        return gunzip.apply(compressed);
+    }
+
+    @Benchmark
+    public void linesMaterialised(final Blackhole blackhole) {
+        for (final String line : new String(gunzip.apply(compressed), StandardCharsets.UTF_8).split("\n")) {
+            blackhole.consume(line);
+        }
+    }
+
+    @Benchmark
+    public void linesStreamed(final Blackhole blackhole) {
+        for (final String line : decompressLines.apply(compressed)) {
+            blackhole.consume(line);
+        }
+    }
+}
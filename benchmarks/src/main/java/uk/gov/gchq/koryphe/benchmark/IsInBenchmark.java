@@ -0,0 +1,119 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.koryphe.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import uk.gov.gchq.koryphe.impl.predicate.IsIn;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures testing inputs against a million entry allow-list with
+ * {@link IsIn}, with and without its Bloom filter, compared with the
+ * {@link HashSet} of boxed values it used to be backed by. Most of the inputs
+ * are not in the allow-list.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Thread)
+public class IsInBenchmark {
+    private static final int ALLOWED = 1000000;
+    private static final int INPUTS = 1024;
+    private static final int HIT_EVERY = 10;
+
+    @Param({"long", "string"})
+    public String type;
+
+    private Set<Object> hashSet;
+    private IsIn isIn;
+    private IsIn isInWithBloomFilter;
+    private Object[] inputs;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(1);
+        final List<Object> allowed = new ArrayList<>(ALLOWED);
+        for (int i = 0; i < ALLOWED; i++) {
+            allowed.add(value(i * 2L));
+        }
+        hashSet = new HashSet<>(allowed);
+        isIn = new IsIn(allowed);
+        isInWithBloomFilter = new IsIn(allowed);
+        isInWithBloomFilter.setBloomFilter(true);
+        isInWithBloomFilter.test(value(0L));
+
+        inputs = new Object[INPUTS];
+        for (int i = 0; i < INPUTS; i++) {
+            final long key = random.nextInt(ALLOWED) * 2L;
+            inputs[i] = value(0 == i % HIT_EVERY ? key : key + 1);
+        }
+    }
+
+    private Object value(final long key) {
+        return "long".equals(type) ? (Object) key : "value" + key;
+    }
+
+    @Benchmark
+    public int hashSet() {
+        int passed = 0;
+        for (final Object input : inputs) {
+            if (hashSet.contains(input)) {
+                passed++;
+            }
+        }
+        return passed;
+    }
+
+    @Benchmark
+    public int isIn() {
+        return count(isIn);
+    }
+
+    @Benchmark
+    public int isInWithBloomFilter() {
+        return count(isInWithBloomFilter);
+    }
+
+    private int count(final IsIn predicate) {
+        int passed = 0;
+        for (final Object input : inputs) {
+            if (predicate.test(input)) {
+                passed++;
+            }
+        }
+        return passed;
+    }
+}
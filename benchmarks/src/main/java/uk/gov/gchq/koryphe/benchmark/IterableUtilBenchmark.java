@@ -0,0 +1,98 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.koryphe.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import uk.gov.gchq.koryphe.impl.function.MultiplyBy;
+import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
+import uk.gov.gchq.koryphe.util.IterableUtil;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per item cost of iterating over the lazy iterables returned by
+ * {@link IterableUtil#map}, {@link IterableUtil#filter}, {@link IterableUtil#concat}
+ * and {@link IterableUtil#limit}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IterableUtilBenchmark {
+    public static final int SIZE = 10000;
+
+    private final MultiplyBy multiplyBy = new MultiplyBy(2);
+    private final IsMoreThan isMoreThan = new IsMoreThan(SIZE / 2);
+    private List<Integer> items;
+    private List<List<Integer>> chunks;
+
+    @Setup
+    public void setup() {
+        items = new ArrayList<>(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            items.add(i);
+        }
+        chunks = Arrays.asList(items.subList(0, SIZE / 4), items.subList(SIZE / 4, SIZE / 2),
+                items.subList(SIZE / 2, 3 * SIZE / 4), items.subList(3 * SIZE / 4, SIZE));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void map(final Blackhole blackhole) {
+        consume(IterableUtil.map(items, multiplyBy), blackhole);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void filter(final Blackhole blackhole) {
+        consume(IterableUtil.filter(items, isMoreThan), blackhole);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void concat(final Blackhole blackhole) {
+        consume(IterableUtil.concat(chunks), blackhole);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void limit(final Blackhole blackhole) {
+        consume(IterableUtil.limit(items, 0, SIZE, true), blackhole);
+    }
+
+    private static void consume(final Iterable<?> iterable, final Blackhole blackhole) {
+        for (final Object item : iterable) {
+            blackhole.consume(item);
+        }
+    }
+}
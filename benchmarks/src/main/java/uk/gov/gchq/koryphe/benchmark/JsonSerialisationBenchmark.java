@@ -0,0 +1,164 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.koryphe.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import uk.gov.gchq.koryphe.impl.binaryoperator.Max;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Sum;
+import uk.gov.gchq.koryphe.impl.function.MultiplyBy;
+import uk.gov.gchq.koryphe.impl.function.ToLowerCase;
+import uk.gov.gchq.koryphe.impl.predicate.And;
+import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
+import uk.gov.gchq.koryphe.impl.predicate.Regex;
+import uk.gov.gchq.koryphe.serialisation.binary.BinarySerialiser;
+import uk.gov.gchq.koryphe.serialisation.json.SimpleClassNameCache;
+import uk.gov.gchq.koryphe.serialisation.json.SimpleClassNameIdResolver;
+import uk.gov.gchq.koryphe.tuple.binaryoperator.TupleAdaptedBinaryOperatorComposite;
+import uk.gov.gchq.koryphe.tuple.function.TupleAdaptedFunctionComposite;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures JSON serialisation and deserialisation of typical filter, transform
+ * and aggregation trees using an {@link ObjectMapper} configured with the
+ * {@link SimpleClassNameIdResolver}. The {@code fullClassNames} parameter
+ * switches between full and simple class names in the serialised JSON.
+ * The binary variants measure the same trees using the {@link BinarySerialiser}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerialisationBenchmark {
+    @Param({"true", "false"})
+    public boolean fullClassNames;
+
+    private ObjectMapper mapper;
+    private Object[] components;
+    private String[] json;
+    private BinarySerialiser binarySerialiser;
+    private byte[][] binary;
+
+    @Setup
+    public void setup() throws IOException {
+        SimpleClassNameCache.setUseFullNameForSerialisation(fullClassNames);
+        SimpleClassNameCache.initialise();
+
+        mapper = new ObjectMapper();
+        mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        SimpleClassNameIdResolver.configureObjectMapper(mapper);
+
+        components = new Object[]{
+                new And.Builder<>()
+                        .select(0).execute(new IsMoreThan(1))
+                        .select(1).execute(new Regex("val.*"))
+                        .build(),
+                new TupleAdaptedFunctionComposite.Builder<String>()
+                        .select(new String[]{"a"}).execute(new MultiplyBy(2)).project(new String[]{"b"})
+                        .select(new String[]{"c"}).execute(new ToLowerCase()).project(new String[]{"d"})
+                        .build(),
+                new TupleAdaptedBinaryOperatorComposite.Builder<String>()
+                        .select(new String[]{"a"}).execute(new Sum())
+                        .select(new String[]{"b"}).execute(new Max())
+                        .build()
+        };
+
+        binarySerialiser = new BinarySerialiser(mapper);
+        json = new String[components.length];
+        binary = new byte[components.length][];
+        for (int i = 0; i < components.length; i++) {
+            json[i] = mapper.writeValueAsString(components[i]);
+            binary[i] = binarySerialiser.serialise(components[i]);
+        }
+    }
+
+    @Benchmark
+    public String serialiseAnd() throws JsonProcessingException {
+        return mapper.writeValueAsString(components[0]);
+    }
+
+    @Benchmark
+    public Object deserialiseAnd() throws IOException {
+        return mapper.readValue(json[0], And.class);
+    }
+
+    @Benchmark
+    public String serialiseFunction() throws JsonProcessingException {
+        return mapper.writeValueAsString(components[1]);
+    }
+
+    @Benchmark
+    public Object deserialiseFunction() throws IOException {
+        return mapper.readValue(json[1], TupleAdaptedFunctionComposite.class);
+    }
+
+    @Benchmark
+    public String serialiseBinaryOperator() throws JsonProcessingException {
+        return mapper.writeValueAsString(components[2]);
+    }
+
+    @Benchmark
+    public Object deserialiseBinaryOperator() throws IOException {
+        return mapper.readValue(json[2], TupleAdaptedBinaryOperatorComposite.class);
+    }
+
+    @Benchmark
+    public byte[] serialiseAndBinary() throws IOException {
+        return binarySerialiser.serialise(components[0]);
+    }
+
+    @Benchmark
+    public Object deserialiseAndBinary() throws IOException {
+        return binarySerialiser.deserialise(binary[0], And.class);
+    }
+
+    @Benchmark
+    public byte[] serialiseFunctionBinary() throws IOException {
+        return binarySerialiser.serialise(components[1]);
+    }
+
+    @Benchmark
+    public Object deserialiseFunctionBinary() throws IOException {
+        return binarySerialiser.deserialise(binary[1], TupleAdaptedFunctionComposite.class);
+    }
+
+    @Benchmark
+    public byte[] serialiseBinaryOperatorBinary() throws IOException {
+        return binarySerialiser.serialise(components[2]);
+    }
+
+    @Benchmark
+    public Object deserialiseBinaryOperatorBinary() throws IOException {
+        return binarySerialiser.deserialise(binary[2], TupleAdaptedBinaryOperatorComposite.class);
+    }
+}
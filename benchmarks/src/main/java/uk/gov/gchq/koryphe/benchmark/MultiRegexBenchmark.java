@@ -0,0 +1,69 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.koryphe.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import uk.gov.gchq.koryphe.impl.predicate.MultiRegex;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Measures the cost of a {@link MultiRegex} test against a large set of
+ * patterns, half literal and half not, for each {@link MultiRegex.Engine}.
+ * The input does not match, so every pattern has to be considered.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MultiRegexBenchmark {
+    @Param({"SEQUENTIAL", "AUTOMATON"})
+    public MultiRegex.Engine engine;
+
+    @Param({"200"})
+    public int patternCount;
+
+    private MultiRegex multiRegex;
+
+    @Setup
+    public void setup() {
+        final Pattern[] patterns = new Pattern[patternCount];
+        for (int i = 0; i < patternCount; i++) {
+            patterns[i] = Pattern.compile(0 == i % 2 ? "indicator" + i : "host-" + i + "\\.[a-z]+");
+        }
+        multiRegex = new MultiRegex(patterns);
+        multiRegex.setEngine(engine);
+    }
+
+    @Benchmark
+    public boolean test() {
+        return multiRegex.test("host-unknown.example");
+    }
+}
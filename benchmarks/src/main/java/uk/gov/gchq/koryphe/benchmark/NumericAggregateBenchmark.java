@@ -0,0 +1,168 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.koryphe.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import uk.gov.gchq.koryphe.impl.binaryoperator.DoubleAggregator;
+import uk.gov.gchq.koryphe.impl.binaryoperator.IntAggregator;
+import uk.gov.gchq.koryphe.impl.binaryoperator.LongAggregator;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Max;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Min;
+import uk.gov.gchq.koryphe.impl.binaryoperator.NumericOperation;
+import uk.gov.gchq.koryphe.impl.binaryoperator.OverflowPolicy;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Product;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Sum;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.BinaryOperator;
+
+/**
+ * Measures the per value cost of folding a batch of boxed numbers with the
+ * {@link Sum}, {@link Product}, {@link Max} and {@link Min} binary operators,
+ * compared with folding the same primitive values with an {@link IntAggregator},
+ * {@link LongAggregator} or {@link DoubleAggregator}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NumericAggregateBenchmark {
+    public static final int BATCH_SIZE = 1000;
+
+    @Param({"Integer", "Long", "Double"})
+    public String type;
+
+    private final Sum sum = new Sum();
+    private final Product product = new Product();
+    private final Max max = new Max();
+    private final Min min = new Min();
+    private Number[] values;
+    private Comparable[] comparables;
+    private int[] ints;
+    private long[] longs;
+    private double[] doubles;
+
+    @Setup
+    public void setup() {
+        values = new Number[BATCH_SIZE];
+        comparables = new Comparable[BATCH_SIZE];
+        ints = new int[BATCH_SIZE];
+        longs = new long[BATCH_SIZE];
+        doubles = new double[BATCH_SIZE];
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            // Keep the values small and alternating so products do not diverge
+            final int value = 0 == i % 2 ? 1 : -1;
+            switch (type) {
+                case "Integer":
+                    values[i] = value;
+                    break;
+                case "Long":
+                    values[i] = (long) value;
+                    break;
+                case "Double":
+                    values[i] = (double) value;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown type: " + type);
+            }
+            comparables[i] = (Comparable) values[i];
+            ints[i] = value;
+            longs[i] = value;
+            doubles[i] = value;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public Number sum() {
+        return fold(sum, values);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public Number product() {
+        return fold(product, values);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public Comparable max() {
+        return fold(max, comparables);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public Comparable min() {
+        return fold(min, comparables);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public Number primitiveSum() {
+        return foldPrimitives(NumericOperation.SUM);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public Number primitiveMax() {
+        return foldPrimitives(NumericOperation.MAX);
+    }
+
+    private Number foldPrimitives(final NumericOperation operation) {
+        switch (type) {
+            case "Integer":
+                final IntAggregator intAggregator = new IntAggregator(operation, OverflowPolicy.WIDEN);
+                for (final int value : ints) {
+                    intAggregator.accept(value);
+                }
+                return intAggregator.getResult();
+            case "Long":
+                final LongAggregator longAggregator = new LongAggregator(operation, OverflowPolicy.WIDEN);
+                for (final long value : longs) {
+                    longAggregator.accept(value);
+                }
+                return longAggregator.getResult();
+            default:
+                final DoubleAggregator doubleAggregator = new DoubleAggregator(operation, OverflowPolicy.WIDEN);
+                for (final double value : doubles) {
+                    doubleAggregator.accept(value);
+                }
+                return doubleAggregator.getResult();
+        }
+    }
+
+    private static <T> T fold(final BinaryOperator<T> operator, final T[] items) {
+        T state = null;
+        for (final T item : items) {
+            state = operator.apply(state, item);
+        }
+        return state;
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.koryphe.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import uk.gov.gchq.koryphe.compiler.ComponentCompiler;
+import uk.gov.gchq.koryphe.impl.predicate.And;
+import uk.gov.gchq.koryphe.impl.predicate.IsEqual;
+import uk.gov.gchq.koryphe.impl.predicate.IsLessThan;
+import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
+import uk.gov.gchq.koryphe.impl.predicate.Or;
+import uk.gov.gchq.koryphe.impl.predicate.Regex;
+import uk.gov.gchq.koryphe.tuple.ArrayTuple;
+import uk.gov.gchq.koryphe.tuple.predicate.TupleAdaptedPredicateComposite;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Measures the per record cost of {@link And}, {@link Or} and
+ * {@link TupleAdaptedPredicateComposite} filters over {@link ArrayTuple}s.
+ * The {@code value} parameter controls whether the filters pass or fail,
+ * which changes how many of the components are evaluated. The compiled
+ * benchmarks run the same filters compiled with {@link ComponentCompiler}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PredicateCompositeBenchmark {
+    @Param({"5", "50"})
+    public int value;
+
+    private And<ArrayTuple> and;
+    private Or<ArrayTuple> or;
+    private TupleAdaptedPredicateComposite<Integer> composite;
+    private Predicate<ArrayTuple> compiledAnd;
+    private Predicate<ArrayTuple> compiledOr;
+    private Predicate<ArrayTuple> compiledComposite;
+    private ArrayTuple tuple;
+
+    @Setup
+    public void setup() {
+        and = new And.Builder<ArrayTuple>()
+                .select(0).execute(new IsMoreThan(1))
+                .select(0).execute(new IsLessThan(10))
+                .select(1).execute(new Regex("val.*"))
+                .build();
+
+        or = new Or.Builder<ArrayTuple>()
+                .select(0).execute(new IsEqual(50))
+                .select(0).execute(new IsMoreThan(100))
+                .select(1).execute(new Regex("other.*"))
+                .build();
+
+        composite = new TupleAdaptedPredicateComposite.Builder<Integer>()
+                .select(new Integer[]{0}).execute(new IsMoreThan(1))
+                .select(new Integer[]{0}).execute(new IsLessThan(10))
+                .select(new Integer[]{1}).execute(new Regex("val.*"))
+                .build();
+
+        compiledAnd = ComponentCompiler.compile(and);
+        compiledOr = ComponentCompiler.compile(or);
+        compiledComposite = (Predicate) ComponentCompiler.compile(composite);
+
+        tuple = new ArrayTuple(value, "value");
+    }
+
+    @Benchmark
+    public boolean and() {
+        return and.test(tuple);
+    }
+
+    @Benchmark
+    public boolean or() {
+        return or.test(tuple);
+    }
+
+    @Benchmark
+    public boolean tupleAdaptedPredicateComposite() {
+        return composite.test(tuple);
+    }
+
+    @Benchmark
+    public boolean compiledAnd() {
+        return compiledAnd.test(tuple);
+    }
+
+    @Benchmark
+    public boolean compiledOr() {
+        return compiledOr.test(tuple);
+    }
+
+    @Benchmark
+    public boolean compiledTupleAdaptedPredicateComposite() {
+        return compiledComposite.test(tuple);
+    }
+}
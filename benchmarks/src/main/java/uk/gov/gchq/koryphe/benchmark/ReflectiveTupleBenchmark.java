@@ -0,0 +1,125 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.koryphe.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import uk.gov.gchq.koryphe.tuple.CompiledReflectiveTuple;
+import uk.gov.gchq.koryphe.tuple.ReflectiveTuple;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link ReflectiveTuple} get and put calls for fields, getters,
+ * setters and nested references. The {@code compiled} parameter switches to
+ * the {@link CompiledReflectiveTuple}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ReflectiveTupleBenchmark {
+    @Param({"false", "true"})
+    public boolean compiled;
+
+    private ReflectiveTuple tuple;
+
+    @Setup
+    public void setup() {
+        final Record record = new Record();
+        tuple = compiled ? new CompiledReflectiveTuple(record) : new ReflectiveTuple(record);
+    }
+
+    @Benchmark
+    public Object getField() {
+        return tuple.get("field");
+    }
+
+    @Benchmark
+    public Object getGetter() {
+        return tuple.get("property");
+    }
+
+    @Benchmark
+    public Object getIsGetter() {
+        return tuple.get("flag");
+    }
+
+    @Benchmark
+    public Object getNested() {
+        return tuple.get("nested.nested.property");
+    }
+
+    @Benchmark
+    public void putField() {
+        tuple.put("field", "value");
+    }
+
+    @Benchmark
+    public void putSetter() {
+        tuple.put("property", "value");
+    }
+
+    @Benchmark
+    public void putNested() {
+        tuple.put("nested.nested.property", "value");
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Object getGetterContended() {
+        return tuple.get("property");
+    }
+
+    public static class Record {
+        public String field = "field";
+        private String property = "property";
+        private boolean flag = true;
+        private Record nested;
+
+        public String getProperty() {
+            return property;
+        }
+
+        public void setProperty(final String property) {
+            this.property = property;
+        }
+
+        public boolean isFlag() {
+            return flag;
+        }
+
+        public Record getNested() {
+            if (null == nested) {
+                nested = new Record();
+            }
+            return nested;
+        }
+    }
+}
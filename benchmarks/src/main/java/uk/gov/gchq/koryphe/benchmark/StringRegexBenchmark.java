@@ -0,0 +1,79 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.koryphe.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import uk.gov.gchq.koryphe.impl.function.StringRegexReplace;
+import uk.gov.gchq.koryphe.impl.function.StringRegexSplit;
+import uk.gov.gchq.koryphe.impl.predicate.Regex;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per record cost of {@link StringRegexSplit},
+ * {@link StringRegexReplace} and {@link Regex}. The {@code regex} parameter
+ * switches between a literal expression and one that needs the regex engine.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StringRegexBenchmark {
+    @Param({",", "[,;]"})
+    public String regex;
+
+    private StringRegexSplit split;
+    private StringRegexReplace replace;
+    private Regex matches;
+    private String input;
+
+    @Setup
+    public void setup() {
+        split = new StringRegexSplit(regex);
+        replace = new StringRegexReplace(regex, "|");
+        matches = new Regex(regex);
+        input = "first,second,third,fourth,fifth,sixth";
+    }
+
+    @Benchmark
+    public List<String> split() {
+        return split.apply(input);
+    }
+
+    @Benchmark
+    public String replace() {
+        return replace.apply(input);
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return matches.test(input);
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.koryphe.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import uk.gov.gchq.koryphe.impl.binaryoperator.Max;
+import uk.gov.gchq.koryphe.impl.binaryoperator.StringConcat;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Sum;
+import uk.gov.gchq.koryphe.tuple.ArrayTuple;
+import uk.gov.gchq.koryphe.tuple.Tuple;
+import uk.gov.gchq.koryphe.tuple.binaryoperator.TupleAdaptedBinaryOperatorComposite;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per record cost of aggregating {@link ArrayTuple}s with a
+ * {@link TupleAdaptedBinaryOperatorComposite}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TupleAdaptedBinaryOperatorCompositeBenchmark {
+    private TupleAdaptedBinaryOperatorComposite<Integer> operator;
+    private ArrayTuple state;
+    private ArrayTuple input;
+
+    @Setup
+    public void setup() {
+        operator = new TupleAdaptedBinaryOperatorComposite.Builder<Integer>()
+                .select(new Integer[]{0}).execute(new Sum())
+                .select(new Integer[]{1}).execute(new Max())
+                .select(new Integer[]{2}).execute(new StringConcat())
+                .build();
+        state = new ArrayTuple(1L, 5, "a");
+        input = new ArrayTuple(2L, 3, "b");
+    }
+
+    @Benchmark
+    public Tuple<Integer> aggregate() {
+        // Use a fresh state each time so the concatenated string does not grow
+        final ArrayTuple newState = new ArrayTuple(state.get(0), state.get(1), state.get(2));
+        return operator.apply(newState, input);
+    }
+}
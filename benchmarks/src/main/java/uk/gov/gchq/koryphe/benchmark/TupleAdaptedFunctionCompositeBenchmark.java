@@ -0,0 +1,124 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.koryphe.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import uk.gov.gchq.koryphe.compiler.ComponentCompiler;
+import uk.gov.gchq.koryphe.impl.function.Concat;
+import uk.gov.gchq.koryphe.impl.function.MultiplyBy;
+import uk.gov.gchq.koryphe.impl.function.StringAppend;
+import uk.gov.gchq.koryphe.impl.function.ToLowerCase;
+import uk.gov.gchq.koryphe.tuple.ArrayTuple;
+import uk.gov.gchq.koryphe.tuple.MapTuple;
+import uk.gov.gchq.koryphe.tuple.Tuple;
+import uk.gov.gchq.koryphe.tuple.function.TupleAdaptedFunction;
+import uk.gov.gchq.koryphe.tuple.function.TupleAdaptedFunctionComposite;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Measures the per record cost of applying a {@link TupleAdaptedFunctionComposite}
+ * to {@link ArrayTuple}s and {@link MapTuple}s, covering both single field and
+ * multi field selections. The {@code compiledPlans} parameter sets
+ * {@link TupleAdaptedFunction#setUseCompiledPlans(boolean)} on each component. The compiled
+ * benchmarks apply the same functions compiled with {@link ComponentCompiler}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TupleAdaptedFunctionCompositeBenchmark {
+    @Param({"false", "true"})
+    public boolean compiledPlans;
+
+    private TupleAdaptedFunctionComposite<Integer> arrayTupleFunction;
+    private TupleAdaptedFunctionComposite<String> mapTupleFunction;
+    private Function<ArrayTuple, Tuple<Integer>> compiledArrayTupleFunction;
+    private Function<MapTuple<String>, Tuple<String>> compiledMapTupleFunction;
+    private ArrayTuple arrayTuple;
+    private MapTuple<String> mapTuple;
+
+    @Setup
+    public void setup() {
+        arrayTupleFunction = new TupleAdaptedFunctionComposite.Builder<Integer>()
+                .select(new Integer[]{0}).execute(new MultiplyBy(2)).project(new Integer[]{3})
+                .select(new Integer[]{1}).execute(new ToLowerCase()).project(new Integer[]{4})
+                .select(new Integer[]{4}).execute(new StringAppend("-suffix")).project(new Integer[]{4})
+                .select(new Integer[]{1, 2}).execute(new Concat(",")).project(new Integer[]{5})
+                .build();
+
+        mapTupleFunction = new TupleAdaptedFunctionComposite.Builder<String>()
+                .select(new String[]{"a"}).execute(new MultiplyBy(2)).project(new String[]{"d"})
+                .select(new String[]{"b"}).execute(new ToLowerCase()).project(new String[]{"e"})
+                .select(new String[]{"e"}).execute(new StringAppend("-suffix")).project(new String[]{"e"})
+                .select(new String[]{"b", "c"}).execute(new Concat(",")).project(new String[]{"f"})
+                .build();
+
+        for (final TupleAdaptedFunction<Integer, ?, ?> component : arrayTupleFunction.getComponents()) {
+            component.setUseCompiledPlans(compiledPlans);
+        }
+        for (final TupleAdaptedFunction<String, ?, ?> component : mapTupleFunction.getComponents()) {
+            component.setUseCompiledPlans(compiledPlans);
+        }
+
+        compiledArrayTupleFunction = (Function) ComponentCompiler.compile(arrayTupleFunction);
+        compiledMapTupleFunction = (Function) ComponentCompiler.compile(mapTupleFunction);
+
+        arrayTuple = new ArrayTuple(6);
+        arrayTuple.put(0, 21);
+        arrayTuple.put(1, "Value B");
+        arrayTuple.put(2, "Value C");
+
+        mapTuple = new MapTuple<>();
+        mapTuple.put("a", 21);
+        mapTuple.put("b", "Value B");
+        mapTuple.put("c", "Value C");
+    }
+
+    @Benchmark
+    public Tuple<Integer> arrayTuple() {
+        return arrayTupleFunction.apply(arrayTuple);
+    }
+
+    @Benchmark
+    public Tuple<String> mapTuple() {
+        return mapTupleFunction.apply(mapTuple);
+    }
+
+    @Benchmark
+    public Tuple<Integer> compiledArrayTuple() {
+        return compiledArrayTupleFunction.apply(arrayTuple);
+    }
+
+    @Benchmark
+    public Tuple<String> compiledMapTuple() {
+        return compiledMapTupleFunction.apply(mapTuple);
+    }
+}
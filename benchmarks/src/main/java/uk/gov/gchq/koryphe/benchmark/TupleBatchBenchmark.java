@@ -0,0 +1,141 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.koryphe.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import uk.gov.gchq.koryphe.impl.binaryoperator.Max;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Sum;
+import uk.gov.gchq.koryphe.impl.predicate.IsLessThan;
+import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
+import uk.gov.gchq.koryphe.tuple.MapTuple;
+import uk.gov.gchq.koryphe.tuple.Tuple;
+import uk.gov.gchq.koryphe.tuple.TupleBatch;
+import uk.gov.gchq.koryphe.tuple.binaryoperator.TupleAdaptedBinaryOperatorComposite;
+import uk.gov.gchq.koryphe.tuple.predicate.TupleAdaptedPredicateComposite;
+
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures filtering and aggregating a batch of records held as
+ * {@link MapTuple}s, one tuple at a time and with the object batch methods,
+ * compared with the same records held in a columnar {@link TupleBatch}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TupleBatchBenchmark {
+    private static final int SIZE = 1024;
+    private static final String[] FIELDS = {"count", "score", "name"};
+
+    private TupleAdaptedPredicateComposite<String> filter;
+    private TupleAdaptedBinaryOperatorComposite<String> aggregator;
+    private Object[] tuples;
+    private TupleBatch<String> batch;
+    private int[] selection;
+
+    @Setup
+    public void setup() {
+        filter = new TupleAdaptedPredicateComposite.Builder<String>()
+                .select(new String[]{"count"}).execute(new IsMoreThan(100L))
+                .select(new String[]{"score"}).execute(new IsLessThan(200.0))
+                .build();
+        aggregator = new TupleAdaptedBinaryOperatorComposite.Builder<String>()
+                .select(new String[]{"count"}).execute(new Sum())
+                .select(new String[]{"score"}).execute(new Max())
+                .build();
+
+        tuples = new Object[SIZE];
+        batch = new TupleBatch<>(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            final MapTuple<String> tuple = new MapTuple<>(new HashMap<>());
+            tuple.put("count", (long) i);
+            tuple.put("score", i / 2.0);
+            tuple.put("name", "name" + i);
+            tuples[i] = tuple;
+            batch.add(tuple, FIELDS);
+        }
+        selection = new int[SIZE];
+    }
+
+    @Benchmark
+    public int filterTuples() {
+        int passed = 0;
+        for (final Object tuple : tuples) {
+            if (filter.test((Tuple<String>) tuple)) {
+                passed++;
+            }
+        }
+        return passed;
+    }
+
+    @Benchmark
+    public int filterTupleArray() {
+        resetSelection();
+        return filter.testBatch(tuples, selection, SIZE);
+    }
+
+    @Benchmark
+    public int filterTupleBatch() {
+        resetSelection();
+        return filter.testBatch(batch, selection, SIZE);
+    }
+
+    @Benchmark
+    public Tuple<String> aggregateTuples() {
+        final Tuple<String> state = createState();
+        for (final Object tuple : tuples) {
+            aggregator.apply(state, (Tuple<String>) tuple);
+        }
+        return state;
+    }
+
+    @Benchmark
+    public Tuple<String> aggregateTupleArray() {
+        return aggregator.reduceBatch(createState(), tuples, SIZE);
+    }
+
+    @Benchmark
+    public Tuple<String> aggregateTupleBatch() {
+        return aggregator.reduceBatch(createState(), batch);
+    }
+
+    private void resetSelection() {
+        for (int i = 0; i < SIZE; i++) {
+            selection[i] = i;
+        }
+    }
+
+    private static Tuple<String> createState() {
+        final MapTuple<String> state = new MapTuple<>();
+        state.put("count", 0L);
+        state.put("score", 0.0);
+        return state;
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.koryphe.classindex;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * An annotation processor that writes an index of every type compiled in
+ * a build to {@value #INDEX_RESOURCE}.
+ * <p>
+ * Each line of the index holds three tab separated fields: the binary
+ * name of a type, a comma separated list of all of its super classes and
+ * interfaces, and a comma separated list of the annotations on the type.
+ * The index is complete for the jar or directory it is written to, so the
+ * classes in that jar do not need to be scanned at runtime.
+ * <p>
+ * The index only describes the classes compiled in a single javac run,
+ * so incremental builds that only recompile some classes must be avoided.
+ */
+@SupportedAnnotationTypes("*")
+public class ClassIndexProcessor extends AbstractProcessor {
+    /**
+     * The location of the index within the jar or classes directory.
+     */
+    public static final String INDEX_RESOURCE = "META-INF/koryphe/class-index";
+
+    private static final String OBJECT = "java.lang.Object";
+
+    private final Map<String, String> entries = new TreeMap<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        for (final Element element : roundEnv.getRootElements()) {
+            index(element);
+        }
+
+        if (roundEnv.processingOver() && !entries.isEmpty()) {
+            write();
+        }
+
+        // Other processors may also need to see these annotations
+        return false;
+    }
+
+    private void index(final Element element) {
+        if (!(element instanceof TypeElement)) {
+            return;
+        }
+
+        final TypeElement type = (TypeElement) element;
+        final Set<String> superTypes = new TreeSet<>();
+        addSuperTypes(type.asType(), superTypes);
+
+        final Set<String> annotations = new TreeSet<>();
+        for (final AnnotationMirror annotation : type.getAnnotationMirrors()) {
+            annotations.add(getBinaryName(annotation.getAnnotationType()));
+        }
+
+        entries.put(getBinaryName(type), String.join(",", superTypes) + '\t' + String.join(",", annotations));
+
+        for (final Element enclosed : type.getEnclosedElements()) {
+            index(enclosed);
+        }
+    }
+
+    private void addSuperTypes(final TypeMirror type, final Set<String> superTypes) {
+        for (final TypeMirror superType : processingEnv.getTypeUtils().directSupertypes(type)) {
+            if (TypeKind.DECLARED == superType.getKind()) {
+                final String name = getBinaryName((DeclaredType) superType);
+                if (!OBJECT.equals(name) && superTypes.add(name)) {
+                    addSuperTypes(superType, superTypes);
+                }
+            }
+        }
+    }
+
+    private String getBinaryName(final DeclaredType type) {
+        return getBinaryName((TypeElement) type.asElement());
+    }
+
+    private String getBinaryName(final TypeElement type) {
+        return processingEnv.getElementUtils().getBinaryName(type).toString();
+    }
+
+    private void write() {
+        try {
+            final FileObject resource = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_RESOURCE);
+            try (final Writer writer = new OutputStreamWriter(resource.openOutputStream(), StandardCharsets.UTF_8)) {
+                for (final Map.Entry<String, String> entry : entries.entrySet()) {
+                    writer.write(entry.getKey());
+                    writer.write('\t');
+                    writer.write(entry.getValue());
+                    writer.write('\n');
+                }
+            }
+        } catch (final IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, "Unable to write the class index: " + e.getMessage());
+        }
+    }
+}
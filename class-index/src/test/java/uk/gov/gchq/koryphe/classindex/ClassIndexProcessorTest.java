@@ -0,0 +1,83 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.koryphe.classindex;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ClassIndexProcessorTest {
+
+    @Test
+    public void shouldWriteIndexOfCompiledTypes(@TempDir final Path dir) throws IOException {
+        // Given
+        final Path source = dir.resolve("src/test/pkg/Example.java");
+        Files.createDirectories(source.getParent());
+        Files.write(source, ("package test.pkg;\n"
+                + "@Deprecated\n"
+                + "public class Example extends java.util.AbstractList<String> implements java.util.function.Predicate<String> {\n"
+                + "    public String get(int i) { return null; }\n"
+                + "    public int size() { return 0; }\n"
+                + "    public boolean test(String s) { return true; }\n"
+                + "    public static class Nested implements Runnable { public void run() { } }\n"
+                + "}\n").getBytes(StandardCharsets.UTF_8));
+        final Path output = dir.resolve("classes");
+        Files.createDirectories(output);
+
+        // When
+        compile(source.toFile(), output.toFile());
+
+        // Then
+        final List<String> lines = Files.readAllLines(output.resolve(ClassIndexProcessor.INDEX_RESOURCE), StandardCharsets.UTF_8);
+        assertEquals(2, lines.size());
+        final String[] example = lines.get(0).split("\t", -1);
+        assertEquals("test.pkg.Example", example[0]);
+        assertTrue(Arrays.asList(example[1].split(",")).containsAll(Arrays.asList(
+                "java.util.AbstractList", "java.util.AbstractCollection", "java.util.List",
+                "java.util.Collection", "java.lang.Iterable", "java.util.function.Predicate")));
+        assertEquals("java.lang.Deprecated", example[2]);
+        assertEquals("test.pkg.Example$Nested\tjava.lang.Runnable\t", lines.get(1));
+    }
+
+    private void compile(final File source, final File output) throws IOException {
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (final StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+            fileManager.setLocation(StandardLocation.CLASS_OUTPUT, Collections.singletonList(output));
+            final Iterable<? extends JavaFileObject> units = fileManager.getJavaFileObjects(source);
+            final JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null, Arrays.asList("-proc:only"), null, units);
+            task.setProcessors(Collections.singletonList(new ClassIndexProcessor()));
+            assertTrue(task.call());
+        }
+    }
+}
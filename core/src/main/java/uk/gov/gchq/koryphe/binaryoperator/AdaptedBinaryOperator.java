@@ -36,7 +36,7 @@ import java.util.function.Function;
  */
 @Since("1.0.0")
 @Summary("Applies a function and adapts the input/output")
-public class AdaptedBinaryOperator<T, OT> extends Adapted<T, OT, OT, T, T> implements BinaryOperator<T> {
+public class AdaptedBinaryOperator<T, OT> extends Adapted<T, OT, OT, T, T> implements BatchBinaryOperator<T> {
 
     protected BinaryOperator<OT> binaryOperator;
 
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.koryphe.binaryoperator;
+
+import java.util.function.BinaryOperator;
+
+/**
+ * A <code>BatchBinaryOperator</code> is a {@link BinaryOperator} that can fold
+ * a batch of inputs into a state in a single call. The default implementation
+ * applies the operator to each input in turn.
+ *
+ * @param <T> Input/Output type
+ */
+public interface BatchBinaryOperator<T> extends BinaryOperator<T> {
+    /**
+     * Folds the first <code>size</code> inputs into the state.
+     *
+     * @param state  the state to fold into
+     * @param inputs the inputs to fold in
+     * @param size   the number of inputs
+     * @return the new state
+     */
+    default T reduceBatch(final T state, final Object[] inputs, final int size) {
+        T result = state;
+        for (int i = 0; i < size; i++) {
+            result = apply(result, (T) inputs[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Folds a batch of inputs into the state with any {@link BinaryOperator},
+     * using {@link #reduceBatch(Object, Object[], int)} if it is supported.
+     *
+     * @param binaryOperator the operator to fold with
+     * @param state          the state to fold into
+     * @param inputs         the inputs to fold in
+     * @param size           the number of inputs
+     * @param <T>            Input/Output type
+     * @return the new state
+     */
+    static <T> T reduceBatch(final BinaryOperator<T> binaryOperator, final T state, final Object[] inputs, final int size) {
+        if (binaryOperator instanceof BatchBinaryOperator) {
+            return ((BatchBinaryOperator<T>) binaryOperator).reduceBatch(state, inputs, size);
+        }
+
+        T result = state;
+        for (int i = 0; i < size; i++) {
+            result = binaryOperator.apply(result, (T) inputs[i]);
+        }
+        return result;
+    }
+}
@@ -34,7 +34,7 @@ import java.util.function.BinaryOperator;
  */
 @Since("1.0.0")
 @Summary("Applies multiple binary operators")
-public class BinaryOperatorComposite<T, C extends BinaryOperator<T>> extends Composite<C> implements BinaryOperator<T> {
+public class BinaryOperatorComposite<T, C extends BinaryOperator<T>> extends Composite<C> implements BatchBinaryOperator<T> {
     /**
      * Default - for serialisation.
      */
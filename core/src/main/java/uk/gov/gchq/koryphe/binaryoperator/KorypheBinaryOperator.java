@@ -18,7 +18,6 @@ package uk.gov.gchq.koryphe.binaryoperator;
 
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 
-import java.util.function.BinaryOperator;
 
 /**
  * Abstract superclass provided for convenience.
@@ -26,7 +25,7 @@ import java.util.function.BinaryOperator;
  * @param <T> Input/Output type
  */
 @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, include = JsonTypeInfo.As.PROPERTY, property = "class")
-public abstract class KorypheBinaryOperator<T> implements BinaryOperator<T> {
+public abstract class KorypheBinaryOperator<T> implements BatchBinaryOperator<T> {
     /**
      * Apply the operator after completing null checks.
      *
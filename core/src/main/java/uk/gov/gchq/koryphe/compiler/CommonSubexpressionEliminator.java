@@ -0,0 +1,327 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.koryphe.compiler;
+
+import uk.gov.gchq.koryphe.function.FunctionComposite;
+import uk.gov.gchq.koryphe.impl.function.FunctionChain;
+import uk.gov.gchq.koryphe.impl.predicate.And;
+import uk.gov.gchq.koryphe.impl.predicate.Not;
+import uk.gov.gchq.koryphe.impl.predicate.Or;
+import uk.gov.gchq.koryphe.predicate.AdaptedPredicate;
+import uk.gov.gchq.koryphe.predicate.PredicateComposite;
+import uk.gov.gchq.koryphe.tuple.function.TupleAdaptedFunction;
+import uk.gov.gchq.koryphe.tuple.function.TupleAdaptedFunctionComposite;
+import uk.gov.gchq.koryphe.tuple.predicate.IntegerTupleAdaptedPredicate;
+import uk.gov.gchq.koryphe.tuple.predicate.TupleAdaptedPredicate;
+import uk.gov.gchq.koryphe.tuple.predicate.TupleAdaptedPredicateComposite;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Finds the functions and predicates that appear more than once in a tree
+ * with the same selection, using their equals and hashCode, and rewrites the
+ * tree so the occurrences share their result. When an occurrence is given the
+ * same input as the last evaluation of another occurrence in the same call to
+ * the tree, such as the same field value of the same record, the result is
+ * reused rather than computed again. Results are not kept between calls. This
+ * removes repeated work such as the same conversion of a field in several
+ * transform steps, or an {@code If} condition that repeats a filter
+ * predicate.
+ * <p>
+ * The composites, adapters and conditionals that are searched are
+ * {@link FunctionComposite}, {@link FunctionChain},
+ * {@link TupleAdaptedFunctionComposite}, {@link TupleAdaptedFunction},
+ * {@link uk.gov.gchq.koryphe.impl.function.If}, {@link PredicateComposite},
+ * {@link And}, {@link Or}, {@link Not}, {@link uk.gov.gchq.koryphe.impl.predicate.If},
+ * {@link TupleAdaptedPredicateComposite} and the adapted predicates. The
+ * components in them are treated as leaves.
+ * <p>
+ * The leaves that are shared must be deterministic and free of side effects,
+ * and must not modify their inputs. The original tree is not modified; the
+ * nodes on the path to a shared leaf are copied. The rewritten tree is for
+ * execution only and is not intended to be serialised.
+ */
+public final class CommonSubexpressionEliminator {
+    private final Map<List<Object>, Integer> functionCounts = new HashMap<>();
+    private final Map<List<Object>, Integer> predicateCounts = new HashMap<>();
+    private final Map<List<Object>, SharedResult> functionResults = new HashMap<>();
+    private final Map<List<Object>, SharedResult> predicateResults = new HashMap<>();
+    private boolean counting = true;
+
+    private CommonSubexpressionEliminator() {
+    }
+
+    /**
+     * Rewrites a function tree so repeated functions share their results.
+     * The function is returned unchanged if nothing is repeated.
+     *
+     * @param function the function to optimise
+     * @param <I>      the input type
+     * @param <O>      the output type
+     * @return the optimised function
+     */
+    public static <I, O> Function<I, O> optimise(final Function<I, O> function) {
+        if (null == function) {
+            return null;
+        }
+
+        final CommonSubexpressionEliminator eliminator = new CommonSubexpressionEliminator();
+        eliminator.visitFunction(function, null);
+        if (!eliminator.hasRepeats()) {
+            return function;
+        }
+        eliminator.counting = false;
+        final Function<Object, Object> visited = (Function) eliminator.visitFunction(function, null);
+        return (Function) new SharedResultScope.ScopedFunction(visited, eliminator.scope());
+    }
+
+    /**
+     * Rewrites a predicate tree so repeated predicates and functions share
+     * their results. The predicate is returned unchanged if nothing is
+     * repeated.
+     *
+     * @param predicate the predicate to optimise
+     * @param <I>       the input type
+     * @return the optimised predicate
+     */
+    public static <I> Predicate<I> optimise(final Predicate<I> predicate) {
+        if (null == predicate) {
+            return null;
+        }
+
+        final CommonSubexpressionEliminator eliminator = new CommonSubexpressionEliminator();
+        eliminator.visitPredicate(predicate, null);
+        if (!eliminator.hasRepeats()) {
+            return predicate;
+        }
+        eliminator.counting = false;
+        final Predicate<Object> visited = (Predicate) eliminator.visitPredicate(predicate, null);
+        return (Predicate) new SharedResultScope.ScopedPredicate(visited, eliminator.scope());
+    }
+
+    private SharedResultScope scope() {
+        final List<SharedResult> results = new ArrayList<>(functionResults.values());
+        results.addAll(predicateResults.values());
+        return new SharedResultScope(results);
+    }
+
+    private boolean hasRepeats() {
+        return functionCounts.values().stream().anyMatch(count -> count > 1)
+                || predicateCounts.values().stream().anyMatch(count -> count > 1);
+    }
+
+    // When counting, the tree is walked and the leaves are counted. Otherwise
+    // a copy of the tree is returned with the repeated leaves wrapped.
+    private <I, O> Function<I, O> visitFunction(final Function<I, O> function, final List<?> selection) {
+        if (null == function) {
+            return null;
+        }
+
+        final Class<?> clazz = function.getClass();
+        if (FunctionComposite.class == clazz || FunctionChain.class == clazz || TupleAdaptedFunctionComposite.class == clazz) {
+            return (Function) visitFunctionComposite((FunctionComposite) function, selection);
+        }
+        if (ComponentCompiler.isTupleAdaptedFunction(function)) {
+            return (Function) visitTupleAdaptedFunction((TupleAdaptedFunction) function);
+        }
+        if (uk.gov.gchq.koryphe.impl.function.If.class == clazz) {
+            return (Function) visitFunctionIf((uk.gov.gchq.koryphe.impl.function.If) function, selection);
+        }
+        return (Function) visitLeaf((Function<Object, Object>) function, selection);
+    }
+
+    private FunctionComposite visitFunctionComposite(final FunctionComposite composite, final List<?> selection) {
+        final List<Function> components = composite.getComponents();
+        final List<Function> visited = null == components ? null : new ArrayList<>(components.size());
+        if (null != components) {
+            for (final Function component : components) {
+                visited.add(visitFunction(component, selection));
+            }
+        }
+        if (counting) {
+            return composite;
+        }
+
+        final FunctionComposite copy;
+        if (FunctionChain.class == composite.getClass()) {
+            copy = new FunctionChain<>();
+        } else if (TupleAdaptedFunctionComposite.class == composite.getClass()) {
+            copy = new TupleAdaptedFunctionComposite<>();
+        } else {
+            copy = new FunctionComposite<>();
+        }
+        copy.setComponents(visited);
+        return copy;
+    }
+
+    private TupleAdaptedFunction visitTupleAdaptedFunction(final TupleAdaptedFunction function) {
+        final Function visited = visitFunction(function.getFunction(), selectionOf(function.getSelection()));
+        if (counting) {
+            return function;
+        }
+
+        final TupleAdaptedFunction copy = new TupleAdaptedFunction();
+        copy.setInputAdapter(function.getInputAdapter());
+        copy.setOutputAdapter(function.getOutputAdapter());
+        copy.setFunction(visited);
+        return copy;
+    }
+
+    private uk.gov.gchq.koryphe.impl.function.If visitFunctionIf(final uk.gov.gchq.koryphe.impl.function.If function, final List<?> selection) {
+        final Predicate predicate = visitPredicate(function.getPredicate(), selection);
+        final Function then = visitFunction(function.getThen(), selection);
+        final Function otherwise = visitFunction(function.getOtherwise(), selection);
+        if (counting) {
+            return function;
+        }
+
+        final uk.gov.gchq.koryphe.impl.function.If copy = new uk.gov.gchq.koryphe.impl.function.If();
+        if (null != function.getCondition()) {
+            copy.setCondition(function.getCondition());
+        }
+        copy.setPredicate(predicate);
+        copy.setThen(then);
+        copy.setOtherwise(otherwise);
+        return copy;
+    }
+
+    private Function<Object, Object> visitLeaf(final Function<Object, Object> function, final List<?> selection) {
+        final List<Object> key = Arrays.asList(selection, function);
+        if (counting) {
+            functionCounts.merge(key, 1, Integer::sum);
+            return function;
+        }
+
+        if (functionCounts.get(key) < 2) {
+            return function;
+        }
+        return new SharedResultFunction(function, functionResults.computeIfAbsent(key, k -> new SharedResult()));
+    }
+
+    private <I> Predicate<I> visitPredicate(final Predicate<I> predicate, final List<?> selection) {
+        if (null == predicate) {
+            return null;
+        }
+
+        final Class<?> clazz = predicate.getClass();
+        if (PredicateComposite.class == clazz || And.class == clazz || Or.class == clazz || TupleAdaptedPredicateComposite.class == clazz) {
+            return (Predicate) visitPredicateComposite((PredicateComposite) predicate, selection);
+        }
+        if (Not.class == clazz) {
+            final Predicate visited = visitPredicate(((Not) predicate).getPredicate(), selection);
+            return counting ? predicate : new Not<>(visited);
+        }
+        if (uk.gov.gchq.koryphe.impl.predicate.If.class == clazz) {
+            return (Predicate) visitPredicateIf((uk.gov.gchq.koryphe.impl.predicate.If) predicate, selection);
+        }
+        if (ComponentCompiler.isAdaptedPredicate(predicate)) {
+            return (Predicate) visitAdaptedPredicate((AdaptedPredicate) predicate, selection);
+        }
+        return (Predicate) visitLeaf((Predicate<Object>) predicate, selection);
+    }
+
+    private PredicateComposite visitPredicateComposite(final PredicateComposite composite, final List<?> selection) {
+        final List<Predicate> components = composite.getComponents();
+        final List<Predicate> visited = null == components ? null : new ArrayList<>(components.size());
+        if (null != components) {
+            for (final Predicate component : components) {
+                visited.add(visitPredicate(component, selection));
+            }
+        }
+        if (counting) {
+            return composite;
+        }
+
+        final PredicateComposite copy;
+        if (And.class == composite.getClass()) {
+            copy = new And<>();
+        } else if (Or.class == composite.getClass()) {
+            copy = new Or<>();
+        } else if (TupleAdaptedPredicateComposite.class == composite.getClass()) {
+            copy = new TupleAdaptedPredicateComposite<>();
+        } else {
+            copy = new PredicateComposite<>();
+        }
+        copy.setComponents(visited);
+        copy.setAdaptive(composite.isAdaptive());
+        return copy;
+    }
+
+    private uk.gov.gchq.koryphe.impl.predicate.If visitPredicateIf(final uk.gov.gchq.koryphe.impl.predicate.If predicate, final List<?> selection) {
+        final Predicate condition = visitPredicate(predicate.getPredicate(), selection);
+        final Predicate then = visitPredicate(predicate.getThen(), selection);
+        final Predicate otherwise = visitPredicate(predicate.getOtherwise(), selection);
+        if (counting) {
+            return predicate;
+        }
+
+        final uk.gov.gchq.koryphe.impl.predicate.If copy = new uk.gov.gchq.koryphe.impl.predicate.If();
+        if (null != predicate.getCondition()) {
+            copy.setCondition(predicate.getCondition());
+        }
+        copy.setPredicate(condition);
+        copy.setThen(then);
+        copy.setOtherwise(otherwise);
+        return copy;
+    }
+
+    private AdaptedPredicate visitAdaptedPredicate(final AdaptedPredicate predicate, final List<?> selection) {
+        final List<?> adaptedSelection = predicate instanceof TupleAdaptedPredicate
+                ? selectionOf(((TupleAdaptedPredicate) predicate).getSelection())
+                : Arrays.asList(selection, predicate.getInputAdapter());
+        final Predicate visited = visitPredicate(predicate.getPredicate(), adaptedSelection);
+        if (counting) {
+            return predicate;
+        }
+
+        final AdaptedPredicate copy;
+        if (IntegerTupleAdaptedPredicate.class == predicate.getClass()) {
+            copy = new IntegerTupleAdaptedPredicate();
+        } else if (TupleAdaptedPredicate.class == predicate.getClass()) {
+            copy = new TupleAdaptedPredicate();
+        } else {
+            copy = new AdaptedPredicate();
+        }
+        copy.setInputAdapter(predicate.getInputAdapter());
+        copy.setPredicate(visited);
+        return copy;
+    }
+
+    private Predicate<Object> visitLeaf(final Predicate<Object> predicate, final List<?> selection) {
+        final List<Object> key = Arrays.asList(selection, predicate);
+        if (counting) {
+            predicateCounts.merge(key, 1, Integer::sum);
+            return predicate;
+        }
+
+        if (predicateCounts.get(key) < 2) {
+            return predicate;
+        }
+        return new SharedResultPredicate(predicate, predicateResults.computeIfAbsent(key, k -> new SharedResult()));
+    }
+
+    private static List<?> selectionOf(final Object[] selection) {
+        return null == selection ? Collections.emptyList() : Arrays.asList(selection);
+    }
+}
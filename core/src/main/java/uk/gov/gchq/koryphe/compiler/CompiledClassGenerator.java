@@ -0,0 +1,472 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.koryphe.compiler;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Type;
+
+import uk.gov.gchq.koryphe.function.FunctionComposite;
+import uk.gov.gchq.koryphe.impl.function.If;
+import uk.gov.gchq.koryphe.impl.predicate.Not;
+import uk.gov.gchq.koryphe.predicate.AdaptedPredicate;
+import uk.gov.gchq.koryphe.predicate.PredicateComposite;
+import uk.gov.gchq.koryphe.tuple.ReferenceArrayTuple;
+import uk.gov.gchq.koryphe.tuple.Tuple;
+import uk.gov.gchq.koryphe.tuple.TupleInputAdapter;
+import uk.gov.gchq.koryphe.tuple.TupleOutputAdapter;
+import uk.gov.gchq.koryphe.tuple.function.TupleAdaptedFunction;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static org.objectweb.asm.Opcodes.AALOAD;
+import static org.objectweb.asm.Opcodes.ACC_FINAL;
+import static org.objectweb.asm.Opcodes.ACC_PRIVATE;
+import static org.objectweb.asm.Opcodes.ACC_PUBLIC;
+import static org.objectweb.asm.Opcodes.ACC_SUPER;
+import static org.objectweb.asm.Opcodes.ALOAD;
+import static org.objectweb.asm.Opcodes.ARETURN;
+import static org.objectweb.asm.Opcodes.ASTORE;
+import static org.objectweb.asm.Opcodes.CHECKCAST;
+import static org.objectweb.asm.Opcodes.GETFIELD;
+import static org.objectweb.asm.Opcodes.GOTO;
+import static org.objectweb.asm.Opcodes.ICONST_0;
+import static org.objectweb.asm.Opcodes.ICONST_1;
+import static org.objectweb.asm.Opcodes.IFEQ;
+import static org.objectweb.asm.Opcodes.IFNE;
+import static org.objectweb.asm.Opcodes.IFNULL;
+import static org.objectweb.asm.Opcodes.INSTANCEOF;
+import static org.objectweb.asm.Opcodes.INVOKEINTERFACE;
+import static org.objectweb.asm.Opcodes.INVOKESPECIAL;
+import static org.objectweb.asm.Opcodes.INVOKEVIRTUAL;
+import static org.objectweb.asm.Opcodes.IRETURN;
+import static org.objectweb.asm.Opcodes.IXOR;
+import static org.objectweb.asm.Opcodes.POP;
+import static org.objectweb.asm.Opcodes.PUTFIELD;
+import static org.objectweb.asm.Opcodes.RETURN;
+import static org.objectweb.asm.Opcodes.V1_8;
+import static uk.gov.gchq.koryphe.compiler.ComponentCompiler.isAdaptedPredicate;
+import static uk.gov.gchq.koryphe.compiler.ComponentCompiler.isAnd;
+import static uk.gov.gchq.koryphe.compiler.ComponentCompiler.isFunctionComposite;
+import static uk.gov.gchq.koryphe.compiler.ComponentCompiler.isFunctionIf;
+import static uk.gov.gchq.koryphe.compiler.ComponentCompiler.isNot;
+import static uk.gov.gchq.koryphe.compiler.ComponentCompiler.isOr;
+import static uk.gov.gchq.koryphe.compiler.ComponentCompiler.isPredicateIf;
+import static uk.gov.gchq.koryphe.compiler.ComponentCompiler.isTupleAdaptedFunction;
+
+/**
+ * Generates the class for a single compiled component tree. The components
+ * are held in final fields typed with their own class wherever that class and
+ * its method are public, so each call is an invokevirtual of a single known
+ * class. Composites, adapters and conditionals are expanded inline into the
+ * generated method.
+ */
+final class CompiledClassGenerator {
+    private static final String GENERATED_PACKAGE = "uk/gov/gchq/koryphe/compiler/generated/";
+    private static final AtomicLong CLASS_COUNT = new AtomicLong();
+
+    private static final String OBJECT = Type.getInternalName(Object.class);
+    private static final String TUPLE = Type.getInternalName(Tuple.class);
+    private static final String REFERENCE_ARRAY_TUPLE = Type.getInternalName(ReferenceArrayTuple.class);
+    private static final String CLASS_CAST_EXCEPTION = Type.getInternalName(ClassCastException.class);
+    private static final String APPLY = "apply";
+    private static final String TEST = "test";
+    private static final String APPLY_DESCRIPTOR = "(Ljava/lang/Object;)Ljava/lang/Object;";
+    private static final String BI_APPLY_DESCRIPTOR = "(Ljava/lang/Object;Ljava/lang/Object;)Ljava/lang/Object;";
+    private static final String TEST_DESCRIPTOR = "(Ljava/lang/Object;)Z";
+    private static final String GET_DESCRIPTOR = "(Ljava/lang/Object;)Ljava/lang/Object;";
+    private static final String PUT_DESCRIPTOR = "(Ljava/lang/Object;Ljava/lang/Object;)V";
+    private static final String CONSTRUCTOR_DESCRIPTOR = "([Ljava/lang/Object;)V";
+    private static final String FIELD_PREFIX = "c";
+    private static final int INPUT = 1;
+
+    private final String className = GENERATED_PACKAGE + "Compiled" + CLASS_COUNT.incrementAndGet();
+    private final ClassWriter writer = new GeneratedClassWriter();
+    private final List<Object> constants = new ArrayList<>();
+    private final List<Class<?>> constantTypes = new ArrayList<>();
+    private final Map<String, Class<?>> classes = new HashMap<>();
+    private MethodVisitor method;
+    private int nextLocal;
+
+    <I, O> Function<I, O> generateFunction(final Function<I, O> function) {
+        beginMethod(Function.class, APPLY, APPLY_DESCRIPTOR);
+        emitFunction(function, INPUT);
+        method.visitInsn(ARETURN);
+        endMethod();
+        return (Function<I, O>) instantiate();
+    }
+
+    <I> Predicate<I> generatePredicate(final Predicate<I> predicate) {
+        beginMethod(Predicate.class, TEST, TEST_DESCRIPTOR);
+        emitRetestedPredicate(predicate, INPUT);
+        method.visitInsn(IRETURN);
+        endMethod();
+        return (Predicate<I>) instantiate();
+    }
+
+    private void emitFunction(final Function<?, ?> function, final int input) {
+        if (isFunctionComposite(function)) {
+            final List<? extends Function> components = ((FunctionComposite<?, ?, ?>) function).getComponents();
+            int current = input;
+            if (null != components) {
+                for (final Function component : components) {
+                    emitFunction(component, current);
+                    current = store();
+                }
+            }
+            method.visitVarInsn(ALOAD, current);
+        } else if (isTupleAdaptedFunction(function)) {
+            final TupleAdaptedFunction<?, ?, ?> adapted = (TupleAdaptedFunction<?, ?, ?>) function;
+            emitInputAdapter(adapted.getInputAdapter(), input);
+            final int selected = store();
+            emitFunction(adapted.getFunction(), selected);
+            final int output = store();
+            emitOutputAdapter(adapted.getOutputAdapter(), input, output);
+        } else if (isFunctionIf(function)) {
+            emitFunctionIf((If<?, ?>) function, input);
+        } else {
+            final Class<?> type = loadComponent(function, Function.class, APPLY, Object.class);
+            method.visitVarInsn(ALOAD, input);
+            invoke(type, APPLY, APPLY_DESCRIPTOR);
+        }
+    }
+
+    private void emitFunctionIf(final If<?, ?> function, final int input) {
+        final Boolean condition = function.getCondition();
+        final Predicate<?> predicate = function.getPredicate();
+        if (null != condition || null == predicate) {
+            emitFunctionBranch(null != condition && condition ? function.getThen() : function.getOtherwise(), input);
+            return;
+        }
+
+        final Label otherwise = new Label();
+        final Label end = new Label();
+        emitRetestedPredicate(predicate, input);
+        method.visitJumpInsn(IFEQ, otherwise);
+        emitFunctionBranch(function.getThen(), input);
+        method.visitJumpInsn(GOTO, end);
+        method.visitLabel(otherwise);
+        emitFunctionBranch(function.getOtherwise(), input);
+        method.visitLabel(end);
+    }
+
+    private void emitFunctionBranch(final Function<?, ?> function, final int input) {
+        if (null == function) {
+            method.visitVarInsn(ALOAD, input);
+        } else {
+            emitFunction(function, input);
+        }
+    }
+
+    private void emitInputAdapter(final Function<?, ?> adapter, final int input) {
+        if (null == adapter) {
+            method.visitVarInsn(ALOAD, input);
+            return;
+        }
+
+        if (TupleInputAdapter.class == adapter.getClass()) {
+            final Object[] selection = ((TupleInputAdapter<?, ?>) adapter).getSelection();
+            if (1 == selection.length) {
+                final Label useAdapter = new Label();
+                final Label end = new Label();
+                method.visitVarInsn(ALOAD, input);
+                method.visitJumpInsn(IFNULL, useAdapter);
+                method.visitVarInsn(ALOAD, input);
+                method.visitTypeInsn(CHECKCAST, TUPLE);
+                loadConstant(selection[0], Object.class);
+                method.visitMethodInsn(INVOKEINTERFACE, TUPLE, "get", GET_DESCRIPTOR, true);
+                method.visitJumpInsn(GOTO, end);
+                method.visitLabel(useAdapter);
+                emitFunction(adapter, input);
+                method.visitLabel(end);
+                return;
+            }
+        }
+
+        emitFunction(adapter, input);
+    }
+
+    private void emitOutputAdapter(final BiFunction<?, ?, ?> adapter, final int state, final int output) {
+        if (null == adapter) {
+            method.visitVarInsn(ALOAD, output);
+            return;
+        }
+
+        final Label useAdapter = new Label();
+        final Label end = new Label();
+        final boolean inline = TupleOutputAdapter.class == adapter.getClass()
+                && 1 == ((TupleOutputAdapter<?, ?>) adapter).getProjection().length;
+        if (inline) {
+            // Views are projected by the adapter, which may need to detach them
+            method.visitVarInsn(ALOAD, state);
+            method.visitJumpInsn(IFNULL, useAdapter);
+            method.visitVarInsn(ALOAD, output);
+            method.visitTypeInsn(INSTANCEOF, REFERENCE_ARRAY_TUPLE);
+            method.visitJumpInsn(IFNE, useAdapter);
+            method.visitVarInsn(ALOAD, state);
+            method.visitTypeInsn(CHECKCAST, TUPLE);
+            loadConstant(((TupleOutputAdapter<?, ?>) adapter).getProjection()[0], Object.class);
+            method.visitVarInsn(ALOAD, output);
+            method.visitMethodInsn(INVOKEINTERFACE, TUPLE, "put", PUT_DESCRIPTOR, true);
+            method.visitVarInsn(ALOAD, state);
+            method.visitJumpInsn(GOTO, end);
+            method.visitLabel(useAdapter);
+        }
+
+        final Class<?> type = loadComponent(adapter, BiFunction.class, APPLY, Object.class, Object.class);
+        method.visitVarInsn(ALOAD, state);
+        method.visitVarInsn(ALOAD, output);
+        invoke(type, APPLY, BI_APPLY_DESCRIPTOR);
+
+        if (inline) {
+            method.visitLabel(end);
+        }
+    }
+
+    // Tests the inlined predicate, and retests with the original predicate if
+    // it throws a ClassCastException, as the original handles unpacked tuples.
+    // The operand stack must be empty, as the handler discards it.
+    private void emitRetestedPredicate(final Predicate<?> predicate, final int input) {
+        final Label start = new Label();
+        final Label end = new Label();
+        final Label handler = new Label();
+        final Label result = new Label();
+        method.visitTryCatchBlock(start, end, handler, CLASS_CAST_EXCEPTION);
+        method.visitLabel(start);
+        emitPredicate(predicate, input);
+        method.visitLabel(end);
+        method.visitJumpInsn(GOTO, result);
+
+        method.visitLabel(handler);
+        method.visitInsn(POP);
+        loadConstant(predicate, Predicate.class);
+        method.visitVarInsn(ALOAD, input);
+        invoke(Predicate.class, TEST, TEST_DESCRIPTOR);
+        method.visitLabel(result);
+    }
+
+    private void emitPredicate(final Predicate<?> predicate, final int input) {
+        if (isAnd(predicate)) {
+            final List<? extends Predicate> components = ((PredicateComposite<?, ?>) predicate).getComponents();
+            if (null == components || components.isEmpty()) {
+                method.visitInsn(ICONST_1);
+                return;
+            }
+            emitShortCircuit(components, input, IFEQ, ICONST_1, ICONST_0);
+        } else if (isOr(predicate)) {
+            final List<? extends Predicate> components = ((PredicateComposite<?, ?>) predicate).getComponents();
+            if (components.isEmpty()) {
+                method.visitInsn(ICONST_0);
+                return;
+            }
+            emitShortCircuit(components, input, IFNE, ICONST_0, ICONST_1);
+        } else if (isNot(predicate)) {
+            final Predicate<?> inner = ((Not<?>) predicate).getPredicate();
+            if (null == inner) {
+                method.visitInsn(ICONST_0);
+            } else {
+                emitPredicate(inner, input);
+                method.visitInsn(ICONST_1);
+                method.visitInsn(IXOR);
+            }
+        } else if (isPredicateIf(predicate)) {
+            emitPredicateIf((uk.gov.gchq.koryphe.impl.predicate.If<?>) predicate, input);
+        } else if (isAdaptedPredicate(predicate)) {
+            final AdaptedPredicate<?, ?> adapted = (AdaptedPredicate<?, ?>) predicate;
+            if (null == adapted.getPredicate()) {
+                method.visitInsn(ICONST_1);
+                return;
+            }
+            emitInputAdapter(adapted.getInputAdapter(), input);
+            final int selected = store();
+            emitPredicate(adapted.getPredicate(), selected);
+        } else {
+            final Class<?> type = loadComponent(predicate, Predicate.class, TEST, Object.class);
+            method.visitVarInsn(ALOAD, input);
+            invoke(type, TEST, TEST_DESCRIPTOR);
+        }
+    }
+
+    // Tests each component in turn, jumping to the short circuit result as
+    // soon as a component returns the short circuit value
+    private void emitShortCircuit(final List<? extends Predicate> components, final int input,
+                                  final int jump, final int completeResult, final int shortCircuitResult) {
+        final Label shortCircuit = new Label();
+        final Label end = new Label();
+        for (final Predicate component : components) {
+            emitPredicate(component, input);
+            method.visitJumpInsn(jump, shortCircuit);
+        }
+        method.visitInsn(completeResult);
+        method.visitJumpInsn(GOTO, end);
+        method.visitLabel(shortCircuit);
+        method.visitInsn(shortCircuitResult);
+        method.visitLabel(end);
+    }
+
+    private void emitPredicateIf(final uk.gov.gchq.koryphe.impl.predicate.If<?> predicate, final int input) {
+        final Boolean condition = predicate.getCondition();
+        final Predicate<?> conditionPredicate = predicate.getPredicate();
+        if (null != condition || null == conditionPredicate) {
+            emitPredicateBranch(null != condition && condition ? predicate.getThen() : predicate.getOtherwise(), input);
+            return;
+        }
+
+        final Label otherwise = new Label();
+        final Label end = new Label();
+        emitPredicate(conditionPredicate, input);
+        method.visitJumpInsn(IFEQ, otherwise);
+        emitPredicateBranch(predicate.getThen(), input);
+        method.visitJumpInsn(GOTO, end);
+        method.visitLabel(otherwise);
+        emitPredicateBranch(predicate.getOtherwise(), input);
+        method.visitLabel(end);
+    }
+
+    private void emitPredicateBranch(final Predicate<?> predicate, final int input) {
+        if (null == predicate) {
+            method.visitInsn(ICONST_0);
+        } else {
+            emitPredicate(predicate, input);
+        }
+    }
+
+    private void beginMethod(final Class<?> interfaceType, final String name, final String descriptor) {
+        addClass(interfaceType);
+        writer.visit(V1_8, ACC_PUBLIC | ACC_FINAL | ACC_SUPER, className, null, OBJECT,
+                new String[]{Type.getInternalName(interfaceType)});
+        method = writer.visitMethod(ACC_PUBLIC, name, descriptor, null, null);
+        method.visitCode();
+        nextLocal = INPUT + 1;
+    }
+
+    private void endMethod() {
+        method.visitMaxs(0, 0);
+        method.visitEnd();
+    }
+
+    private int store() {
+        final int local = nextLocal++;
+        method.visitVarInsn(ASTORE, local);
+        return local;
+    }
+
+    private Class<?> loadComponent(final Object component, final Class<?> interfaceType, final String methodName, final Class<?>... parameterTypes) {
+        final Class<?> type = getComponentType(component, interfaceType, methodName, parameterTypes);
+        loadConstant(component, type);
+        return type;
+    }
+
+    private void loadConstant(final Object value, final Class<?> type) {
+        final int index = constants.size();
+        constants.add(value);
+        constantTypes.add(type);
+        addClass(type);
+        method.visitVarInsn(ALOAD, 0);
+        method.visitFieldInsn(GETFIELD, className, FIELD_PREFIX + index, Type.getDescriptor(type));
+    }
+
+    private void invoke(final Class<?> type, final String name, final String descriptor) {
+        if (type.isInterface()) {
+            method.visitMethodInsn(INVOKEINTERFACE, Type.getInternalName(type), name, descriptor, true);
+        } else {
+            method.visitMethodInsn(INVOKEVIRTUAL, Type.getInternalName(type), name, descriptor, false);
+        }
+    }
+
+    // Uses the component's own class if the generated class can call its
+    // method directly, otherwise the interface
+    private Class<?> getComponentType(final Object component, final Class<?> interfaceType, final String methodName, final Class<?>... parameterTypes) {
+        final Class<?> componentClass = component.getClass();
+        if (!Modifier.isPublic(componentClass.getModifiers())) {
+            return interfaceType;
+        }
+
+        final Class<?> existing = classes.get(componentClass.getName());
+        if (null != existing && existing != componentClass) {
+            return interfaceType;
+        }
+
+        try {
+            final Method componentMethod = componentClass.getMethod(methodName, parameterTypes);
+            if (Modifier.isPublic(componentMethod.getDeclaringClass().getModifiers())) {
+                return componentClass;
+            }
+        } catch (final NoSuchMethodException e) {
+            // Call the interface method instead
+        }
+        return interfaceType;
+    }
+
+    private void addClass(final Class<?> clazz) {
+        classes.putIfAbsent(clazz.getName(), clazz);
+    }
+
+    private Object instantiate() {
+        final MethodVisitor constructor = writer.visitMethod(ACC_PUBLIC, "<init>", CONSTRUCTOR_DESCRIPTOR, null, null);
+        constructor.visitCode();
+        constructor.visitVarInsn(ALOAD, 0);
+        constructor.visitMethodInsn(INVOKESPECIAL, OBJECT, "<init>", "()V", false);
+        for (int i = 0; i < constants.size(); i++) {
+            final String descriptor = Type.getDescriptor(constantTypes.get(i));
+            writer.visitField(ACC_PRIVATE | ACC_FINAL, FIELD_PREFIX + i, descriptor, null, null).visitEnd();
+            constructor.visitVarInsn(ALOAD, 0);
+            constructor.visitVarInsn(ALOAD, 1);
+            constructor.visitLdcInsn(i);
+            constructor.visitInsn(AALOAD);
+            constructor.visitTypeInsn(CHECKCAST, Type.getInternalName(constantTypes.get(i)));
+            constructor.visitFieldInsn(PUTFIELD, className, FIELD_PREFIX + i, descriptor);
+        }
+        constructor.visitInsn(RETURN);
+        constructor.visitMaxs(0, 0);
+        constructor.visitEnd();
+        writer.visitEnd();
+
+        final GeneratedClassLoader classLoader = new GeneratedClassLoader(CompiledClassGenerator.class.getClassLoader(), classes);
+        final Class<?> generatedClass = classLoader.define(className.replace('/', '.'), writer.toByteArray());
+        try {
+            return generatedClass.getConstructor(Object[].class).newInstance((Object) constants.toArray());
+        } catch (final ReflectiveOperationException e) {
+            throw new IllegalStateException("Unable to create compiled component " + className, e);
+        }
+    }
+
+    /**
+     * Computes the stack map frames without loading any classes. The generated
+     * code only merges values that are used as {@link Object}s.
+     */
+    private static final class GeneratedClassWriter extends ClassWriter {
+        private GeneratedClassWriter() {
+            super(ClassWriter.COMPUTE_FRAMES);
+        }
+
+        @Override
+        protected String getCommonSuperClass(final String type1, final String type2) {
+            return OBJECT;
+        }
+    }
+}
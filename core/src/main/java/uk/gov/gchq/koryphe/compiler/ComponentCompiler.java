@@ -0,0 +1,241 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.koryphe.compiler;
+
+import uk.gov.gchq.koryphe.function.FunctionComposite;
+import uk.gov.gchq.koryphe.impl.function.FunctionChain;
+import uk.gov.gchq.koryphe.impl.predicate.And;
+import uk.gov.gchq.koryphe.impl.predicate.Not;
+import uk.gov.gchq.koryphe.impl.predicate.Or;
+import uk.gov.gchq.koryphe.predicate.AdaptedPredicate;
+import uk.gov.gchq.koryphe.predicate.PredicateComposite;
+import uk.gov.gchq.koryphe.tuple.function.TupleAdaptedFunction;
+import uk.gov.gchq.koryphe.tuple.function.TupleAdaptedFunctionComposite;
+import uk.gov.gchq.koryphe.tuple.predicate.IntegerTupleAdaptedPredicate;
+import uk.gov.gchq.koryphe.tuple.predicate.TupleAdaptedPredicate;
+import uk.gov.gchq.koryphe.tuple.predicate.TupleAdaptedPredicateComposite;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Compiles a tree of components into a single generated class. Each call to a
+ * {@link Function} or {@link Predicate} in the tree is a call site of its own
+ * in the generated code, so the JIT sees a single receiver type at each one and
+ * can inline it, rather than seeing every component type at the shared call
+ * sites of the composite classes.
+ * <p>
+ * The composites, adapters and conditionals that are compiled are
+ * {@link FunctionComposite}, {@link FunctionChain},
+ * {@link TupleAdaptedFunctionComposite}, {@link TupleAdaptedFunction},
+ * {@link uk.gov.gchq.koryphe.impl.function.If}, {@link PredicateComposite},
+ * {@link And}, {@link Or}, {@link Not}, {@link uk.gov.gchq.koryphe.impl.predicate.If},
+ * {@link TupleAdaptedPredicateComposite} and the adapted predicates. Only these
+ * exact classes are compiled, not sub classes of them. Adaptive composites
+ * are not compiled, as their order changes. Any other component is called as
+ * it is from the generated code.
+ * <p>
+ * The tree is read when it is compiled, so changes made to it afterwards are
+ * not seen by the compiled component. If the tree cannot be compiled, or the
+ * optional ASM dependency is not on the classpath, the component is returned
+ * unchanged.
+ */
+public final class ComponentCompiler {
+    private static final String CLASS_WRITER = "org.objectweb.asm.ClassWriter";
+
+    private static final Set<Class<?>> FUNCTION_COMPOSITES = new HashSet<>(Arrays.asList(
+            FunctionComposite.class,
+            FunctionChain.class,
+            TupleAdaptedFunctionComposite.class
+    ));
+
+    private static final Set<Class<?>> PREDICATE_COMPOSITES = new HashSet<>(Arrays.asList(
+            PredicateComposite.class,
+            And.class,
+            TupleAdaptedPredicateComposite.class
+    ));
+
+    private static final Set<Class<?>> ADAPTED_PREDICATES = new HashSet<>(Arrays.asList(
+            AdaptedPredicate.class,
+            TupleAdaptedPredicate.class,
+            IntegerTupleAdaptedPredicate.class
+    ));
+
+    private static final boolean AVAILABLE = isClassPresent(CLASS_WRITER);
+
+    private ComponentCompiler() {
+        // Private constructor to prevent instantiation.
+    }
+
+    /**
+     * @return true if the ASM library is available to generate classes with.
+     */
+    public static boolean isAvailable() {
+        return AVAILABLE;
+    }
+
+    /**
+     * Compiles a function tree. The function is returned unchanged if it is
+     * not a composite, adapter or conditional, or if it cannot be compiled.
+     *
+     * @param function the function to compile
+     * @param <I>      the input type
+     * @param <O>      the output type
+     * @return the compiled function
+     */
+    public static <I, O> Function<I, O> compile(final Function<I, O> function) {
+        if (!AVAILABLE || !isFunctionNode(function)) {
+            return function;
+        }
+
+        try {
+            return new CompiledClassGenerator().generateFunction(function);
+        } catch (final RuntimeException | LinkageError e) {
+            // The interpreted function is used instead
+            return function;
+        }
+    }
+
+    /**
+     * Compiles a predicate tree. The predicate is returned unchanged if it is
+     * not a composite, adapter or conditional, or if it cannot be compiled.
+     * <p>
+     * If the compiled predicate throws a {@link ClassCastException}, the input
+     * is tested again with the original predicate. This keeps the handling of
+     * unpacked single value tuples in {@link PredicateComposite}.
+     *
+     * @param predicate the predicate to compile
+     * @param <I>       the input type
+     * @return the compiled predicate
+     */
+    public static <I> Predicate<I> compile(final Predicate<I> predicate) {
+        if (!AVAILABLE || !isPredicateNode(predicate)) {
+            return predicate;
+        }
+
+        try {
+            return new CompiledClassGenerator().generatePredicate(predicate);
+        } catch (final RuntimeException | LinkageError e) {
+            // The interpreted predicate is used instead
+            return predicate;
+        }
+    }
+
+    static boolean isFunctionComposite(final Object function) {
+        return null != function && FUNCTION_COMPOSITES.contains(function.getClass())
+                && hasNoNullComponents(((FunctionComposite) function).getComponents());
+    }
+
+    static boolean isTupleAdaptedFunction(final Object function) {
+        return null != function && TupleAdaptedFunction.class == function.getClass()
+                && null != ((TupleAdaptedFunction) function).getFunction()
+                && hasTupleAdapters((TupleAdaptedFunction) function);
+    }
+
+    static boolean isFunctionIf(final Object function) {
+        return null != function && uk.gov.gchq.koryphe.impl.function.If.class == function.getClass();
+    }
+
+    static boolean isFunctionNode(final Object function) {
+        return isFunctionComposite(function) || isTupleAdaptedFunction(function) || isFunctionIf(function);
+    }
+
+    static boolean isAnd(final Object predicate) {
+        if (null == predicate || !PREDICATE_COMPOSITES.contains(predicate.getClass())
+                || ((PredicateComposite) predicate).isAdaptive()) {
+            return false;
+        }
+
+        final List<?> components = ((PredicateComposite) predicate).getComponents();
+        if (isNull(components)) {
+            // And passes without any components, the others throw an exception
+            return And.class == predicate.getClass();
+        }
+        return hasNoNullComponents(components);
+    }
+
+    static boolean isOr(final Object predicate) {
+        return null != predicate && Or.class == predicate.getClass()
+                && !((Or) predicate).isAdaptive()
+                && null != ((Or) predicate).getComponents()
+                && hasNoNullComponents(((Or) predicate).getComponents());
+    }
+
+    static boolean isNot(final Object predicate) {
+        return null != predicate && Not.class == predicate.getClass();
+    }
+
+    static boolean isPredicateIf(final Object predicate) {
+        return null != predicate && uk.gov.gchq.koryphe.impl.predicate.If.class == predicate.getClass();
+    }
+
+    static boolean isAdaptedPredicate(final Object predicate) {
+        return null != predicate && ADAPTED_PREDICATES.contains(predicate.getClass())
+                && (AdaptedPredicate.class == predicate.getClass() || hasTupleAdapter((TupleAdaptedPredicate) predicate));
+    }
+
+    static boolean isPredicateNode(final Object predicate) {
+        return isAnd(predicate) || isOr(predicate) || isNot(predicate)
+                || isPredicateIf(predicate) || isAdaptedPredicate(predicate);
+    }
+
+    // The tuple adapted getters cast the adapters, so fail if they have been
+    // replaced with other functions
+    private static boolean hasTupleAdapters(final TupleAdaptedFunction function) {
+        try {
+            return null != function.getInputAdapter() && null != function.getOutputAdapter();
+        } catch (final ClassCastException e) {
+            return false;
+        }
+    }
+
+    private static boolean hasTupleAdapter(final TupleAdaptedPredicate predicate) {
+        try {
+            return null != predicate.getInputAdapter();
+        } catch (final ClassCastException e) {
+            return false;
+        }
+    }
+
+    private static boolean hasNoNullComponents(final Collection<?> components) {
+        if (null == components) {
+            return true;
+        }
+        for (final Object component : components) {
+            if (null == component) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isClassPresent(final String className) {
+        try {
+            Class.forName(className, false, ComponentCompiler.class.getClassLoader());
+            return true;
+        } catch (final ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+}
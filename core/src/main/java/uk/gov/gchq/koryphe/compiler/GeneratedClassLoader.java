@@ -0,0 +1,47 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.koryphe.compiler;
+
+import java.util.Map;
+
+/**
+ * Defines a single generated class. The classes referenced by the generated
+ * code are resolved to the exact classes of the compiled components, so the
+ * components can come from any class loader. Each generated class has its own
+ * loader so it can be unloaded once the compiled component is no longer used.
+ */
+final class GeneratedClassLoader extends ClassLoader {
+    private final Map<String, Class<?>> classes;
+
+    GeneratedClassLoader(final ClassLoader parent, final Map<String, Class<?>> classes) {
+        super(parent);
+        this.classes = classes;
+    }
+
+    Class<?> define(final String className, final byte[] bytes) {
+        return defineClass(className, bytes, 0, bytes.length);
+    }
+
+    @Override
+    protected Class<?> loadClass(final String name, final boolean resolve) throws ClassNotFoundException {
+        final Class<?> clazz = classes.get(name);
+        if (null != clazz) {
+            return clazz;
+        }
+        return super.loadClass(name, resolve);
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.koryphe.compiler;
+
+import uk.gov.gchq.koryphe.tuple.Tuple;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Holds the last result of a component that appears more than once in a tree,
+ * so the later occurrences can reuse it when they are given the same input.
+ * Inputs are matched by identity. A {@link Tuple} input is matched by the
+ * identity of each of its values, as the selected values are often a new or
+ * reused view of the record. A Tuple that cannot list its values, such as a
+ * {@link uk.gov.gchq.koryphe.tuple.ReflectiveTuple}, is matched by identity.
+ * <p>
+ * The slots of a tree are cleared by its {@link SharedResultScope} before and
+ * after each call to the root, so a result is only reused within the record
+ * it was computed for. An input that is reused and modified between records is
+ * never given a stale result, and the slot does not keep the last record
+ * reachable. The input and result are replaced together, so a result is never
+ * returned for a different input when the slot is used by multiple threads.
+ */
+final class SharedResult {
+    private volatile Entry last;
+
+    Object apply(final Function<Object, Object> function, final Object input) {
+        final Entry entry = last;
+        if (null != entry && entry.matches(input)) {
+            return entry.result;
+        }
+
+        final Object result = function.apply(input);
+        last = new Entry(input, result);
+        return result;
+    }
+
+    boolean test(final Predicate<Object> predicate, final Object input) {
+        final Entry entry = last;
+        if (null != entry && entry.matches(input)) {
+            return (Boolean) entry.result;
+        }
+
+        final boolean result = predicate.test(input);
+        last = new Entry(input, result);
+        return result;
+    }
+
+    void clear() {
+        last = null;
+    }
+
+    private static final class Entry {
+        private final Object input;
+        private final List<Object> values;
+        private final Object result;
+
+        private Entry(final Object input, final Object result) {
+            this.input = input;
+            this.values = input instanceof Tuple ? valuesOf((Tuple<?>) input) : null;
+            this.result = result;
+        }
+
+        private boolean matches(final Object other) {
+            if (null == values) {
+                return input == other;
+            }
+            if (!(other instanceof Tuple)) {
+                return false;
+            }
+
+            final Iterator<Object> otherValues;
+            try {
+                otherValues = ((Tuple<?>) other).iterator();
+            } catch (final UnsupportedOperationException e) {
+                return false;
+            }
+            for (final Object value : values) {
+                if (!otherValues.hasNext() || value != otherValues.next()) {
+                    return false;
+                }
+            }
+            return !otherValues.hasNext();
+        }
+
+        private static List<Object> valuesOf(final Tuple<?> tuple) {
+            final List<Object> values = new ArrayList<>();
+            try {
+                for (final Object value : tuple) {
+                    values.add(value);
+                }
+            } catch (final UnsupportedOperationException e) {
+                return null;
+            }
+            return values;
+        }
+    }
+}
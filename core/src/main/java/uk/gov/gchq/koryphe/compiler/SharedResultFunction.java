@@ -0,0 +1,42 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.koryphe.compiler;
+
+import java.util.function.Function;
+
+/**
+ * Applies a function that appears more than once in a tree, sharing the
+ * result with the other occurrences through a {@link SharedResult}.
+ */
+final class SharedResultFunction implements Function<Object, Object> {
+    private final Function<Object, Object> function;
+    private final SharedResult result;
+
+    SharedResultFunction(final Function<Object, Object> function, final SharedResult result) {
+        this.function = function;
+        this.result = result;
+    }
+
+    Function<Object, Object> getFunction() {
+        return function;
+    }
+
+    @Override
+    public Object apply(final Object input) {
+        return result.apply(function, input);
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.koryphe.compiler;
+
+import java.util.function.Predicate;
+
+/**
+ * Tests a predicate that appears more than once in a tree, sharing the
+ * result with the other occurrences through a {@link SharedResult}.
+ */
+final class SharedResultPredicate implements Predicate<Object> {
+    private final Predicate<Object> predicate;
+    private final SharedResult result;
+
+    SharedResultPredicate(final Predicate<Object> predicate, final SharedResult result) {
+        this.predicate = predicate;
+        this.result = result;
+    }
+
+    Predicate<Object> getPredicate() {
+        return predicate;
+    }
+
+    @Override
+    public boolean test(final Object input) {
+        return result.test(predicate, input);
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.koryphe.compiler;
+
+import java.util.Collection;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Clears the {@link SharedResult} slots of a tree before and after each call
+ * to its root, so results are only shared within one record.
+ */
+final class SharedResultScope {
+    private final SharedResult[] results;
+
+    SharedResultScope(final Collection<SharedResult> results) {
+        this.results = results.toArray(new SharedResult[0]);
+    }
+
+    private void clear() {
+        for (final SharedResult result : results) {
+            result.clear();
+        }
+    }
+
+    /**
+     * The root of a function tree with shared results.
+     */
+    static final class ScopedFunction implements Function<Object, Object> {
+        private final Function<Object, Object> function;
+        private final SharedResultScope scope;
+
+        ScopedFunction(final Function<Object, Object> function, final SharedResultScope scope) {
+            this.function = function;
+            this.scope = scope;
+        }
+
+        @Override
+        public Object apply(final Object input) {
+            scope.clear();
+            try {
+                return function.apply(input);
+            } finally {
+                scope.clear();
+            }
+        }
+    }
+
+    /**
+     * The root of a predicate tree with shared results.
+     */
+    static final class ScopedPredicate implements Predicate<Object> {
+        private final Predicate<Object> predicate;
+        private final SharedResultScope scope;
+
+        ScopedPredicate(final Predicate<Object> predicate, final SharedResultScope scope) {
+            this.predicate = predicate;
+            this.scope = scope;
+        }
+
+        @Override
+        public boolean test(final Object input) {
+            scope.clear();
+            try {
+                return predicate.test(input);
+            } finally {
+                scope.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.koryphe.dictionary;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link DictionaryStore} that keeps the most recently used entries of
+ * another {@link DictionaryStore} on the heap, including keys that have no
+ * value. This avoids decoding values from dictionaries held off the heap for
+ * keys that are looked up repeatedly.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public class CachingDictionaryStore<K, V> implements DictionaryStore<K, V> {
+    private final DictionaryStore<K, V> store;
+    private final Cache<K, Optional<V>> cache;
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder cacheHits = new LongAdder();
+
+    /**
+     * @param store       the dictionary to cache
+     * @param maximumSize the maximum number of entries to cache
+     */
+    public CachingDictionaryStore(final DictionaryStore<K, V> store, final int maximumSize) {
+        this.store = store;
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    @Override
+    public V get(final K key) {
+        lookups.increment();
+        if (null == key) {
+            return store.get(null);
+        }
+
+        final Optional<V> cached = cache.getIfPresent(key);
+        final V value;
+        if (null != cached) {
+            cacheHits.increment();
+            value = cached.orElse(null);
+        } else {
+            value = store.get(key);
+            cache.put(key, Optional.ofNullable(value));
+        }
+        if (null != value) {
+            hits.increment();
+        }
+        return value;
+    }
+
+    @Override
+    public DictionaryStatistics getStatistics() {
+        final DictionaryStatistics statistics = store.getStatistics();
+        return new DictionaryStatistics(statistics.getSize(), statistics.getSizeInBytes(), statistics.getLoadTimeNanos(),
+                lookups.sum(), hits.sum(), cacheHits.sum());
+    }
+
+    /**
+     * @return the dictionary that is cached
+     */
+    public DictionaryStore<K, V> getStore() {
+        return store;
+    }
+}
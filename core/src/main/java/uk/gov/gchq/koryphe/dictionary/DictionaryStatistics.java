@@ -0,0 +1,95 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.koryphe.dictionary;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+/**
+ * A snapshot of the statistics for a {@link DictionaryStore}.
+ */
+public class DictionaryStatistics {
+    private final long size;
+    private final long sizeInBytes;
+    private final long loadTimeNanos;
+    private final long lookups;
+    private final long hits;
+    private final long cacheHits;
+
+    public DictionaryStatistics(final long size, final long sizeInBytes, final long loadTimeNanos,
+                                final long lookups, final long hits, final long cacheHits) {
+        this.size = size;
+        this.sizeInBytes = sizeInBytes;
+        this.loadTimeNanos = loadTimeNanos;
+        this.lookups = lookups;
+        this.hits = hits;
+        this.cacheHits = cacheHits;
+    }
+
+    /**
+     * @return the number of entries in the dictionary
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * @return the number of bytes the dictionary occupies, on or off the heap
+     */
+    public long getSizeInBytes() {
+        return sizeInBytes;
+    }
+
+    /**
+     * @return the time taken to open the dictionary, in nanoseconds
+     */
+    public long getLoadTimeNanos() {
+        return loadTimeNanos;
+    }
+
+    /**
+     * @return the number of keys that have been looked up
+     */
+    public long getLookups() {
+        return lookups;
+    }
+
+    /**
+     * @return the number of keys looked up that had a value
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return the number of keys looked up that were answered from a cache
+     */
+    public long getCacheHits() {
+        return cacheHits;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("size", size)
+                .append("sizeInBytes", sizeInBytes)
+                .append("loadTimeNanos", loadTimeNanos)
+                .append("lookups", lookups)
+                .append("hits", hits)
+                .append("cacheHits", cacheHits)
+                .toString();
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.koryphe.dictionary;
+
+/**
+ * A read-only dictionary of values that can be looked up by key, such as the
+ * dictionary used by {@link uk.gov.gchq.koryphe.impl.function.DictionaryLookup}.
+ * Implementations must be safe to share between threads.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public interface DictionaryStore<K, V> {
+    /**
+     * @param key the key to look up
+     * @return the value for the key, or null if there is no value for the key
+     */
+    V get(K key);
+
+    /**
+     * @return a snapshot of the statistics for this dictionary
+     */
+    DictionaryStatistics getStatistics();
+}
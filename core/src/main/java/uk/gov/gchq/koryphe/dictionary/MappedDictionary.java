@@ -0,0 +1,269 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.koryphe.dictionary;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+import static uk.gov.gchq.koryphe.dictionary.MappedDictionaryFormat.HEADER_SIZE;
+import static uk.gov.gchq.koryphe.dictionary.MappedDictionaryFormat.MAGIC;
+import static uk.gov.gchq.koryphe.dictionary.MappedDictionaryFormat.OFFSET_MASK;
+import static uk.gov.gchq.koryphe.dictionary.MappedDictionaryFormat.SLOT_SIZE;
+import static uk.gov.gchq.koryphe.dictionary.MappedDictionaryFormat.VERSION;
+
+/**
+ * A read-only {@link DictionaryStore} of Strings held in a memory-mapped
+ * file written by {@link MappedDictionaryWriter}. The file is not read onto
+ * the heap, so opening it takes the same time whatever its size and the
+ * pages are shared by every dictionary that maps the file. Keys are compared
+ * with the bytes in the file without being copied or decoded, and only the
+ * value that is found is copied onto the heap.
+ * <p>
+ * Dictionaries opened with {@link #open(String)} are shared by everything in
+ * the JVM that opens the same file, until they are no longer used. A file
+ * that has been replaced or changed since it was opened is opened again.
+ * Dictionary files should only be replaced, as {@link MappedDictionaryWriter}
+ * does, and never changed in place, because changing a mapped file changes
+ * the dictionaries that have it open.
+ */
+public class MappedDictionary implements DictionaryStore<String, String> {
+    private static final int SEGMENT_BITS = 30;
+    private static final long SEGMENT_MASK = (1L << SEGMENT_BITS) - 1;
+    private static final Cache<String, MappedDictionary> OPEN_DICTIONARIES = CacheBuilder.newBuilder()
+            .weakValues()
+            .build();
+
+    private final File file;
+    private final Object fileKey;
+    private final long lastModified;
+    private final long length;
+    private final ByteBuffer[] segments;
+    private final int size;
+    private final int mask;
+    private final long loadTimeNanos;
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+
+    /**
+     * Maps a dictionary file into memory.
+     *
+     * @param file the dictionary file
+     * @throws IOException if the file cannot be mapped or is not a
+     *                     dictionary file
+     */
+    public MappedDictionary(final File file) throws IOException {
+        final long start = System.nanoTime();
+        this.file = file;
+        final BasicFileAttributes attributes = Files.readAttributes(file.toPath(), BasicFileAttributes.class);
+        fileKey = attributes.fileKey();
+        lastModified = attributes.lastModifiedTime().toMillis();
+        final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        try {
+            length = channel.size();
+            segments = new ByteBuffer[(int) ((length + SEGMENT_MASK) >> SEGMENT_BITS)];
+            for (int i = 0; i < segments.length; i++) {
+                final long position = (long) i << SEGMENT_BITS;
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(SEGMENT_MASK + 1, length - position));
+            }
+        } finally {
+            channel.close();
+        }
+
+        if (length < HEADER_SIZE || MAGIC != getInt(0) || VERSION != getInt(4)) {
+            throw new IOException("Not a dictionary file: " + file);
+        }
+        size = getInt(8);
+        final int slots = getInt(12);
+        if (slots <= 0 || 0 != (slots & (slots - 1)) || length < HEADER_SIZE + (long) slots * SLOT_SIZE) {
+            throw new IOException("Corrupt dictionary file: " + file);
+        }
+        mask = slots - 1;
+        loadTimeNanos = System.nanoTime() - start;
+    }
+
+    /**
+     * Opens a dictionary file, or returns the dictionary already opened for
+     * the file if it has not changed since.
+     *
+     * @param path the path to the dictionary file
+     * @return the dictionary
+     * @throws IOException if the file cannot be mapped or is not a
+     *                     dictionary file
+     */
+    public static MappedDictionary open(final String path) throws IOException {
+        final File file = new File(path).getCanonicalFile();
+        final String key = file.getPath();
+        MappedDictionary dictionary = OPEN_DICTIONARIES.getIfPresent(key);
+        if (null == dictionary || dictionary.isStale()) {
+            synchronized (OPEN_DICTIONARIES) {
+                dictionary = OPEN_DICTIONARIES.getIfPresent(key);
+                if (null == dictionary || dictionary.isStale()) {
+                    dictionary = new MappedDictionary(file);
+                    OPEN_DICTIONARIES.put(key, dictionary);
+                }
+            }
+        }
+        return dictionary;
+    }
+
+    /**
+     * Checks whether the file has been replaced or changed since this
+     * dictionary was opened, so it should be opened again.
+     *
+     * @return true if the file has been replaced, changed or removed
+     */
+    public boolean isStale() {
+        try {
+            final BasicFileAttributes attributes = Files.readAttributes(file.toPath(), BasicFileAttributes.class);
+            return !Objects.equals(fileKey, attributes.fileKey())
+                    || attributes.lastModifiedTime().toMillis() != lastModified
+                    || attributes.size() != length;
+        } catch (final IOException e) {
+            return true;
+        }
+    }
+
+    @Override
+    public String get(final String key) {
+        lookups.increment();
+        if (null == key) {
+            return null;
+        }
+
+        final int hash = key.hashCode();
+        int slot = MappedDictionaryFormat.slot(hash) & mask;
+        long entry;
+        while (0L != (entry = getLong(HEADER_SIZE + (long) slot * SLOT_SIZE))) {
+            if (MappedDictionaryFormat.matches(hash, entry)) {
+                final long offset = entry & OFFSET_MASK;
+                final int keyLength = getInt(offset);
+                if (keyMatches(key, offset + 4, keyLength)) {
+                    hits.increment();
+                    final long valueOffset = offset + 4 + keyLength;
+                    return getString(valueOffset + 4, getInt(valueOffset));
+                }
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    @Override
+    public DictionaryStatistics getStatistics() {
+        return new DictionaryStatistics(size, length, loadTimeNanos, lookups.sum(), hits.sum(), 0);
+    }
+
+    /**
+     * @return the dictionary file
+     */
+    public File getFile() {
+        return file;
+    }
+
+    // Compares a key with UTF-8 bytes in the file by encoding it a character
+    // at a time, in the same way as String.getBytes(Charset).
+    private boolean keyMatches(final String key, final long offset, final int byteLength) {
+        final long end = offset + byteLength;
+        long position = offset;
+        final int keyLength = key.length();
+        for (int i = 0; i < keyLength; i++) {
+            final char c = key.charAt(i);
+            if (c < 0x80) {
+                if (position >= end || getByte(position++) != (byte) c) {
+                    return false;
+                }
+            } else if (c < 0x800) {
+                if (position + 2 > end
+                        || getByte(position++) != (byte) (0xC0 | (c >> 6))
+                        || getByte(position++) != (byte) (0x80 | (c & 0x3F))) {
+                    return false;
+                }
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < keyLength && Character.isLowSurrogate(key.charAt(i + 1))) {
+                    final int cp = Character.toCodePoint(c, key.charAt(++i));
+                    if (position + 4 > end
+                            || getByte(position++) != (byte) (0xF0 | (cp >> 18))
+                            || getByte(position++) != (byte) (0x80 | ((cp >> 12) & 0x3F))
+                            || getByte(position++) != (byte) (0x80 | ((cp >> 6) & 0x3F))
+                            || getByte(position++) != (byte) (0x80 | (cp & 0x3F))) {
+                        return false;
+                    }
+                } else if (position >= end || getByte(position++) != (byte) '?') {
+                    // Unpaired surrogates are encoded as a question mark
+                    return false;
+                }
+            } else {
+                if (position + 3 > end
+                        || getByte(position++) != (byte) (0xE0 | (c >> 12))
+                        || getByte(position++) != (byte) (0x80 | ((c >> 6) & 0x3F))
+                        || getByte(position++) != (byte) (0x80 | (c & 0x3F))) {
+                    return false;
+                }
+            }
+        }
+        return position == end;
+    }
+
+    private byte getByte(final long position) {
+        return segments[(int) (position >>> SEGMENT_BITS)].get((int) (position & SEGMENT_MASK));
+    }
+
+    private int getInt(final long position) {
+        final ByteBuffer segment = segments[(int) (position >>> SEGMENT_BITS)];
+        final int index = (int) (position & SEGMENT_MASK);
+        if (index + 4 <= segment.limit()) {
+            return segment.getInt(index);
+        }
+        return (getByte(position) & 0xFF) << 24
+                | (getByte(position + 1) & 0xFF) << 16
+                | (getByte(position + 2) & 0xFF) << 8
+                | (getByte(position + 3) & 0xFF);
+    }
+
+    private long getLong(final long position) {
+        // Slots are aligned, so never span segments
+        return segments[(int) (position >>> SEGMENT_BITS)].getLong((int) (position & SEGMENT_MASK));
+    }
+
+    private String getString(final long position, final int byteLength) {
+        final byte[] bytes = new byte[byteLength];
+        final ByteBuffer segment = segments[(int) (position >>> SEGMENT_BITS)];
+        final int index = (int) (position & SEGMENT_MASK);
+        if (index + byteLength <= segment.limit()) {
+            final ByteBuffer view = segment.duplicate();
+            ((Buffer) view).position(index);
+            view.get(bytes);
+        } else {
+            for (int i = 0; i < byteLength; i++) {
+                bytes[i] = getByte(position + i);
+            }
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
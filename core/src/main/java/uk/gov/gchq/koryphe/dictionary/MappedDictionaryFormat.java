@@ -0,0 +1,83 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.koryphe.dictionary;
+
+/**
+ * Constants and helpers for the file format read by {@link MappedDictionary}
+ * and written by {@link MappedDictionaryWriter}.
+ * <p>
+ * A file starts with a header of four ints: the magic number, the version,
+ * the number of entries and the number of slots. The header is followed by
+ * an open-addressing hash table of long slots, then by the records. Each
+ * slot holds the top 24 bits of the String hash code of a key and the 40 bit
+ * file offset of its record, or zero if the slot is empty. Each record is
+ * the length and UTF-8 bytes of the key followed by the length and UTF-8
+ * bytes of the value. All numbers are big-endian.
+ */
+final class MappedDictionaryFormat {
+    static final int MAGIC = 0x4B444943;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 16;
+    static final int SLOT_SIZE = 8;
+    static final int MAX_SLOTS = 1 << 30;
+    static final int OFFSET_BITS = 40;
+    static final long OFFSET_MASK = (1L << OFFSET_BITS) - 1;
+
+    private MappedDictionaryFormat() {
+        // Private constructor to prevent instantiation.
+    }
+
+    /**
+     * @param size the number of entries
+     * @return the number of slots needed to keep the load factor at or
+     * below a half
+     */
+    static int slotCount(final int size) {
+        int slots = 2;
+        while (slots < size * 2L && slots < MAX_SLOTS) {
+            slots <<= 1;
+        }
+        return slots;
+    }
+
+    /**
+     * @param hash the hash code of a key
+     * @return the first slot to probe for the key, before masking
+     */
+    static int slot(final int hash) {
+        final int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * @param hash   the hash code of a key
+     * @param offset the file offset of the record for the key
+     * @return the slot entry for the key
+     */
+    static long entry(final int hash, final long offset) {
+        return ((long) (hash >>> 8) << OFFSET_BITS) | offset;
+    }
+
+    /**
+     * @param hash  the hash code of a key
+     * @param entry a slot entry
+     * @return true if the entry could be for the key
+     */
+    static boolean matches(final int hash, final long entry) {
+        return (hash >>> 8) == (int) (entry >>> OFFSET_BITS);
+    }
+}
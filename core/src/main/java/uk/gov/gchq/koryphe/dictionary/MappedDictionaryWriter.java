@@ -0,0 +1,213 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.koryphe.dictionary;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+
+import static uk.gov.gchq.koryphe.dictionary.MappedDictionaryFormat.HEADER_SIZE;
+import static uk.gov.gchq.koryphe.dictionary.MappedDictionaryFormat.MAGIC;
+import static uk.gov.gchq.koryphe.dictionary.MappedDictionaryFormat.MAX_SLOTS;
+import static uk.gov.gchq.koryphe.dictionary.MappedDictionaryFormat.OFFSET_MASK;
+import static uk.gov.gchq.koryphe.dictionary.MappedDictionaryFormat.SLOT_SIZE;
+import static uk.gov.gchq.koryphe.dictionary.MappedDictionaryFormat.VERSION;
+
+/**
+ * Writes a dictionary file that can be opened with {@link MappedDictionary}.
+ * The records are streamed to a temporary file next to the dictionary file as
+ * they are added, and only the hash code and offset of each key are held on
+ * the heap. When the writer is closed the hash table and records are written
+ * to another temporary file, which then atomically replaces the dictionary
+ * file. A dictionary file that is already mapped by a {@link MappedDictionary}
+ * is never changed in place, so it can be rebuilt while it is in use. If a key
+ * is added more than once the last value is kept.
+ */
+public class MappedDictionaryWriter implements Closeable {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final File file;
+    private final File recordsFile;
+    private final DataOutputStream records;
+    private int[] hashes = new int[INITIAL_CAPACITY];
+    private long[] offsets = new long[INITIAL_CAPACITY];
+    private int count;
+    private long recordsLength;
+    private boolean closed;
+
+    /**
+     * @param file the dictionary file to write
+     * @throws IOException if the temporary file for the records cannot be
+     *                     created
+     */
+    public MappedDictionaryWriter(final File file) throws IOException {
+        this.file = file;
+        recordsFile = File.createTempFile(file.getName(), ".records", file.getAbsoluteFile().getParentFile());
+        records = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(recordsFile)));
+    }
+
+    /**
+     * Writes the entries of a map to a dictionary file.
+     *
+     * @param dictionary the entries to write
+     * @param file       the dictionary file to write
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(final Map<String, String> dictionary, final File file) throws IOException {
+        try (MappedDictionaryWriter writer = new MappedDictionaryWriter(file)) {
+            for (final Map.Entry<String, String> entry : dictionary.entrySet()) {
+                writer.put(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * @param key   the key, must not be null
+     * @param value the value, must not be null
+     * @throws IOException if the record cannot be written
+     */
+    public void put(final String key, final String value) throws IOException {
+        if (closed) {
+            throw new IllegalStateException("The dictionary has already been written");
+        }
+        if (null == key || null == value) {
+            throw new IllegalArgumentException("Dictionary keys and values must not be null");
+        }
+        if (count == MAX_SLOTS / 2) {
+            throw new IllegalArgumentException("A dictionary cannot hold more than " + count + " entries");
+        }
+        if (count == hashes.length) {
+            final int capacity = (int) Math.min((long) count * 2, MAX_SLOTS / 2);
+            hashes = Arrays.copyOf(hashes, capacity);
+            offsets = Arrays.copyOf(offsets, capacity);
+        }
+
+        final byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        final byte[] valueBytes = value.getBytes(StandardCharsets.UTF_8);
+        hashes[count] = key.hashCode();
+        offsets[count] = recordsLength;
+        records.writeInt(keyBytes.length);
+        records.write(keyBytes);
+        records.writeInt(valueBytes.length);
+        records.write(valueBytes);
+        recordsLength += 8L + keyBytes.length + valueBytes.length;
+        count++;
+    }
+
+    /**
+     * Writes the dictionary file and deletes the temporary files.
+     *
+     * @throws IOException if the dictionary file cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        File dictionaryFile = null;
+        try {
+            records.close();
+            final int slotCount = MappedDictionaryFormat.slotCount(count);
+            final long dataStart = HEADER_SIZE + (long) slotCount * SLOT_SIZE;
+            if (dataStart + recordsLength > OFFSET_MASK) {
+                throw new IOException("The dictionary is too large: " + (dataStart + recordsLength) + " bytes");
+            }
+
+            final long[] slots = new long[slotCount];
+            final int size = fillSlots(slots, dataStart);
+            // Truncating a file that is mapped would break the dictionaries using it, so it is replaced instead
+            dictionaryFile = File.createTempFile(file.getName(), ".tmp", recordsFile.getParentFile());
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(dictionaryFile)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(size);
+                out.writeInt(slotCount);
+                for (final long slot : slots) {
+                    out.writeLong(slot);
+                }
+                Files.copy(recordsFile.toPath(), out);
+            }
+            Files.move(dictionaryFile.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            hashes = null;
+            offsets = null;
+            Files.deleteIfExists(recordsFile.toPath());
+            if (null != dictionaryFile) {
+                Files.deleteIfExists(dictionaryFile.toPath());
+            }
+        }
+    }
+
+    private int fillSlots(final long[] slots, final long dataStart) throws IOException {
+        final int mask = slots.length - 1;
+        int size = 0;
+        try (FileChannel channel = FileChannel.open(recordsFile.toPath(), StandardOpenOption.READ)) {
+            for (int i = 0; i < count; i++) {
+                final int hash = hashes[i];
+                final long entry = MappedDictionaryFormat.entry(hash, dataStart + offsets[i]);
+                int slot = MappedDictionaryFormat.slot(hash) & mask;
+                while (true) {
+                    final long existing = slots[slot];
+                    if (0L == existing) {
+                        slots[slot] = entry;
+                        size++;
+                        break;
+                    }
+                    if (MappedDictionaryFormat.matches(hash, existing)
+                            && Arrays.equals(readKey(channel, (existing & OFFSET_MASK) - dataStart), readKey(channel, offsets[i]))) {
+                        slots[slot] = entry;
+                        break;
+                    }
+                    slot = (slot + 1) & mask;
+                }
+            }
+        }
+        return size;
+    }
+
+    private static byte[] readKey(final FileChannel channel, final long offset) throws IOException {
+        final ByteBuffer length = ByteBuffer.allocate(4);
+        readFully(channel, length, offset);
+        final ByteBuffer key = ByteBuffer.allocate(length.getInt(0));
+        readFully(channel, key, offset + 4);
+        return key.array();
+    }
+
+    private static void readFully(final FileChannel channel, final ByteBuffer buffer, final long offset) throws IOException {
+        long position = offset;
+        while (buffer.hasRemaining()) {
+            final int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("Unexpected end of the dictionary records");
+            }
+            position += read;
+        }
+    }
+}
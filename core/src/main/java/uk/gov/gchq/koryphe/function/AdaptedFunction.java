@@ -33,7 +33,7 @@ import java.util.function.Function;
  * @param <FO> Function output to be adapted
  * @param <O>  Output type
  */
-public abstract class AdaptedFunction<I, FI, FO, O> extends Adapted<I, FI, FO, O, I> implements Function<I, O> {
+public abstract class AdaptedFunction<I, FI, FO, O> extends Adapted<I, FI, FO, O, I> implements BatchFunction<I, O> {
     @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, include = JsonTypeInfo.As.PROPERTY, property = "class")
     protected Function<FI, FO> function;
 
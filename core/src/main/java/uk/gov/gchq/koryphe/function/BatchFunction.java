@@ -0,0 +1,63 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.koryphe.function;
+
+import java.util.function.Function;
+
+/**
+ * A <code>BatchFunction</code> is a {@link Function} that can be applied to a
+ * batch of inputs in a single call. The default implementation applies the
+ * function to each input in turn. Implementations can override
+ * {@link #applyBatch(Object[], Object[], int)} with a tighter loop.
+ *
+ * @param <I> Input type
+ * @param <O> Output type
+ */
+public interface BatchFunction<I, O> extends Function<I, O> {
+    /**
+     * Applies this function to the first <code>size</code> inputs, writing each
+     * result to the same index of the outputs. The inputs and outputs may be
+     * the same array.
+     *
+     * @param inputs  the inputs
+     * @param outputs the array to write the outputs to
+     * @param size    the number of inputs to apply the function to
+     */
+    default void applyBatch(final Object[] inputs, final Object[] outputs, final int size) {
+        for (int i = 0; i < size; i++) {
+            outputs[i] = apply((I) inputs[i]);
+        }
+    }
+
+    /**
+     * Applies any {@link Function} to a batch of inputs, using
+     * {@link #applyBatch(Object[], Object[], int)} if it is supported.
+     *
+     * @param function the function to apply
+     * @param inputs   the inputs
+     * @param outputs  the array to write the outputs to
+     * @param size     the number of inputs to apply the function to
+     */
+    static void applyBatch(final Function function, final Object[] inputs, final Object[] outputs, final int size) {
+        if (function instanceof BatchFunction) {
+            ((BatchFunction) function).applyBatch(inputs, outputs, size);
+        } else {
+            for (int i = 0; i < size; i++) {
+                outputs[i] = function.apply(inputs[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.koryphe.function;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import uk.gov.gchq.koryphe.Since;
+import uk.gov.gchq.koryphe.Summary;
+import uk.gov.gchq.koryphe.ValidationResult;
+import uk.gov.gchq.koryphe.signature.InputValidator;
+import uk.gov.gchq.koryphe.signature.Signature;
+import uk.gov.gchq.koryphe.util.CacheStatistics;
+import uk.gov.gchq.koryphe.util.MemoisingCacheHolder;
+
+import java.util.function.Function;
+
+/**
+ * A <code>Cached</code> is a {@link Function} that caches the outputs of
+ * another {@link Function} for the inputs it has seen, using a
+ * {@link uk.gov.gchq.koryphe.util.MemoisingCache}. It should only wrap
+ * functions that always return the same output for the same input, and whose
+ * outputs are not modified.
+ * <p>
+ * Only the sizing of the cache is serialised. Each instance creates its own
+ * cache when it is first applied.
+ *
+ * @param <I> the input type
+ * @param <O> the output type
+ */
+@Since("1.12.0")
+@Summary("Caches the outputs of a function")
+public class Cached<I, O> extends KorypheFunction<I, O> implements InputValidator {
+    public static final long DEFAULT_MAXIMUM_SIZE = MemoisingCacheHolder.DEFAULT_MAXIMUM_SIZE;
+
+    @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, include = JsonTypeInfo.As.PROPERTY, property = "class")
+    private Function<I, O> function;
+    private final MemoisingCacheHolder<I, O> cache = new MemoisingCacheHolder<>();
+
+    public Cached() {
+        // Required for serialisation
+    }
+
+    public Cached(final Function<I, O> function) {
+        this.function = function;
+    }
+
+    public Cached(final Function<I, O> function, final long maximumSize) {
+        this.function = function;
+        setMaximumSize(maximumSize);
+    }
+
+    @Override
+    public O apply(final I input) {
+        if (null == function) {
+            throw new IllegalArgumentException("The " + Cached.class.getName() + " KorypheFunction has not been provided with a function");
+        }
+        return cache.getCache().get(input, function);
+    }
+
+    /**
+     * @return the statistics for the cache, or null if it has not been
+     * created yet
+     */
+    @JsonIgnore
+    public CacheStatistics getStatistics() {
+        return cache.getStatistics();
+    }
+
+    public Function<I, O> getFunction() {
+        return function;
+    }
+
+    public void setFunction(final Function<I, O> function) {
+        this.function = function;
+        cache.reset();
+    }
+
+    public long getMaximumSize() {
+        return cache.getMaximumSize();
+    }
+
+    /**
+     * @param maximumSize the maximum number of outputs to cache, used if
+     *                    there is no maximum weight
+     */
+    public void setMaximumSize(final long maximumSize) {
+        cache.setMaximumSize(maximumSize);
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    public long getMaximumWeight() {
+        return cache.getMaximumWeight();
+    }
+
+    /**
+     * @param maximumWeight the maximum total weight of the outputs to cache,
+     *                      or 0 to bound the number of outputs instead
+     * @see uk.gov.gchq.koryphe.util.MemoisingCache#weigh(Object)
+     */
+    public void setMaximumWeight(final long maximumWeight) {
+        cache.setMaximumWeight(maximumWeight);
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    public long getMaximumEntryWeight() {
+        return cache.getMaximumEntryWeight();
+    }
+
+    /**
+     * @param maximumEntryWeight the maximum weight of an output to cache, or
+     *                           0 for no maximum
+     */
+    public void setMaximumEntryWeight(final long maximumEntryWeight) {
+        cache.setMaximumEntryWeight(maximumEntryWeight);
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    public long getExpireAfterWriteMillis() {
+        return cache.getExpireAfterWriteMillis();
+    }
+
+    /**
+     * @param expireAfterWriteMillis the time in milliseconds after which a
+     *                               cached output expires, or 0 for outputs
+     *                               to not expire
+     */
+    public void setExpireAfterWriteMillis(final long expireAfterWriteMillis) {
+        cache.setExpireAfterWriteMillis(expireAfterWriteMillis);
+    }
+
+    @Override
+    public ValidationResult isInputValid(final Class<?>... arguments) {
+        if (null == function) {
+            return new ValidationResult();
+        }
+        return Signature.getInputSignature(function).assignable(arguments);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (!super.equals(o)) {
+            return false; // Does class checking
+        }
+
+        final Cached that = (Cached) o;
+        return new EqualsBuilder()
+                .append(function, that.function)
+                .append(cache, that.cache)
+                .isEquals();
+    }
+
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder(29, 61)
+                .appendSuper(super.hashCode())
+                .append(function)
+                .append(cache)
+                .toHashCode();
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("function", function)
+                .append("cache", cache)
+                .toString();
+    }
+}
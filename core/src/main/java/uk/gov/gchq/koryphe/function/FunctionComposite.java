@@ -37,7 +37,7 @@ import static java.util.Objects.nonNull;
  */
 @Since("1.0.0")
 @Summary("Applies multiple functions")
-public class FunctionComposite<I, O, C extends Function> extends Composite<C> implements Function<I, O> {
+public class FunctionComposite<I, O, C extends Function> extends Composite<C> implements BatchFunction<I, O> {
     /**
      * Default - for serialisation.
      */
@@ -71,4 +71,24 @@ public class FunctionComposite<I, O, C extends Function> extends Composite<C> im
         }
         return (O) result;
     }
+
+    /**
+     * Pushes the whole batch through each Function component in turn.
+     *
+     * @param inputs  the inputs
+     * @param outputs the array to write the outputs to
+     * @param size    the number of inputs to apply the functions to
+     */
+    @Override
+    public void applyBatch(final Object[] inputs, final Object[] outputs, final int size) {
+        if (nonNull(components) && !components.isEmpty()) {
+            Object[] stageInputs = inputs;
+            for (final Function function : this.components) {
+                BatchFunction.applyBatch(function, stageInputs, outputs, size);
+                stageInputs = outputs;
+            }
+        } else if (inputs != outputs) {
+            System.arraycopy(inputs, 0, outputs, 0, size);
+        }
+    }
 }
@@ -18,7 +18,6 @@ package uk.gov.gchq.koryphe.function;
 
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 
-import java.util.function.Function;
 
 /**
  * Abstract superclass provided for convenience.
@@ -27,7 +26,7 @@ import java.util.function.Function;
  * @param <O> Output type
  */
 @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, include = JsonTypeInfo.As.PROPERTY, property = "class")
-public abstract class KorypheFunction<I, O> implements Function<I, O> {
+public abstract class KorypheFunction<I, O> implements BatchFunction<I, O> {
     @Override
     public boolean equals(final Object obj) {
         return this == obj || classEquals(obj);
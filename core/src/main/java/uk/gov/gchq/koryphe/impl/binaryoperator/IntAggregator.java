@@ -0,0 +1,140 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.koryphe.impl.binaryoperator;
+
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.IntConsumer;
+import java.util.function.IntSupplier;
+
+/**
+ * An <code>IntAggregator</code> is a mutable, primitive int accumulator for a
+ * {@link NumericOperation}. Values can be folded in without boxing and the
+ * result is only boxed when {@link #getResult()} is called.
+ * <p>
+ * With the {@link OverflowPolicy#WIDEN} policy the state switches to a
+ * {@link LongAggregator} on the first overflow.
+ * This class is not thread safe.
+ */
+public class IntAggregator implements IntConsumer, IntSupplier {
+    private final NumericOperation operation;
+    private final OverflowPolicy overflowPolicy;
+    private boolean empty = true;
+    private int value;
+    private LongAggregator widened;
+
+    public IntAggregator(final NumericOperation operation) {
+        this(operation, OverflowPolicy.THROW);
+    }
+
+    public IntAggregator(final NumericOperation operation, final OverflowPolicy overflowPolicy) {
+        this.operation = Objects.requireNonNull(operation, "Operation is required");
+        this.overflowPolicy = Objects.requireNonNull(overflowPolicy, "Overflow policy is required");
+    }
+
+    @Override
+    public void accept(final int input) {
+        if (empty) {
+            value = input;
+            empty = false;
+        } else if (null != widened) {
+            widened.accept(input);
+        } else if (OverflowPolicy.WIDEN == overflowPolicy) {
+            try {
+                value = operation.applyAsInt(value, input, OverflowPolicy.THROW);
+            } catch (final ArithmeticException e) {
+                widened = new LongAggregator(operation, overflowPolicy);
+                widened.accept(value);
+                widened.accept(input);
+            }
+        } else {
+            value = operation.applyAsInt(value, input, overflowPolicy);
+        }
+    }
+
+    /**
+     * Folds the result of another aggregator into this one.
+     *
+     * @param other the aggregator to merge in
+     */
+    public void merge(final IntAggregator other) {
+        if (other.empty) {
+            return;
+        }
+
+        if (null == other.widened) {
+            accept(other.value);
+            return;
+        }
+
+        if (null == widened) {
+            widened = new LongAggregator(operation, overflowPolicy);
+            if (!empty) {
+                widened.accept(value);
+            }
+            empty = false;
+        }
+        widened.merge(other.widened);
+    }
+
+    /**
+     * @return the result as a primitive int.
+     * @throws NoSuchElementException if no values have been aggregated
+     * @throws ArithmeticException    if the result has been widened
+     */
+    @Override
+    public int getAsInt() {
+        if (empty) {
+            throw new NoSuchElementException("No values have been aggregated");
+        }
+        if (null != widened) {
+            throw new ArithmeticException("The result has been widened to a " + widened.getResult().getClass().getSimpleName());
+        }
+        return value;
+    }
+
+    /**
+     * @return the result as an Integer, Long or BigInteger, or null if no values have been aggregated.
+     */
+    public Number getResult() {
+        if (empty) {
+            return null;
+        }
+        return null != widened ? widened.getResult() : Integer.valueOf(value);
+    }
+
+    public boolean isEmpty() {
+        return empty;
+    }
+
+    public boolean isWidened() {
+        return null != widened;
+    }
+
+    public void reset() {
+        empty = true;
+        value = 0;
+        widened = null;
+    }
+
+    public NumericOperation getOperation() {
+        return operation;
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+}
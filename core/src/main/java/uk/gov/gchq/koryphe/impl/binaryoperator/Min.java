@@ -32,4 +32,18 @@ public class Min extends KorypheBinaryOperator<Comparable> {
     protected Comparable _apply(final Comparable a, final Comparable b) {
         return a.compareTo(b) <= 0 ? a : b;
     }
+
+    @Override
+    public Comparable reduceBatch(final Comparable state, final Object[] inputs, final int size) {
+        Comparable result = state;
+        for (int i = 0; i < size; i++) {
+            final Comparable input = (Comparable) inputs[i];
+            if (null == result) {
+                result = input;
+            } else if (null != input && result.compareTo(input) > 0) {
+                result = input;
+            }
+        }
+        return result;
+    }
 }
@@ -16,7 +16,10 @@
 
 package uk.gov.gchq.koryphe.impl.binaryoperator;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
 
 import uk.gov.gchq.koryphe.binaryoperator.KorypheBinaryOperator;
 
@@ -26,13 +29,28 @@ import uk.gov.gchq.koryphe.binaryoperator.KorypheBinaryOperator;
  * implement the init methods and aggregate methods for the different number types.
  * If you know the type of number that will be used then this can be set by calling setMode(NumberType),
  * otherwise it will be automatically set for you using the class of the first number passed in.
+ * <p>
+ * Implementations that provide a {@link NumericOperation} also support an optional
+ * {@link OverflowPolicy}. When a policy is set, overflow is saturated, widened or
+ * thrown instead of the default behaviour of each aggregate method, and
+ * {@link java.math.BigInteger} and {@link java.math.BigDecimal} values are supported.
  *
  * @see NumericAggregateFunction
  */
 public abstract class NumericAggregateFunction extends KorypheBinaryOperator<Number> {
+    private OverflowPolicy overflowPolicy;
+
     @SuppressFBWarnings(value = "BC_UNCONFIRMED_CAST", justification = "Assume both inputs are the same type")
     @Override
     public Number _apply(final Number a, final Number b) {
+        if (null != overflowPolicy) {
+            final NumericOperation operation = getNumericOperation();
+            if (null == operation) {
+                throw new IllegalArgumentException(getClass().getSimpleName() + " does not support overflow policies");
+            }
+            return operation.apply(a, b, overflowPolicy);
+        }
+
         if (a instanceof Integer) {
             return aggregateInt((Integer) a, (Integer) b);
         } else if (a instanceof Long) {
@@ -48,6 +66,79 @@ public abstract class NumericAggregateFunction extends KorypheBinaryOperator<Num
         return null;
     }
 
+    /**
+     * Folds a batch of Integers, Longs or Doubles as primitives when the
+     * implementation provides a {@link NumericOperation} and no overflow policy
+     * is set. Other types, and batches with mixed types, are folded one at a time.
+     *
+     * @param state  the state to fold into
+     * @param inputs the inputs to fold in
+     * @param size   the number of inputs
+     * @return the new state
+     */
+    @Override
+    public Number reduceBatch(final Number state, final Object[] inputs, final int size) {
+        final NumericOperation operation = getNumericOperation();
+        if (null != overflowPolicy || null == operation) {
+            return super.reduceBatch(state, inputs, size);
+        }
+
+        Number result = state;
+        int i = 0;
+        while (null == result && i < size) {
+            result = (Number) inputs[i++];
+        }
+
+        if (result instanceof Integer) {
+            int value = (Integer) result;
+            for (; i < size; i++) {
+                final Object input = inputs[i];
+                if (input instanceof Integer) {
+                    value = (int) operation.applyUnchecked((long) value, (long) (Integer) input);
+                } else if (null != input) {
+                    return reduce(value, inputs, i, size);
+                }
+            }
+            return value;
+        }
+
+        if (result instanceof Long) {
+            long value = (Long) result;
+            for (; i < size; i++) {
+                final Object input = inputs[i];
+                if (input instanceof Long) {
+                    value = operation.applyUnchecked(value, (long) (Long) input);
+                } else if (null != input) {
+                    return reduce(value, inputs, i, size);
+                }
+            }
+            return value;
+        }
+
+        if (result instanceof Double) {
+            double value = (Double) result;
+            for (; i < size; i++) {
+                final Object input = inputs[i];
+                if (input instanceof Double) {
+                    value = operation.applyUnchecked(value, (double) (Double) input);
+                } else if (null != input) {
+                    return reduce(value, inputs, i, size);
+                }
+            }
+            return value;
+        }
+
+        return reduce(result, inputs, i, size);
+    }
+
+    private Number reduce(final Number state, final Object[] inputs, final int from, final int size) {
+        Number result = state;
+        for (int i = from; i < size; i++) {
+            result = apply(result, (Number) inputs[i]);
+        }
+        return result;
+    }
+
     protected abstract Integer aggregateInt(final Integer a, final Integer b);
 
     protected abstract Long aggregateLong(final Long a, final Long b);
@@ -57,4 +148,48 @@ public abstract class NumericAggregateFunction extends KorypheBinaryOperator<Num
     protected abstract Float aggregateFloat(final Float a, final Float b);
 
     protected abstract Short aggregateShort(final Short a, final Short b);
+
+    /**
+     * Implementations that return an operation must aggregate Integers, Longs
+     * and Doubles in the same way as that operation.
+     *
+     * @return the operation used for overflow policies and batches, or null if
+     * these are not supported.
+     */
+    protected NumericOperation getNumericOperation() {
+        return null;
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public void setOverflowPolicy(final OverflowPolicy overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+
+        if (null == obj || !getClass().equals(obj.getClass())) {
+            return false;
+        }
+
+        final NumericAggregateFunction that = (NumericAggregateFunction) obj;
+        return new EqualsBuilder()
+                .append(overflowPolicy, that.overflowPolicy)
+                .isEquals();
+    }
+
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder(31, 47)
+                .append(getClass().hashCode())
+                .append(overflowPolicy)
+                .toHashCode();
+    }
 }
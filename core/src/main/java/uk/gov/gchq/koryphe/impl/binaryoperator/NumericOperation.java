@@ -0,0 +1,313 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.koryphe.impl.binaryoperator;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Objects;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.IntBinaryOperator;
+import java.util.function.LongBinaryOperator;
+
+/**
+ * A <code>NumericOperation</code> is one of the numeric aggregations, with
+ * primitive implementations that detect overflow and apply an {@link OverflowPolicy}.
+ * <p>
+ * A primitive result cannot be widened, so the primitive methods throw an
+ * {@link ArithmeticException} on overflow when the policy is {@link OverflowPolicy#WIDEN}.
+ * The {@link LongAggregator}, {@link IntAggregator} and {@link DoubleAggregator}
+ * handle widening by switching to a wider state.
+ */
+public enum NumericOperation {
+    SUM,
+    PRODUCT,
+    MAX,
+    MIN;
+
+    private static final int SHORT_RANK = 0;
+    private static final int INT_RANK = 1;
+    private static final int LONG_RANK = 2;
+    private static final int BIG_INTEGER_RANK = 3;
+    private static final int FLOAT_RANK = 4;
+    private static final int DOUBLE_RANK = 5;
+    private static final int BIG_DECIMAL_RANK = 6;
+
+    public int applyAsInt(final int a, final int b, final OverflowPolicy policy) {
+        final long result = applyUnchecked((long) a, (long) b);
+        if (result > Integer.MAX_VALUE || result < Integer.MIN_VALUE) {
+            overflow(policy, "integer");
+            return result > 0 ? Integer.MAX_VALUE : Integer.MIN_VALUE;
+        }
+        return (int) result;
+    }
+
+    public long applyAsLong(final long a, final long b, final OverflowPolicy policy) {
+        switch (this) {
+            case SUM:
+                final long sum = a + b;
+                if (((a ^ sum) & (b ^ sum)) < 0) {
+                    overflow(policy, "long");
+                    return b > 0 ? Long.MAX_VALUE : Long.MIN_VALUE;
+                }
+                return sum;
+            case PRODUCT:
+                final long product = a * b;
+                if ((((Math.abs(a) | Math.abs(b)) >>> 31) != 0)
+                        && ((b != 0 && product / b != a) || (a == Long.MIN_VALUE && b == -1))) {
+                    overflow(policy, "long");
+                    return (a < 0) == (b < 0) ? Long.MAX_VALUE : Long.MIN_VALUE;
+                }
+                return product;
+            default:
+                return applyUnchecked(a, b);
+        }
+    }
+
+    public double applyAsDouble(final double a, final double b, final OverflowPolicy policy) {
+        final double result;
+        switch (this) {
+            case SUM:
+                result = a + b;
+                break;
+            case PRODUCT:
+                result = a * b;
+                break;
+            case MAX:
+                return Math.max(a, b);
+            default:
+                return Math.min(a, b);
+        }
+
+        if (Double.isInfinite(result) && !Double.isInfinite(a) && !Double.isInfinite(b)) {
+            overflow(policy, "double");
+            return result > 0 ? Double.MAX_VALUE : -Double.MAX_VALUE;
+        }
+        return result;
+    }
+
+    public BigInteger apply(final BigInteger a, final BigInteger b) {
+        switch (this) {
+            case SUM:
+                return a.add(b);
+            case PRODUCT:
+                return a.multiply(b);
+            case MAX:
+                return a.max(b);
+            default:
+                return a.min(b);
+        }
+    }
+
+    public BigDecimal apply(final BigDecimal a, final BigDecimal b) {
+        switch (this) {
+            case SUM:
+                return a.add(b);
+            case PRODUCT:
+                return a.multiply(b);
+            case MAX:
+                return a.max(b);
+            default:
+                return a.min(b);
+        }
+    }
+
+    /**
+     * Applies this operation to boxed numbers. Both numbers must be the same
+     * type unless the policy is {@link OverflowPolicy#WIDEN}, in which case
+     * the narrower number is first promoted to the type of the wider one.
+     *
+     * @param a      the first number
+     * @param b      the second number
+     * @param policy the overflow policy
+     * @return the result, or null if the number type is not supported
+     */
+    public Number apply(final Number a, final Number b, final OverflowPolicy policy) {
+        int rank = getRank(a);
+        final int otherRank = getRank(b);
+        if (rank < 0 || otherRank < 0) {
+            return null;
+        }
+
+        if (rank != otherRank) {
+            if (OverflowPolicy.WIDEN != policy) {
+                throw new ClassCastException("Unable to aggregate a " + a.getClass().getName() + " with a " + b.getClass().getName());
+            }
+            rank = Math.max(rank, otherRank);
+        }
+
+        switch (rank) {
+            case SHORT_RANK:
+                return applyShort(a.shortValue(), b.shortValue(), policy);
+            case INT_RANK:
+                return applyInt(a.intValue(), b.intValue(), policy);
+            case LONG_RANK:
+                return applyLong(a.longValue(), b.longValue(), policy);
+            case BIG_INTEGER_RANK:
+                return apply(toBigInteger(a), toBigInteger(b));
+            case FLOAT_RANK:
+                return applyFloat(a.floatValue(), b.floatValue(), policy);
+            case DOUBLE_RANK:
+                return applyDouble(a.doubleValue(), b.doubleValue(), policy);
+            default:
+                return apply(toBigDecimal(a), toBigDecimal(b));
+        }
+    }
+
+    public IntBinaryOperator asIntBinaryOperator(final OverflowPolicy policy) {
+        Objects.requireNonNull(policy, "Overflow policy is required");
+        return (a, b) -> applyAsInt(a, b, policy);
+    }
+
+    public LongBinaryOperator asLongBinaryOperator(final OverflowPolicy policy) {
+        Objects.requireNonNull(policy, "Overflow policy is required");
+        return (a, b) -> applyAsLong(a, b, policy);
+    }
+
+    public DoubleBinaryOperator asDoubleBinaryOperator(final OverflowPolicy policy) {
+        Objects.requireNonNull(policy, "Overflow policy is required");
+        return (a, b) -> applyAsDouble(a, b, policy);
+    }
+
+    static BigInteger toBigInteger(final Number number) {
+        if (number instanceof BigInteger) {
+            return (BigInteger) number;
+        }
+        return BigInteger.valueOf(number.longValue());
+    }
+
+    static BigDecimal toBigDecimal(final Number number) {
+        if (number instanceof BigDecimal) {
+            return (BigDecimal) number;
+        }
+        if (number instanceof BigInteger) {
+            return new BigDecimal((BigInteger) number);
+        }
+        if (number instanceof Float || number instanceof Double) {
+            return new BigDecimal(number.doubleValue());
+        }
+        return BigDecimal.valueOf(number.longValue());
+    }
+
+    // Applies this operation without overflow checks. The result of two ints always fits in a long.
+    long applyUnchecked(final long a, final long b) {
+        switch (this) {
+            case SUM:
+                return a + b;
+            case PRODUCT:
+                return a * b;
+            case MAX:
+                return Math.max(a, b);
+            default:
+                return Math.min(a, b);
+        }
+    }
+
+    double applyUnchecked(final double a, final double b) {
+        switch (this) {
+            case SUM:
+                return a + b;
+            case PRODUCT:
+                return a * b;
+            case MAX:
+                return Math.max(a, b);
+            default:
+                return Math.min(a, b);
+        }
+    }
+
+    private Number applyShort(final short a, final short b, final OverflowPolicy policy) {
+        final long result = applyUnchecked((long) a, (long) b);
+        if (result > Short.MAX_VALUE || result < Short.MIN_VALUE) {
+            if (OverflowPolicy.WIDEN == policy) {
+                return (int) result;
+            }
+            overflow(policy, "short");
+            return result > 0 ? Short.MAX_VALUE : Short.MIN_VALUE;
+        }
+        return (short) result;
+    }
+
+    private Number applyInt(final int a, final int b, final OverflowPolicy policy) {
+        final long result = applyUnchecked((long) a, (long) b);
+        if (result > Integer.MAX_VALUE || result < Integer.MIN_VALUE) {
+            if (OverflowPolicy.WIDEN == policy) {
+                return result;
+            }
+            overflow(policy, "integer");
+            return result > 0 ? Integer.MAX_VALUE : Integer.MIN_VALUE;
+        }
+        return (int) result;
+    }
+
+    private Number applyLong(final long a, final long b, final OverflowPolicy policy) {
+        if (OverflowPolicy.WIDEN == policy) {
+            try {
+                return applyAsLong(a, b, OverflowPolicy.THROW);
+            } catch (final ArithmeticException e) {
+                return apply(BigInteger.valueOf(a), BigInteger.valueOf(b));
+            }
+        }
+        return applyAsLong(a, b, policy);
+    }
+
+    private Number applyFloat(final float a, final float b, final OverflowPolicy policy) {
+        final double result = applyAsDouble(a, b, OverflowPolicy.SATURATE);
+        if (Math.abs(result) > Float.MAX_VALUE && !Double.isInfinite(result)) {
+            if (OverflowPolicy.WIDEN == policy) {
+                return result;
+            }
+            overflow(policy, "float");
+            return result > 0 ? Float.MAX_VALUE : -Float.MAX_VALUE;
+        }
+        return (float) result;
+    }
+
+    private Number applyDouble(final double a, final double b, final OverflowPolicy policy) {
+        if (OverflowPolicy.WIDEN == policy) {
+            try {
+                return applyAsDouble(a, b, OverflowPolicy.THROW);
+            } catch (final ArithmeticException e) {
+                return apply(new BigDecimal(a), new BigDecimal(b));
+            }
+        }
+        return applyAsDouble(a, b, policy);
+    }
+
+    private static void overflow(final OverflowPolicy policy, final String type) {
+        if (OverflowPolicy.SATURATE != policy) {
+            throw new ArithmeticException(type + " overflow");
+        }
+    }
+
+    private static int getRank(final Number number) {
+        if (number instanceof Short) {
+            return SHORT_RANK;
+        } else if (number instanceof Integer) {
+            return INT_RANK;
+        } else if (number instanceof Long) {
+            return LONG_RANK;
+        } else if (number instanceof BigInteger) {
+            return BIG_INTEGER_RANK;
+        } else if (number instanceof Float) {
+            return FLOAT_RANK;
+        } else if (number instanceof Double) {
+            return DOUBLE_RANK;
+        } else if (number instanceof BigDecimal) {
+            return BIG_DECIMAL_RANK;
+        }
+        return -1;
+    }
+}
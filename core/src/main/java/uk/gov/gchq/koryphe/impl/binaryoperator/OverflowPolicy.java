@@ -0,0 +1,40 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.koryphe.impl.binaryoperator;
+
+/**
+ * An <code>OverflowPolicy</code> decides what happens when a numeric
+ * aggregation produces a result outside the range of its type.
+ *
+ * @see NumericOperation
+ */
+public enum OverflowPolicy {
+    /**
+     * Clamp the result to the min or max value of the type.
+     */
+    SATURATE,
+
+    /**
+     * Promote the result to a wider type: Short to Integer, Integer to Long,
+     * Long to BigInteger, Float to Double and Double to BigDecimal.
+     */
+    WIDEN,
+
+    /**
+     * Throw an {@link ArithmeticException}.
+     */
+    THROW
+}
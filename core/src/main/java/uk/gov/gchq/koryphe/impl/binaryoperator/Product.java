@@ -36,6 +36,19 @@ import uk.gov.gchq.koryphe.ValidationResult;
 public class Product extends NumericAggregateFunction {
     private static final Logger LOGGER = LoggerFactory.getLogger(ValidationResult.class);
 
+    public Product() {
+        // required for serialisation
+    }
+
+    public Product(final OverflowPolicy overflowPolicy) {
+        setOverflowPolicy(overflowPolicy);
+    }
+
+    @Override
+    protected NumericOperation getNumericOperation() {
+        return NumericOperation.PRODUCT;
+    }
+
     @Override
     protected Integer aggregateInt(final Integer a, final Integer b) {
         return a * b;
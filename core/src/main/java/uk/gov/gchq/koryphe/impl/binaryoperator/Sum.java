@@ -36,6 +36,19 @@ import uk.gov.gchq.koryphe.ValidationResult;
 public class Sum extends NumericAggregateFunction {
     private static final Logger LOGGER = LoggerFactory.getLogger(ValidationResult.class);
 
+    public Sum() {
+        // required for serialisation
+    }
+
+    public Sum(final OverflowPolicy overflowPolicy) {
+        setOverflowPolicy(overflowPolicy);
+    }
+
+    @Override
+    protected NumericOperation getNumericOperation() {
+        return NumericOperation.SUM;
+    }
+
     @Override
     protected Integer aggregateInt(final Integer a, final Integer b) {
         return a + b;
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.koryphe.impl.function;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.Map;
+
+/**
+ * Parses CSV text into {@link CsvRecordMap}s using a single shared header
+ * index and {@link CSVFormat}.
+ * <p>
+ * Most lines contain no quote characters or line breaks. These are split on
+ * the delimiter directly, which gives the same result as {@link CSVParser}
+ * for the formats used here. Any other line is passed to a
+ * {@link CSVParser}.
+ */
+final class CsvLineParser {
+    private final CSVFormat format;
+    private final CsvRecordMap.Header header;
+    private final char delimiter;
+    private final char quote;
+
+    CsvLineParser(final char delimiter, final boolean quoted, final char quoteChar, final CsvRecordMap.Header header) {
+        CSVFormat csvFormat = CSVFormat.DEFAULT.withDelimiter(delimiter);
+        if (quoted) {
+            csvFormat = csvFormat.withQuote(quoteChar);
+        }
+        this.format = csvFormat;
+        this.header = header;
+        this.delimiter = delimiter;
+        this.quote = csvFormat.getQuoteCharacter();
+    }
+
+    CSVFormat getFormat() {
+        return format;
+    }
+
+    CsvRecordMap.Header getHeader() {
+        return header;
+    }
+
+    /**
+     * Parses a single line, which must have one column per header entry.
+     *
+     * @param line the CSV line
+     * @return the line as a map from column name to value
+     */
+    Map<String, Object> parseLine(final String line) {
+        final Object[] values = isSimple(line) ? split(line) : parseRecord(line);
+        if (values.length != header.getWidth()) {
+            throw new IllegalArgumentException(
+                    "CSV has " + values.length
+                            + " columns, but there are " + header.getWidth()
+                            + " provided column names"
+            );
+        }
+        return new CsvRecordMap(header, values);
+    }
+
+    /**
+     * Opens a parser over the given reader.
+     *
+     * @param reader the reader containing CSV records
+     * @return the parser
+     * @throws IOException if the parser could not be created
+     */
+    CSVParser open(final Reader reader) throws IOException {
+        return new CSVParser(reader, format);
+    }
+
+    private boolean isSimple(final String line) {
+        if (line.isEmpty() || quote == delimiter) {
+            return false;
+        }
+        for (int i = 0; i < line.length(); i++) {
+            final char c = line.charAt(i);
+            if (c == quote || c == '\n' || c == '\r') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Object[] split(final String line) {
+        int count = 1;
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) == delimiter) {
+                count++;
+            }
+        }
+
+        final Object[] values = new Object[count];
+        int start = 0;
+        for (int i = 0; i < count - 1; i++) {
+            final int end = line.indexOf(delimiter, start);
+            values[i] = line.substring(start, end);
+            start = end + 1;
+        }
+        values[count - 1] = line.substring(start);
+        return values;
+    }
+
+    private Object[] parseRecord(final String line) {
+        final CSVRecord record;
+        try {
+            record = new CSVParser(new StringReader(line), format).iterator().next();
+        } catch (final IOException e) {
+            throw new RuntimeException(e);
+        }
+
+        final Object[] values = new Object[record.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = record.get(i);
+        }
+        return values;
+    }
+}
@@ -18,9 +18,6 @@ package uk.gov.gchq.koryphe.impl.function;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
-import org.apache.commons.csv.CSVFormat;
-import org.apache.commons.csv.CSVParser;
-import org.apache.commons.csv.CSVRecord;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 
@@ -30,19 +27,23 @@ import uk.gov.gchq.koryphe.function.KorypheFunction;
 import uk.gov.gchq.koryphe.iterable.CloseableIterable;
 import uk.gov.gchq.koryphe.util.IterableUtil;
 
-import java.io.IOException;
 import java.io.Serializable;
-import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
 import static java.util.Objects.isNull;
 
+/**
+ * A {@code CsvLinesToMaps} is a {@link java.util.function.Function} that parses
+ * each CSV line into a {@link Map} from column name to value.
+ * <p>
+ * The lines are parsed lazily as the result is iterated. Each row is a compact
+ * view over a header index shared by every row, rather than a new
+ * {@link java.util.HashMap}.
+ */
 @Since("1.8.0")
 @Summary("Parses CSV lines into Maps")
 @JsonPropertyOrder(value = {"header", "firstRow", "delimiter", "quoted", "quoteChar"},
@@ -62,47 +63,13 @@ public class CsvLinesToMaps extends KorypheFunction<Iterable<String>, Iterable<M
             return null;
         }
 
+        final CsvLineParser parser = createParser();
         final CloseableIterable<String> csvRecords = IterableUtil.limit(csvStrings, firstRow, null, false);
-        return IterableUtil.map(csvRecords, (item) -> createMap((String) item));
-    }
-
-    private Map<String, Object> createMap(final String csvItem) {
-        return extractMap(parseCsv(csvItem));
-    }
-
-    private Map<String, Object> extractMap(final CSVRecord csvRecord) {
-        final Iterator<String> columnNamesItr = header.iterator();
-        final Map<String, Object> map = new HashMap<>();
-        for (final String columnValue : csvRecord) {
-            map.put(columnNamesItr.next(), columnValue);
-        }
-        return map;
+        return IterableUtil.map(csvRecords, (item) -> parser.parseLine((String) item));
     }
 
-    private CSVRecord parseCsv(final String csv) {
-        final CSVRecord csvRecord;
-        try {
-            csvRecord = new CSVParser(new StringReader(csv), getCsvFormat()).iterator().next();
-        } catch (final IOException e) {
-            throw new RuntimeException(e);
-        }
-
-        if (csvRecord.size() != header.size()) {
-            throw new IllegalArgumentException(
-                    "CSV has " + csvRecord.size()
-                            + " columns, but there are " + header.size()
-                            + " provided column names"
-            );
-        }
-        return csvRecord;
-    }
-
-    private CSVFormat getCsvFormat() {
-        CSVFormat format = CSVFormat.DEFAULT.withDelimiter(delimiter);
-        if (quoted) {
-            format = format.withQuote(quoteChar);
-        }
-        return format;
+    private CsvLineParser createParser() {
+        return new CsvLineParser(delimiter, quoted, quoteChar, new CsvRecordMap.Header(header));
     }
 
     public List<String> getHeader() {
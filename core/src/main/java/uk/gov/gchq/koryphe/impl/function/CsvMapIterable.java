@@ -0,0 +1,106 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.koryphe.impl.function;
+
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+
+import uk.gov.gchq.koryphe.iterable.CloseableIterable;
+import uk.gov.gchq.koryphe.iterable.CloseableIterator;
+import uk.gov.gchq.koryphe.util.CloseableUtil;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * A {@link CloseableIterable} that parses CSV records as it is iterated,
+ * rather than reading the whole document up front.
+ * <p>
+ * An iterable created from a {@link String} can be iterated any number of
+ * times. An iterable created from a {@link Reader} can only be iterated once,
+ * and closing it closes the reader.
+ */
+final class CsvMapIterable implements CloseableIterable<Map<String, Object>> {
+    private final CsvLineParser parser;
+    private final String csv;
+    private final Reader reader;
+    private final int firstRow;
+
+    CsvMapIterable(final CsvLineParser parser, final String csv, final int firstRow) {
+        this(parser, csv, null, firstRow);
+    }
+
+    CsvMapIterable(final CsvLineParser parser, final Reader reader, final int firstRow) {
+        this(parser, null, reader, firstRow);
+    }
+
+    private CsvMapIterable(final CsvLineParser parser, final String csv, final Reader reader, final int firstRow) {
+        this.parser = parser;
+        this.csv = csv;
+        this.reader = reader;
+        this.firstRow = firstRow;
+    }
+
+    @Override
+    public CloseableIterator<Map<String, Object>> iterator() {
+        try {
+            return new CsvMapIterator(parser.open(null != csv ? new StringReader(csv) : reader));
+        } catch (final IOException e) {
+            throw new RuntimeException("Unable to parse csv", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        CloseableUtil.close(reader);
+    }
+
+    private final class CsvMapIterator implements CloseableIterator<Map<String, Object>> {
+        private final CSVParser csvParser;
+        private final Iterator<CSVRecord> records;
+
+        private CsvMapIterator(final CSVParser csvParser) {
+            this.csvParser = csvParser;
+            this.records = csvParser.iterator();
+            for (int i = 0; i < firstRow && records.hasNext(); i++) {
+                records.next();
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return records.hasNext();
+        }
+
+        @Override
+        public Map<String, Object> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return CsvRecordMap.fromRecord(parser.getHeader(), records.next());
+        }
+
+        @Override
+        public void close() {
+            CloseableUtil.close(csvParser);
+        }
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.koryphe.impl.function;
+
+import org.apache.commons.csv.CSVRecord;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A {@link Map} view of a single CSV row. All rows parsed with the same
+ * header share a single {@link Header} index, so each row only holds an array
+ * of its column values.
+ * <p>
+ * Values of existing keys can be replaced in place. Adding or removing keys
+ * copies the row into a {@link HashMap} first.
+ */
+final class CsvRecordMap extends AbstractMap<String, Object> implements Serializable {
+    private static final long serialVersionUID = 4436390612484851452L;
+
+    private final Header header;
+    private final Object[] values;
+    private Map<String, Object> copy;
+
+    CsvRecordMap(final Header header, final Object[] values) {
+        this.header = header;
+        this.values = values;
+    }
+
+    /**
+     * Creates a map from a parsed record. Records with a different number of
+     * columns to the header are copied into a {@link HashMap} column by
+     * column, as they were before the row views were introduced.
+     *
+     * @param header the shared header index
+     * @param record the parsed record
+     * @return the row as a map
+     */
+    static Map<String, Object> fromRecord(final Header header, final CSVRecord record) {
+        if (record.size() != header.width) {
+            final Iterator<String> columnNamesItr = header.columnNames.iterator();
+            final Map<String, Object> map = new HashMap<>();
+            for (final String columnValue : record) {
+                map.put(columnNamesItr.next(), columnValue);
+            }
+            return map;
+        }
+
+        final Object[] values = new Object[record.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = record.get(i);
+        }
+        return new CsvRecordMap(header, values);
+    }
+
+    @Override
+    public int size() {
+        return null != copy ? copy.size() : header.names.length;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return null != copy ? copy.containsKey(key) : header.positions.containsKey(key);
+    }
+
+    @Override
+    public Object get(final Object key) {
+        if (null != copy) {
+            return copy.get(key);
+        }
+        final Integer position = header.positions.get(key);
+        return null != position ? values[header.columns[position]] : null;
+    }
+
+    @Override
+    public Object put(final String key, final Object value) {
+        if (null == copy) {
+            final Integer position = header.positions.get(key);
+            if (null != position) {
+                final int column = header.columns[position];
+                final Object previous = values[column];
+                values[column] = value;
+                return previous;
+            }
+        }
+        return materialise().put(key, value);
+    }
+
+    @Override
+    public Object remove(final Object key) {
+        return materialise().remove(key);
+    }
+
+    @Override
+    public void clear() {
+        materialise().clear();
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return null != copy ? copy.entrySet() : new EntrySet();
+    }
+
+    private Map<String, Object> materialise() {
+        if (null == copy) {
+            final Map<String, Object> map = new HashMap<>(header.names.length * 2);
+            for (int i = 0; i < header.names.length; i++) {
+                map.put(header.names[i], values[header.columns[i]]);
+            }
+            copy = map;
+        }
+        return copy;
+    }
+
+    /**
+     * The column names shared by every row of a parse, indexed by name.
+     * Where a name is repeated the last column with that name is used, in
+     * the same way as repeated puts into a map.
+     */
+    static final class Header implements Serializable {
+        private static final long serialVersionUID = -1837207335146788716L;
+
+        private final List<String> columnNames;
+        private final int width;
+        private final String[] names;
+        private final int[] columns;
+        private final Map<String, Integer> positions;
+
+        Header(final List<String> columnNames) {
+            this.columnNames = new ArrayList<>(columnNames);
+            this.width = columnNames.size();
+
+            final Map<String, Integer> lastColumns = new LinkedHashMap<>();
+            for (int i = 0; i < width; i++) {
+                lastColumns.put(columnNames.get(i), i);
+            }
+
+            this.names = new String[lastColumns.size()];
+            this.columns = new int[lastColumns.size()];
+            this.positions = new HashMap<>(lastColumns.size() * 2);
+            int position = 0;
+            for (final Entry<String, Integer> entry : lastColumns.entrySet()) {
+                names[position] = entry.getKey();
+                columns[position] = entry.getValue();
+                positions.put(entry.getKey(), position);
+                position++;
+            }
+        }
+
+        int getWidth() {
+            return width;
+        }
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<String, Object>> {
+        @Override
+        public Iterator<Entry<String, Object>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return header.names.length;
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Entry<String, Object>> {
+        private int position;
+
+        @Override
+        public boolean hasNext() {
+            return position < header.names.length;
+        }
+
+        @Override
+        public Entry<String, Object> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return new RowEntry(position++);
+        }
+    }
+
+    private final class RowEntry implements Entry<String, Object> {
+        private final int position;
+
+        private RowEntry(final int position) {
+            this.position = position;
+        }
+
+        @Override
+        public String getKey() {
+            return header.names[position];
+        }
+
+        @Override
+        public Object getValue() {
+            return values[header.columns[position]];
+        }
+
+        @Override
+        public Object setValue(final Object value) {
+            final int column = header.columns[position];
+            final Object previous = values[column];
+            values[column] = value;
+            return previous;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (!(obj instanceof Entry)) {
+                return false;
+            }
+            final Entry<?, ?> that = (Entry<?, ?>) obj;
+            return Objects.equals(getKey(), that.getKey()) && Objects.equals(getValue(), that.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(getKey()) ^ Objects.hashCode(getValue());
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + "=" + getValue();
+        }
+    }
+}
@@ -18,9 +18,6 @@ package uk.gov.gchq.koryphe.impl.function;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
-import org.apache.commons.csv.CSVFormat;
-import org.apache.commons.csv.CSVParser;
-import org.apache.commons.csv.CSVRecord;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 
@@ -28,21 +25,28 @@ import uk.gov.gchq.koryphe.Since;
 import uk.gov.gchq.koryphe.Summary;
 import uk.gov.gchq.koryphe.function.KorypheFunction;
 import uk.gov.gchq.koryphe.iterable.CloseableIterable;
-import uk.gov.gchq.koryphe.util.IterableUtil;
 
-import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.io.Serializable;
-import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
 import static java.util.Objects.isNull;
 
+/**
+ * A {@code CsvToMaps} is a {@link java.util.function.Function} that parses a
+ * CSV document into {@link Map}s from column name to value.
+ * <p>
+ * Records are parsed lazily as the result is iterated. Each row is a compact
+ * view over a header index shared by every row, rather than a new
+ * {@link java.util.HashMap}.
+ */
 @Since("1.8.0")
 @Summary("Parses a CSV into Maps")
 @JsonPropertyOrder(value = {"header", "firstRow", "delimiter", "quoted", "quoteChar"},
@@ -62,30 +66,43 @@ public class CsvToMaps extends KorypheFunction<String, Iterable<Map<String, Obje
             return null;
         }
 
-        try {
-            final CSVParser csvParser = new CSVParser(new StringReader(csv), getCsvFormat());
-            final CloseableIterable<CSVRecord> csvRecords = IterableUtil.limit(csvParser.getRecords(), firstRow, null, false);
-            return IterableUtil.map(csvRecords, (item) -> extractMap((CSVRecord) item));
-        } catch (final IOException e) {
-            throw new RuntimeException("Unable to parse csv", e);
-        }
+        return new CsvMapIterable(createParser(), csv, firstRow);
     }
 
-    private Map<String, Object> extractMap(final CSVRecord csvRecord) {
-        final Iterator<String> columnNamesItr = header.iterator();
-        final Map<String, Object> map = new HashMap<>();
-        for (final String columnValue : csvRecord) {
-            map.put(columnNamesItr.next(), columnValue);
+    /**
+     * Lazily parses CSV records from a {@link Reader}. Records are only read
+     * as the result is iterated, so the document does not need to fit in
+     * memory. The result can only be iterated once and closing it closes the
+     * reader.
+     *
+     * @param reader the reader to parse
+     * @return the parsed rows
+     */
+    public CloseableIterable<Map<String, Object>> parse(final Reader reader) {
+        if (isNull(reader)) {
+            return null;
         }
-        return map;
+
+        return new CsvMapIterable(createParser(), reader, firstRow);
     }
 
-    private CSVFormat getCsvFormat() {
-        CSVFormat format = CSVFormat.DEFAULT.withDelimiter(delimiter);
-        if (quoted) {
-            format = format.withQuote(quoteChar);
+    /**
+     * Lazily parses UTF-8 encoded CSV records from an {@link InputStream}.
+     *
+     * @param inputStream the stream to parse
+     * @return the parsed rows
+     * @see #parse(Reader)
+     */
+    public CloseableIterable<Map<String, Object>> parse(final InputStream inputStream) {
+        if (isNull(inputStream)) {
+            return null;
         }
-        return format;
+
+        return parse(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+    }
+
+    private CsvLineParser createParser() {
+        return new CsvLineParser(delimiter, quoted, quoteChar, new CsvRecordMap.Header(header));
     }
 
     public List<String> getHeader() {
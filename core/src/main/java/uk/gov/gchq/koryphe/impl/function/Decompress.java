@@ -0,0 +1,107 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.koryphe.impl.function;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import uk.gov.gchq.koryphe.Since;
+import uk.gov.gchq.koryphe.Summary;
+import uk.gov.gchq.koryphe.function.KorypheFunction;
+import uk.gov.gchq.koryphe.util.CompressionFormat;
+import uk.gov.gchq.koryphe.util.CompressionUtil;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * A <code>Decompress</code> is a {@link java.util.function.Function} that takes
+ * compressed data as an {@link InputStream}, {@link java.nio.ByteBuffer} or byte[]
+ * and returns an {@link InputStream} that lazily decompresses it. The caller
+ * must close the returned stream, which returns its pooled inflater and closes
+ * the source stream.
+ */
+@JsonInclude(JsonInclude.Include.NON_DEFAULT)
+@Since("1.12.0")
+@Summary("Lazily decompresses gzip or deflate data to a stream")
+public class Decompress extends KorypheFunction<Object, InputStream> {
+    private CompressionFormat format = CompressionFormat.GZIP;
+
+    public Decompress() {
+        // empty
+    }
+
+    public Decompress(final CompressionFormat format) {
+        setFormat(format);
+    }
+
+    @Override
+    public InputStream apply(final Object compressed) {
+        if (isNull(compressed)) {
+            return null;
+        }
+
+        try {
+            return CompressionUtil.decompress(CompressionUtil.toInputStream(compressed), format);
+        } catch (final IOException e) {
+            throw new RuntimeException("Failed to decompress provided data", e);
+        }
+    }
+
+    public CompressionFormat getFormat() {
+        return format;
+    }
+
+    public void setFormat(final CompressionFormat format) {
+        this.format = nonNull(format) ? format : CompressionFormat.GZIP;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (!super.equals(o)) {
+            return false; // Does exact equals and class checking
+        }
+
+        final Decompress that = (Decompress) o;
+        return new EqualsBuilder()
+                .append(format, that.format)
+                .isEquals();
+    }
+
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder(17, 61)
+                .appendSuper(super.hashCode())
+                .append(format)
+                .toHashCode();
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("format", format)
+                .toString();
+    }
+}
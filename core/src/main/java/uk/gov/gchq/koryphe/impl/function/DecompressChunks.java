@@ -0,0 +1,116 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.koryphe.impl.function;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import uk.gov.gchq.koryphe.Since;
+import uk.gov.gchq.koryphe.Summary;
+import uk.gov.gchq.koryphe.function.KorypheFunction;
+import uk.gov.gchq.koryphe.util.CompressionFormat;
+import uk.gov.gchq.koryphe.util.CompressionUtil;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * A <code>DecompressChunks</code> is a {@link java.util.function.Function} that takes
+ * compressed data as an {@link java.io.InputStream}, {@link java.nio.ByteBuffer}
+ * or byte[] and returns an {@link Iterable} of decompressed byte[] chunks of at most
+ * {@code chunkSize} bytes. The data is decompressed as the iterable is consumed.
+ * An {@link java.io.InputStream} input can only be iterated once.
+ */
+@JsonInclude(JsonInclude.Include.NON_DEFAULT)
+@Since("1.12.0")
+@Summary("Lazily decompresses gzip or deflate data into chunks")
+public class DecompressChunks extends KorypheFunction<Object, Iterable<byte[]>> {
+    private CompressionFormat format = CompressionFormat.GZIP;
+    private int chunkSize = CompressionUtil.DEFAULT_CHUNK_SIZE;
+
+    public DecompressChunks() {
+        // empty
+    }
+
+    public DecompressChunks(final CompressionFormat format, final int chunkSize) {
+        setFormat(format);
+        setChunkSize(chunkSize);
+    }
+
+    @Override
+    public Iterable<byte[]> apply(final Object compressed) {
+        if (isNull(compressed)) {
+            return null;
+        }
+
+        return CompressionUtil.chunks(compressed, format, chunkSize);
+    }
+
+    public CompressionFormat getFormat() {
+        return format;
+    }
+
+    public void setFormat(final CompressionFormat format) {
+        this.format = nonNull(format) ? format : CompressionFormat.GZIP;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(final int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be at least 1");
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (!super.equals(o)) {
+            return false; // Does exact equals and class checking
+        }
+
+        final DecompressChunks that = (DecompressChunks) o;
+        return new EqualsBuilder()
+                .append(format, that.format)
+                .append(chunkSize, that.chunkSize)
+                .isEquals();
+    }
+
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder(31, 73)
+                .appendSuper(super.hashCode())
+                .append(format)
+                .append(chunkSize)
+                .toHashCode();
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("format", format)
+                .append("chunkSize", chunkSize)
+                .toString();
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.koryphe.impl.function;
+
+import com.fasterxml.jackson.annotation.JsonGetter;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonSetter;
+import com.google.common.base.Charsets;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import uk.gov.gchq.koryphe.Since;
+import uk.gov.gchq.koryphe.Summary;
+import uk.gov.gchq.koryphe.function.KorypheFunction;
+import uk.gov.gchq.koryphe.util.CompressionFormat;
+import uk.gov.gchq.koryphe.util.CompressionUtil;
+
+import java.nio.charset.Charset;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * A <code>DecompressLines</code> is a {@link java.util.function.Function} that takes
+ * compressed text as an {@link java.io.InputStream}, {@link java.nio.ByteBuffer}
+ * or byte[] and returns an {@link Iterable} of its lines. The text is decompressed
+ * as the iterable is consumed, so the output can be passed to {@link CsvLinesToMaps},
+ * or to {@link DeserialiseJson} via an {@link IterableFunction}, without ever holding
+ * the whole payload on the heap. An {@link java.io.InputStream} input can only be
+ * iterated once.
+ */
+@JsonInclude(JsonInclude.Include.NON_DEFAULT)
+@Since("1.12.0")
+@Summary("Lazily decompresses gzip or deflate text into lines")
+public class DecompressLines extends KorypheFunction<Object, Iterable<String>> {
+    public static final Charset DEFAULT_CHARSET = Charsets.UTF_8;
+
+    private CompressionFormat format = CompressionFormat.GZIP;
+    private Charset charset = DEFAULT_CHARSET;
+
+    public DecompressLines() {
+        // empty
+    }
+
+    public DecompressLines(final CompressionFormat format) {
+        setFormat(format);
+    }
+
+    @Override
+    public Iterable<String> apply(final Object compressed) {
+        if (isNull(compressed)) {
+            return null;
+        }
+
+        return CompressionUtil.lines(compressed, format, charset);
+    }
+
+    public CompressionFormat getFormat() {
+        return format;
+    }
+
+    public void setFormat(final CompressionFormat format) {
+        this.format = nonNull(format) ? format : CompressionFormat.GZIP;
+    }
+
+    public Charset getCharset() {
+        return charset;
+    }
+
+    public void setCharset(final Charset charset) {
+        this.charset = nonNull(charset) ? charset : DEFAULT_CHARSET;
+    }
+
+    @JsonSetter("charset")
+    public void setCharset(final String charsetString) {
+        setCharset(nonNull(charsetString) ? Charset.forName(charsetString) : DEFAULT_CHARSET);
+    }
+
+    @JsonGetter("charset")
+    public String getCharsetAsString() {
+        return charset.name();
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (!super.equals(o)) {
+            return false; // Does exact equals and class checking
+        }
+
+        final DecompressLines that = (DecompressLines) o;
+        return new EqualsBuilder()
+                .append(format, that.format)
+                .append(charset, that.charset)
+                .isEquals();
+    }
+
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder(29, 67)
+                .appendSuper(super.hashCode())
+                .append(format)
+                .append(charset)
+                .toHashCode();
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("format", format)
+                .append("charset", charset)
+                .toString();
+    }
+}
@@ -19,6 +19,7 @@ package uk.gov.gchq.koryphe.impl.function;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 
@@ -32,6 +33,14 @@ import java.io.Serializable;
 
 import static java.util.Objects.isNull;
 
+/**
+ * A {@code DeserialiseJson} is a {@link java.util.function.Function} that parses
+ * a JSON string into an instance of the output class.
+ * {@link com.fasterxml.jackson.databind.ObjectReader}s are cached per output class.
+ *
+ * @param <T> the type of the output
+ * @see DeserialiseJsonStream
+ */
 @Since("1.8.0")
 @Summary("Parses a JSON string in java objects")
 @JsonPropertyOrder(alphabetic = true)
@@ -39,6 +48,7 @@ import static java.util.Objects.isNull;
 public class DeserialiseJson<T> extends KorypheFunction<String, T> implements Serializable {
     private static final long serialVersionUID = 5432036264979648528L;
     private static final ObjectMapper MAPPER = createObjectMapper();
+    private static final ReaderCache READERS = new ReaderCache();
 
     private Class<T> outputClass;
 
@@ -57,12 +67,16 @@ public class DeserialiseJson<T> extends KorypheFunction<String, T> implements Se
         }
 
         try {
-            return MAPPER.readValue(json, outputClass);
+            return readerFor(outputClass).readValue(json);
         } catch (final IOException e) {
             throw new RuntimeException("Failed to deserialise JSON", e);
         }
     }
 
+    static ObjectReader readerFor(final Class<?> outputClass) {
+        return READERS.get(outputClass);
+    }
+
     private static ObjectMapper createObjectMapper() {
         final ObjectMapper mapper = new ObjectMapper();
         SimpleClassNameIdResolver.configureObjectMapper(mapper);
@@ -109,4 +123,15 @@ public class DeserialiseJson<T> extends KorypheFunction<String, T> implements Se
                 .append(outputClass)
                 .toHashCode();
     }
+
+    /**
+     * Holds the reader for each output class against the class itself, rather
+     * than in a map keyed on the class.
+     */
+    private static final class ReaderCache extends ClassValue<ObjectReader> {
+        @Override
+        protected ObjectReader computeValue(final Class<?> type) {
+            return MAPPER.readerFor(type);
+        }
+    }
 }
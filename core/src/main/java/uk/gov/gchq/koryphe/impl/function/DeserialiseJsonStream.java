@@ -0,0 +1,167 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.koryphe.impl.function;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+
+import uk.gov.gchq.koryphe.Since;
+import uk.gov.gchq.koryphe.Summary;
+import uk.gov.gchq.koryphe.function.KorypheFunction;
+import uk.gov.gchq.koryphe.iterable.CloseableIterable;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static java.util.Objects.isNull;
+
+/**
+ * A {@code DeserialiseJsonStream} is a {@link java.util.function.Function} that
+ * lazily parses the elements of a JSON array, or a sequence of newline delimited
+ * JSON values, into instances of the output class.
+ * <p>
+ * Elements are parsed with a streaming parser as the result is iterated, so memory
+ * use does not depend on the size of the document and the first elements are
+ * available straight away. If {@code fields} are set, only those fields of each
+ * object are decoded; nested fields are selected with dot separated paths such as
+ * {@code "address.city"}.
+ *
+ * @param <T> the type of the elements
+ * @see DeserialiseJson
+ */
+@Since("1.12.0")
+@Summary("Lazily parses a JSON array or newline delimited JSON into java objects")
+@JsonPropertyOrder(alphabetic = true)
+@JsonInclude(value = JsonInclude.Include.NON_DEFAULT)
+public class DeserialiseJsonStream<T> extends KorypheFunction<String, Iterable<T>> implements Serializable {
+    private static final long serialVersionUID = -2754083962157212475L;
+
+    private Class<T> outputClass;
+    private List<String> fields = new ArrayList<>();
+
+    public DeserialiseJsonStream() {
+        this((Class<T>) Object.class);
+    }
+
+    public DeserialiseJsonStream(final Class<T> outputClass) {
+        setOutputClass(outputClass);
+    }
+
+    @Override
+    public Iterable<T> apply(final String json) {
+        if (isNull(json)) {
+            return null;
+        }
+
+        return createIterable(json);
+    }
+
+    /**
+     * Lazily parses JSON from a {@link Reader}. The result can only be iterated
+     * once and closing it closes the reader.
+     *
+     * @param reader the reader to parse
+     * @return the parsed elements
+     */
+    public CloseableIterable<T> parse(final Reader reader) {
+        if (isNull(reader)) {
+            return null;
+        }
+
+        return createIterable(reader);
+    }
+
+    /**
+     * Lazily parses JSON from an {@link InputStream}, detecting the encoding.
+     *
+     * @param inputStream the stream to parse
+     * @return the parsed elements
+     * @see #parse(Reader)
+     */
+    public CloseableIterable<T> parse(final InputStream inputStream) {
+        if (isNull(inputStream)) {
+            return null;
+        }
+
+        return createIterable(inputStream);
+    }
+
+    private CloseableIterable<T> createIterable(final Object source) {
+        return new JsonElementIterable<>(DeserialiseJson.readerFor(outputClass), JsonElementIterable.selection(fields), source);
+    }
+
+    public Class<T> getOutputClass() {
+        return outputClass;
+    }
+
+    public DeserialiseJsonStream<T> outputClass(final Class<T> outputClass) {
+        setOutputClass(outputClass);
+        return this;
+    }
+
+    public void setOutputClass(final Class<T> outputClass) {
+        if (isNull(outputClass)) {
+            this.outputClass = (Class<T>) Object.class;
+        } else {
+            this.outputClass = outputClass;
+        }
+    }
+
+    public List<String> getFields() {
+        return fields;
+    }
+
+    public DeserialiseJsonStream<T> fields(final String... fields) {
+        setFields(Arrays.asList(fields));
+        return this;
+    }
+
+    public void setFields(final List<String> fields) {
+        this.fields = isNull(fields) ? new ArrayList<>() : new ArrayList<>(fields);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (!super.equals(o)) {
+            return false; // Does class checking
+        }
+
+        final DeserialiseJsonStream that = (DeserialiseJsonStream) o;
+        return new EqualsBuilder()
+                .append(outputClass, that.outputClass)
+                .append(fields, that.fields)
+                .isEquals();
+    }
+
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder(47, 37)
+                .appendSuper(super.hashCode())
+                .append(outputClass)
+                .append(fields)
+                .toHashCode();
+    }
+}
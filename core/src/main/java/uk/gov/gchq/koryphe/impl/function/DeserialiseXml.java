@@ -17,7 +17,6 @@
 package uk.gov.gchq.koryphe.impl.function;
 
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
-import org.json.XML;
 
 import uk.gov.gchq.koryphe.Since;
 import uk.gov.gchq.koryphe.Summary;
@@ -28,6 +27,14 @@ import java.util.Map;
 
 import static java.util.Objects.isNull;
 
+/**
+ * A {@code DeserialiseXml} is a {@link java.util.function.Function} that parses
+ * an XML document into a Map, in the same form as
+ * {@link org.json.XML#toJSONObject(String)}. The document is read with a StAX
+ * parser straight into Maps, without building an intermediate tree.
+ *
+ * @see DeserialiseXmlStream
+ */
 @Since("1.8.0")
 @Summary("Parses an XML document into multiple Maps")
 @JsonPropertyOrder(alphabetic = true)
@@ -40,6 +47,6 @@ public class DeserialiseXml extends KorypheFunction<String, Map<String, Object>>
             return null;
         }
 
-        return XML.toJSONObject(xml).toMap();
+        return XmlElementIterable.readDocument(xml);
     }
 }
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.koryphe.impl.function;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+
+import uk.gov.gchq.koryphe.Since;
+import uk.gov.gchq.koryphe.Summary;
+import uk.gov.gchq.koryphe.function.KorypheFunction;
+import uk.gov.gchq.koryphe.iterable.CloseableIterable;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Objects.isNull;
+
+/**
+ * A {@code DeserialiseXmlStream} is a {@link java.util.function.Function} that
+ * lazily parses the repeating elements of an XML document into Maps, in the same
+ * form as {@link DeserialiseXml}.
+ * <p>
+ * A Map is returned for each element matching the {@code elementPath}, a slash
+ * separated path of element names from the document root such as
+ * {@code "feed/entry"}, where {@code *} matches any name. By default the root
+ * element is returned. Elements are parsed with a StAX parser as the result is
+ * iterated, so memory use does not depend on the size of the document. If
+ * {@code fields} are set, only those attributes and child elements of each
+ * element are converted; nested fields are selected with dot separated paths such
+ * as {@code "author.name"} and text is selected with {@code "content"}.
+ * <p>
+ * The Maps can be converted to Tuples by applying {@link MapToTuple} with an
+ * {@link IterableFunction}.
+ *
+ * @see DeserialiseXml
+ */
+@Since("1.12.0")
+@Summary("Lazily parses the repeating elements of an XML document into Maps")
+@JsonPropertyOrder(alphabetic = true)
+@JsonInclude(value = JsonInclude.Include.NON_DEFAULT)
+public class DeserialiseXmlStream extends KorypheFunction<String, Iterable<Map<String, Object>>> implements Serializable {
+    private static final long serialVersionUID = 4935236017856478131L;
+
+    private String elementPath;
+    private List<String> fields = new ArrayList<>();
+
+    public DeserialiseXmlStream() {
+    }
+
+    public DeserialiseXmlStream(final String elementPath) {
+        this.elementPath = elementPath;
+    }
+
+    @Override
+    public Iterable<Map<String, Object>> apply(final String xml) {
+        if (isNull(xml)) {
+            return null;
+        }
+
+        return createIterable(xml);
+    }
+
+    /**
+     * Lazily parses XML from a {@link Reader}. The result can only be iterated
+     * once and closing it closes the reader.
+     *
+     * @param reader the reader to parse
+     * @return the parsed elements
+     */
+    public CloseableIterable<Map<String, Object>> parse(final Reader reader) {
+        if (isNull(reader)) {
+            return null;
+        }
+
+        return createIterable(reader);
+    }
+
+    /**
+     * Lazily parses XML from an {@link InputStream}, detecting the encoding.
+     *
+     * @param inputStream the stream to parse
+     * @return the parsed elements
+     * @see #parse(Reader)
+     */
+    public CloseableIterable<Map<String, Object>> parse(final InputStream inputStream) {
+        if (isNull(inputStream)) {
+            return null;
+        }
+
+        return createIterable(inputStream);
+    }
+
+    private CloseableIterable<Map<String, Object>> createIterable(final Object source) {
+        final String[] path = isNull(elementPath) || elementPath.isEmpty() ? new String[] {"*"} : elementPath.split("/");
+        return new XmlElementIterable(path, JsonElementIterable.selection(fields), source);
+    }
+
+    public String getElementPath() {
+        return elementPath;
+    }
+
+    public DeserialiseXmlStream elementPath(final String elementPath) {
+        setElementPath(elementPath);
+        return this;
+    }
+
+    public void setElementPath(final String elementPath) {
+        this.elementPath = elementPath;
+    }
+
+    public List<String> getFields() {
+        return fields;
+    }
+
+    public DeserialiseXmlStream fields(final String... fields) {
+        setFields(Arrays.asList(fields));
+        return this;
+    }
+
+    public void setFields(final List<String> fields) {
+        this.fields = isNull(fields) ? new ArrayList<>() : new ArrayList<>(fields);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (!super.equals(o)) {
+            return false; // Does class checking
+        }
+
+        final DeserialiseXmlStream that = (DeserialiseXmlStream) o;
+        return new EqualsBuilder()
+                .append(elementPath, that.elementPath)
+                .append(fields, that.fields)
+                .isEquals();
+    }
+
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder(53, 41)
+                .appendSuper(super.hashCode())
+                .append(elementPath)
+                .append(fields)
+                .toHashCode();
+    }
+}
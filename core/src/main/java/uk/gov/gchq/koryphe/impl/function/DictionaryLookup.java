@@ -15,22 +15,55 @@
  */
 package uk.gov.gchq.koryphe.impl.function;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 
 import uk.gov.gchq.koryphe.Since;
 import uk.gov.gchq.koryphe.Summary;
+import uk.gov.gchq.koryphe.dictionary.CachingDictionaryStore;
+import uk.gov.gchq.koryphe.dictionary.DictionaryStatistics;
+import uk.gov.gchq.koryphe.dictionary.DictionaryStore;
+import uk.gov.gchq.koryphe.dictionary.MappedDictionary;
 import uk.gov.gchq.koryphe.function.KorypheFunction;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * A {@link DictionaryLookup} is a {@link KorypheFunction} that takes a key and using a dictionary returns a value.
+ * <p>
+ * The dictionary is either a {@link Map}, which is serialised with the function, or a reference to a dictionary
+ * file written by {@link uk.gov.gchq.koryphe.dictionary.MappedDictionaryWriter}. A dictionary file maps
+ * {@link String} keys to {@link String} values. It is memory-mapped when the function is first applied, and is shared
+ * by every function in the JVM that refers to the same file. A dictionary file that is rebuilt is opened again within
+ * a second. Optionally, the most recently used entries of a dictionary file can be cached on the heap. Any other
+ * {@link DictionaryStore} can be provided with {@link #setStore(DictionaryStore)}, but is not serialised.
+ * <p>
+ * As the path of a dictionary file is serialised, dictionary files are only read from the directory set by the
+ * System Property "koryphe.dictionary.directory". The path is resolved against that directory, and a path that
+ * leads outside it, including through a symbolic link, is rejected. If the property is not set dictionary files
+ * cannot be used.
  */
 @Since("1.7.0")
 @Summary("Looks up a value in a map")
 public class DictionaryLookup<K, V> extends KorypheFunction<K, V> {
+    /**
+     * The System Property used to set the directory that dictionary files are read from.
+     */
+    public static final String DICTIONARY_DIRECTORY_KEY = "koryphe.dictionary.directory";
+    private static final long STALE_CHECK_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
     Map<K, V> dictionary;
+    private String dictionaryFile;
+    private int cacheSize;
+    private transient volatile DictionaryStore<K, V> store;
+    private transient volatile MappedDictionary mappedDictionary;
+    private transient volatile long staleCheckNanos;
 
     public DictionaryLookup() {
         // Required for serialisation
@@ -42,10 +75,14 @@ public class DictionaryLookup<K, V> extends KorypheFunction<K, V> {
 
     @Override
     public V apply(final K key) {
-        if (dictionary == null) {
+        if (dictionary != null) {
+            return dictionary.get(key);
+        }
+        final DictionaryStore<K, V> dictionaryStore = getStore();
+        if (dictionaryStore == null) {
             throw new IllegalArgumentException("The " + DictionaryLookup.class.getName() + " KorypheFunction has not been provided with a dictionary");
         }
-        return dictionary.get(key);
+        return dictionaryStore.get(key);
     }
 
     public Map<K, V> getDictionary() {
@@ -56,6 +93,98 @@ public class DictionaryLookup<K, V> extends KorypheFunction<K, V> {
         this.dictionary = dictionary;
     }
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public String getDictionaryFile() {
+        return dictionaryFile;
+    }
+
+    /**
+     * @param dictionaryFile the path to a dictionary file, used if no {@link Map} dictionary has been provided
+     */
+    public void setDictionaryFile(final String dictionaryFile) {
+        this.dictionaryFile = dictionaryFile;
+        store = null;
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    public int getCacheSize() {
+        return cacheSize;
+    }
+
+    /**
+     * @param cacheSize the number of the most recently used entries of the dictionary file to cache on the heap,
+     *                  or 0 to not cache any
+     */
+    public void setCacheSize(final int cacheSize) {
+        this.cacheSize = cacheSize;
+        store = null;
+    }
+
+    /**
+     * @return the {@link DictionaryStore} used if no {@link Map} dictionary has been provided, opening the dictionary
+     * file if it has not already been opened or has been replaced
+     */
+    @JsonIgnore
+    public DictionaryStore<K, V> getStore() {
+        DictionaryStore<K, V> result = store;
+        if (null != dictionaryFile && (null == result || isStaleCheckDue())) {
+            synchronized (this) {
+                result = store;
+                if (null == result || (isStaleCheckDue() && null != mappedDictionary && mappedDictionary.isStale())) {
+                    result = openStore();
+                    store = result;
+                }
+                staleCheckNanos = System.nanoTime();
+            }
+        }
+        return result;
+    }
+
+    @JsonIgnore
+    public void setStore(final DictionaryStore<K, V> store) {
+        this.store = store;
+        mappedDictionary = null;
+    }
+
+    /**
+     * @return the statistics of the {@link DictionaryStore}, or null if the dictionary is a {@link Map}
+     */
+    @JsonIgnore
+    public DictionaryStatistics getStatistics() {
+        final DictionaryStore<K, V> dictionaryStore = null == dictionary ? getStore() : null;
+        return null != dictionaryStore ? dictionaryStore.getStatistics() : null;
+    }
+
+    private boolean isStaleCheckDue() {
+        return System.nanoTime() - staleCheckNanos >= STALE_CHECK_INTERVAL_NANOS;
+    }
+
+    @SuppressWarnings("unchecked")
+    private DictionaryStore<K, V> openStore() {
+        try {
+            mappedDictionary = MappedDictionary.open(resolveDictionaryFile().toString());
+        } catch (final IOException e) {
+            throw new RuntimeException("Failed to open dictionary file: " + dictionaryFile, e);
+        }
+        final DictionaryStore<K, V> mapped = (DictionaryStore<K, V>) (DictionaryStore) mappedDictionary;
+        return cacheSize > 0 ? new CachingDictionaryStore<>(mapped, cacheSize) : mapped;
+    }
+
+    private Path resolveDictionaryFile() throws IOException {
+        final String directory = System.getProperty(DICTIONARY_DIRECTORY_KEY);
+        if (null == directory || directory.isEmpty()) {
+            throw new IllegalArgumentException("Dictionary files cannot be used as the System Property "
+                    + DICTIONARY_DIRECTORY_KEY + " has not been set");
+        }
+
+        final Path root = Paths.get(directory).toRealPath();
+        final Path path = root.resolve(dictionaryFile).toRealPath();
+        if (!path.startsWith(root)) {
+            throw new IllegalArgumentException("Dictionary file " + dictionaryFile + " is not in the dictionary directory");
+        }
+        return path;
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (this == o) {
@@ -69,6 +198,8 @@ public class DictionaryLookup<K, V> extends KorypheFunction<K, V> {
         DictionaryLookup that = (DictionaryLookup) o;
         return new EqualsBuilder()
                 .append(dictionary, that.dictionary)
+                .append(dictionaryFile, that.dictionaryFile)
+                .append(cacheSize, that.cacheSize)
                 .isEquals();
     }
 
@@ -77,6 +208,8 @@ public class DictionaryLookup<K, V> extends KorypheFunction<K, V> {
         return new HashCodeBuilder(13, 53)
                 .appendSuper(super.hashCode())
                 .append(dictionary)
+                .append(dictionaryFile)
+                .append(cacheSize)
                 .toHashCode();
     }
 }
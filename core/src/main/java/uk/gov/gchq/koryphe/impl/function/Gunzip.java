@@ -17,21 +17,24 @@
 package uk.gov.gchq.koryphe.impl.function;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
-import org.apache.commons.io.IOUtils;
 
 import uk.gov.gchq.koryphe.Since;
 import uk.gov.gchq.koryphe.Summary;
 import uk.gov.gchq.koryphe.function.KorypheFunction;
+import uk.gov.gchq.koryphe.util.CompressionFormat;
+import uk.gov.gchq.koryphe.util.CompressionUtil;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.util.zip.GZIPInputStream;
 
 import static java.util.Objects.isNull;
 
 /**
  * A <code>Gunzip</code> is a {@link java.util.function.Function} that takes
- * a byte[] of gzipped data and decompresses it.
+ * a byte[] of gzipped data and decompresses it. Inflaters are pooled per thread.
+ * To decompress data too large to hold on the heap use {@link DecompressLines}
+ * or {@link DecompressChunks}.
+ *
+ * @see Gzip
  */
 @Since("1.8.0")
 @Summary("Decompresses gzipped data")
@@ -47,8 +50,8 @@ public class Gunzip extends KorypheFunction<byte[], byte[]> {
             return new byte[0];
         }
 
-        try (final GZIPInputStream gzipStream = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
-            return IOUtils.toByteArray(gzipStream);
+        try {
+            return CompressionUtil.decompress(compressed, CompressionFormat.GZIP);
         } catch (final IOException e) {
             throw new RuntimeException("Failed to decompress provided gzipped string", e);
         }
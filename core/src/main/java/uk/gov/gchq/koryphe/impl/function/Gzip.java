@@ -0,0 +1,52 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.koryphe.impl.function;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import uk.gov.gchq.koryphe.Since;
+import uk.gov.gchq.koryphe.Summary;
+import uk.gov.gchq.koryphe.function.KorypheFunction;
+import uk.gov.gchq.koryphe.util.CompressionFormat;
+import uk.gov.gchq.koryphe.util.CompressionUtil;
+
+import java.io.IOException;
+
+import static java.util.Objects.isNull;
+
+/**
+ * A <code>Gzip</code> is a {@link java.util.function.Function} that takes
+ * a byte[] and gzip compresses it. Deflaters are pooled per thread.
+ *
+ * @see Gunzip
+ */
+@Since("1.12.0")
+@Summary("Compresses data using gzip")
+public class Gzip extends KorypheFunction<byte[], byte[]> {
+    @SuppressFBWarnings(value = "PZLA_PREFER_ZERO_LENGTH_ARRAYS", justification = "Returning null means the input was null")
+    @Override
+    public byte[] apply(final byte[] uncompressed) {
+        if (isNull(uncompressed)) {
+            return null;
+        }
+
+        try {
+            return CompressionUtil.compress(uncompressed, CompressionFormat.GZIP);
+        } catch (final IOException e) {
+            throw new RuntimeException("Failed to gzip provided data", e);
+        }
+    }
+}
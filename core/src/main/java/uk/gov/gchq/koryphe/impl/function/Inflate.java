@@ -0,0 +1,57 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.koryphe.impl.function;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import uk.gov.gchq.koryphe.Since;
+import uk.gov.gchq.koryphe.Summary;
+import uk.gov.gchq.koryphe.function.KorypheFunction;
+import uk.gov.gchq.koryphe.util.CompressionFormat;
+import uk.gov.gchq.koryphe.util.CompressionUtil;
+
+import java.io.IOException;
+
+import static java.util.Objects.isNull;
+
+/**
+ * An <code>Inflate</code> is a {@link java.util.function.Function} that takes
+ * a byte[] of zlib wrapped deflate data and decompresses it. Inflaters are
+ * pooled per thread.
+ *
+ * @see Deflate
+ */
+@Since("1.12.0")
+@Summary("Decompresses deflated data")
+public class Inflate extends KorypheFunction<byte[], byte[]> {
+    @SuppressFBWarnings(value = "PZLA_PREFER_ZERO_LENGTH_ARRAYS", justification = "Returning null means the input was null")
+    @Override
+    public byte[] apply(final byte[] compressed) {
+        if (isNull(compressed)) {
+            return null;
+        }
+
+        if (compressed.length == 0) {
+            return new byte[0];
+        }
+
+        try {
+            return CompressionUtil.decompress(compressed, CompressionFormat.DEFLATE);
+        } catch (final IOException e) {
+            throw new RuntimeException("Failed to inflate provided data", e);
+        }
+    }
+}
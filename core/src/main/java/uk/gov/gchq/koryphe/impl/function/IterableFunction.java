@@ -15,6 +15,8 @@
  */
 package uk.gov.gchq.koryphe.impl.function;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
@@ -27,6 +29,7 @@ import uk.gov.gchq.koryphe.util.IterableUtil;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 
 /**
@@ -34,6 +37,18 @@ import java.util.function.Function;
  * a supplied {@link Function}, or {@link List} of {@link Function}s
  * to each object in the input {@link Iterable}, returning
  * an output {@link Iterable}.
+ * <p>
+ * When {@code async} is set the functions are applied to each item as a task on
+ * an {@link Executor}, with at most {@code maxInFlight} items being processed at
+ * once, up to {@link IterableUtil#MAX_IN_FLIGHT}. Results are returned in input
+ * order unless {@code completionOrder} is set. The executor defaults to a shared
+ * daemon thread pool that is sized for functions that block, such as I/O, and
+ * can be replaced with {@link #setExecutor(Executor)}.
+ * <p>
+ * In async mode the functions are applied to several items at the same time,
+ * so they must be thread safe. Functions that keep state between calls, or that
+ * hold non thread safe objects such as a {@link java.text.DateFormat}, must not
+ * be used in async mode.
  *
  * @param <I_ITEM> the type of objects in the input iterable
  * @param <O_ITEM> the type of objects in the output iterable
@@ -41,7 +56,13 @@ import java.util.function.Function;
 @Since("1.1.0")
 @Summary("Lazily applies functions to each item in an iterable")
 public class IterableFunction<I_ITEM, O_ITEM> extends KorypheFunction<Iterable<I_ITEM>, Iterable<O_ITEM>> {
+    public static final int DEFAULT_MAX_IN_FLIGHT = 16;
+
     private List<Function> functions = new ArrayList<>();
+    private boolean async;
+    private int maxInFlight;
+    private boolean completionOrder;
+    private transient Executor executor;
 
     public IterableFunction() {
         // empty
@@ -57,10 +78,13 @@ public class IterableFunction<I_ITEM, O_ITEM> extends KorypheFunction<Iterable<I
 
     @Override
     public Iterable<O_ITEM> apply(final Iterable<I_ITEM> items) {
+        if (async) {
+            return IterableUtil.mapAsync(items, functions, executor,
+                    maxInFlight > 0 ? maxInFlight : DEFAULT_MAX_IN_FLIGHT, completionOrder);
+        }
         return IterableUtil.map(items, functions);
     }
 
-
     @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, include = JsonTypeInfo.As.PROPERTY, property = "class")
     public List<Function> getFunctions() {
         return functions;
@@ -70,6 +94,51 @@ public class IterableFunction<I_ITEM, O_ITEM> extends KorypheFunction<Iterable<I
         this.functions = functions;
     }
 
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    public boolean isAsync() {
+        return async;
+    }
+
+    public void setAsync(final boolean async) {
+        this.async = async;
+    }
+
+    /**
+     * @return the maximum number of items processed at once in async mode,
+     * at most {@link IterableUtil#MAX_IN_FLIGHT}, or 0 to use {@link #DEFAULT_MAX_IN_FLIGHT}
+     */
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public void setMaxInFlight(final int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    public boolean isCompletionOrder() {
+        return completionOrder;
+    }
+
+    public void setCompletionOrder(final boolean completionOrder) {
+        this.completionOrder = completionOrder;
+    }
+
+    @JsonIgnore
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * @param executor the executor to run the functions on in async mode,
+     *                 or null to use a shared daemon thread pool
+     */
+    @JsonIgnore
+    public void setExecutor(final Executor executor) {
+        this.executor = executor;
+    }
+
     @Override
     public boolean equals(final Object obj) {
         if (this == obj) {
@@ -84,6 +153,9 @@ public class IterableFunction<I_ITEM, O_ITEM> extends KorypheFunction<Iterable<I
 
         return new EqualsBuilder()
                 .append(functions, func.functions)
+                .append(async, func.async)
+                .append(maxInFlight, func.maxInFlight)
+                .append(completionOrder, func.completionOrder)
                 .isEquals();
     }
 
@@ -91,6 +163,9 @@ public class IterableFunction<I_ITEM, O_ITEM> extends KorypheFunction<Iterable<I
     public int hashCode() {
         return new HashCodeBuilder(19, 71)
                 .append(functions)
+                .append(async)
+                .append(maxInFlight)
+                .append(completionOrder)
                 .build();
     }
 
@@ -98,6 +173,9 @@ public class IterableFunction<I_ITEM, O_ITEM> extends KorypheFunction<Iterable<I
     public String toString() {
         return new ToStringBuilder(this)
                 .append("functions", functions)
+                .append("async", async)
+                .append("maxInFlight", maxInFlight)
+                .append("completionOrder", completionOrder)
                 .toString();
     }
 
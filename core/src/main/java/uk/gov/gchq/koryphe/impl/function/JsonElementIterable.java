@@ -0,0 +1,197 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.koryphe.impl.function;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import uk.gov.gchq.koryphe.iterable.CloseableIterable;
+import uk.gov.gchq.koryphe.iterable.CloseableIterator;
+import uk.gov.gchq.koryphe.util.CloseableUtil;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * A {@link CloseableIterable} that deserialises JSON values as it is iterated,
+ * rather than reading the whole document up front. If the document is a JSON
+ * array its elements are returned, otherwise each root level value is returned,
+ * so newline delimited JSON is supported.
+ * <p>
+ * If a field selection is given, only the selected fields of each object are
+ * decoded and the rest are skipped by the parser without being built.
+ * <p>
+ * An iterable created from a {@link String} can be iterated any number of
+ * times. An iterable created from a {@link Reader} or {@link InputStream} can
+ * only be iterated once, and closing it closes the source.
+ *
+ * @param <T> the type of the elements
+ */
+final class JsonElementIterable<T> implements CloseableIterable<T> {
+    private final ObjectReader reader;
+    private final Map<String, Map> selection;
+    private final Object source;
+
+    JsonElementIterable(final ObjectReader reader, final Map<String, Map> selection, final Object source) {
+        this.reader = reader;
+        this.selection = selection;
+        this.source = source;
+    }
+
+    /**
+     * Builds a field selection from dot separated paths, such as
+     * {@code "address.city"}. Selecting a field selects all of its nested fields.
+     *
+     * @param paths the paths of the fields to select
+     * @return the selection, or null to select every field
+     */
+    static Map<String, Map> selection(final Collection<String> paths) {
+        if (null == paths || paths.isEmpty()) {
+            return null;
+        }
+
+        final Map<String, Map> selection = new HashMap<>();
+        for (final String path : paths) {
+            Map<String, Map> level = selection;
+            final String[] names = path.split("\\.");
+            for (int i = 0; i < names.length; i++) {
+                final Map<String, Map> existing = level.get(names[i]);
+                if (i == names.length - 1) {
+                    // An empty selection means the whole value is selected
+                    level.put(names[i], new HashMap<>());
+                    break;
+                }
+                if (null != existing && existing.isEmpty()) {
+                    break;
+                }
+                if (null == existing) {
+                    level.put(names[i], new HashMap<>());
+                }
+                level = level.get(names[i]);
+            }
+        }
+        return selection;
+    }
+
+    @Override
+    public CloseableIterator<T> iterator() {
+        try {
+            return new JsonElementIterator(createParser());
+        } catch (final IOException e) {
+            throw new RuntimeException("Failed to deserialise JSON", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        CloseableUtil.close(source);
+    }
+
+    private JsonParser createParser() throws IOException {
+        if (source instanceof String) {
+            return reader.getFactory().createParser((String) source);
+        }
+        if (source instanceof Reader) {
+            return reader.getFactory().createParser((Reader) source);
+        }
+        return reader.getFactory().createParser((InputStream) source);
+    }
+
+    private static JsonNode readSelected(final JsonParser parser, final Map<String, Map> selection) throws IOException {
+        final ObjectNode node = JsonNodeFactory.instance.objectNode();
+        while (JsonToken.FIELD_NAME == parser.nextToken()) {
+            final String name = parser.getCurrentName();
+            final JsonToken token = parser.nextToken();
+            final Map<String, Map> selected = selection.get(name);
+            if (null == selected) {
+                parser.skipChildren();
+            } else if (selected.isEmpty()) {
+                node.set(name, parser.readValueAsTree());
+            } else if (JsonToken.START_OBJECT == token) {
+                node.set(name, readSelected(parser, selected));
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return node;
+    }
+
+    private final class JsonElementIterator implements CloseableIterator<T> {
+        private final JsonParser parser;
+        private final boolean array;
+        private boolean closed;
+
+        private JsonElementIterator(final JsonParser parser) throws IOException {
+            this.parser = parser;
+            this.array = JsonToken.START_ARRAY == parser.nextToken();
+            if (array) {
+                parser.nextToken();
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (closed) {
+                return false;
+            }
+
+            final JsonToken token = parser.getCurrentToken();
+            final boolean hasNext = null != token && !(array && JsonToken.END_ARRAY == token);
+            if (!hasNext) {
+                close();
+            }
+            return hasNext;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            try {
+                final T element;
+                if (null != selection && JsonToken.START_OBJECT == parser.getCurrentToken()) {
+                    element = reader.readValue(readSelected(parser, selection));
+                } else {
+                    element = reader.readValue(parser);
+                }
+                parser.nextToken();
+                return element;
+            } catch (final IOException e) {
+                close();
+                throw new RuntimeException("Failed to deserialise JSON", e);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                CloseableUtil.close(parser);
+            }
+        }
+    }
+}
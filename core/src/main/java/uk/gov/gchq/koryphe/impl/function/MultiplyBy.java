@@ -56,6 +56,15 @@ public class MultiplyBy extends KorypheFunction<Integer, Integer> {
         }
     }
 
+    @Override
+    public void applyBatch(final Object[] inputs, final Object[] outputs, final int size) {
+        final int multiplier = by;
+        for (int i = 0; i < size; i++) {
+            final Integer input = (Integer) inputs[i];
+            outputs[i] = null == input ? null : input * multiplier;
+        }
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (this == o) {
@@ -16,17 +16,25 @@
 
 package uk.gov.gchq.koryphe.impl.function;
 
+import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 
 import uk.gov.gchq.koryphe.Since;
 import uk.gov.gchq.koryphe.Summary;
 import uk.gov.gchq.koryphe.function.KorypheFunction;
+import uk.gov.gchq.koryphe.util.PatternUtil;
+
+import java.util.regex.Pattern;
 
 /**
  * A {@code StringRegexReplace} is a {@link java.util.function.Function} which takes an input string and applies the
  * provided regular expression to find matching substrings to replace. It then replaces all of these matches with the
  * provided replacement string.
+ * <p>
+ * The expression is compiled once, on first use, using the shared cache in
+ * {@link PatternUtil}. If neither the expression nor the replacement contain
+ * special characters a plain string replace is used instead.
  *
  * @see StringReplace
  */
@@ -36,13 +44,14 @@ public class StringRegexReplace extends KorypheFunction<String, String> {
 
     private String regex;
     private String replacement;
+    private transient volatile Pattern pattern;
 
     public StringRegexReplace() {
     }
 
     public StringRegexReplace(final String regex, final String replacement) {
-        this.regex = regex;
-        this.replacement = replacement;
+        setRegex(regex);
+        setReplacement(replacement);
     }
 
     @Override
@@ -51,7 +60,16 @@ public class StringRegexReplace extends KorypheFunction<String, String> {
             return null;
         }
 
-        return input.replaceAll(regex, replacement);
+        if (PatternUtil.isLiteral(regex) && PatternUtil.isLiteralReplacement(replacement)) {
+            return StringUtils.replace(input, regex, replacement);
+        }
+
+        Pattern compiled = pattern;
+        if (null == compiled) {
+            compiled = PatternUtil.compile(regex);
+            pattern = compiled;
+        }
+        return compiled.matcher(input).replaceAll(replacement);
     }
 
     public String getRegex() {
@@ -60,6 +78,7 @@ public class StringRegexReplace extends KorypheFunction<String, String> {
 
     public void setRegex(final String regex) {
         this.regex = regex;
+        this.pattern = null;
     }
 
     public String getReplacement() {
@@ -22,6 +22,7 @@ import org.apache.commons.lang3.builder.HashCodeBuilder;
 import uk.gov.gchq.koryphe.Since;
 import uk.gov.gchq.koryphe.Summary;
 import uk.gov.gchq.koryphe.function.KorypheFunction;
+import uk.gov.gchq.koryphe.util.PatternUtil;
 
 import java.util.Arrays;
 import java.util.List;
@@ -30,6 +31,10 @@ import java.util.regex.Pattern;
 /**
  * A {@code StringRegexSplit} is a {@link java.util.function.Function} which splits an input string based on the
  * provided regular expression.
+ * <p>
+ * The expression is compiled once, on first use, using the shared cache in
+ * {@link PatternUtil}. Expressions without metacharacters are split without
+ * the regex engine.
  *
  * @see StringSplit
  */
@@ -38,12 +43,13 @@ import java.util.regex.Pattern;
 public class StringRegexSplit extends KorypheFunction<String, List<String>> {
 
     private String regex;
+    private transient volatile Pattern pattern;
 
     public StringRegexSplit() {
     }
 
     public StringRegexSplit(final String regex) {
-        this.regex = regex;
+        setRegex(regex);
     }
 
     @Override
@@ -52,8 +58,16 @@ public class StringRegexSplit extends KorypheFunction<String, List<String>> {
             return null;
         }
 
-        final Pattern pattern = Pattern.compile(regex);
-        return Arrays.asList(pattern.split(input));
+        if (PatternUtil.isLiteral(regex)) {
+            return Arrays.asList(PatternUtil.splitLiteral(input, regex));
+        }
+
+        Pattern compiled = pattern;
+        if (null == compiled) {
+            compiled = PatternUtil.compile(regex);
+            pattern = compiled;
+        }
+        return Arrays.asList(compiled.split(input));
     }
 
     public String getRegex() {
@@ -62,6 +76,7 @@ public class StringRegexSplit extends KorypheFunction<String, List<String>> {
 
     public void setRegex(final String regex) {
         this.regex = regex;
+        this.pattern = null;
     }
 
     @Override
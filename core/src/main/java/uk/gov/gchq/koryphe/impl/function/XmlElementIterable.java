@@ -0,0 +1,352 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.koryphe.impl.function;
+
+import org.json.JSONObject;
+import org.json.XML;
+
+import uk.gov.gchq.koryphe.iterable.CloseableIterable;
+import uk.gov.gchq.koryphe.iterable.CloseableIterator;
+import uk.gov.gchq.koryphe.util.CloseableUtil;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * A {@link CloseableIterable} that converts XML elements into Maps as it is
+ * iterated, using a StAX parser rather than building the whole document up front.
+ * A Map is returned for each element matching a path of element names from the
+ * document root, where {@code *} matches any name. Subtrees that cannot contain
+ * a matching element are skipped without being built.
+ * <p>
+ * Elements are converted in the same way as {@link XML#toJSONObject(String)}:
+ * attributes and child elements become entries, repeated child elements become
+ * Lists, text is held under {@code "content"} and values are converted with
+ * {@link XML#stringToValue(String)}.
+ * <p>
+ * If a field selection is given, only the selected attributes, child elements
+ * and content of each matching element are converted.
+ * <p>
+ * An iterable created from a {@link String} can be iterated any number of
+ * times. An iterable created from a {@link Reader} or {@link InputStream} can
+ * only be iterated once, and closing it closes the source.
+ */
+final class XmlElementIterable implements CloseableIterable<Map<String, Object>> {
+    static final String CONTENT = "content";
+    private static final XMLInputFactory FACTORY = createInputFactory();
+
+    private final String[] path;
+    private final Map<String, Map> selection;
+    private final Object source;
+
+    XmlElementIterable(final String[] path, final Map<String, Map> selection, final Object source) {
+        this.path = path;
+        this.selection = selection;
+        this.source = source;
+    }
+
+    /**
+     * Converts a whole XML document into a Map holding its root element.
+     *
+     * @param xml the XML document
+     * @return the converted document
+     */
+    static Map<String, Object> readDocument(final String xml) {
+        final Map<String, Object> document = new HashMap<>();
+        if (xml.trim().isEmpty()) {
+            return document;
+        }
+
+        final XMLStreamReader reader = createReader(xml);
+        try {
+            while (reader.hasNext()) {
+                if (XMLStreamConstants.START_ELEMENT == reader.next()) {
+                    final String name = reader.getLocalName();
+                    accumulate(document, name, readElement(reader, null));
+                }
+            }
+            return document;
+        } catch (final XMLStreamException e) {
+            throw new RuntimeException("Failed to deserialise XML", e);
+        } finally {
+            close(reader);
+        }
+    }
+
+    @Override
+    public CloseableIterator<Map<String, Object>> iterator() {
+        return new XmlElementIterator(createReader(source));
+    }
+
+    @Override
+    public void close() {
+        CloseableUtil.close(source);
+    }
+
+    private static XMLStreamReader createReader(final Object source) {
+        try {
+            if (source instanceof String) {
+                return FACTORY.createXMLStreamReader(new StringReader((String) source));
+            }
+            if (source instanceof Reader) {
+                return FACTORY.createXMLStreamReader((Reader) source);
+            }
+            return FACTORY.createXMLStreamReader((InputStream) source);
+        } catch (final XMLStreamException e) {
+            throw new RuntimeException("Failed to deserialise XML", e);
+        }
+    }
+
+    /**
+     * Converts the element the reader is positioned at, leaving the reader
+     * at its end element.
+     *
+     * @param reader    the reader, positioned at a start element
+     * @param selection the fields to convert, or null to convert every field
+     * @return the converted element, or null if nothing in it was selected
+     * @throws XMLStreamException if the XML is invalid
+     */
+    private static Object readElement(final XMLStreamReader reader, final Map<String, Map> selection) throws XMLStreamException {
+        Map<String, Object> map = null;
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            final String name = attributeName(reader, i);
+            if (null == selection || selection.containsKey(name)) {
+                if (null == map) {
+                    map = new HashMap<>();
+                }
+                accumulate(map, name, toValue(reader.getAttributeValue(i)));
+            }
+        }
+
+        final boolean includeContent = null == selection || selection.containsKey(CONTENT);
+        StringBuilder text = null;
+        Object content = null;
+        while (true) {
+            final int event = reader.next();
+            if (XMLStreamConstants.START_ELEMENT == event || XMLStreamConstants.END_ELEMENT == event) {
+                if (null != text) {
+                    final String trimmed = text.toString().trim();
+                    if (!trimmed.isEmpty()) {
+                        if (null != map) {
+                            accumulate(map, CONTENT, toValue(trimmed));
+                        } else {
+                            content = toValue(trimmed);
+                        }
+                    }
+                    text = null;
+                }
+                if (XMLStreamConstants.END_ELEMENT == event) {
+                    break;
+                }
+
+                final String name = reader.getLocalName();
+                final Map<String, Map> selected = null == selection ? null : selection.get(name);
+                if (null != selection && null == selected) {
+                    skipElement(reader);
+                    continue;
+                }
+
+                final Object child = readElement(reader, null == selected || selected.isEmpty() ? null : selected);
+                if (null != child) {
+                    if (null == map) {
+                        map = new HashMap<>();
+                        if (null != content) {
+                            map.put(CONTENT, content);
+                            content = null;
+                        }
+                    }
+                    accumulate(map, name, child);
+                }
+            } else if (includeContent && isText(event) && (null != text || !reader.isWhiteSpace())) {
+                if (null == text) {
+                    text = new StringBuilder();
+                }
+                text.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+            }
+        }
+
+        if (null != map) {
+            return map;
+        }
+        if (null != content) {
+            return content;
+        }
+        return null == selection ? "" : null;
+    }
+
+    /*
+     * Attribute prefixes are split off even when the parser is not namespace
+     * aware, so they are put back to keep names such as "xmlns:x" and "x:id".
+     */
+    private static String attributeName(final XMLStreamReader reader, final int index) {
+        final String prefix = reader.getAttributePrefix(index);
+        final String localName = reader.getAttributeLocalName(index);
+        return null == prefix || prefix.isEmpty() ? localName : prefix + ":" + localName;
+    }
+
+    private static void skipElement(final XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            final int event = reader.next();
+            if (XMLStreamConstants.START_ELEMENT == event) {
+                depth++;
+            } else if (XMLStreamConstants.END_ELEMENT == event) {
+                depth--;
+            }
+        }
+    }
+
+    private static boolean isText(final int event) {
+        return XMLStreamConstants.CHARACTERS == event
+                || XMLStreamConstants.CDATA == event
+                || XMLStreamConstants.SPACE == event;
+    }
+
+    private static Object toValue(final String text) {
+        final Object value = XML.stringToValue(text);
+        return JSONObject.NULL.equals(value) ? null : value;
+    }
+
+    private static void accumulate(final Map<String, Object> map, final String key, final Object value) {
+        if (!map.containsKey(key)) {
+            map.put(key, value);
+            return;
+        }
+
+        // Converted elements are never Lists, so a List holds repeated values
+        final Object existing = map.get(key);
+        if (existing instanceof List) {
+            ((List<Object>) existing).add(value);
+        } else {
+            final List<Object> list = new ArrayList<>();
+            list.add(existing);
+            list.add(value);
+            map.put(key, list);
+        }
+    }
+
+    private static void close(final XMLStreamReader reader) {
+        try {
+            reader.close();
+        } catch (final XMLStreamException e) {
+            // Ignore exception
+        }
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        final XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, false);
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+    private final class XmlElementIterator implements CloseableIterator<Map<String, Object>> {
+        private final XMLStreamReader reader;
+        private Map<String, Object> next;
+        private int depth;
+        private boolean closed;
+
+        private XmlElementIterator(final XMLStreamReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (null == next && !closed) {
+                next = readNext();
+                if (null == next) {
+                    close();
+                }
+            }
+            return null != next;
+        }
+
+        @Override
+        public Map<String, Object> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            final Map<String, Object> element = next;
+            next = null;
+            return element;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                XmlElementIterable.close(reader);
+                if (!(source instanceof String)) {
+                    CloseableUtil.close(source);
+                }
+            }
+        }
+
+        /*
+         * Every open element has matched the path so far, as elements that do
+         * not match are skipped, so the depth is also the number of path names
+         * matched.
+         */
+        private Map<String, Object> readNext() {
+            try {
+                while (reader.hasNext()) {
+                    final int event = reader.next();
+                    if (XMLStreamConstants.END_ELEMENT == event) {
+                        depth--;
+                    } else if (XMLStreamConstants.START_ELEMENT == event) {
+                        final String name = path[depth];
+                        if (!"*".equals(name) && !name.equals(reader.getLocalName())) {
+                            skipElement(reader);
+                        } else if (depth < path.length - 1) {
+                            depth++;
+                        } else {
+                            return toMap(readElement(reader, selection));
+                        }
+                    }
+                }
+                return null;
+            } catch (final XMLStreamException e) {
+                close();
+                throw new RuntimeException("Failed to deserialise XML", e);
+            }
+        }
+
+        private Map<String, Object> toMap(final Object element) {
+            if (element instanceof Map) {
+                return (Map<String, Object>) element;
+            }
+
+            final Map<String, Object> map = new HashMap<>();
+            if (null != element && !"".equals(element)) {
+                map.put(CONTENT, element);
+            }
+            return map;
+        }
+    }
+}
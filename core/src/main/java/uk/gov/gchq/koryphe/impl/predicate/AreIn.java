@@ -17,9 +17,9 @@
 package uk.gov.gchq.koryphe.impl.predicate;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
-import com.google.common.collect.Sets;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.apache.commons.lang3.builder.ToStringBuilder;
@@ -28,38 +28,59 @@ import uk.gov.gchq.koryphe.Since;
 import uk.gov.gchq.koryphe.Summary;
 import uk.gov.gchq.koryphe.predicate.KoryphePredicate;
 
-import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashSet;
+import java.util.Collections;
 
 /**
  * An <code>AreIn</code> is a {@link java.util.function.BiPredicate}
  * that checks if a provided {@link java.util.Collection} contains all the provided input values.
+ * <p>
+ * The allowed values are held in the same immutable sets as {@link IsIn}, and
+ * a Bloom filter can likewise be enabled to reject inputs before the set is
+ * checked.
  */
 @Since("1.0.0")
 @Summary("Checks if a provided collection contains all the provided input values")
 public class AreIn extends KoryphePredicate<Collection<?>> {
-    private Collection<?> allowedValues;
+    private ValueSet allowedValues;
+    private boolean bloomFilter;
 
     public AreIn() {
         // Required for serialisation
     }
 
     public AreIn(final Collection<?> allowedValues) {
-        this.allowedValues = allowedValues;
+        this.allowedValues = ValueSet.of(allowedValues);
     }
 
     public AreIn(final Object... allowedValues) {
-        this.allowedValues = Sets.newHashSet(allowedValues);
+        this.allowedValues = ValueSet.of(allowedValues);
     }
 
+    /**
+     * @return an immutable view of the allowed values
+     */
     @JsonIgnore
     public Collection<?> getValues() {
         return allowedValues;
     }
 
     public void setValues(final Collection<?> allowedValues) {
-        this.allowedValues = allowedValues;
+        this.allowedValues = ValueSet.of(allowedValues);
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    public boolean isBloomFilter() {
+        return bloomFilter;
+    }
+
+    /**
+     * @param bloomFilter true if inputs should be checked against a Bloom
+     *                    filter of the allowed values before the values
+     *                    themselves
+     */
+    public void setBloomFilter(final boolean bloomFilter) {
+        this.bloomFilter = bloomFilter;
     }
 
     @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, include = JsonTypeInfo.As.WRAPPER_OBJECT)
@@ -72,15 +93,15 @@ public class AreIn extends KoryphePredicate<Collection<?>> {
     @JsonProperty("values")
     public void setAllowedValues(final Object[] allowedValuesArray) {
         if (null != allowedValuesArray) {
-            allowedValues = new HashSet<>(Arrays.asList(allowedValuesArray));
+            allowedValues = ValueSet.of(allowedValuesArray);
         } else {
-            allowedValues = new HashSet<>(0);
+            allowedValues = ValueSet.of(Collections.emptyList());
         }
     }
 
     @Override
     public boolean test(final Collection<?> input) {
-        return null == allowedValues || allowedValues.isEmpty() || (null != input && allowedValues.containsAll(input));
+        return null == allowedValues || allowedValues.isEmpty() || (null != input && allowedValues.containsAll(input, bloomFilter));
     }
 
     @Override
@@ -96,6 +117,7 @@ public class AreIn extends KoryphePredicate<Collection<?>> {
         final AreIn that = (AreIn) obj;
         return new EqualsBuilder()
                 .append(allowedValues, that.allowedValues)
+                .append(bloomFilter, that.bloomFilter)
                 .isEquals();
     }
 
@@ -103,6 +125,7 @@ public class AreIn extends KoryphePredicate<Collection<?>> {
     public int hashCode() {
         return new HashCodeBuilder(17, 37)
                 .append(allowedValues)
+                .append(bloomFilter)
                 .toHashCode();
     }
 
@@ -110,6 +133,7 @@ public class AreIn extends KoryphePredicate<Collection<?>> {
     public String toString() {
         return new ToStringBuilder(this)
                 .append("allowedValues", allowedValues)
+                .append("bloomFilter", bloomFilter)
                 .toString();
     }
 }
@@ -62,6 +62,27 @@ public class IsEqual extends KoryphePredicate<Object> {
         return controlValue.equals(input);
     }
 
+    @Override
+    public int testBatch(final Object[] inputs, final int[] selection, final int size) {
+        int passed = 0;
+        if (null == controlValue) {
+            for (int i = 0; i < size; i++) {
+                final int index = selection[i];
+                if (null == inputs[index]) {
+                    selection[passed++] = index;
+                }
+            }
+        } else {
+            for (int i = 0; i < size; i++) {
+                final int index = selection[i];
+                if (controlValue.equals(inputs[index])) {
+                    selection[passed++] = index;
+                }
+            }
+        }
+        return passed;
+    }
+
     @Override
     public boolean equals(final Object obj) {
         if (this == obj) {
@@ -17,9 +17,9 @@
 package uk.gov.gchq.koryphe.impl.predicate;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
-import com.google.common.collect.Sets;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.apache.commons.lang3.builder.ToStringBuilder;
@@ -28,30 +28,37 @@ import uk.gov.gchq.koryphe.Since;
 import uk.gov.gchq.koryphe.Summary;
 import uk.gov.gchq.koryphe.predicate.KoryphePredicate;
 
-import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashSet;
+import java.util.Collections;
 import java.util.Set;
 
 /**
  * An <code>IsIn</code> is a {@link java.util.function.Predicate} that checks that the input is
  * in a set of allowed values.
+ * <p>
+ * The allowed values are held in an immutable set chosen from their types, so
+ * large sets of {@link Long}s, {@link Integer}s or {@link String}s are not held
+ * as boxed objects in a {@link java.util.HashSet}. Large sets are shared
+ * between predicates with the same allowed values. If most inputs are
+ * expected to be rejected, a Bloom filter can be enabled to reject them
+ * before the set is checked.
  */
 @Since("1.0.0")
 @Summary("Checks if an input is in a set of allowed values")
 public class IsIn extends KoryphePredicate<Object> {
-    private Set<Object> allowedValues;
+    private ValueSet allowedValues;
+    private boolean bloomFilter;
 
     public IsIn() {
         // Required for serialisation
     }
 
     public IsIn(final Collection<Object> controlData) {
-        this.allowedValues = new HashSet<>(controlData);
+        this.allowedValues = ValueSet.of(controlData);
     }
 
     public IsIn(final Object... controlData) {
-        this.allowedValues = Sets.newHashSet(controlData);
+        this.allowedValues = ValueSet.of(controlData);
     }
 
     @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, include = JsonTypeInfo.As.WRAPPER_OBJECT)
@@ -64,24 +71,41 @@ public class IsIn extends KoryphePredicate<Object> {
     @JsonProperty("values")
     public void setAllowedValues(final Object[] allowedValuesArray) {
         if (null != allowedValuesArray) {
-            allowedValues = new HashSet<>(Arrays.asList(allowedValuesArray));
+            allowedValues = ValueSet.of(allowedValuesArray);
         } else {
-            allowedValues = new HashSet<>(0);
+            allowedValues = ValueSet.of(Collections.emptyList());
         }
     }
 
+    /**
+     * @return an immutable view of the allowed values
+     */
     @JsonIgnore
     public Set<Object> getAllowedValues() {
         return allowedValues;
     }
 
     public void setAllowedValues(final Set<Object> allowedValues) {
-        this.allowedValues = allowedValues;
+        this.allowedValues = ValueSet.of(allowedValues);
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    public boolean isBloomFilter() {
+        return bloomFilter;
+    }
+
+    /**
+     * @param bloomFilter true if inputs should be checked against a Bloom
+     *                    filter of the allowed values before the values
+     *                    themselves
+     */
+    public void setBloomFilter(final boolean bloomFilter) {
+        this.bloomFilter = bloomFilter;
     }
 
     @Override
     public boolean test(final Object input) {
-        return null != allowedValues && allowedValues.contains(input);
+        return null != allowedValues && allowedValues.contains(input, bloomFilter);
     }
 
     @Override
@@ -97,6 +121,7 @@ public class IsIn extends KoryphePredicate<Object> {
         final IsIn isIn = (IsIn) obj;
         return new EqualsBuilder()
                 .append(allowedValues, isIn.allowedValues)
+                .append(bloomFilter, isIn.bloomFilter)
                 .isEquals();
     }
 
@@ -104,6 +129,7 @@ public class IsIn extends KoryphePredicate<Object> {
     public int hashCode() {
         return new HashCodeBuilder(17, 37)
                 .append(allowedValues)
+                .append(bloomFilter)
                 .toHashCode();
     }
 
@@ -111,6 +137,7 @@ public class IsIn extends KoryphePredicate<Object> {
     public String toString() {
         return new ToStringBuilder(this)
                 .append("allowedValues", allowedValues)
+                .append("bloomFilter", bloomFilter)
                 .toString();
     }
 }
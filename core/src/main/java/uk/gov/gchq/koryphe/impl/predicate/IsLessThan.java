@@ -84,6 +84,27 @@ public class IsLessThan extends KoryphePredicate<Comparable> implements InputVal
         return compareVal > 0;
     }
 
+    @Override
+    public int testBatch(final Object[] inputs, final int[] selection, final int size) {
+        if (null == controlValue) {
+            return super.testBatch(inputs, selection, size);
+        }
+
+        final Class<?> controlClass = controlValue.getClass();
+        int passed = 0;
+        for (int i = 0; i < size; i++) {
+            final int index = selection[i];
+            final Object input = inputs[index];
+            if (null != input && controlClass.isAssignableFrom(input.getClass())) {
+                final int compareVal = controlValue.compareTo(input);
+                if (orEqualTo ? compareVal >= 0 : compareVal > 0) {
+                    selection[passed++] = index;
+                }
+            }
+        }
+        return passed;
+    }
+
     @Override
     public ValidationResult isInputValid(final Class<?>... arguments) {
         final ValidationResult result = new ValidationResult();
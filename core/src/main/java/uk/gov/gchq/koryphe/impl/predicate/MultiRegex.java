@@ -16,6 +16,7 @@
 
 package uk.gov.gchq.koryphe.impl.predicate;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import org.apache.commons.lang3.builder.EqualsBuilder;
@@ -25,6 +26,8 @@ import org.apache.commons.lang3.builder.ToStringBuilder;
 import uk.gov.gchq.koryphe.Since;
 import uk.gov.gchq.koryphe.Summary;
 import uk.gov.gchq.koryphe.predicate.KoryphePredicate;
+import uk.gov.gchq.koryphe.util.MultiPatternMatcher;
+import uk.gov.gchq.koryphe.util.PatternUtil;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -35,11 +38,18 @@ import java.util.regex.Pattern;
  * A {@link MultiRegex} is a {@link KoryphePredicate} that returns true
  * if an input string matches a provided multiregex pattern, false otherwise.
  * Multiple patterns are passed in as an array.
+ * <p>
+ * By default each pattern is tried in turn. Setting the engine to
+ * {@link Engine#AUTOMATON} compiles the patterns into a single
+ * {@link MultiPatternMatcher}, so the cost of a test grows much more slowly
+ * with the number of patterns.
  */
 @Since("1.0.0")
 @Summary("Checks if a string matches at least one pattern")
 public class MultiRegex extends KoryphePredicate<String> {
     private Pattern[] patterns;
+    private Engine engine;
+    private transient volatile MultiPatternMatcher matcher;
 
     public MultiRegex() {
         this((Pattern[]) null);
@@ -49,6 +59,17 @@ public class MultiRegex extends KoryphePredicate<String> {
         setPatterns(patterns);
     }
 
+    public MultiRegex(final String... regexes) {
+        if (null != regexes) {
+            this.patterns = new Pattern[regexes.length];
+            for (int i = 0; i < regexes.length; i++) {
+                this.patterns[i] = PatternUtil.compile(regexes[i]);
+            }
+        } else {
+            this.patterns = new Pattern[0];
+        }
+    }
+
     @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, include = JsonTypeInfo.As.WRAPPER_OBJECT)
     @JsonProperty("value")
     public Pattern[] getPatterns() {
@@ -61,6 +82,17 @@ public class MultiRegex extends KoryphePredicate<String> {
         } else {
             this.patterns = new Pattern[0];
         }
+        this.matcher = null;
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public Engine getEngine() {
+        return engine;
+    }
+
+    public void setEngine(final Engine engine) {
+        this.engine = engine;
+        this.matcher = null;
     }
 
     @Override
@@ -68,6 +100,9 @@ public class MultiRegex extends KoryphePredicate<String> {
         if (null == input || input.getClass() != String.class) {
             return false;
         }
+        if (Engine.AUTOMATON == engine) {
+            return getMatcher().matches(input);
+        }
         for (final Pattern pattern : patterns) {
             if (pattern.matcher(input).matches()) {
                 return true;
@@ -76,6 +111,28 @@ public class MultiRegex extends KoryphePredicate<String> {
         return false;
     }
 
+    /**
+     * Finds the first pattern, in the order provided, that matches the input.
+     *
+     * @param input the string to match
+     * @return the first matching pattern, or null if none of them match
+     */
+    public Pattern findMatchingPattern(final String input) {
+        if (null == input) {
+            return null;
+        }
+        if (Engine.AUTOMATON == engine) {
+            final int index = getMatcher().indexOf(input);
+            return index < 0 ? null : patterns[index];
+        }
+        for (final Pattern pattern : patterns) {
+            if (pattern.matcher(input).matches()) {
+                return pattern;
+            }
+        }
+        return null;
+    }
+
     @Override
     public boolean equals(final Object obj) {
         if (this == obj) {
@@ -90,6 +147,7 @@ public class MultiRegex extends KoryphePredicate<String> {
 
         return new EqualsBuilder()
                 .append(patternsToStrings(patterns), patternsToStrings(that.patterns))
+                .append(engine, that.engine)
                 .isEquals();
     }
 
@@ -97,6 +155,7 @@ public class MultiRegex extends KoryphePredicate<String> {
     public int hashCode() {
         return new HashCodeBuilder(17, 37)
                 .append(patternsToStrings(patterns))
+                .append(engine)
                 .toHashCode();
     }
 
@@ -104,9 +163,19 @@ public class MultiRegex extends KoryphePredicate<String> {
     public String toString() {
         return new ToStringBuilder(this)
                 .append("patterns", patterns)
+                .append("engine", engine)
                 .toString();
     }
 
+    private MultiPatternMatcher getMatcher() {
+        MultiPatternMatcher result = matcher;
+        if (null == result) {
+            result = new MultiPatternMatcher(patterns);
+            matcher = result;
+        }
+        return result;
+    }
+
     /**
      * Utility method to convert an array of {@link java.util.regex.Pattern}s to
      * and array of {@link String}s.
@@ -126,4 +195,19 @@ public class MultiRegex extends KoryphePredicate<String> {
 
         return strings.toArray(new String[]{});
     }
+
+    /**
+     * The strategy used to match the patterns.
+     */
+    public enum Engine {
+        /**
+         * Each pattern is matched in turn.
+         */
+        SEQUENTIAL,
+
+        /**
+         * The patterns are compiled into a single {@link MultiPatternMatcher}.
+         */
+        AUTOMATON
+    }
 }
@@ -23,10 +23,9 @@ import org.apache.commons.lang3.builder.ToStringBuilder;
 import uk.gov.gchq.koryphe.Since;
 import uk.gov.gchq.koryphe.Summary;
 import uk.gov.gchq.koryphe.predicate.PredicateComposite;
-import uk.gov.gchq.koryphe.tuple.Tuple;
 import uk.gov.gchq.koryphe.tuple.predicate.IntegerTupleAdaptedPredicate;
-import uk.gov.gchq.koryphe.tuple.predicate.TupleAdaptedPredicate;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.function.Predicate;
 
@@ -53,25 +52,62 @@ public class Or<I> extends PredicateComposite<I, Predicate<I>> {
 
     @Override
     public boolean test(final I input) {
+        if (isAdaptive()) {
+            return testUntil(input, true);
+        }
         for (final Predicate<I> predicate : components) {
-            try {
-                if (predicate.test(input)) {
-                    return true;
-                }
-            } catch (final ClassCastException e) {
-                // This may occur if the predicate was given a tuple1 and the tuple1 was automatically unpacked.
-                if (predicate instanceof TupleAdaptedPredicate && !(input instanceof Tuple)) {
-                    if (((TupleAdaptedPredicate) predicate).getPredicate().test(input)) {
-                        return true;
-                    }
-                } else {
-                    throw e;
-                }
+            if (testComponent(predicate, input)) {
+                return true;
             }
         }
         return false;
     }
 
+    /**
+     * Each predicate component only tests the selected items that have not
+     * already matched a previous component.
+     *
+     * @param predicates the predicates to test, in order
+     * @param inputs     the inputs
+     * @param selection  the indices of the inputs to test
+     * @param size       the number of entries in the selection
+     * @return the number of inputs that passed any of the components
+     */
+    @Override
+    protected int testBatch(final List<Predicate<I>> predicates, final Object[] inputs, final int[] selection, final int size) {
+        final boolean[] matched = new boolean[inputs.length];
+        final int[] pending = Arrays.copyOf(selection, size);
+        final int[] candidates = new int[size];
+        int pendingSize = size;
+        for (final Predicate<I> predicate : predicates) {
+            if (0 == pendingSize) {
+                break;
+            }
+
+            System.arraycopy(pending, 0, candidates, 0, pendingSize);
+            final int passed = testComponentBatch(predicate, inputs, candidates, pending, pendingSize);
+            for (int i = 0; i < passed; i++) {
+                matched[candidates[i]] = true;
+            }
+
+            int stillPending = 0;
+            for (int i = 0; i < pendingSize; i++) {
+                if (!matched[pending[i]]) {
+                    pending[stillPending++] = pending[i];
+                }
+            }
+            pendingSize = stillPending;
+        }
+
+        int passed = 0;
+        for (int i = 0; i < size; i++) {
+            if (matched[selection[i]]) {
+                selection[passed++] = selection[i];
+            }
+        }
+        return passed;
+    }
+
     @Override
     public String toString() {
         return new ToStringBuilder(this)
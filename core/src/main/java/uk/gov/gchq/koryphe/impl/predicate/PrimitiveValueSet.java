@@ -0,0 +1,161 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.koryphe.impl.predicate;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A {@link ValueSet} of {@link Long}s or {@link Integer}s held unboxed in an
+ * open-addressing table with linear probing. Zero marks an empty slot, so
+ * whether zero is in the set is held separately. Values of the other boxed
+ * type are never contained, matching {@link java.util.HashSet} where
+ * {@code Integer.valueOf(1)} is not equal to {@code Long.valueOf(1)}.
+ * The values are iterated in ascending order.
+ */
+final class PrimitiveValueSet extends ValueSet {
+    private static final long MIX = 0x9E3779B97F4A7C15L;
+
+    private final boolean integers;
+    private final long[] table;
+    private final int mask;
+    private final boolean containsZero;
+    private final int size;
+
+    /**
+     * @param values   the values, all {@link Integer}s or all {@link Long}s
+     * @param integers true if the values are {@link Integer}s
+     */
+    PrimitiveValueSet(final Collection<?> values, final boolean integers) {
+        this.integers = integers;
+        table = new long[tableSize(values.size())];
+        mask = table.length - 1;
+
+        boolean zero = false;
+        int count = 0;
+        for (final Object value : values) {
+            final long key = ((Number) value).longValue();
+            if (0L == key) {
+                if (!zero) {
+                    zero = true;
+                    count++;
+                }
+            } else if (insert(key)) {
+                count++;
+            }
+        }
+        containsZero = zero;
+        size = count;
+    }
+
+    private static int tableSize(final int expected) {
+        // Keep the load factor at or below a half.
+        int capacity = 2;
+        while (capacity < expected * 2 && capacity < (1 << 30)) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static int slot(final long key) {
+        final long h = key * MIX;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private boolean insert(final long key) {
+        int i = slot(key) & mask;
+        while (0L != table[i]) {
+            if (key == table[i]) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        table[i] = key;
+        return true;
+    }
+
+    @Override
+    public boolean contains(final Object value) {
+        if (integers ? !(value instanceof Integer) : !(value instanceof Long)) {
+            return false;
+        }
+        return containsKey(((Number) value).longValue());
+    }
+
+    private boolean containsKey(final long key) {
+        if (0L == key) {
+            return containsZero;
+        }
+        int i = slot(key) & mask;
+        long entry;
+        while (0L != (entry = table[i])) {
+            if (key == entry) {
+                return true;
+            }
+            i = (i + 1) & mask;
+        }
+        return false;
+    }
+
+    @Override
+    public Iterator<Object> iterator() {
+        final long[] sorted = new long[size];
+        int count = 0;
+        if (containsZero) {
+            sorted[count++] = 0L;
+        }
+        for (final long entry : table) {
+            if (0L != entry) {
+                sorted[count++] = entry;
+            }
+        }
+        Arrays.sort(sorted);
+        return new ValueIterator(sorted, integers);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private static final class ValueIterator implements Iterator<Object> {
+        private final long[] values;
+        private final boolean integers;
+        private int index;
+
+        private ValueIterator(final long[] values, final boolean integers) {
+            this.values = values;
+            this.integers = integers;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < values.length;
+        }
+
+        @Override
+        public Object next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final long value = values[index++];
+            return integers ? (Object) Integer.valueOf((int) value) : (Object) Long.valueOf(value);
+        }
+    }
+}
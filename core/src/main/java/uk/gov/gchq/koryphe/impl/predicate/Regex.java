@@ -25,6 +25,7 @@ import org.apache.commons.lang3.builder.ToStringBuilder;
 import uk.gov.gchq.koryphe.Since;
 import uk.gov.gchq.koryphe.Summary;
 import uk.gov.gchq.koryphe.predicate.KoryphePredicate;
+import uk.gov.gchq.koryphe.util.PatternUtil;
 
 import java.util.regex.Pattern;
 
@@ -36,17 +37,18 @@ import java.util.regex.Pattern;
 @Summary("Checks if a string matches a pattern")
 public class Regex extends KoryphePredicate<String> {
     private Pattern controlValue;
+    private transient String literal;
 
     public Regex() {
         // Required for serialisation
     }
 
     public Regex(final String controlValue) {
-        this(Pattern.compile(controlValue));
+        this(PatternUtil.compile(controlValue));
     }
 
     public Regex(final Pattern controlValue) {
-        this.controlValue = controlValue;
+        setControlValue(controlValue);
     }
 
     @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, include = JsonTypeInfo.As.WRAPPER_OBJECT)
@@ -57,12 +59,18 @@ public class Regex extends KoryphePredicate<String> {
 
     public void setControlValue(final Pattern controlValue) {
         this.controlValue = controlValue;
+        this.literal = PatternUtil.isLiteral(controlValue) ? controlValue.pattern() : null;
     }
 
     @Override
     public boolean test(final String input) {
-        return !(null == input || input.getClass() != String.class)
-                && controlValue.matcher(input).matches();
+        if (null == input || input.getClass() != String.class) {
+            return false;
+        }
+        if (null != literal) {
+            return literal.equals(input);
+        }
+        return controlValue.matcher(input).matches();
     }
 
     @Override
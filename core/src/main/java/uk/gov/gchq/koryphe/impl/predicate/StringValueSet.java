@@ -0,0 +1,159 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.koryphe.impl.predicate;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A {@link ValueSet} of {@link String}s held as one array of characters and
+ * the offset of each value, rather than as {@link String} objects. The values
+ * are found through an open-addressing table holding the hash code and index
+ * of each value, so the characters are only compared when the hash codes
+ * match. Strings are only created when the set is iterated, in the order the
+ * values were first added.
+ */
+final class StringValueSet extends ValueSet {
+    private final char[] chars;
+    private final int[] offsets;
+    private final long[] table;
+    private final int mask;
+    private final int size;
+
+    /**
+     * @param values the values, all {@link String}s
+     */
+    StringValueSet(final Collection<?> values) {
+        long length = 0;
+        for (final Object value : values) {
+            length += ((String) value).length();
+        }
+        if (length > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many characters in the values: " + length);
+        }
+
+        final int expected = values.size();
+        int capacity = 2;
+        while (capacity < expected * 2 && capacity < (1 << 30)) {
+            capacity <<= 1;
+        }
+        table = new long[capacity];
+        mask = capacity - 1;
+
+        final char[] allChars = new char[(int) length];
+        final int[] allOffsets = new int[expected + 1];
+        int count = 0;
+        for (final Object value : values) {
+            final String str = (String) value;
+            final int hash = str.hashCode();
+            final int i = find(str, hash, allChars, allOffsets);
+            if (0L == table[i]) {
+                final int offset = allOffsets[count];
+                str.getChars(0, str.length(), allChars, offset);
+                allOffsets[count + 1] = offset + str.length();
+                table[i] = entry(hash, ++count);
+            }
+        }
+
+        size = count;
+        if (count == expected) {
+            chars = allChars;
+            offsets = allOffsets;
+        } else {
+            chars = Arrays.copyOf(allChars, allOffsets[count]);
+            offsets = Arrays.copyOf(allOffsets, count + 1);
+        }
+    }
+
+    // Returns the slot holding the value, or the empty slot it would go in.
+    private int find(final String value, final int hash, final char[] chars, final int[] offsets) {
+        int i = mix(hash) & mask;
+        long entry;
+        while (0L != (entry = table[i])) {
+            if (hash == (int) (entry >> 32) && matches(value, (int) entry - 1, chars, offsets)) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    // Packs the hash code into the high bits and the index plus one into the
+    // low bits, so an entry is never zero.
+    private static long entry(final int hash, final int indexPlusOne) {
+        return ((long) hash << 32) | indexPlusOne;
+    }
+
+    private static int mix(final int hash) {
+        final int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static boolean matches(final String value, final int index, final char[] chars, final int[] offsets) {
+        final int start = offsets[index];
+        final int length = offsets[index + 1] - start;
+        if (length != value.length()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (chars[start + i] != value.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean contains(final Object value) {
+        if (!(value instanceof String)) {
+            return false;
+        }
+        final String str = (String) value;
+        return 0L != table[find(str, str.hashCode(), chars, offsets)];
+    }
+
+    @Override
+    public Iterator<Object> iterator() {
+        return new ValueIterator();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private final class ValueIterator implements Iterator<Object> {
+        private int index;
+
+        @Override
+        public boolean hasNext() {
+            return index < size;
+        }
+
+        @Override
+        public Object next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final int start = offsets[index];
+            final int end = offsets[++index];
+            return new String(chars, start, end - start);
+        }
+    }
+}
@@ -0,0 +1,257 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.koryphe.impl.predicate;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+/**
+ * An immutable {@link Set} of allowed values for {@link IsIn} and
+ * {@link AreIn}. The backing structure is chosen from the element types:
+ * sets of only {@link Long}s or only {@link Integer}s are held in an
+ * open-addressing table of primitive longs, sets of only {@link String}s are
+ * held as a hash-indexed table of characters, and anything else is held in a
+ * {@link HashSet}. Large sets are interned so identical allow-lists share the
+ * same instance. A Bloom filter can be built on demand as a cheap pre-check
+ * for inputs that are mostly not in the set.
+ */
+abstract class ValueSet extends AbstractSet<Object> {
+    /**
+     * Sets with at least this many values are interned.
+     */
+    static final int INTERN_THRESHOLD = 1024;
+
+    private static final Interner<ValueSet> INTERNER = Interners.newWeakInterner();
+    private static final ValueSet EMPTY = new ObjectValueSet(Collections.emptySet());
+
+    private int hash;
+    private volatile BloomFilter bloomFilter;
+
+    /**
+     * Creates a {@link ValueSet} containing the values. If the values are
+     * already a {@link ValueSet} they are returned unchanged.
+     *
+     * @param values the values, may contain duplicates
+     * @return the set of values, or null if the values are null
+     */
+    static ValueSet of(final Collection<?> values) {
+        if (null == values) {
+            return null;
+        }
+        if (values instanceof ValueSet) {
+            return (ValueSet) values;
+        }
+        if (values.isEmpty()) {
+            return EMPTY;
+        }
+
+        final ValueSet set;
+        final Class<?> type = getCommonType(values);
+        if (Long.class == type || Integer.class == type) {
+            set = new PrimitiveValueSet(values, Integer.class == type);
+        } else if (String.class == type) {
+            set = new StringValueSet(values);
+        } else {
+            set = new ObjectValueSet(new HashSet<Object>(values));
+        }
+
+        if (set.size() >= INTERN_THRESHOLD) {
+            return INTERNER.intern(set);
+        }
+        return set;
+    }
+
+    /**
+     * Creates a {@link ValueSet} containing the values.
+     *
+     * @param values the values, may contain duplicates
+     * @return the set of values, or null if the values are null
+     */
+    static ValueSet of(final Object... values) {
+        return null != values ? of(Arrays.asList(values)) : null;
+    }
+
+    private static Class<?> getCommonType(final Collection<?> values) {
+        Class<?> type = null;
+        for (final Object value : values) {
+            if (null == value) {
+                return null;
+            }
+            if (null == type) {
+                type = value.getClass();
+            } else if (type != value.getClass()) {
+                return Object.class;
+            }
+        }
+        return type;
+    }
+
+    /**
+     * Tests the value against the Bloom filter, if requested, before testing
+     * it against the set.
+     *
+     * @param value          the value to look up
+     * @param useBloomFilter true if the Bloom filter should be checked first
+     * @return true if the set contains the value
+     */
+    boolean contains(final Object value, final boolean useBloomFilter) {
+        if (useBloomFilter && !getBloomFilter().mightContain(BloomFilter.hash(value))) {
+            return false;
+        }
+        return contains(value);
+    }
+
+    /**
+     * Tests every value against the Bloom filter, if requested, before
+     * testing it against the set.
+     *
+     * @param values         the values to look up
+     * @param useBloomFilter true if the Bloom filter should be checked first
+     * @return true if the set contains all of the values
+     */
+    boolean containsAll(final Collection<?> values, final boolean useBloomFilter) {
+        for (final Object value : values) {
+            if (!contains(value, useBloomFilter)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private BloomFilter getBloomFilter() {
+        BloomFilter filter = bloomFilter;
+        if (null == filter) {
+            filter = new BloomFilter(size());
+            for (final Object value : this) {
+                filter.put(BloomFilter.hash(value));
+            }
+            bloomFilter = filter;
+        }
+        return filter;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj instanceof ValueSet && hashCode() != obj.hashCode()) {
+            return false;
+        }
+        return super.equals(obj);
+    }
+
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (0 == h) {
+            h = super.hashCode();
+            hash = h;
+        }
+        return h;
+    }
+
+    /**
+     * A Bloom filter over the hashes of the values, with about one false
+     * positive in a hundred. Numbers are hashed by their long value and
+     * anything else by its hash code, so equal values always have the same
+     * hash.
+     */
+    private static final class BloomFilter {
+        private static final int HASHES = 7;
+        private static final int MIN_BITS_PER_VALUE = 10;
+
+        private final long[] words;
+        private final long mask;
+
+        private BloomFilter(final int expected) {
+            long bits = Long.SIZE;
+            while (bits < (long) expected * MIN_BITS_PER_VALUE) {
+                bits <<= 1;
+            }
+            words = new long[(int) (bits / Long.SIZE)];
+            mask = bits - 1;
+        }
+
+        private static long hash(final Object value) {
+            long h = value instanceof Long || value instanceof Integer
+                    ? ((Number) value).longValue()
+                    : (null != value ? value.hashCode() : 0);
+            h = (h ^ (h >>> 33)) * 0xFF51AFD7ED558CCDL;
+            h = (h ^ (h >>> 33)) * 0xC4CEB9FE1A85EC53L;
+            return h ^ (h >>> 33);
+        }
+
+        private void put(final long hash) {
+            final long step = (hash >>> 32) | 1L;
+            long bit = hash;
+            for (int i = 0; i < HASHES; i++) {
+                final long index = bit & mask;
+                words[(int) (index >>> 6)] |= 1L << index;
+                bit += step;
+            }
+        }
+
+        private boolean mightContain(final long hash) {
+            final long step = (hash >>> 32) | 1L;
+            long bit = hash;
+            for (int i = 0; i < HASHES; i++) {
+                final long index = bit & mask;
+                if (0L == (words[(int) (index >>> 6)] & (1L << index))) {
+                    return false;
+                }
+                bit += step;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * A {@link ValueSet} backed by a {@link HashSet}, for values of mixed or
+     * other types.
+     */
+    private static final class ObjectValueSet extends ValueSet {
+        private final Set<Object> values;
+
+        private ObjectValueSet(final Set<Object> values) {
+            this.values = values;
+        }
+
+        @Override
+        public boolean contains(final Object value) {
+            return values.contains(value);
+        }
+
+        @Override
+        public Iterator<Object> iterator() {
+            return Collections.unmodifiableSet(values).iterator();
+        }
+
+        @Override
+        public int size() {
+            return values.size();
+        }
+    }
+}
@@ -35,7 +35,7 @@ import java.util.function.Predicate;
  */
 @Since("1.0.0")
 @Summary("Applies a predicate and adapts the input")
-public class AdaptedPredicate<I, PI> extends InputAdapted<I, PI> implements Predicate<I> {
+public class AdaptedPredicate<I, PI> extends InputAdapted<I, PI> implements BatchPredicate<I> {
 
     @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, include = JsonTypeInfo.As.PROPERTY, property = "class")
     protected Predicate<PI> predicate;
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.koryphe.predicate;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Learns the order to evaluate the components of a short circuiting
+ * composite predicate in. A sample of the calls are timed, recording the cost
+ * of each component tested and how often it returned the result that stops
+ * the evaluation. Each time enough calls have been sampled the components are
+ * sorted by their expected cost per stop, {@code cost / P(stop)}, which for
+ * independent predicates minimises the expected cost of each test.
+ * <p>
+ * The statistics are updated without synchronisation, so some samples may be
+ * lost when used from multiple threads. This only affects the order chosen,
+ * not the result of the tests. The older statistics are halved on each
+ * re-sort so the order follows changes in the data.
+ */
+final class AdaptiveOrder {
+    static final int DEFAULT_SAMPLE_INTERVAL = 64;
+    static final int DEFAULT_SORT_INTERVAL = 256;
+
+    private final int sampleInterval;
+    private final int sortInterval;
+    private final long[] nanos;
+    private final long[] tested;
+    private final long[] stopped;
+
+    @SuppressFBWarnings(value = "VO_VOLATILE_REFERENCE_TO_ARRAY", justification = "The array is replaced, never modified")
+    private volatile int[] order;
+    private volatile boolean pinned;
+    private int calls;
+    private int samples;
+
+    AdaptiveOrder(final int size) {
+        this(size, DEFAULT_SAMPLE_INTERVAL, DEFAULT_SORT_INTERVAL);
+    }
+
+    AdaptiveOrder(final int size, final int sampleInterval, final int sortInterval) {
+        this.sampleInterval = sampleInterval;
+        this.sortInterval = sortInterval;
+        this.nanos = new long[size];
+        this.tested = new long[size];
+        this.stopped = new long[size];
+        this.order = declaredOrder(size);
+    }
+
+    /**
+     * @return the indices of the components in the order to test them in
+     */
+    int[] getOrder() {
+        return order;
+    }
+
+    /**
+     * @param indices an order returned by {@link #getOrder()}
+     * @return true if the order is the order the components were declared in
+     */
+    static boolean isDeclaredOrder(final int[] indices) {
+        for (int i = 0; i < indices.length; i++) {
+            if (i != indices[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return true if the next call should be timed
+     */
+    boolean isSampling() {
+        if (pinned) {
+            return false;
+        }
+        return 0 == (++calls % sampleInterval);
+    }
+
+    /**
+     * Records the result of testing a single component in a sampled call.
+     *
+     * @param index   the index of the component
+     * @param elapsed the time taken to test the component, in nanoseconds
+     * @param stop    true if the component returned the result that stops the evaluation
+     */
+    void record(final int index, final long elapsed, final boolean stop) {
+        nanos[index] += elapsed;
+        tested[index]++;
+        if (stop) {
+            stopped[index]++;
+        }
+    }
+
+    /**
+     * Marks the end of a sampled call, re-sorting the components if enough
+     * calls have been sampled.
+     */
+    void sampled() {
+        if (0 == (++samples % sortInterval)) {
+            sort();
+        }
+    }
+
+    /**
+     * Reverts to the declared order and stops learning. This is used when
+     * testing the components in a different order throws an exception.
+     */
+    void pin() {
+        pinned = true;
+        order = declaredOrder(order.length);
+    }
+
+    int size() {
+        return order.length;
+    }
+
+    boolean isPinned() {
+        return pinned;
+    }
+
+    void sort() {
+        final int size = order.length;
+        final double[] ranks = new double[size];
+        final Integer[] sorted = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            ranks[i] = rank(i);
+            sorted[i] = i;
+            // Decay the statistics so recent samples count for more
+            nanos[i] /= 2;
+            tested[i] /= 2;
+            stopped[i] /= 2;
+        }
+
+        // The sort is stable, so components with equal ranks keep their declared order
+        Arrays.sort(sorted, Comparator.comparingDouble(i -> ranks[i]));
+
+        final int[] newOrder = new int[size];
+        for (int i = 0; i < size; i++) {
+            newOrder[i] = sorted[i];
+        }
+        if (!pinned) {
+            order = newOrder;
+        }
+    }
+
+    // Components that have not been tested yet rank first so they are sampled.
+    // A nanosecond is added to the cost so a zero cost does not hide the
+    // stop rate.
+    private double rank(final int index) {
+        final long count = tested[index];
+        if (0 == count) {
+            return 0;
+        }
+        final double cost = 1.0 + ((double) nanos[index] / count);
+        final double stopRate = (double) stopped[index] / count;
+        return cost / stopRate;
+    }
+
+    private static int[] declaredOrder(final int size) {
+        final int[] indices = new int[size];
+        for (int i = 0; i < size; i++) {
+            indices[i] = i;
+        }
+        return indices;
+    }
+}
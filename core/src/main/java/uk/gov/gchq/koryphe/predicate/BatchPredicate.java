@@ -0,0 +1,88 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.koryphe.predicate;
+
+import java.util.function.Predicate;
+
+/**
+ * A <code>BatchPredicate</code> is a {@link Predicate} that can test a batch of
+ * inputs in a single call.
+ * <p>
+ * The items to test are given by a selection vector: the first <code>size</code>
+ * entries of an int array, holding indices into the inputs. The selection
+ * is narrowed in place, so the indices of the inputs that pass are moved to
+ * the front of the selection in their original order. Chained filters can
+ * then pass the same selection on, each testing only the remaining items.
+ *
+ * @param <I> Input type
+ */
+public interface BatchPredicate<I> extends Predicate<I> {
+    /**
+     * Tests the selected inputs, narrowing the selection to those that pass.
+     *
+     * @param inputs    the inputs
+     * @param selection the indices of the inputs to test
+     * @param size      the number of entries in the selection
+     * @return the number of inputs that passed, which are now at the front of the selection
+     */
+    default int testBatch(final Object[] inputs, final int[] selection, final int size) {
+        int passed = 0;
+        for (int i = 0; i < size; i++) {
+            final int index = selection[i];
+            if (test((I) inputs[index])) {
+                selection[passed++] = index;
+            }
+        }
+        return passed;
+    }
+
+    /**
+     * Tests the selected inputs with any {@link Predicate}, using
+     * {@link #testBatch(Object[], int[], int)} if it is supported.
+     *
+     * @param predicate the predicate to test with
+     * @param inputs    the inputs
+     * @param selection the indices of the inputs to test
+     * @param size      the number of entries in the selection
+     * @return the number of inputs that passed, which are now at the front of the selection
+     */
+    static int testBatch(final Predicate predicate, final Object[] inputs, final int[] selection, final int size) {
+        if (predicate instanceof BatchPredicate) {
+            return ((BatchPredicate) predicate).testBatch(inputs, selection, size);
+        }
+
+        int passed = 0;
+        for (int i = 0; i < size; i++) {
+            final int index = selection[i];
+            if (predicate.test(inputs[index])) {
+                selection[passed++] = index;
+            }
+        }
+        return passed;
+    }
+
+    /**
+     * @param size the number of inputs
+     * @return a selection vector that selects the first <code>size</code> inputs
+     */
+    static int[] selectAll(final int size) {
+        final int[] selection = new int[size];
+        for (int i = 0; i < size; i++) {
+            selection[i] = i;
+        }
+        return selection;
+    }
+}
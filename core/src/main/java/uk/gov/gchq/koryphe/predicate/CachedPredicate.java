@@ -0,0 +1,161 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.koryphe.predicate;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import uk.gov.gchq.koryphe.Since;
+import uk.gov.gchq.koryphe.Summary;
+import uk.gov.gchq.koryphe.ValidationResult;
+import uk.gov.gchq.koryphe.signature.InputValidator;
+import uk.gov.gchq.koryphe.signature.Signature;
+import uk.gov.gchq.koryphe.util.CacheStatistics;
+import uk.gov.gchq.koryphe.util.MemoisingCacheHolder;
+
+import java.util.function.Predicate;
+
+/**
+ * A <code>CachedPredicate</code> is a {@link Predicate} that caches the
+ * results of another {@link Predicate} for the inputs it has seen, using a
+ * {@link uk.gov.gchq.koryphe.util.MemoisingCache}. It should only wrap
+ * predicates that always return the same result for the same input.
+ * <p>
+ * Only the sizing of the cache is serialised. Each instance creates its own
+ * cache when it is first tested.
+ *
+ * @param <I> the input type
+ * @see uk.gov.gchq.koryphe.function.Cached
+ */
+@Since("1.12.0")
+@Summary("Caches the results of a predicate")
+public class CachedPredicate<I> extends KoryphePredicate<I> implements InputValidator {
+    public static final long DEFAULT_MAXIMUM_SIZE = MemoisingCacheHolder.DEFAULT_MAXIMUM_SIZE;
+
+    @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, include = JsonTypeInfo.As.PROPERTY, property = "class")
+    private Predicate<I> predicate;
+    private final MemoisingCacheHolder<I, Boolean> cache = new MemoisingCacheHolder<>();
+
+    public CachedPredicate() {
+        // Required for serialisation
+    }
+
+    public CachedPredicate(final Predicate<I> predicate) {
+        this.predicate = predicate;
+    }
+
+    public CachedPredicate(final Predicate<I> predicate, final long maximumSize) {
+        this.predicate = predicate;
+        setMaximumSize(maximumSize);
+    }
+
+    @Override
+    public boolean test(final I input) {
+        if (null == predicate) {
+            throw new IllegalArgumentException("The " + CachedPredicate.class.getName() + " KoryphePredicate has not been provided with a predicate");
+        }
+        return cache.getCache().get(input, predicate::test);
+    }
+
+    /**
+     * @return the statistics for the cache, or null if it has not been
+     * created yet
+     */
+    @JsonIgnore
+    public CacheStatistics getStatistics() {
+        return cache.getStatistics();
+    }
+
+    public Predicate<I> getPredicate() {
+        return predicate;
+    }
+
+    public void setPredicate(final Predicate<I> predicate) {
+        this.predicate = predicate;
+        cache.reset();
+    }
+
+    public long getMaximumSize() {
+        return cache.getMaximumSize();
+    }
+
+    /**
+     * @param maximumSize the maximum number of results to cache
+     */
+    public void setMaximumSize(final long maximumSize) {
+        cache.setMaximumSize(maximumSize);
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    public long getExpireAfterWriteMillis() {
+        return cache.getExpireAfterWriteMillis();
+    }
+
+    /**
+     * @param expireAfterWriteMillis the time in milliseconds after which a
+     *                               cached result expires, or 0 for results
+     *                               to not expire
+     */
+    public void setExpireAfterWriteMillis(final long expireAfterWriteMillis) {
+        cache.setExpireAfterWriteMillis(expireAfterWriteMillis);
+    }
+
+    @Override
+    public ValidationResult isInputValid(final Class<?>... arguments) {
+        if (null == predicate) {
+            return new ValidationResult();
+        }
+        return Signature.getInputSignature(predicate).assignable(arguments);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (null == o || !getClass().equals(o.getClass())) {
+            return false;
+        }
+
+        final CachedPredicate that = (CachedPredicate) o;
+        return new EqualsBuilder()
+                .append(predicate, that.predicate)
+                .append(cache, that.cache)
+                .isEquals();
+    }
+
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder(29, 61)
+                .append(predicate)
+                .append(cache)
+                .toHashCode();
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("predicate", predicate)
+                .append("cache", cache)
+                .toString();
+    }
+}
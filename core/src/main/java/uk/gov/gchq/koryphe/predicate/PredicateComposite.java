@@ -16,7 +16,11 @@
 
 package uk.gov.gchq.koryphe.predicate;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
 
 import uk.gov.gchq.koryphe.Since;
 import uk.gov.gchq.koryphe.Summary;
@@ -27,19 +31,36 @@ import uk.gov.gchq.koryphe.signature.Signature;
 import uk.gov.gchq.koryphe.tuple.Tuple;
 import uk.gov.gchq.koryphe.tuple.predicate.TupleAdaptedPredicate;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.function.Predicate;
 
 /**
  * A {@link Composite} {@link Predicate} that applies each predicate in turn, returning true if all Predicates are met,
  * otherwise false.
+ * <p>
+ * In adaptive mode the components are not tested in the order they were
+ * declared in. A sample of the tests are timed, and the components are
+ * periodically re-sorted so the cheap components that are most likely to end
+ * the evaluation are tested first. For predicates without side effects this
+ * gives the same results as the declared order. If a component throws an
+ * exception when tested out of order, the input is tested again in the
+ * declared order. If that succeeds the composite stops adapting, otherwise the
+ * exception from the declared order is thrown and the learnt order is kept, as
+ * the exception was not caused by the reordering. The order that has been
+ * learnt is available from {@link #getLearnedOrder()} and can be kept with
+ * {@link #applyLearnedOrder()}.
  *
  * @param <I> Input type
  * @param <C> Type of Predicate components
  */
 @Since("1.0.0")
 @Summary("Returns true if all of its predicates are true")
-public class PredicateComposite<I, C extends Predicate<I>> extends Composite<C> implements Predicate<I>, InputValidator {
+public class PredicateComposite<I, C extends Predicate<I>> extends Composite<C> implements BatchPredicate<I>, InputValidator {
+    private boolean adaptive;
+    private transient volatile AdaptiveOrder adaptiveOrder;
+
     /**
      * Default - for serialisation.
      */
@@ -56,6 +77,47 @@ public class PredicateComposite<I, C extends Predicate<I>> extends Composite<C>
         return super.getComponents();
     }
 
+    @Override
+    public void setComponents(final List<C> components) {
+        super.setComponents(components);
+        adaptiveOrder = null;
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    public boolean isAdaptive() {
+        return adaptive;
+    }
+
+    /**
+     * @param adaptive true if the order the components are tested in should
+     *                 be learnt from the inputs
+     */
+    public void setAdaptive(final boolean adaptive) {
+        this.adaptive = adaptive;
+        adaptiveOrder = null;
+    }
+
+    /**
+     * @return the components in the order they are currently tested in. This
+     * is the declared order unless the composite is adaptive.
+     */
+    @JsonIgnore
+    public List<C> getLearnedOrder() {
+        if (!adaptive || null == components) {
+            return components;
+        }
+        return inOrder(getAdaptiveOrder().getOrder());
+    }
+
+    /**
+     * Replaces the components with the components in the order that has been
+     * learnt, so the order is kept when the composite is serialised. The
+     * statistics are reset.
+     */
+    public void applyLearnedOrder() {
+        setComponents(getLearnedOrder());
+    }
+
     /**
      * Apply the predicate components in turn, returning false if any fail the test.
      *
@@ -64,23 +126,183 @@ public class PredicateComposite<I, C extends Predicate<I>> extends Composite<C>
      */
     @Override
     public boolean test(final I input) {
+        if (adaptive) {
+            return !testUntil(input, false);
+        }
         for (final C predicate : components) {
-            try {
-                if (!predicate.test(input)) {
-                    return false;
+            if (!testComponent(predicate, input)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Narrows the selection through each predicate component in turn, so each
+     * component only tests the items that passed the previous components.
+     *
+     * @param inputs    the inputs
+     * @param selection the indices of the inputs to test
+     * @param size      the number of entries in the selection
+     * @return the number of inputs that passed all the components
+     */
+    @Override
+    public int testBatch(final Object[] inputs, final int[] selection, final int size) {
+        if (!adaptive) {
+            return testBatch(components, inputs, selection, size);
+        }
+
+        final AdaptiveOrder currentOrder = getAdaptiveOrder();
+        final int[] order = currentOrder.getOrder();
+        if (AdaptiveOrder.isDeclaredOrder(order)) {
+            return testBatch(components, inputs, selection, size);
+        }
+
+        final int[] original = Arrays.copyOf(selection, size);
+        try {
+            return testBatch(inOrder(order), inputs, selection, size);
+        } catch (final RuntimeException e) {
+            System.arraycopy(original, 0, selection, 0, size);
+            final int passed = testBatch(components, inputs, selection, size);
+            currentOrder.pin();
+            return passed;
+        }
+    }
+
+    /**
+     * Tests a batch with the predicates in the order given.
+     *
+     * @param predicates the predicates to test, in order
+     * @param inputs     the inputs
+     * @param selection  the indices of the inputs to test
+     * @param size       the number of entries in the selection
+     * @return the number of inputs that passed
+     */
+    protected int testBatch(final List<C> predicates, final Object[] inputs, final int[] selection, final int size) {
+        int remaining = size;
+        final int[] previous = new int[size];
+        for (final C predicate : predicates) {
+            if (0 == remaining) {
+                break;
+            }
+            System.arraycopy(selection, 0, previous, 0, remaining);
+            remaining = testComponentBatch(predicate, inputs, selection, previous, remaining);
+        }
+        return remaining;
+    }
+
+    /**
+     * Tests the components in the adaptive order until one of them returns
+     * the given result. The calls that are sampled are used to learn the
+     * order.
+     *
+     * @param input  the input to test
+     * @param stopOn the result that stops the evaluation
+     * @return true if a component returned the stop result
+     */
+    protected boolean testUntil(final I input, final boolean stopOn) {
+        final AdaptiveOrder currentOrder = getAdaptiveOrder();
+        final int[] order = currentOrder.getOrder();
+        try {
+            if (currentOrder.isSampling()) {
+                return testSampledUntil(currentOrder, order, input, stopOn);
+            }
+            for (final int index : order) {
+                if (stopOn == testComponent(components.get(index), input)) {
+                    return true;
                 }
-            } catch (final ClassCastException e) {
-                // This may occur if the predicate was given a tuple1 and the tuple1 was automatically unpacked.
-                if (predicate instanceof TupleAdaptedPredicate && !(input instanceof Tuple)) {
-                    if (!((TupleAdaptedPredicate) predicate).getPredicate().test(input)) {
-                        return false;
-                    }
-                } else {
-                    throw e;
+            }
+            return false;
+        } catch (final RuntimeException e) {
+            if (AdaptiveOrder.isDeclaredOrder(order)) {
+                throw e;
+            }
+            // Only keep to the declared order if it does not throw as well
+            final boolean stopped = testDeclaredUntil(input, stopOn);
+            currentOrder.pin();
+            return stopped;
+        }
+    }
+
+    private boolean testDeclaredUntil(final I input, final boolean stopOn) {
+        for (final C predicate : components) {
+            if (stopOn == testComponent(predicate, input)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean testSampledUntil(final AdaptiveOrder currentOrder, final int[] order, final I input, final boolean stopOn) {
+        boolean stopped = false;
+        for (final int index : order) {
+            final long start = System.nanoTime();
+            final boolean stop = stopOn == testComponent(components.get(index), input);
+            currentOrder.record(index, System.nanoTime() - start, stop);
+            if (stop) {
+                stopped = true;
+                break;
+            }
+        }
+        currentOrder.sampled();
+        return stopped;
+    }
+
+    private AdaptiveOrder getAdaptiveOrder() {
+        AdaptiveOrder currentOrder = adaptiveOrder;
+        if (null == currentOrder || currentOrder.size() != components.size()) {
+            // Components may have been added since the order was created
+            currentOrder = new AdaptiveOrder(components.size());
+            adaptiveOrder = currentOrder;
+        }
+        return currentOrder;
+    }
+
+    private List<C> inOrder(final int[] order) {
+        final List<C> ordered = new ArrayList<>(order.length);
+        for (final int index : order) {
+            ordered.add(components.get(index));
+        }
+        return ordered;
+    }
+
+    protected boolean testComponent(final Predicate<I> predicate, final I input) {
+        try {
+            return predicate.test(input);
+        } catch (final ClassCastException e) {
+            // This may occur if the predicate was given a tuple1 and the tuple1 was automatically unpacked.
+            if (predicate instanceof TupleAdaptedPredicate && !(input instanceof Tuple)) {
+                return ((TupleAdaptedPredicate) predicate).getPredicate().test(input);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Tests a batch with a single component. If the batch test fails with a
+     * {@link ClassCastException} the selection is restored from the copy and
+     * each item is tested with {@link #testComponent(Predicate, Object)}.
+     *
+     * @param predicate the component to test with
+     * @param inputs    the inputs
+     * @param selection the indices of the inputs to test
+     * @param copy      a copy of the selection
+     * @param size      the number of entries in the selection
+     * @return the number of inputs that passed
+     */
+    protected int testComponentBatch(final Predicate<I> predicate, final Object[] inputs, final int[] selection, final int[] copy, final int size) {
+        try {
+            return BatchPredicate.testBatch(predicate, inputs, selection, size);
+        } catch (final ClassCastException e) {
+            int passed = 0;
+            for (int i = 0; i < size; i++) {
+                final int index = copy[i];
+                if (testComponent(predicate, (I) inputs[index])) {
+                    selection[passed++] = index;
                 }
             }
+            return passed;
         }
-        return true;
     }
 
     @Override
@@ -96,4 +318,27 @@ public class PredicateComposite<I, C extends Predicate<I>> extends Composite<C>
 
         return result;
     }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+
+        if (!super.equals(obj)) {
+            return false;
+        }
+
+        return new EqualsBuilder()
+                .append(adaptive, ((PredicateComposite) obj).adaptive)
+                .isEquals();
+    }
+
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder(17, 37)
+                .appendSuper(super.hashCode())
+                .append(adaptive)
+                .toHashCode();
+    }
 }
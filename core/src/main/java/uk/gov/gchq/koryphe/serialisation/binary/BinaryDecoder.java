@@ -0,0 +1,621 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.koryphe.serialisation.binary;
+
+import com.fasterxml.jackson.core.Base64Variant;
+import com.fasterxml.jackson.core.Base64Variants;
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.core.Version;
+import com.fasterxml.jackson.core.base.ParserMinimalBase;
+import com.fasterxml.jackson.core.json.JsonReadContext;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+import static uk.gov.gchq.koryphe.serialisation.binary.BinaryFormat.ARRAY;
+import static uk.gov.gchq.koryphe.serialisation.binary.BinaryFormat.BIG_INTEGER;
+import static uk.gov.gchq.koryphe.serialisation.binary.BinaryFormat.BINARY;
+import static uk.gov.gchq.koryphe.serialisation.binary.BinaryFormat.CLASS_REF;
+import static uk.gov.gchq.koryphe.serialisation.binary.BinaryFormat.DECIMAL;
+import static uk.gov.gchq.koryphe.serialisation.binary.BinaryFormat.DOUBLE;
+import static uk.gov.gchq.koryphe.serialisation.binary.BinaryFormat.FALSE;
+import static uk.gov.gchq.koryphe.serialisation.binary.BinaryFormat.FLOAT;
+import static uk.gov.gchq.koryphe.serialisation.binary.BinaryFormat.INT;
+import static uk.gov.gchq.koryphe.serialisation.binary.BinaryFormat.LONG;
+import static uk.gov.gchq.koryphe.serialisation.binary.BinaryFormat.MAGIC;
+import static uk.gov.gchq.koryphe.serialisation.binary.BinaryFormat.NULL;
+import static uk.gov.gchq.koryphe.serialisation.binary.BinaryFormat.OBJECT;
+import static uk.gov.gchq.koryphe.serialisation.binary.BinaryFormat.STRING;
+import static uk.gov.gchq.koryphe.serialisation.binary.BinaryFormat.STRING_REF;
+import static uk.gov.gchq.koryphe.serialisation.binary.BinaryFormat.SUBTREE_REF;
+import static uk.gov.gchq.koryphe.serialisation.binary.BinaryFormat.TRUE;
+import static uk.gov.gchq.koryphe.serialisation.binary.BinaryFormat.VERSION;
+
+/**
+ * Reads the binary format as a stream of JSON tokens, so it can be bound
+ * directly by an {@link com.fasterxml.jackson.databind.ObjectMapper} without
+ * building a JSON tree. A reference to a subtree is read by reading the
+ * subtree again from where it starts. A decoder reads a single value.
+ * <p>
+ * The tokens read again for references are limited to
+ * {@value #MAX_REPLAYED_TOKENS_PER_BYTE} per byte of data, so nested
+ * references cannot expand a small input into an unbounded number of tokens.
+ * <p>
+ * Malformed data is reported as an {@link IOException} when the token it
+ * belongs to is read. Once the value has been read, the next token is null if
+ * there is no more data.
+ *
+ * @see BinaryFormat
+ */
+final class BinaryDecoder extends ParserMinimalBase {
+    static final int MAX_REPLAYED_TOKENS_PER_BYTE = 64;
+
+    private final ClassTable classTable;
+    private final byte[] bytes;
+    private final long maxReplayedTokens;
+    private final List<String> strings = new ArrayList<>();
+    private final List<Integer> subtrees = new ArrayList<>();
+    private final Deque<Container> containers = new ArrayDeque<>();
+    private ObjectCodec codec;
+    private JsonReadContext context = JsonReadContext.createRootContext(null);
+    private boolean hasClassTable;
+    private boolean started;
+    private boolean closed;
+    private boolean expectValue;
+    private int replays;
+    private long replayedTokens;
+    private int position;
+    private int tokenPosition;
+    private String text;
+    private Number number;
+    private NumberType numberType;
+    private byte[] binary;
+
+    BinaryDecoder(final ObjectCodec codec, final ClassTable classTable, final byte[] bytes) {
+        this.codec = codec;
+        this.classTable = classTable;
+        this.bytes = bytes;
+        this.maxReplayedTokens = (long) bytes.length * MAX_REPLAYED_TOKENS_PER_BYTE;
+    }
+
+    @Override
+    public JsonToken nextToken() throws IOException {
+        if (closed) {
+            return null;
+        }
+
+        if (!started) {
+            readHeader();
+            started = true;
+            _currToken = readValue();
+            return _currToken;
+        }
+
+        final Container container = containers.peek();
+        if (null == container) {
+            if (position != bytes.length) {
+                throw new IOException("Unexpected data after the end of the value at position " + position);
+            }
+            _currToken = null;
+            return null;
+        }
+
+        if (expectValue) {
+            expectValue = false;
+            _currToken = readValue();
+        } else if (0 == container.remaining) {
+            _currToken = endContainer();
+        } else if (container.object) {
+            container.remaining--;
+            context.setCurrentName(readString(readByte()));
+            expectValue = true;
+            _currToken = JsonToken.FIELD_NAME;
+        } else {
+            container.remaining--;
+            context.expectComma();
+            _currToken = readValue();
+        }
+
+        if (replays > 0 && ++replayedTokens > maxReplayedTokens) {
+            throw new IOException("The references expand to more than " + maxReplayedTokens + " tokens at position " + position);
+        }
+        return _currToken;
+    }
+
+    /**
+     * Reads the next value as a JSON tree, keeping the exact type of each
+     * number.
+     *
+     * @param nodeFactory the factory to create the nodes with
+     * @return the JSON tree
+     * @throws IOException if the data is not valid
+     */
+    JsonNode readTree(final JsonNodeFactory nodeFactory) throws IOException {
+        nextToken();
+        return readNode(nodeFactory);
+    }
+
+    private JsonNode readNode(final JsonNodeFactory nodeFactory) throws IOException {
+        switch (_currToken) {
+            case START_OBJECT:
+                final ObjectNode object = nodeFactory.objectNode();
+                while (JsonToken.FIELD_NAME == nextToken()) {
+                    final String name = getCurrentName();
+                    nextToken();
+                    object.set(name, readNode(nodeFactory));
+                }
+                return object;
+            case START_ARRAY:
+                final ArrayNode array = nodeFactory.arrayNode();
+                while (JsonToken.END_ARRAY != nextToken()) {
+                    array.add(readNode(nodeFactory));
+                }
+                return array;
+            case VALUE_STRING:
+                return nodeFactory.textNode(text);
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                return readNumberNode(nodeFactory);
+            case VALUE_TRUE:
+                return nodeFactory.booleanNode(true);
+            case VALUE_FALSE:
+                return nodeFactory.booleanNode(false);
+            case VALUE_EMBEDDED_OBJECT:
+                return nodeFactory.binaryNode(binary);
+            default:
+                return nodeFactory.nullNode();
+        }
+    }
+
+    private JsonNode readNumberNode(final JsonNodeFactory nodeFactory) {
+        switch (numberType) {
+            case INT:
+                return nodeFactory.numberNode(number.intValue());
+            case LONG:
+                return nodeFactory.numberNode(number.longValue());
+            case BIG_INTEGER:
+                return nodeFactory.numberNode((BigInteger) number);
+            case FLOAT:
+                return nodeFactory.numberNode(number.floatValue());
+            case DOUBLE:
+                return nodeFactory.numberNode(number.doubleValue());
+            default:
+                return nodeFactory.numberNode((BigDecimal) number);
+        }
+    }
+
+    private void readHeader() throws IOException {
+        if (bytes.length < 6 || MAGIC != bytes[0]) {
+            throw new IOException("The bytes are not in the Koryphe binary format");
+        }
+        if (VERSION != bytes[1]) {
+            throw new IOException("Unsupported Koryphe binary format version: " + bytes[1]);
+        }
+        position = 2;
+        hasClassTable = classTable.getFingerprint() == readInt();
+    }
+
+    private JsonToken readValue() throws IOException {
+        tokenPosition = position;
+        final byte tag = readByte();
+        switch (tag) {
+            case NULL:
+                return JsonToken.VALUE_NULL;
+            case TRUE:
+                return JsonToken.VALUE_TRUE;
+            case FALSE:
+                return JsonToken.VALUE_FALSE;
+            case INT:
+                return setNumber((int) unZigZag(readVarint()), NumberType.INT);
+            case LONG:
+                return setNumber(unZigZag(readVarint()), NumberType.LONG);
+            case BIG_INTEGER:
+                return setNumber(readBigInteger(), NumberType.BIG_INTEGER);
+            case FLOAT:
+                return setNumber(Float.intBitsToFloat(readInt()), NumberType.FLOAT);
+            case DOUBLE:
+                return setNumber(Double.longBitsToDouble(readLong()), NumberType.DOUBLE);
+            case DECIMAL:
+                final int scale = readScale();
+                return setNumber(new BigDecimal(readBigInteger(), scale), NumberType.BIG_DECIMAL);
+            case STRING:
+            case STRING_REF:
+                text = readString(tag);
+                return JsonToken.VALUE_STRING;
+            case CLASS_REF:
+                text = readClassName();
+                return JsonToken.VALUE_STRING;
+            case BINARY:
+                binary = readBytes();
+                return JsonToken.VALUE_EMBEDDED_OBJECT;
+            case OBJECT:
+            case ARRAY:
+                return startContainer(tag, tokenPosition, -1);
+            case SUBTREE_REF:
+                final int start = subtrees.get(readIndex(subtrees.size()));
+                final int returnPosition = position;
+                position = start;
+                replays++;
+                return startContainer(readByte(), start, returnPosition);
+            default:
+                throw new IOException("Unknown tag " + tag + " at position " + (position - 1));
+        }
+    }
+
+    private JsonToken setNumber(final Number value, final NumberType type) {
+        number = value;
+        numberType = type;
+        return NumberType.FLOAT == type || NumberType.DOUBLE == type || NumberType.BIG_DECIMAL == type
+                ? JsonToken.VALUE_NUMBER_FLOAT : JsonToken.VALUE_NUMBER_INT;
+    }
+
+    private JsonToken startContainer(final byte tag, final int start, final int returnPosition) throws IOException {
+        final boolean object = OBJECT == tag;
+        containers.push(new Container(object, start, readCount(), returnPosition));
+        if (object) {
+            context = context.createChildObjectContext(-1, -1);
+            return JsonToken.START_OBJECT;
+        }
+        context = context.createChildArrayContext(-1, -1);
+        return JsonToken.START_ARRAY;
+    }
+
+    /*
+     * A subtree is only numbered once it has been read, so a reference can
+     * only be to a complete subtree and cannot make the tree cyclic. Subtrees
+     * read again for a reference were numbered when they were first read.
+     */
+    private JsonToken endContainer() {
+        final Container container = containers.pop();
+        context = context.getParent();
+        if (container.returnPosition > -1) {
+            position = container.returnPosition;
+            replays--;
+        } else if (0 == replays && container.count > 0) {
+            subtrees.add(container.start);
+        }
+        return container.object ? JsonToken.END_OBJECT : JsonToken.END_ARRAY;
+    }
+
+    private String readString(final byte tag) throws IOException {
+        if (STRING_REF == tag) {
+            return strings.get(readIndex(strings.size()));
+        }
+        if (STRING != tag) {
+            throw new IOException("Expected a string at position " + (position - 1));
+        }
+
+        final String value = new String(readBytes(), StandardCharsets.UTF_8);
+        if (0 == replays) {
+            strings.add(value);
+        }
+        return value;
+    }
+
+    private String readClassName() throws IOException {
+        if (!hasClassTable) {
+            throw new IOException("The data was written with a different table of Koryphe classes. "
+                    + "Check the same version of Koryphe is used to write and read it.");
+        }
+        final String className = classTable.getClassName(readIndex(Integer.MAX_VALUE));
+        if (null == className) {
+            throw new IOException("Unknown class index at position " + position);
+        }
+        return className;
+    }
+
+    private BigInteger readBigInteger() throws IOException {
+        final byte[] value = readBytes();
+        if (0 == value.length) {
+            throw new IOException("Invalid empty integer at position " + position);
+        }
+        return new BigInteger(value);
+    }
+
+    private int readScale() throws IOException {
+        final long scale = unZigZag(readVarint());
+        if (scale < Integer.MIN_VALUE || scale > Integer.MAX_VALUE) {
+            throw new IOException("Invalid decimal scale " + scale + " at position " + position);
+        }
+        return (int) scale;
+    }
+
+    // Each value takes at least one byte, so a count can be checked against the remaining bytes
+    private int readCount() throws IOException {
+        return readIndex(bytes.length - position + 1);
+    }
+
+    private int readIndex(final int limit) throws IOException {
+        final long value = readVarint();
+        if (value < 0 || value >= limit) {
+            throw new IOException("Invalid index or length " + value + " at position " + position);
+        }
+        return (int) value;
+    }
+
+    private byte[] readBytes() throws IOException {
+        final int length = readCount();
+        final byte[] value = Arrays.copyOfRange(bytes, position, position + length);
+        position += length;
+        return value;
+    }
+
+    private long readVarint() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            final byte b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Invalid varint at position " + position);
+    }
+
+    private int readInt() throws IOException {
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+            value = (value << 8) | (readByte() & 0xFF);
+        }
+        return value;
+    }
+
+    private long readLong() throws IOException {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (readByte() & 0xFF);
+        }
+        return value;
+    }
+
+    private byte readByte() throws IOException {
+        if (position >= bytes.length) {
+            throw new IOException("Unexpected end of data");
+        }
+        return bytes[position++];
+    }
+
+    private static long unZigZag(final long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    @Override
+    public String getCurrentName() {
+        if (JsonToken.START_OBJECT == _currToken || JsonToken.START_ARRAY == _currToken) {
+            return context.getParent().getCurrentName();
+        }
+        return context.getCurrentName();
+    }
+
+    @Override
+    public void overrideCurrentName(final String name) {
+        final JsonReadContext nameContext = JsonToken.START_OBJECT == _currToken || JsonToken.START_ARRAY == _currToken
+                ? context.getParent() : context;
+        try {
+            nameContext.setCurrentName(name);
+        } catch (final JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public JsonStreamContext getParsingContext() {
+        return context;
+    }
+
+    @Override
+    public String getText() {
+        if (null == _currToken) {
+            return null;
+        }
+
+        switch (_currToken) {
+            case FIELD_NAME:
+                return context.getCurrentName();
+            case VALUE_STRING:
+                return text;
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                return number.toString();
+            case VALUE_EMBEDDED_OBJECT:
+                return Base64Variants.getDefaultVariant().encode(binary);
+            default:
+                return _currToken.asString();
+        }
+    }
+
+    @Override
+    public char[] getTextCharacters() {
+        final String value = getText();
+        return null == value ? null : value.toCharArray();
+    }
+
+    @Override
+    public boolean hasTextCharacters() {
+        return false;
+    }
+
+    @Override
+    public int getTextLength() {
+        final String value = getText();
+        return null == value ? 0 : value.length();
+    }
+
+    @Override
+    public int getTextOffset() {
+        return 0;
+    }
+
+    @Override
+    public byte[] getBinaryValue(final Base64Variant base64Variant) throws IOException {
+        if (JsonToken.VALUE_EMBEDDED_OBJECT == _currToken) {
+            return binary;
+        }
+        if (JsonToken.VALUE_STRING != _currToken) {
+            throw _constructError("Current token (" + _currToken + ") is not binary");
+        }
+        try {
+            return base64Variant.decode(text);
+        } catch (final IllegalArgumentException e) {
+            throw _constructError("Invalid base64 value: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public Object getEmbeddedObject() {
+        return JsonToken.VALUE_EMBEDDED_OBJECT == _currToken ? binary : null;
+    }
+
+    @Override
+    public Number getNumberValue() throws IOException {
+        if (JsonToken.VALUE_NUMBER_INT != _currToken && JsonToken.VALUE_NUMBER_FLOAT != _currToken) {
+            throw _constructError("Current token (" + _currToken + ") is not numeric");
+        }
+        return number;
+    }
+
+    @Override
+    public NumberType getNumberType() throws IOException {
+        getNumberValue();
+        return numberType;
+    }
+
+    @Override
+    public int getIntValue() throws IOException {
+        return getNumberValue().intValue();
+    }
+
+    @Override
+    public long getLongValue() throws IOException {
+        return getNumberValue().longValue();
+    }
+
+    @Override
+    public float getFloatValue() throws IOException {
+        return getNumberValue().floatValue();
+    }
+
+    @Override
+    public double getDoubleValue() throws IOException {
+        return getNumberValue().doubleValue();
+    }
+
+    @Override
+    public BigInteger getBigIntegerValue() throws IOException {
+        final Number value = getNumberValue();
+        if (value instanceof BigInteger) {
+            return (BigInteger) value;
+        }
+        if (value instanceof BigDecimal) {
+            return ((BigDecimal) value).toBigInteger();
+        }
+        return BigInteger.valueOf(value.longValue());
+    }
+
+    @Override
+    public BigDecimal getDecimalValue() throws IOException {
+        final Number value = getNumberValue();
+        if (value instanceof BigDecimal) {
+            return (BigDecimal) value;
+        }
+        if (value instanceof BigInteger) {
+            return new BigDecimal((BigInteger) value);
+        }
+        if (value instanceof Float || value instanceof Double) {
+            return BigDecimal.valueOf(value.doubleValue());
+        }
+        return BigDecimal.valueOf(value.longValue());
+    }
+
+    @Override
+    public JsonLocation getTokenLocation() {
+        return new JsonLocation(null, tokenPosition, -1L, -1, -1);
+    }
+
+    @Override
+    public JsonLocation getCurrentLocation() {
+        return new JsonLocation(null, position, -1L, -1, -1);
+    }
+
+    @Override
+    public ObjectCodec getCodec() {
+        return codec;
+    }
+
+    @Override
+    public void setCodec(final ObjectCodec codec) {
+        this.codec = codec;
+    }
+
+    @Override
+    public Version version() {
+        return Version.unknownVersion();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    protected void _handleEOF() {
+        // The end of the data is checked as each value is read
+    }
+
+    private static final class Container {
+        private final boolean object;
+        private final int start;
+        private final int count;
+        private final int returnPosition;
+        private int remaining;
+
+        /**
+         * @param object         true for an object, false for an array
+         * @param start          the position of the tag of the container
+         * @param count          the number of fields or elements
+         * @param returnPosition the position to continue from once the container
+         *                       has been read, or -1 if it is not a reference
+         */
+        private Container(final boolean object, final int start, final int count, final int returnPosition) {
+            this.object = object;
+            this.start = start;
+            this.count = count;
+            this.returnPosition = returnPosition;
+            this.remaining = count;
+        }
+    }
+}
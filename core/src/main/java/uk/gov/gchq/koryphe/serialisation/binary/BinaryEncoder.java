@@ -0,0 +1,323 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.koryphe.serialisation.binary;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.POJONode;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import static uk.gov.gchq.koryphe.serialisation.binary.BinaryFormat.ARRAY;
+import static uk.gov.gchq.koryphe.serialisation.binary.BinaryFormat.BIG_INTEGER;
+import static uk.gov.gchq.koryphe.serialisation.binary.BinaryFormat.BINARY;
+import static uk.gov.gchq.koryphe.serialisation.binary.BinaryFormat.CLASS_REF;
+import static uk.gov.gchq.koryphe.serialisation.binary.BinaryFormat.DECIMAL;
+import static uk.gov.gchq.koryphe.serialisation.binary.BinaryFormat.DOUBLE;
+import static uk.gov.gchq.koryphe.serialisation.binary.BinaryFormat.FALSE;
+import static uk.gov.gchq.koryphe.serialisation.binary.BinaryFormat.FLOAT;
+import static uk.gov.gchq.koryphe.serialisation.binary.BinaryFormat.INT;
+import static uk.gov.gchq.koryphe.serialisation.binary.BinaryFormat.LONG;
+import static uk.gov.gchq.koryphe.serialisation.binary.BinaryFormat.MAGIC;
+import static uk.gov.gchq.koryphe.serialisation.binary.BinaryFormat.NULL;
+import static uk.gov.gchq.koryphe.serialisation.binary.BinaryFormat.OBJECT;
+import static uk.gov.gchq.koryphe.serialisation.binary.BinaryFormat.STRING;
+import static uk.gov.gchq.koryphe.serialisation.binary.BinaryFormat.STRING_REF;
+import static uk.gov.gchq.koryphe.serialisation.binary.BinaryFormat.SUBTREE_REF;
+import static uk.gov.gchq.koryphe.serialisation.binary.BinaryFormat.TRUE;
+import static uk.gov.gchq.koryphe.serialisation.binary.BinaryFormat.VERSION;
+
+/**
+ * Writes a JSON tree in the binary format. An encoder writes a single tree.
+ *
+ * @see BinaryFormat
+ */
+final class BinaryEncoder {
+    private final ObjectMapper mapper;
+    private final ClassTable classTable;
+    private final Map<String, Integer> strings = new HashMap<>();
+    private final Map<JsonNode, Integer> hashes = new IdentityHashMap<>();
+    private final Map<Subtree, Integer> subtrees = new HashMap<>();
+    private byte[] buffer = new byte[256];
+    private int size;
+
+    BinaryEncoder(final ObjectMapper mapper, final ClassTable classTable) {
+        this.mapper = mapper;
+        this.classTable = classTable;
+    }
+
+    byte[] encode(final JsonNode node) throws IOException {
+        writeByte(MAGIC);
+        writeByte(VERSION);
+        writeInt(classTable.getFingerprint());
+        if (null != node) {
+            hash(node);
+        }
+        write(node);
+        return Arrays.copyOf(buffer, size);
+    }
+
+    private void write(final JsonNode node) throws IOException {
+        if (null == node) {
+            writeByte(NULL);
+            return;
+        }
+
+        switch (node.getNodeType()) {
+            case OBJECT:
+                writeObject(node);
+                break;
+            case ARRAY:
+                writeArray(node);
+                break;
+            case STRING:
+                writeText(node.textValue());
+                break;
+            case NUMBER:
+                writeNumber(node);
+                break;
+            case BOOLEAN:
+                writeByte(node.booleanValue() ? TRUE : FALSE);
+                break;
+            case BINARY:
+                final byte[] bytes = node.binaryValue();
+                writeByte(BINARY);
+                writeBytes(bytes);
+                break;
+            case POJO:
+                final JsonNode tree = toTree((POJONode) node);
+                hash(tree);
+                write(tree);
+                break;
+            default:
+                writeByte(NULL);
+                break;
+        }
+    }
+
+    private void writeObject(final JsonNode node) throws IOException {
+        if (writeSubtreeRef(node)) {
+            return;
+        }
+
+        writeByte(OBJECT);
+        writeVarint(node.size());
+        final Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+        while (fields.hasNext()) {
+            final Map.Entry<String, JsonNode> field = fields.next();
+            writeString(field.getKey());
+            write(field.getValue());
+        }
+        addSubtree(node);
+    }
+
+    private void writeArray(final JsonNode node) throws IOException {
+        if (writeSubtreeRef(node)) {
+            return;
+        }
+
+        writeByte(ARRAY);
+        writeVarint(node.size());
+        for (final JsonNode element : node) {
+            write(element);
+        }
+        addSubtree(node);
+    }
+
+    // Empty objects and arrays are not numbered, as a reference to them is no smaller
+    private boolean writeSubtreeRef(final JsonNode node) {
+        if (0 == node.size()) {
+            return false;
+        }
+
+        final Integer index = subtrees.get(new Subtree(node, hashes.get(node)));
+        if (null != index) {
+            writeByte(SUBTREE_REF);
+            writeVarint(index);
+            return true;
+        }
+        return false;
+    }
+
+    // Subtrees are numbered once they have been written, in the same order they are read
+    private void addSubtree(final JsonNode node) {
+        if (0 != node.size()) {
+            subtrees.put(new Subtree(node, hashes.get(node)), subtrees.size());
+        }
+    }
+
+    /*
+     * JsonNode.hashCode hashes every descendant, so hashing each container as
+     * it is written would be quadratic in the depth of the tree. Instead the
+     * container hashes are computed once, bottom up, before the tree is written.
+     */
+    private int hash(final JsonNode node) {
+        if (!node.isContainerNode()) {
+            return node.hashCode();
+        }
+
+        int hash = node.isObject() ? 1 : 2;
+        if (node.isObject()) {
+            final Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                final Map.Entry<String, JsonNode> field = fields.next();
+                hash = 31 * hash + (field.getKey().hashCode() ^ hash(field.getValue()));
+            }
+        } else {
+            for (final JsonNode element : node) {
+                hash = 31 * hash + hash(element);
+            }
+        }
+        hashes.put(node, hash);
+        return hash;
+    }
+
+    private JsonNode toTree(final POJONode node) throws IOException {
+        try {
+            return mapper.valueToTree(node.getPojo());
+        } catch (final IllegalArgumentException e) {
+            throw new IOException("Unable to convert object to JSON: " + e.getMessage(), e);
+        }
+    }
+
+    private void writeNumber(final JsonNode node) {
+        switch (node.numberType()) {
+            case INT:
+                writeByte(INT);
+                writeVarint(zigZag(node.intValue()));
+                break;
+            case LONG:
+                writeByte(LONG);
+                writeVarint(zigZag(node.longValue()));
+                break;
+            case BIG_INTEGER:
+                writeByte(BIG_INTEGER);
+                writeBytes(node.bigIntegerValue().toByteArray());
+                break;
+            case FLOAT:
+                writeByte(FLOAT);
+                writeInt(Float.floatToIntBits(node.floatValue()));
+                break;
+            case DOUBLE:
+                writeByte(DOUBLE);
+                writeLong(Double.doubleToLongBits(node.doubleValue()));
+                break;
+            default:
+                final BigDecimal decimal = node.decimalValue();
+                writeByte(DECIMAL);
+                writeVarint(zigZag(decimal.scale()));
+                writeBytes(decimal.unscaledValue().toByteArray());
+                break;
+        }
+    }
+
+    private void writeText(final String text) {
+        final int classIndex = classTable.indexOf(text);
+        if (classIndex > -1) {
+            writeByte(CLASS_REF);
+            writeVarint(classIndex);
+        } else {
+            writeString(text);
+        }
+    }
+
+    private void writeString(final String text) {
+        final Integer index = strings.get(text);
+        if (null != index) {
+            writeByte(STRING_REF);
+            writeVarint(index);
+        } else {
+            strings.put(text, strings.size());
+            writeByte(STRING);
+            writeBytes(text.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private void writeBytes(final byte[] bytes) {
+        writeVarint(bytes.length);
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, size, bytes.length);
+        size += bytes.length;
+    }
+
+    private void writeVarint(final long value) {
+        ensureCapacity(10);
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            buffer[size++] = (byte) ((remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        buffer[size++] = (byte) remaining;
+    }
+
+    private void writeInt(final int value) {
+        ensureCapacity(4);
+        for (int shift = 24; shift >= 0; shift -= 8) {
+            buffer[size++] = (byte) (value >> shift);
+        }
+    }
+
+    private void writeLong(final long value) {
+        ensureCapacity(8);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buffer[size++] = (byte) (value >> shift);
+        }
+    }
+
+    private void writeByte(final byte value) {
+        ensureCapacity(1);
+        buffer[size++] = value;
+    }
+
+    private void ensureCapacity(final int extra) {
+        if (size + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+        }
+    }
+
+    private static long zigZag(final long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static final class Subtree {
+        private final JsonNode node;
+        private final int hash;
+
+        private Subtree(final JsonNode node, final int hash) {
+            this.node = node;
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return this == obj
+                    || obj instanceof Subtree && hash == ((Subtree) obj).hash && node.equals(((Subtree) obj).node);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
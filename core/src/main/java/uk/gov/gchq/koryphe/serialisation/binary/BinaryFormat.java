@@ -0,0 +1,58 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.koryphe.serialisation.binary;
+
+/**
+ * The constants of the binary format.
+ * <p>
+ * The format starts with the {@link #MAGIC} and {@link #VERSION} bytes and the
+ * 4 byte fingerprint of the {@link ClassTable} used to write it, followed by a
+ * single value. Each value starts with a tag byte. Lengths, counts and indices
+ * are unsigned varints and integers are zig-zag varints.
+ * <p>
+ * Strings, including field names, are written in full the first time they
+ * occur and referred to by their index afterwards. Non empty objects and arrays
+ * are numbered in the order they end, and a later object or array that is
+ * equal to an earlier one is written as a reference to it. As an object or
+ * array is only numbered once it is complete, it cannot contain a reference to
+ * itself.
+ */
+final class BinaryFormat {
+    static final byte MAGIC = 'K';
+    static final byte VERSION = 2;
+
+    static final byte NULL = 0;
+    static final byte TRUE = 1;
+    static final byte FALSE = 2;
+    static final byte INT = 3;
+    static final byte LONG = 4;
+    static final byte BIG_INTEGER = 5;
+    static final byte FLOAT = 6;
+    static final byte DOUBLE = 7;
+    static final byte DECIMAL = 8;
+    static final byte STRING = 9;
+    static final byte STRING_REF = 10;
+    static final byte CLASS_REF = 11;
+    static final byte BINARY = 12;
+    static final byte OBJECT = 13;
+    static final byte ARRAY = 14;
+    static final byte SUBTREE_REF = 15;
+
+    private BinaryFormat() {
+        // Private constructor to prevent instantiation.
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.koryphe.serialisation.binary;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * <p>
+ * A {@code BinarySerialiser} writes Koryphe components, and any other objects
+ * that can be written as JSON, in a compact binary form of their JSON. The
+ * binary form is written from the JSON tree of an {@link ObjectMapper} and is
+ * read as a stream of JSON tokens that the mapper binds directly, so it
+ * supports everything the mapper does and the JSON can be recovered exactly
+ * with {@link #toJson(byte[])}.
+ * </p>
+ * <p>
+ * The binary form is smaller than the JSON because:
+ * </p>
+ * <ul>
+ * <li>Koryphe class names are written as an index into a table of the Koryphe
+ * components, which is read from the class index built into the Koryphe jar.</li>
+ * <li>Field names and other strings are written once and then referred to by
+ * index.</li>
+ * <li>Numbers, lengths and indices are written as varints.</li>
+ * <li>An object or array that is equal to an earlier one, such as a repeated
+ * predicate, is written as a reference to it.</li>
+ * </ul>
+ * <p>
+ * A typical component tree is about half the size of its JSON and is read in
+ * a similar time, as the mapper still binds it token by token. It is not an
+ * order of magnitude smaller or faster than JSON.
+ * </p>
+ * <p>
+ * The class table depends on the version of Koryphe, so the binary form should
+ * be read with the same version of Koryphe that wrote it. Data written with a
+ * different class table is rejected if it uses the table. It is not intended
+ * for long term storage.
+ * </p>
+ */
+public class BinarySerialiser {
+    private final ObjectMapper mapper;
+
+    /**
+     * @param mapper the object mapper used to convert objects to and from JSON
+     */
+    public BinarySerialiser(final ObjectMapper mapper) {
+        requireNonNull(mapper, "mapper is required");
+        this.mapper = mapper;
+    }
+
+    /**
+     * Serialises an object into the binary format.
+     *
+     * @param object the object to serialise
+     * @return the serialised bytes
+     * @throws IOException if the object cannot be converted to JSON
+     */
+    public byte[] serialise(final Object object) throws IOException {
+        try {
+            return serialise((JsonNode) mapper.valueToTree(object));
+        } catch (final IllegalArgumentException e) {
+            throw new IOException("Unable to convert object to JSON: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Serialises a JSON tree into the binary format.
+     *
+     * @param json the JSON tree to serialise
+     * @return the serialised bytes
+     * @throws IOException if the tree cannot be serialised
+     */
+    public byte[] serialise(final JsonNode json) throws IOException {
+        return new BinaryEncoder(mapper, ClassTable.getInstance()).encode(json);
+    }
+
+    /**
+     * Converts JSON into the binary format.
+     *
+     * @param json the JSON
+     * @return the serialised bytes
+     * @throws IOException if the JSON cannot be parsed
+     */
+    public byte[] fromJson(final String json) throws IOException {
+        return serialise(mapper.readTree(json));
+    }
+
+    /**
+     * Deserialises an object from the binary format.
+     *
+     * @param bytes the serialised bytes
+     * @param clazz the class of the object
+     * @param <T>   the type of the object
+     * @return the deserialised object
+     * @throws IOException if the bytes are not valid or cannot be converted to the class
+     */
+    public <T> T deserialise(final byte[] bytes, final Class<T> clazz) throws IOException {
+        final BinaryDecoder decoder = createDecoder(bytes);
+        try {
+            return checkEnd(decoder, mapper.readValue(decoder, clazz));
+        } finally {
+            decoder.close();
+        }
+    }
+
+    /**
+     * Deserialises a JSON tree from the binary format.
+     *
+     * @param bytes the serialised bytes
+     * @return the JSON tree
+     * @throws IOException if the bytes are not valid
+     */
+    public JsonNode deserialiseTree(final byte[] bytes) throws IOException {
+        final BinaryDecoder decoder = createDecoder(bytes);
+        try {
+            return checkEnd(decoder, decoder.readTree(mapper.getNodeFactory()));
+        } finally {
+            decoder.close();
+        }
+    }
+
+    /**
+     * Converts the binary format back into JSON.
+     *
+     * @param bytes the serialised bytes
+     * @return the JSON
+     * @throws IOException if the bytes are not valid
+     */
+    public String toJson(final byte[] bytes) throws IOException {
+        return mapper.writeValueAsString(deserialiseTree(bytes));
+    }
+
+    private BinaryDecoder createDecoder(final byte[] bytes) {
+        requireNonNull(bytes, "bytes are required");
+        return new BinaryDecoder(mapper, ClassTable.getInstance(), bytes);
+    }
+
+    private static <T> T checkEnd(final BinaryDecoder decoder, final T value) throws IOException {
+        if (null != decoder.nextToken()) {
+            throw new IOException("Unexpected data after the end of the value");
+        }
+        return value;
+    }
+}
@@ -0,0 +1,495 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.koryphe.serialisation.binary;
+
+import com.google.common.collect.Iterables;
+
+import uk.gov.gchq.koryphe.tuple.ArrayTuple;
+import uk.gov.gchq.koryphe.tuple.MapTuple;
+import uk.gov.gchq.koryphe.tuple.Tuple;
+import uk.gov.gchq.koryphe.tuple.n.Tuple1;
+import uk.gov.gchq.koryphe.tuple.n.Tuple2;
+import uk.gov.gchq.koryphe.tuple.n.Tuple3;
+import uk.gov.gchq.koryphe.tuple.n.Tuple4;
+import uk.gov.gchq.koryphe.tuple.n.Tuple5;
+import uk.gov.gchq.koryphe.tuple.n.TupleN;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Objects.requireNonNull;
+import static uk.gov.gchq.koryphe.serialisation.binary.TupleFormat.ARRAY_TUPLE;
+import static uk.gov.gchq.koryphe.serialisation.binary.TupleFormat.ARRAY_TUPLE_CLASS;
+import static uk.gov.gchq.koryphe.serialisation.binary.TupleFormat.BYTES;
+import static uk.gov.gchq.koryphe.serialisation.binary.TupleFormat.DATE;
+import static uk.gov.gchq.koryphe.serialisation.binary.TupleFormat.DOUBLE;
+import static uk.gov.gchq.koryphe.serialisation.binary.TupleFormat.FALSE;
+import static uk.gov.gchq.koryphe.serialisation.binary.TupleFormat.FLOAT;
+import static uk.gov.gchq.koryphe.serialisation.binary.TupleFormat.INT;
+import static uk.gov.gchq.koryphe.serialisation.binary.TupleFormat.LIST;
+import static uk.gov.gchq.koryphe.serialisation.binary.TupleFormat.LONG;
+import static uk.gov.gchq.koryphe.serialisation.binary.TupleFormat.MAGIC;
+import static uk.gov.gchq.koryphe.serialisation.binary.TupleFormat.MAP;
+import static uk.gov.gchq.koryphe.serialisation.binary.TupleFormat.MAP_TUPLE;
+import static uk.gov.gchq.koryphe.serialisation.binary.TupleFormat.NULL;
+import static uk.gov.gchq.koryphe.serialisation.binary.TupleFormat.OBJECT_ARRAY;
+import static uk.gov.gchq.koryphe.serialisation.binary.TupleFormat.SCHEMA;
+import static uk.gov.gchq.koryphe.serialisation.binary.TupleFormat.SET;
+import static uk.gov.gchq.koryphe.serialisation.binary.TupleFormat.STRING;
+import static uk.gov.gchq.koryphe.serialisation.binary.TupleFormat.TRUE;
+import static uk.gov.gchq.koryphe.serialisation.binary.TupleFormat.TUPLE_1_CLASS;
+import static uk.gov.gchq.koryphe.serialisation.binary.TupleFormat.TUPLE_2_CLASS;
+import static uk.gov.gchq.koryphe.serialisation.binary.TupleFormat.TUPLE_3_CLASS;
+import static uk.gov.gchq.koryphe.serialisation.binary.TupleFormat.TUPLE_4_CLASS;
+import static uk.gov.gchq.koryphe.serialisation.binary.TupleFormat.TUPLE_5_CLASS;
+import static uk.gov.gchq.koryphe.serialisation.binary.TupleFormat.TUPLE_N_CLASS;
+import static uk.gov.gchq.koryphe.serialisation.binary.TupleFormat.VERSION;
+
+/**
+ * Reads a stream of {@link Tuple}s written by a {@link BinaryTupleWriter}.
+ * <p>
+ * Tuples can be read into new instances with {@link #read()}, or into an
+ * existing {@link ArrayTuple} or {@link MapTuple} to avoid creating a tuple
+ * per record.
+ * <p>
+ * When reading from a {@link ByteBuffer} backed by an array the values are
+ * decoded directly from the array, from the current position of the buffer,
+ * and the position is moved past each record as it is read. If the buffer
+ * ends part way through a record an {@link EOFException} is thrown and the
+ * position is left at the start of the record. Other byte buffers and input
+ * streams are read through a buffer.
+ * <p>
+ * Lengths and counts in the data are checked against the bytes that are
+ * actually available before anything is allocated for them, so corrupt or
+ * truncated data fails with an {@link IOException} rather than allocating
+ * memory for values that are not there.
+ */
+public class BinaryTupleReader implements Closeable {
+    private static final int BUFFER_SIZE = 8192;
+    private static final int MAX_INITIAL_CAPACITY = 64;
+
+    private final InputStream in;
+    private final ByteBuffer source;
+    private final List<Object[]> schemas = new ArrayList<>();
+    private boolean headerRead;
+    private byte[] buffer;
+    private int position;
+    private int limit;
+
+    /**
+     * Create a reader that reads the tuples from an {@link InputStream}.
+     *
+     * @param in the input stream
+     */
+    public BinaryTupleReader(final InputStream in) {
+        this.in = requireNonNull(in, "in is required");
+        this.source = null;
+        this.buffer = new byte[BUFFER_SIZE];
+    }
+
+    /**
+     * Create a reader that reads the tuples from a {@link ByteBuffer}, from
+     * its current position.
+     *
+     * @param source the byte buffer
+     */
+    public BinaryTupleReader(final ByteBuffer source) {
+        this.in = null;
+        this.source = requireNonNull(source, "source is required");
+        this.buffer = source.hasArray() ? source.array() : new byte[BUFFER_SIZE];
+    }
+
+    /**
+     * Read the next tuple into a new instance.
+     *
+     * @return the tuple, or null if there are no more tuples
+     * @throws IOException if the data could not be read or is not valid
+     */
+    public Tuple<?> read() throws IOException {
+        final byte tag = startRecord();
+        if (ARRAY_TUPLE == tag) {
+            final byte tupleClass = readByte();
+            final int size = readElementCount();
+            final ArrayTuple tuple = createArrayTuple(tupleClass, size);
+            readValues(tuple, size);
+            endRecord();
+            return tuple;
+        }
+        if (MAP_TUPLE == tag) {
+            final MapTuple<Object> tuple = new MapTuple<>();
+            readValues(tuple);
+            endRecord();
+            return tuple;
+        }
+        return null;
+    }
+
+    /**
+     * Read the next tuple into an existing {@link ArrayTuple}. The tuple must
+     * be the same size as the tuple that was written.
+     *
+     * @param tuple the tuple to hold the values
+     * @return true if a tuple was read, or false if there are no more tuples
+     * @throws IOException if the data could not be read or is not valid, or the
+     *                     next tuple is not an array tuple of the same size
+     */
+    public boolean read(final ArrayTuple tuple) throws IOException {
+        final byte tag = startRecord();
+        if (NULL == tag) {
+            return false;
+        }
+        if (ARRAY_TUPLE != tag) {
+            throw new IOException("The next tuple is not an array tuple");
+        }
+
+        readByte();
+        final int size = readElementCount();
+        final Iterable<Object> values = tuple.values();
+        final int tupleSize = values instanceof Collection
+                ? ((Collection<Object>) values).size() : Iterables.size(values);
+        if (size != tupleSize) {
+            throw new IOException("The next tuple has " + size + " values but the tuple has " + tupleSize);
+        }
+        readValues(tuple, size);
+        endRecord();
+        return true;
+    }
+
+    /**
+     * Read the next tuple into an existing {@link MapTuple}. The existing
+     * values of the tuple are cleared.
+     *
+     * @param tuple the tuple to hold the values
+     * @param <R>   the type of the tuple keys
+     * @return true if a tuple was read, or false if there are no more tuples
+     * @throws IOException if the data could not be read or is not valid, or the
+     *                     next tuple is not a map tuple
+     */
+    public <R> boolean read(final MapTuple<R> tuple) throws IOException {
+        final byte tag = startRecord();
+        if (NULL == tag) {
+            return false;
+        }
+        if (MAP_TUPLE != tag) {
+            throw new IOException("The next tuple is not a map tuple");
+        }
+
+        tuple.getValues().clear();
+        readValues((MapTuple<Object>) tuple);
+        endRecord();
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (null != in) {
+            in.close();
+        }
+    }
+
+    /*
+     * Reads the header and any schema records, returning the tag of the next
+     * tuple record, or NULL if there are no more records.
+     */
+    private byte startRecord() throws IOException {
+        if (null != source && source.hasArray()) {
+            position = source.arrayOffset() + source.position();
+            limit = source.arrayOffset() + source.limit();
+        }
+        if (!hasData()) {
+            return NULL;
+        }
+
+        // The header is part of the first record, so it is read again if the first record is incomplete
+        if (!headerRead && (MAGIC != readByte() || VERSION != readByte())) {
+            throw new IOException("The data is not a stream of tuples in the Koryphe binary format");
+        }
+
+        byte tag = readByte();
+        while (SCHEMA == tag) {
+            readSchema();
+            tag = readByte();
+        }
+        if (ARRAY_TUPLE != tag && MAP_TUPLE != tag) {
+            throw new IOException("Unknown record tag " + tag);
+        }
+        return tag;
+    }
+
+    private void endRecord() {
+        headerRead = true;
+        if (null != source && source.hasArray()) {
+            // Cast so the Java 8 Buffer.position(int) is called on all runtimes
+            ((Buffer) source).position(position - source.arrayOffset());
+        }
+    }
+
+    private void readSchema() throws IOException {
+        final int index = readCount();
+        if (index > schemas.size()) {
+            throw new IOException("Invalid schema index " + index);
+        }
+        final Object[] keys = new Object[readElementCount()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = readValue();
+        }
+        if (index == schemas.size()) {
+            schemas.add(keys);
+        } else {
+            schemas.set(index, keys);
+        }
+    }
+
+    private void readValues(final ArrayTuple tuple, final int size) throws IOException {
+        for (int i = 0; i < size; i++) {
+            tuple.put(i, readValue());
+        }
+    }
+
+    private void readValues(final MapTuple<Object> tuple) throws IOException {
+        final int index = readCount();
+        if (index >= schemas.size()) {
+            throw new IOException("Invalid schema index " + index);
+        }
+        for (final Object key : schemas.get(index)) {
+            tuple.put(key, readValue());
+        }
+    }
+
+    private static ArrayTuple createArrayTuple(final byte tupleClass, final int size) throws IOException {
+        switch (tupleClass) {
+            case ARRAY_TUPLE_CLASS:
+                return new ArrayTuple(size);
+            case TUPLE_1_CLASS:
+                return checkSize(new Tuple1<>(), 1, size);
+            case TUPLE_2_CLASS:
+                return checkSize(new Tuple2<>(), 2, size);
+            case TUPLE_3_CLASS:
+                return checkSize(new Tuple3<>(), 3, size);
+            case TUPLE_4_CLASS:
+                return checkSize(new Tuple4<>(), 4, size);
+            case TUPLE_5_CLASS:
+                return checkSize(new Tuple5<>(), 5, size);
+            case TUPLE_N_CLASS:
+                return new TupleN(size);
+            default:
+                throw new IOException("Unknown tuple class " + tupleClass);
+        }
+    }
+
+    private static ArrayTuple checkSize(final ArrayTuple tuple, final int tupleSize, final int size) throws IOException {
+        if (tupleSize != size) {
+            throw new IOException("Invalid size " + size + " for " + tuple.getClass().getSimpleName());
+        }
+        return tuple;
+    }
+
+    private Object readValue() throws IOException {
+        final byte tag = readByte();
+        switch (tag) {
+            case NULL:
+                return null;
+            case TRUE:
+                return Boolean.TRUE;
+            case FALSE:
+                return Boolean.FALSE;
+            case INT:
+                return (int) unZigZag(readVarint());
+            case LONG:
+                return unZigZag(readVarint());
+            case FLOAT:
+                return Float.intBitsToFloat(readInt());
+            case DOUBLE:
+                return Double.longBitsToDouble(readLong());
+            case STRING:
+                return readString();
+            case BYTES:
+                return readBytes();
+            case DATE:
+                return new Date(unZigZag(readVarint()));
+            case OBJECT_ARRAY:
+                final Object[] array = new Object[readElementCount()];
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = readValue();
+                }
+                return array;
+            case LIST:
+                final int listSize = readCount();
+                return readValues(new ArrayList<>(initialCapacity(listSize)), listSize);
+            case SET:
+                final int setSize = readCount();
+                return readValues(new LinkedHashSet<>(initialCapacity(setSize)), setSize);
+            case MAP:
+                final int mapSize = readCount();
+                final Map<Object, Object> map = new LinkedHashMap<>(initialCapacity(mapSize));
+                for (int i = 0; i < mapSize; i++) {
+                    map.put(readValue(), readValue());
+                }
+                return map;
+            default:
+                throw new IOException("Unknown value tag " + tag);
+        }
+    }
+
+    private <T extends Collection<Object>> T readValues(final T values, final int size) throws IOException {
+        for (int i = 0; i < size; i++) {
+            values.add(readValue());
+        }
+        return values;
+    }
+
+    private String readString() throws IOException {
+        final int length = readCount();
+        require(length);
+        final String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    private byte[] readBytes() throws IOException {
+        final int length = readCount();
+        require(length);
+        final byte[] value = Arrays.copyOfRange(buffer, position, position + length);
+        position += length;
+        return value;
+    }
+
+    private int readCount() throws IOException {
+        final long value = readVarint();
+        if (value < 0 || value > Integer.MAX_VALUE - 8) {
+            throw new IOException("Invalid length or index " + value);
+        }
+        return (int) value;
+    }
+
+    /*
+     * Reads the number of values that follow. Each value takes at least one
+     * byte, so that many bytes must be available before the count is used to
+     * size an array.
+     */
+    private int readElementCount() throws IOException {
+        final int count = readCount();
+        require(count);
+        return count;
+    }
+
+    private long readVarint() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            final byte b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Invalid varint");
+    }
+
+    private int readInt() throws IOException {
+        require(4);
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+            value = (value << 8) | (buffer[position++] & 0xFF);
+        }
+        return value;
+    }
+
+    private long readLong() throws IOException {
+        require(8);
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (buffer[position++] & 0xFF);
+        }
+        return value;
+    }
+
+    private byte readByte() throws IOException {
+        require(1);
+        return buffer[position++];
+    }
+
+    private boolean hasData() throws IOException {
+        return position < limit || fill(1);
+    }
+
+    private void require(final int length) throws IOException {
+        if (limit - position < length && !fill(length)) {
+            throw new EOFException("Unexpected end of data");
+        }
+    }
+
+    /*
+     * Moves the unread bytes to the start of the buffer and reads more until
+     * the buffer holds at least the required number of bytes. The buffer is
+     * only grown as the data arrives, so a corrupt length cannot allocate
+     * more than the data that is actually there.
+     */
+    private boolean fill(final int length) throws IOException {
+        if (null != source && source.hasArray()) {
+            return false;
+        }
+        if (null != source && limit - position + source.remaining() < length) {
+            return false;
+        }
+
+        final int remaining = limit - position;
+        System.arraycopy(buffer, position, buffer, 0, remaining);
+        position = 0;
+        limit = remaining;
+
+        while (limit < length) {
+            if (limit == buffer.length) {
+                final byte[] larger = new byte[(int) Math.min(buffer.length * 2L, length)];
+                System.arraycopy(buffer, 0, larger, 0, limit);
+                buffer = larger;
+            }
+            final int read;
+            if (null == in) {
+                read = Math.min(source.remaining(), buffer.length - limit);
+                source.get(buffer, limit, read);
+            } else {
+                read = in.read(buffer, limit, buffer.length - limit);
+            }
+            if (read <= 0) {
+                return false;
+            }
+            limit += read;
+        }
+        return true;
+    }
+
+    private static int initialCapacity(final int size) {
+        return Math.min(size, MAX_INITIAL_CAPACITY);
+    }
+
+    private static long unZigZag(final long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,434 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.koryphe.serialisation.binary;
+
+import com.google.common.collect.Lists;
+
+import uk.gov.gchq.koryphe.tuple.ArrayTuple;
+import uk.gov.gchq.koryphe.tuple.MapTuple;
+import uk.gov.gchq.koryphe.tuple.Tuple;
+import uk.gov.gchq.koryphe.tuple.n.Tuple1;
+import uk.gov.gchq.koryphe.tuple.n.Tuple2;
+import uk.gov.gchq.koryphe.tuple.n.Tuple3;
+import uk.gov.gchq.koryphe.tuple.n.Tuple4;
+import uk.gov.gchq.koryphe.tuple.n.Tuple5;
+import uk.gov.gchq.koryphe.tuple.n.TupleN;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.Buffer;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import static java.util.Objects.requireNonNull;
+import static uk.gov.gchq.koryphe.serialisation.binary.TupleFormat.ARRAY_TUPLE;
+import static uk.gov.gchq.koryphe.serialisation.binary.TupleFormat.ARRAY_TUPLE_CLASS;
+import static uk.gov.gchq.koryphe.serialisation.binary.TupleFormat.BYTES;
+import static uk.gov.gchq.koryphe.serialisation.binary.TupleFormat.DATE;
+import static uk.gov.gchq.koryphe.serialisation.binary.TupleFormat.DOUBLE;
+import static uk.gov.gchq.koryphe.serialisation.binary.TupleFormat.FALSE;
+import static uk.gov.gchq.koryphe.serialisation.binary.TupleFormat.FLOAT;
+import static uk.gov.gchq.koryphe.serialisation.binary.TupleFormat.INT;
+import static uk.gov.gchq.koryphe.serialisation.binary.TupleFormat.LIST;
+import static uk.gov.gchq.koryphe.serialisation.binary.TupleFormat.LONG;
+import static uk.gov.gchq.koryphe.serialisation.binary.TupleFormat.MAGIC;
+import static uk.gov.gchq.koryphe.serialisation.binary.TupleFormat.MAP;
+import static uk.gov.gchq.koryphe.serialisation.binary.TupleFormat.MAP_TUPLE;
+import static uk.gov.gchq.koryphe.serialisation.binary.TupleFormat.NULL;
+import static uk.gov.gchq.koryphe.serialisation.binary.TupleFormat.OBJECT_ARRAY;
+import static uk.gov.gchq.koryphe.serialisation.binary.TupleFormat.SCHEMA;
+import static uk.gov.gchq.koryphe.serialisation.binary.TupleFormat.SET;
+import static uk.gov.gchq.koryphe.serialisation.binary.TupleFormat.STRING;
+import static uk.gov.gchq.koryphe.serialisation.binary.TupleFormat.TRUE;
+import static uk.gov.gchq.koryphe.serialisation.binary.TupleFormat.TUPLE_1_CLASS;
+import static uk.gov.gchq.koryphe.serialisation.binary.TupleFormat.TUPLE_2_CLASS;
+import static uk.gov.gchq.koryphe.serialisation.binary.TupleFormat.TUPLE_3_CLASS;
+import static uk.gov.gchq.koryphe.serialisation.binary.TupleFormat.TUPLE_4_CLASS;
+import static uk.gov.gchq.koryphe.serialisation.binary.TupleFormat.TUPLE_5_CLASS;
+import static uk.gov.gchq.koryphe.serialisation.binary.TupleFormat.TUPLE_N_CLASS;
+import static uk.gov.gchq.koryphe.serialisation.binary.TupleFormat.VERSION;
+
+/**
+ * Writes a stream of {@link Tuple}s in a compact binary form, to be read by a
+ * {@link BinaryTupleReader}.
+ * <p>
+ * {@link ArrayTuple}s, including the {@link Tuple1} to {@link Tuple5} and
+ * {@link TupleN} classes, and {@link MapTuple}s are supported. Other subclasses
+ * of {@link ArrayTuple} are read back as {@link ArrayTuple}s. The keys of a
+ * {@link MapTuple} are written once per stream as a schema, and each record
+ * refers to its schema by index.
+ * <p>
+ * Values may be null, {@link String}, {@link Integer}, {@link Long},
+ * {@link Float}, {@link Double}, {@link Boolean}, {@code byte[]},
+ * {@link Date}, {@code Object[]}, or a {@link List}, {@link Set} or
+ * {@link Map} of these. Any other value is rejected with an
+ * {@link IllegalArgumentException}.
+ * <p>
+ * Records are written whole. When writing to an {@link OutputStream} the
+ * records are buffered and written when the buffer is full or the writer is
+ * flushed. When writing to a {@link ByteBuffer} backed by an array the record
+ * is written directly into the array from the current position of the buffer.
+ * If the record does not fit a {@link BufferOverflowException} is thrown and
+ * the buffer is left unchanged, so it can be drained and the record written
+ * again. If a record is rejected the writer is left unchanged.
+ */
+public class BinaryTupleWriter implements Closeable, Flushable {
+    static final int MAX_SCHEMAS = 1024;
+    private static final int BUFFER_SIZE = 8192;
+
+    private final OutputStream out;
+    private final ByteBuffer target;
+    private final Map<List<Object>, Integer> schemas = new HashMap<>();
+    private List<Object> lastSchema;
+    private int lastSchemaIndex;
+    private List<Object> newSchema;
+    private boolean headerWritten;
+    private byte[] buffer;
+    private int position;
+    private int limit;
+
+    /**
+     * Create a writer that writes the tuples to an {@link OutputStream}.
+     *
+     * @param out the output stream
+     */
+    public BinaryTupleWriter(final OutputStream out) {
+        this.out = requireNonNull(out, "out is required");
+        this.target = null;
+        this.buffer = new byte[BUFFER_SIZE];
+    }
+
+    /**
+     * Create a writer that writes the tuples into a {@link ByteBuffer}, from
+     * its current position. The position of the buffer is moved past each
+     * record as it is written.
+     *
+     * @param target the byte buffer
+     */
+    public BinaryTupleWriter(final ByteBuffer target) {
+        this.out = null;
+        this.target = requireNonNull(target, "target is required");
+        this.buffer = target.hasArray() ? target.array() : new byte[BUFFER_SIZE];
+    }
+
+    /**
+     * Write a tuple.
+     *
+     * @param tuple the tuple
+     * @throws IOException              if the tuple could not be written to the output stream
+     * @throws BufferOverflowException  if the tuple does not fit in the remaining space of the byte buffer
+     * @throws IllegalArgumentException if the tuple or one of its values is not supported
+     */
+    public void write(final Tuple<?> tuple) throws IOException {
+        requireNonNull(tuple, "tuple is required");
+        final int start = startRecord();
+        try {
+            if (!headerWritten) {
+                writeByte(MAGIC);
+                writeByte(VERSION);
+            }
+            if (tuple instanceof MapTuple) {
+                writeMapTuple((MapTuple<?>) tuple);
+            } else if (tuple instanceof ArrayTuple) {
+                writeArrayTuple((ArrayTuple) tuple);
+            } else {
+                throw new IllegalArgumentException("Unsupported tuple class: " + tuple.getClass().getName());
+            }
+            endRecord();
+        } catch (final BufferOverflowException | IllegalArgumentException e) {
+            position = start;
+            if (null != newSchema) {
+                schemas.remove(newSchema);
+                lastSchema = null;
+            }
+            throw e;
+        } finally {
+            newSchema = null;
+        }
+        headerWritten = true;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (null != out) {
+            out.write(buffer, 0, position);
+            position = 0;
+            out.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (null != out) {
+            try {
+                flush();
+            } finally {
+                out.close();
+            }
+        }
+    }
+
+    private int startRecord() {
+        if (null == target) {
+            limit = Integer.MAX_VALUE;
+        } else if (target.hasArray()) {
+            position = target.arrayOffset() + target.position();
+            limit = target.arrayOffset() + target.limit();
+        } else {
+            position = 0;
+            limit = Integer.MAX_VALUE;
+        }
+        return position;
+    }
+
+    private void endRecord() throws IOException {
+        if (null == target) {
+            if (position >= BUFFER_SIZE) {
+                out.write(buffer, 0, position);
+                position = 0;
+            }
+        } else if (target.hasArray()) {
+            // Cast so the Java 8 Buffer.position(int) is called on all runtimes
+            ((Buffer) target).position(position - target.arrayOffset());
+        } else {
+            if (position > target.remaining()) {
+                throw new BufferOverflowException();
+            }
+            target.put(buffer, 0, position);
+        }
+    }
+
+    private void writeMapTuple(final MapTuple<?> tuple) {
+        final Map<?, Object> values = tuple.getValues();
+        final int schema = getSchema(values);
+        writeByte(MAP_TUPLE);
+        writeVarint(schema);
+        for (final Object value : values.values()) {
+            writeValue(value);
+        }
+    }
+
+    private int getSchema(final Map<?, Object> values) {
+        if (null != lastSchema && isSchema(lastSchema, values)) {
+            return lastSchemaIndex;
+        }
+
+        final List<Object> keys = new ArrayList<>(values.keySet());
+        Integer index = schemas.get(keys);
+        if (null == index) {
+            // Schemas are replaced from the first index once the limit is reached
+            if (schemas.size() >= MAX_SCHEMAS) {
+                schemas.clear();
+            }
+            index = schemas.size();
+            schemas.put(keys, index);
+            newSchema = keys;
+
+            writeByte(SCHEMA);
+            writeVarint(index);
+            writeVarint(keys.size());
+            for (final Object key : keys) {
+                writeValue(key);
+            }
+        }
+        lastSchema = keys;
+        lastSchemaIndex = index;
+        return index;
+    }
+
+    private static boolean isSchema(final List<Object> schema, final Map<?, Object> values) {
+        if (schema.size() != values.size()) {
+            return false;
+        }
+        final Iterator<Object> schemaKeys = schema.iterator();
+        for (final Object key : values.keySet()) {
+            if (!Objects.equals(schemaKeys.next(), key)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void writeArrayTuple(final ArrayTuple tuple) {
+        final Iterable<Object> values = tuple.values();
+        final Collection<Object> collection = values instanceof Collection
+                ? (Collection<Object>) values : Lists.newArrayList(values);
+        writeByte(ARRAY_TUPLE);
+        writeByte(getTupleClass(tuple));
+        writeVarint(collection.size());
+        for (final Object value : collection) {
+            writeValue(value);
+        }
+    }
+
+    private static byte getTupleClass(final ArrayTuple tuple) {
+        final Class<?> clazz = tuple.getClass();
+        if (Tuple1.class == clazz) {
+            return TUPLE_1_CLASS;
+        }
+        if (Tuple2.class == clazz) {
+            return TUPLE_2_CLASS;
+        }
+        if (Tuple3.class == clazz) {
+            return TUPLE_3_CLASS;
+        }
+        if (Tuple4.class == clazz) {
+            return TUPLE_4_CLASS;
+        }
+        if (Tuple5.class == clazz) {
+            return TUPLE_5_CLASS;
+        }
+        if (TupleN.class == clazz) {
+            return TUPLE_N_CLASS;
+        }
+        return ARRAY_TUPLE_CLASS;
+    }
+
+    private void writeValue(final Object value) {
+        if (null == value) {
+            writeByte(NULL);
+        } else if (value instanceof String) {
+            writeString((String) value);
+        } else if (value instanceof Long) {
+            writeByte(LONG);
+            writeVarint(zigZag((Long) value));
+        } else if (value instanceof Integer) {
+            writeByte(INT);
+            writeVarint(zigZag((Integer) value));
+        } else if (value instanceof Double) {
+            writeByte(DOUBLE);
+            writeLong(Double.doubleToRawLongBits((Double) value));
+        } else if (value instanceof Float) {
+            writeByte(FLOAT);
+            writeInt(Float.floatToRawIntBits((Float) value));
+        } else if (value instanceof Boolean) {
+            writeByte((Boolean) value ? TRUE : FALSE);
+        } else if (value instanceof byte[]) {
+            writeByte(BYTES);
+            writeBytes((byte[]) value);
+        } else if (Date.class == value.getClass()) {
+            writeByte(DATE);
+            writeVarint(zigZag(((Date) value).getTime()));
+        } else if (Object[].class == value.getClass()) {
+            writeByte(OBJECT_ARRAY);
+            writeValues(Arrays.asList((Object[]) value));
+        } else if (value instanceof List) {
+            writeByte(LIST);
+            writeValues((List<?>) value);
+        } else if (value instanceof Set) {
+            writeByte(SET);
+            writeValues((Set<?>) value);
+        } else if (value instanceof Map) {
+            writeByte(MAP);
+            writeVarint(((Map<?, ?>) value).size());
+            for (final Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                writeValue(entry.getKey());
+                writeValue(entry.getValue());
+            }
+        } else {
+            throw new IllegalArgumentException("Unsupported value class: " + value.getClass().getName());
+        }
+    }
+
+    private void writeValues(final Collection<?> values) {
+        writeVarint(values.size());
+        for (final Object value : values) {
+            writeValue(value);
+        }
+    }
+
+    // ASCII strings are written straight into the buffer, avoiding an encoded copy
+    private void writeString(final String value) {
+        final int length = value.length();
+        for (int i = 0; i < length; i++) {
+            if (value.charAt(i) >= 0x80) {
+                writeByte(STRING);
+                writeBytes(value.getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+        }
+
+        writeByte(STRING);
+        writeVarint(length);
+        ensureCapacity(length);
+        for (int i = 0; i < length; i++) {
+            buffer[position++] = (byte) value.charAt(i);
+        }
+    }
+
+    private void writeBytes(final byte[] bytes) {
+        writeVarint(bytes.length);
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    private void writeVarint(final long value) {
+        ensureCapacity((64 - Long.numberOfLeadingZeros(value | 1) + 6) / 7);
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        buffer[position++] = (byte) remaining;
+    }
+
+    private void writeInt(final int value) {
+        ensureCapacity(4);
+        for (int shift = 24; shift >= 0; shift -= 8) {
+            buffer[position++] = (byte) (value >> shift);
+        }
+    }
+
+    private void writeLong(final long value) {
+        ensureCapacity(8);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buffer[position++] = (byte) (value >> shift);
+        }
+    }
+
+    private void writeByte(final byte value) {
+        ensureCapacity(1);
+        buffer[position++] = value;
+    }
+
+    private void ensureCapacity(final int extra) {
+        if (position + extra > limit) {
+            throw new BufferOverflowException();
+        }
+        if (position + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + extra));
+        }
+    }
+
+    private static long zigZag(final long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.koryphe.serialisation.binary;
+
+import uk.gov.gchq.koryphe.util.ReflectionUtil;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.CodeSource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A table of the Koryphe component class names, so they can be written as a
+ * small index rather than the full name. The table is built from the class
+ * index written when the Koryphe jar was built, so it is a fixed list for
+ * each version of Koryphe. It does not depend on the rest of the classpath or
+ * the reflection packages. The public, concrete components in the Koryphe
+ * packages are included, sorted by name. If the Koryphe jar has no index the
+ * table is empty and class names are written in full.
+ * <p>
+ * The fingerprint identifies the table, so data written with a different
+ * table is rejected rather than read as the wrong classes.
+ */
+final class ClassTable {
+    /**
+     * The location of the class index. This must match ClassIndexProcessor.INDEX_RESOURCE.
+     */
+    private static final String INDEX_RESOURCE = "META-INF/koryphe/class-index";
+    private static final String KORYPHE_PACKAGE = "uk.gov.gchq.koryphe.";
+    private static final List<String> COMPONENT_TYPES = Arrays.asList(
+            Predicate.class.getName(),
+            Function.class.getName(),
+            BiFunction.class.getName(),
+            BinaryOperator.class.getName(),
+            Comparator.class.getName()
+    );
+
+    private static volatile ClassTable instance;
+
+    private final List<String> classNames;
+    private final Map<String, Integer> indices;
+    private final int fingerprint;
+
+    ClassTable(final List<String> classNames) {
+        this.classNames = Collections.unmodifiableList(new ArrayList<>(classNames));
+        this.indices = new HashMap<>(classNames.size());
+        int hash = 1;
+        for (int i = 0; i < classNames.size(); i++) {
+            indices.put(classNames.get(i), i);
+            hash = 31 * hash + classNames.get(i).hashCode();
+        }
+        this.fingerprint = hash;
+    }
+
+    static ClassTable getInstance() {
+        ClassTable table = instance;
+        if (null == table) {
+            table = create();
+            instance = table;
+        }
+        return table;
+    }
+
+    static void reset() {
+        instance = null;
+    }
+
+    int getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * @param className the class name
+     * @return the index of the class name, or -1 if it is not in the table
+     */
+    int indexOf(final String className) {
+        final Integer index = indices.get(className);
+        return null == index ? -1 : index;
+    }
+
+    /**
+     * @param index the index of a class name
+     * @return the class name, or null if the index is not in the table
+     */
+    String getClassName(final int index) {
+        return index >= 0 && index < classNames.size() ? classNames.get(index) : null;
+    }
+
+    private static ClassTable create() {
+        final TreeSet<String> names = new TreeSet<>();
+        final URL index = getIndex();
+        if (null != index) {
+            try (final BufferedReader reader = new BufferedReader(new InputStreamReader(index.openStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while (null != (line = reader.readLine())) {
+                    final String[] fields = line.split("\t", -1);
+                    if (fields.length > 1 && fields[0].startsWith(KORYPHE_PACKAGE) && isComponent(fields[0], fields[1])) {
+                        names.add(fields[0]);
+                    }
+                }
+            } catch (final IOException e) {
+                // Write the class names in full
+                names.clear();
+            }
+        }
+        return new ClassTable(new ArrayList<>(names));
+    }
+
+    // Finds the index in the jar or directory that contains the Koryphe
+    // classes, rather than the first one on the classpath
+    private static URL getIndex() {
+        final CodeSource codeSource = ClassTable.class.getProtectionDomain().getCodeSource();
+        if (null == codeSource || null == codeSource.getLocation()) {
+            return null;
+        }
+
+        final URL location = codeSource.getLocation();
+        try {
+            return location.getPath().endsWith("/")
+                    ? new URL(location, INDEX_RESOURCE)
+                    : new URL("jar:" + location + "!/" + INDEX_RESOURCE);
+        } catch (final MalformedURLException e) {
+            return null;
+        }
+    }
+
+    private static boolean isComponent(final String className, final String superTypes) {
+        for (final String superType : superTypes.split(",")) {
+            if (COMPONENT_TYPES.contains(superType)) {
+                try {
+                    return ReflectionUtil.isPublicConcrete(Class.forName(className, false, ClassTable.class.getClassLoader()));
+                } catch (final ClassNotFoundException | LinkageError e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.koryphe.serialisation.binary;
+
+/**
+ * The constants of the binary tuple format.
+ * <p>
+ * A stream starts with the {@link #MAGIC} and {@link #VERSION} bytes, followed
+ * by a sequence of records. Array tuple records hold the tuple class,
+ * the number of values and the values. Map tuple records hold the index
+ * of a schema, which is the ordered keys of a map tuple, followed by the values in
+ * the schema order. Each schema is defined once in the stream by a
+ * {@link #SCHEMA} record, holding the schema index and keys, before the first
+ * map tuple record that uses it. A schema record for an index that is already
+ * defined replaces it, so the writer can limit the number of schemas it holds.
+ * <p>
+ * Each value starts with a tag byte. Lengths, counts and indices are unsigned
+ * varints and integers, longs and dates are zig-zag varints.
+ */
+final class TupleFormat {
+    static final byte MAGIC = 'T';
+    static final byte VERSION = 1;
+
+    // Record tags
+    static final byte ARRAY_TUPLE = 1;
+    static final byte MAP_TUPLE = 2;
+    static final byte SCHEMA = 3;
+
+    // Array tuple classes
+    static final byte ARRAY_TUPLE_CLASS = 0;
+    static final byte TUPLE_1_CLASS = 1;
+    static final byte TUPLE_2_CLASS = 2;
+    static final byte TUPLE_3_CLASS = 3;
+    static final byte TUPLE_4_CLASS = 4;
+    static final byte TUPLE_5_CLASS = 5;
+    static final byte TUPLE_N_CLASS = 6;
+
+    // Value tags
+    static final byte NULL = 0;
+    static final byte TRUE = 1;
+    static final byte FALSE = 2;
+    static final byte INT = 3;
+    static final byte LONG = 4;
+    static final byte FLOAT = 5;
+    static final byte DOUBLE = 6;
+    static final byte STRING = 7;
+    static final byte BYTES = 8;
+    static final byte DATE = 9;
+    static final byte LIST = 10;
+    static final byte SET = 11;
+    static final byte MAP = 12;
+    static final byte OBJECT_ARRAY = 13;
+
+    private TupleFormat() {
+        // Private constructor to prevent instantiation.
+    }
+}
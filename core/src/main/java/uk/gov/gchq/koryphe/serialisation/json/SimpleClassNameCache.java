@@ -22,7 +22,10 @@ import org.apache.commons.lang3.StringUtils;
 import uk.gov.gchq.koryphe.util.ReflectionUtil;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -60,12 +63,25 @@ import java.util.stream.Collectors;
  * Only a small set of packages on the class path are scanned.
  * You can add extra packages to the scanner. See {@link ReflectionUtil} for details.
  * </p>
+ * <p>
+ * The simple class names are held in an immutable index that is replaced when
+ * classes are added, so lookups do not lock. The class name resolved for each
+ * id, and for each id and base type, is cached in the index, including ids
+ * that could not be resolved, so resolving a repeated id is a single map
+ * lookup.
+ * </p>
  *
  * @see ReflectionUtil
  */
 public final class SimpleClassNameCache {
     public static final boolean DEFAULT_USE_FULL_NAME_FOR_SERIALISATION = true;
 
+    /**
+     * The maximum number of unresolved ids that are cached, to bound the
+     * memory used by arbitrary ids.
+     */
+    public static final int MAX_MISSING_IDS = 1000;
+
     private static final Set<Class> DEFAULT_PARENT_CLASSES = Sets.newHashSet(
             Predicate.class,
             Function.class,
@@ -77,6 +93,9 @@ public final class SimpleClassNameCache {
             Arrays.asList("java.lang", "java.util")
     );
 
+    private static final Object MISSING = new Object();
+    private static final Object CONFLICT = new Object();
+
     /**
      * Core packages such as java.lang that will be used to try and expand unknown
      * simple class names.
@@ -84,20 +103,15 @@ public final class SimpleClassNameCache {
     private static Set<String> corePackages = new LinkedHashSet<>(DEFAULT_CORE_PACKAGES);
 
     /**
-     * Base classes to use to find implementations to be added to idToClasses
+     * Base classes to use to find implementations to be added to the index
      */
     private static Set<Class> baseClasses = ConcurrentHashMap.newKeySet();
 
     /**
-     * Map of simple class name to classes.
-     */
-    private static Map<String, Set<Class>> idToClasses = new ConcurrentHashMap<>();
-
-    /**
-     * If conflicts are found in idToClasses this will be used to try to
-     * differentiate the classes.
+     * The index of simple class names. This is replaced, never modified,
+     * when classes are added.
      */
-    private static Map<Class<?>, Map<String, Class>> baseTypeToIdToClass = new ConcurrentHashMap<>();
+    private static volatile Index index;
 
     /**
      * If true then the full class name is used for serialisation.
@@ -105,17 +119,11 @@ public final class SimpleClassNameCache {
      */
     private static boolean useFullNameForSerialisation = DEFAULT_USE_FULL_NAME_FOR_SERIALISATION;
 
-    private static boolean initialised = false;
-
     private SimpleClassNameCache() {
     }
 
     public static void initialise() {
-        if (!initialised) {
-            baseClasses = createParentClasses();
-            idToClasses = createIdToClasses();
-            initialised = true;
-        }
+        getIndex();
     }
 
     /**
@@ -141,16 +149,24 @@ public final class SimpleClassNameCache {
      * @param classes         the classes to be included.
      */
     public static void addSimpleClassNames(final boolean includeSubtypes, final Class... classes) {
-        initialise();
-        for (final Class clazz : classes) {
-            final Set<Class> existingClasses = getClassesFromId(clazz.getSimpleName());
-            if (null == existingClasses || !existingClasses.contains(clazz)) {
-                if (includeSubtypes) {
-                    addSimpleClassNames(idToClasses, clazz);
-                } else {
-                    addSimpleClassName(idToClasses, clazz);
+        synchronized (SimpleClassNameCache.class) {
+            final Index current = getIndex();
+            final Map<String, Set<Class>> idToClasses = current.copyIdToClasses();
+            boolean changed = false;
+            for (final Class clazz : classes) {
+                final Set<Class> existingClasses = current.getClassesFromId(clazz.getSimpleName());
+                if (null == existingClasses || !existingClasses.contains(clazz)) {
+                    if (includeSubtypes) {
+                        addSimpleClassNames(idToClasses, clazz);
+                    } else {
+                        addSimpleClassName(idToClasses, clazz);
+                    }
+                    changed = true;
                 }
             }
+            if (changed) {
+                index = new Index(idToClasses);
+            }
         }
     }
 
@@ -176,7 +192,7 @@ public final class SimpleClassNameCache {
         if (null == clazz || useFullNameForSerialisation) {
             id = null;
         } else {
-            initialise();
+            final Index current = getIndex();
 
             // If the class is an array, use the component type and we will
             // add the array brackets at the end.
@@ -184,13 +200,13 @@ public final class SimpleClassNameCache {
             final Class<?> nonArrayClass = isArray ? clazz.getComponentType() : clazz;
             id = nonArrayClass.getSimpleName();
 
-            final Set<Class> classesForId = getClassesFromId(id);
+            final Set<Class> classesForId = current.getClassesFromId(id);
             if (null == classesForId || classesForId.isEmpty()) {
                 // If the class is unknown, check if the class is in one of the core packages
                 final Package classPackage = nonArrayClass.getPackage();
                 if (null != classPackage && corePackages.contains(classPackage.getName())) {
                     // Found the class, so cache the result for next time.
-                    addIdClasses(id, Sets.newHashSet(nonArrayClass));
+                    current.addCoreClass(id, nonArrayClass);
                 } else {
                     id = null;
                 }
@@ -228,100 +244,62 @@ public final class SimpleClassNameCache {
      * @throws IllegalArgumentException if there are multiple classes with the same id.
      */
     public static String getClassName(final String id, final JavaType baseType) {
-        String className = null;
-        if (null != id && !id.contains(".")) {
-            initialise();
-
-            // Remove the array brackets if required, these will be added again at the end.
-            final boolean isArray = id.endsWith("[]");
-            String nonArrayId = isArray ? id.substring(0, id.length() - 2) : id;
-            nonArrayId = StringUtils.capitalize(nonArrayId);
+        if (null == id || id.contains(".")) {
+            return id;
+        }
 
-            final Set<Class> classesForId = getClassesFromId(nonArrayId);
-            // If the class is unknown (not in the cache) then try the core packages
-            if (null == classesForId || classesForId.isEmpty()) {
-                for (final String corePackage : corePackages) {
-                    final String classNameTmp = corePackage + "." + nonArrayId;
-                    final Class<?> clazz = ReflectionUtil.getClassFromName(classNameTmp);
-                    if (null != clazz) {
-                        className = classNameTmp;
-                        addIdClasses(nonArrayId, Sets.newHashSet(clazz));
-                        break;
-                    }
-                }
-            } else if (1 == classesForId.size()) {
-                // There is exactly one class name for the given ID so we are
-                // confident that is this the class required.
-                className = classesForId.iterator().next().getName();
-            } else {
-                // If the base type has been provided then attempt to use
-                // it to resolve the conflicts
-                if (null != baseType) {
-                    final Class<?> baseClass = baseType.getRawClass();
-
-                    // First check the conflict cache
-                    Map<String, Class> idToClass = baseTypeToIdToClass.get(baseClass);
-                    if (null != idToClass) {
-                        final Class clazz = getClassFromId(nonArrayId, idToClass);
-                        if (null != clazz) {
-                            className = clazz.getName();
-                        }
-                    }
+        final Index current = getIndex();
+        Object className = current.idToClassName.get(id);
+        if (null == className) {
+            className = current.resolve(id);
+        }
 
-                    // If the conflict has not previously been seen, then try
-                    // and resolve it and add it to the cache.
-                    if (null == className) {
-                        Class<?> matchedClass = null;
-                        for (final Class classForId : classesForId) {
-                            if (baseClass.isAssignableFrom(classForId)) {
-                                if (null == matchedClass) {
-                                    matchedClass = classForId;
-                                } else {
-                                    matchedClass = null;
-                                    break;
-                                }
-                            }
-                        }
-                        // If the conflict has been resolved then cache the result
-                        if (null != matchedClass) {
-                            className = matchedClass.getName();
-                            if (null == idToClass) {
-                                idToClass = new ConcurrentHashMap<>();
-                                baseTypeToIdToClass.put(baseClass, idToClass);
-                            }
-                            addIdClass(nonArrayId, matchedClass, idToClass);
-                        }
-                    }
-                }
-                // If the conflict cannot be resolved then explain to the user
-                // that they need to provide the full class name.
+        if (CONFLICT == className) {
+            // If the base type has been provided then attempt to use
+            // it to resolve the conflicts
+            if (null != baseType) {
+                final Map<String, Object> idToClassName = current.getIdToClassName(baseType.getRawClass());
+                className = idToClassName.get(id);
                 if (null == className) {
-                    final List<String> classOptions = classesForId.stream().map(c -> isArray ? "[L" + c.getName() + ";" : c.getName()).collect(Collectors.toList());
-                    throw new IllegalArgumentException("Multiple " + nonArrayId + " classes exist. Please choose one of the following and specify the full class name: " + classOptions);
+                    className = current.resolve(id, baseType.getRawClass());
                 }
             }
 
-            // Add the array information if required.
-            if (isArray && null != className) {
-                className = "[L" + className + ";";
+            // If the conflict cannot be resolved then explain to the user
+            // that they need to provide the full class name.
+            if (CONFLICT == className) {
+                throw current.createConflictException(id);
             }
         }
 
         // If we couldn't find the class name, the just return the original value.
-        if (null == className) {
-            className = id;
-        }
-        return className;
+        return MISSING == className ? id : (String) className;
     }
 
     /**
      * Resets the caches.
      */
     public static void reset() {
-        baseClasses = createParentClasses();
-        idToClasses = createIdToClasses();
-        corePackages = new LinkedHashSet<>(DEFAULT_CORE_PACKAGES);
-        baseTypeToIdToClass = new ConcurrentHashMap<>();
+        synchronized (SimpleClassNameCache.class) {
+            corePackages = new LinkedHashSet<>(DEFAULT_CORE_PACKAGES);
+            baseClasses = createParentClasses();
+            index = new Index(createIdToClasses());
+        }
+    }
+
+    private static Index getIndex() {
+        Index current = index;
+        if (null == current) {
+            synchronized (SimpleClassNameCache.class) {
+                current = index;
+                if (null == current) {
+                    baseClasses = createParentClasses();
+                    current = new Index(createIdToClasses());
+                    index = current;
+                }
+            }
+        }
+        return current;
     }
 
     private static Set<Class> createParentClasses() {
@@ -340,7 +318,7 @@ public final class SimpleClassNameCache {
     }
 
     private static Map<String, Set<Class>> createIdToClasses() {
-        final Map<String, Set<Class>> map = new ConcurrentHashMap<>();
+        final Map<String, Set<Class>> map = new HashMap<>();
         for (final Class baseClass : baseClasses) {
             addSimpleClassNames(map, baseClass);
         }
@@ -374,19 +352,153 @@ public final class SimpleClassNameCache {
         }
     }
 
-    private static Set<Class> getClassesFromId(final String id) {
-        return idToClasses.get(StringUtils.capitalize(id));
-    }
+    /**
+     * An index of simple class names. The simple class names are fixed when
+     * the index is created. The classes found in the core packages and the
+     * class names resolved for ids are added to it as they are looked up.
+     */
+    private static final class Index {
+        /**
+         * Map of capitalised simple class name to classes.
+         */
+        private final Map<String, Set<Class>> idToClasses;
+
+        /**
+         * Classes found in the core packages, by capitalised simple class name.
+         */
+        private final Map<String, Class<?>> coreClasses = new ConcurrentHashMap<>();
+
+        /**
+         * Map of id, as given, to class name, {@link #MISSING} or {@link #CONFLICT}.
+         */
+        private final Map<String, Object> idToClassName = new ConcurrentHashMap<>();
+
+        /**
+         * Class names resolved for conflicting ids using a base type.
+         */
+        private final Map<Class<?>, Map<String, Object>> baseTypeToIdToClassName = new ConcurrentHashMap<>();
+
+        private Index(final Map<String, Set<Class>> idToClasses) {
+            final Map<String, Set<Class>> immutableIdToClasses = new HashMap<>(idToClasses.size());
+            for (final Map.Entry<String, Set<Class>> entry : idToClasses.entrySet()) {
+                final Set<Class> classes = Collections.unmodifiableSet(new HashSet<>(entry.getValue()));
+                immutableIdToClasses.put(entry.getKey(), classes);
+
+                // Precompute the class names of the ids that are not in conflict
+                if (1 == classes.size()) {
+                    final String className = classes.iterator().next().getName();
+                    idToClassName.put(entry.getKey(), className);
+                    idToClassName.put(entry.getKey() + "[]", "[L" + className + ";");
+                } else if (!classes.isEmpty()) {
+                    idToClassName.put(entry.getKey(), CONFLICT);
+                    idToClassName.put(entry.getKey() + "[]", CONFLICT);
+                }
+            }
+            this.idToClasses = Collections.unmodifiableMap(immutableIdToClasses);
+        }
 
-    private static Class getClassFromId(final String id, final Map<String, Class> idToClass) {
-        return idToClass.get(StringUtils.capitalize(id));
-    }
+        private Map<String, Set<Class>> copyIdToClasses() {
+            final Map<String, Set<Class>> copy = new HashMap<>(idToClasses.size());
+            for (final Map.Entry<String, Set<Class>> entry : idToClasses.entrySet()) {
+                copy.put(entry.getKey(), new HashSet<>(entry.getValue()));
+            }
+            for (final Map.Entry<String, Class<?>> entry : coreClasses.entrySet()) {
+                copy.putIfAbsent(entry.getKey(), Sets.newHashSet(entry.getValue()));
+            }
+            return copy;
+        }
 
-    private static void addIdClasses(final String id, final Set<Class> classes) {
-        idToClasses.put(StringUtils.capitalize(id), classes);
-    }
+        private Set<Class> getClassesFromId(final String id) {
+            final String capitalisedId = StringUtils.capitalize(id);
+            final Set<Class> classes = idToClasses.get(capitalisedId);
+            if (null != classes) {
+                return classes;
+            }
+            final Class<?> coreClass = coreClasses.get(capitalisedId);
+            return null == coreClass ? null : Collections.singleton(coreClass);
+        }
+
+        private void addCoreClass(final String id, final Class<?> clazz) {
+            coreClasses.putIfAbsent(StringUtils.capitalize(id), clazz);
+        }
 
-    private static void addIdClass(final String id, final Class clazz, final Map<String, Class> idToClass) {
-        idToClass.put(StringUtils.capitalize(id), clazz);
+        private Map<String, Object> getIdToClassName(final Class<?> baseClass) {
+            return baseTypeToIdToClassName.computeIfAbsent(baseClass, k -> new ConcurrentHashMap<>());
+        }
+
+        // Resolves an id that has not been seen before and caches the result
+        private Object resolve(final String id) {
+            // Remove the array brackets if required, these will be added again at the end.
+            final boolean isArray = id.endsWith("[]");
+            final String nonArrayId = isArray ? id.substring(0, id.length() - 2) : id;
+
+            Object className = MISSING;
+            final Set<Class> classesForId = getClassesFromId(nonArrayId);
+            // If the class is unknown (not in the cache) then try the core packages
+            if (null == classesForId || classesForId.isEmpty()) {
+                final String capitalisedId = StringUtils.capitalize(nonArrayId);
+                for (final String corePackage : corePackages) {
+                    final String classNameTmp = corePackage + "." + capitalisedId;
+                    final Class<?> clazz = ReflectionUtil.getClassFromName(classNameTmp);
+                    if (null != clazz) {
+                        className = classNameTmp;
+                        addCoreClass(capitalisedId, clazz);
+                        break;
+                    }
+                }
+            } else if (1 == classesForId.size()) {
+                // There is exactly one class name for the given ID so we are
+                // confident that is this the class required.
+                className = classesForId.iterator().next().getName();
+            } else {
+                className = CONFLICT;
+            }
+
+            // Add the array information if required.
+            if (isArray && className instanceof String) {
+                className = "[L" + className + ";";
+            }
+
+            cache(idToClassName, id, className);
+            return className;
+        }
+
+        // Resolves a conflicting id using the base type and caches the result
+        private Object resolve(final String id, final Class<?> baseClass) {
+            final boolean isArray = id.endsWith("[]");
+            final String nonArrayId = isArray ? id.substring(0, id.length() - 2) : id;
+
+            Object className = CONFLICT;
+            Class<?> matchedClass = null;
+            for (final Class classForId : getClassesFromId(nonArrayId)) {
+                if (baseClass.isAssignableFrom(classForId)) {
+                    if (null == matchedClass) {
+                        matchedClass = classForId;
+                    } else {
+                        matchedClass = null;
+                        break;
+                    }
+                }
+            }
+            if (null != matchedClass) {
+                className = isArray ? "[L" + matchedClass.getName() + ";" : matchedClass.getName();
+            }
+
+            cache(getIdToClassName(baseClass), id, className);
+            return className;
+        }
+
+        private IllegalArgumentException createConflictException(final String id) {
+            final boolean isArray = id.endsWith("[]");
+            final String nonArrayId = StringUtils.capitalize(isArray ? id.substring(0, id.length() - 2) : id);
+            final List<String> classOptions = getClassesFromId(nonArrayId).stream().map(c -> isArray ? "[L" + c.getName() + ";" : c.getName()).collect(Collectors.toList());
+            return new IllegalArgumentException("Multiple " + nonArrayId + " classes exist. Please choose one of the following and specify the full class name: " + classOptions);
+        }
+
+        private static void cache(final Map<String, Object> cache, final String id, final Object className) {
+            if (className instanceof String || cache.size() < MAX_MISSING_IDS) {
+                cache.putIfAbsent(id, className);
+            }
+        }
     }
 }
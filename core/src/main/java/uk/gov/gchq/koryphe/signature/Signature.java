@@ -34,6 +34,7 @@ import java.lang.reflect.TypeVariable;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -43,6 +44,12 @@ import static java.lang.String.format;
 
 /**
  * A <code>Signature</code> is the type metadata for the input or output of a {@link java.util.function.Function}.
+ * <p>
+ * The types resolved for a component class are cached against the class, so
+ * only the first signature requested for each class and functional interface
+ * uses reflection. The types of a {@link WrappedBiFunction} depend on the
+ * function it wraps, so these are resolved each time.
+ * </p>
  */
 public abstract class Signature {
     private static final Logger LOGGER = LoggerFactory.getLogger(Signature.class);
@@ -50,6 +57,9 @@ public abstract class Signature {
     private static final boolean INPUT_SIGNATURE = true;
     private static final boolean OUTPUT_SIGNATURE = false;
 
+    private static final ResolvedTypesCache INPUT_TYPES = new ResolvedTypesCache();
+    private static final ResolvedTypesCache OUTPUT_TYPES = new ResolvedTypesCache();
+
     /**
      * Tests whether this <code>Signature</code> is compatible with the types supplied.
      *
@@ -119,12 +129,26 @@ public abstract class Signature {
     }
 
     private static Signature createSignatureFromTypeVariable(final Object input, final Class functionClass, final boolean isInput) {
+        if (input instanceof WrappedBiFunction) {
+            return resolveTypes(input, functionClass, isInput).createSignature(input, isInput);
+        }
+
+        final Map<Class<?>, ResolvedTypes> resolved = (isInput ? INPUT_TYPES : OUTPUT_TYPES).get(input.getClass());
+        ResolvedTypes types = resolved.get(functionClass);
+        if (null == types) {
+            types = resolveTypes(input, functionClass, isInput);
+            resolved.putIfAbsent(functionClass, types);
+        }
+        return types.createSignature(input, isInput);
+    }
+
+    private static ResolvedTypes resolveTypes(final Object input, final Class functionClass, final boolean isInput) {
         final Map<TypeVariable<?>, Type> typeArgs = createTypeArgsFor(input, functionClass);
         final Method targetMethod = getTargetedMethodIn(functionClass);
         final Type targetMethodType = isInput ? targetMethod.getGenericParameterTypes()[0] : targetMethod.getGenericReturnType();
         final Type inputType = mapTargetMethodTypeToRequiredType(targetMethodType, typeArgs);
 
-        return createSignature(input, inputType, typeArgs, isInput);
+        return resolveTypes(inputType, typeArgs);
     }
 
     private static Method getTargetedMethodIn(final Class<?> clazz) {
@@ -148,7 +172,7 @@ public abstract class Signature {
         return Stream.of(clazz.getAnnotations()).map(Annotation::annotationType).anyMatch(FunctionalInterface.class::equals);
     }
 
-    private static Signature createSignature(final Object input, final Type type, final Map<TypeVariable<?>, Type> typeArgs, final boolean isInput) {
+    private static ResolvedTypes resolveTypes(final Type type, final Map<TypeVariable<?>, Type> typeArgs) {
         Type typeForInput = type;
         if (type instanceof TypeVariable) {
             final TypeVariable typeVariable = TypeVariable.class.cast(type);
@@ -170,10 +194,10 @@ public abstract class Signature {
                 for (final TypeVariable tupleType : tupleTypes) {
                     classes[i++] = getTypeClass(classTypeArgs.get(tupleType), typeArgs);
                 }
-                return new TupleSignature(input, clazz, classes, isInput);
+                return new ResolvedTypes(clazz, classes);
             }
         }
-        return new SingletonSignature(input, clazz, isInput);
+        return new ResolvedTypes(clazz, null);
     }
 
     private static Map<TypeVariable<?>, Type> createTypeArgsFor(final Object input, final Class<?> functionClass) {
@@ -278,5 +302,33 @@ public abstract class Signature {
 
     public static class UnknownGenericType {
     }
+
+    /**
+     * The types resolved for a component, which are used to create a
+     * signature for each instance of the component.
+     */
+    private static final class ResolvedTypes {
+        private final Class<?> clazz;
+        private final Class[] tupleClasses;
+
+        private ResolvedTypes(final Class<?> clazz, final Class[] tupleClasses) {
+            this.clazz = clazz;
+            this.tupleClasses = tupleClasses;
+        }
+
+        private Signature createSignature(final Object input, final boolean isInput) {
+            if (null != tupleClasses) {
+                return new TupleSignature(input, clazz, tupleClasses, isInput);
+            }
+            return new SingletonSignature(input, clazz, isInput);
+        }
+    }
+
+    private static final class ResolvedTypesCache extends ClassValue<Map<Class<?>, ResolvedTypes>> {
+        @Override
+        protected Map<Class<?>, ResolvedTypes> computeValue(final Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    }
 }
 
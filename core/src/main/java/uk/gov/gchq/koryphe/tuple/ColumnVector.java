@@ -0,0 +1,103 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.koryphe.tuple;
+
+/**
+ * A <code>ColumnVector</code> holds the values of one field for each record in
+ * a {@link TupleBatch}. {@link LongColumnVector} and {@link DoubleColumnVector}
+ * hold primitive values with a bitmap marking which records have a value, and
+ * {@link ObjectColumnVector} holds any values.
+ */
+public abstract class ColumnVector {
+    /**
+     * @param value    the first value for the column
+     * @param capacity the number of records the column can hold
+     * @return a primitive column if the value is a {@link Long} or {@link Double},
+     * otherwise an object column
+     */
+    public static ColumnVector create(final Object value, final int capacity) {
+        if (value instanceof Long) {
+            return new LongColumnVector(capacity);
+        }
+        if (value instanceof Double) {
+            return new DoubleColumnVector(capacity);
+        }
+        return new ObjectColumnVector(capacity);
+    }
+
+    /**
+     * @return the number of records the column can hold
+     */
+    public abstract int getCapacity();
+
+    /**
+     * @param index the record index
+     * @return true if the record has no value
+     */
+    public abstract boolean isNull(int index);
+
+    /**
+     * @param index the record index
+     * @return the value, boxed if the column is primitive, or null
+     */
+    public abstract Object get(int index);
+
+    /**
+     * Sets the value of a record. Check the value is accepted with
+     * {@link #accepts(Object)} first.
+     *
+     * @param index the record index
+     * @param value the value, or null
+     * @throws IllegalArgumentException if the value is not accepted by this column
+     */
+    public abstract void set(int index, Object value);
+
+    /**
+     * @param value the value
+     * @return true if the value can be set in this column
+     */
+    public abstract boolean accepts(Object value);
+
+    /**
+     * Returns the values of the first <code>size</code> records as an array,
+     * so they can be passed to the batch functions and predicates. An
+     * {@link ObjectColumnVector} returns the array that backs it, so changes
+     * to the array change the column. Primitive columns return boxed copies,
+     * which are kept until the column is next changed.
+     *
+     * @param size the number of records
+     * @return the values, of at least <code>size</code> length
+     */
+    public abstract Object[] getValues(int size);
+
+    /**
+     * Clears the values of all records.
+     */
+    public abstract void clear();
+
+    /**
+     * @param size the number of records to copy
+     * @return an {@link ObjectColumnVector} holding the same values
+     */
+    public ObjectColumnVector toObjectColumn(final int size) {
+        final ObjectColumnVector column = new ObjectColumnVector(getCapacity());
+        for (int i = 0; i < size; i++) {
+            column.set(i, get(i));
+        }
+        return column;
+    }
+}
@@ -0,0 +1,331 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.koryphe.tuple;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * <p>
+ * A {@code CompiledReflectiveTuple} is a {@link ReflectiveTuple} that compiles
+ * each field reference into {@link MethodHandle}s the first time it is used
+ * against a class, rather than calling {@link Method#invoke(Object, Object...)}
+ * and {@link Field#get(Object)} on every call.
+ * </p>
+ * <p>
+ * Dotted references such as "a.b.c" are split once and the split path is cached,
+ * so nested gets and puts do not parse strings or create intermediate
+ * {@link ReflectiveTuple}s. The compiled accessors are cached per class and
+ * shared by all instances. The getter, 'is' getter, field fallback order and
+ * the errors thrown are the same as for {@link ReflectiveTuple}.
+ * </p>
+ */
+public class CompiledReflectiveTuple extends ReflectiveTuple {
+    /**
+     * The maximum number of split references to cache. Once this is reached
+     * further references are split on each call.
+     */
+    public static final int MAX_CACHED_PATHS = 10000;
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodType CHECK_TYPE = MethodType.methodType(void.class, Object.class);
+
+    private static final Map<String, Path> PATH_CACHE = new ConcurrentHashMap<>();
+    private static final AccessorCache ACCESSOR_CACHE = new AccessorCache();
+
+    /**
+     * @param record object to wrap
+     */
+    public CompiledReflectiveTuple(final Object record) {
+        super(record);
+    }
+
+    @Override
+    public Object get(final String reference) {
+        final Path path = getPath(reference);
+        if (!path.isCompilable()) {
+            return super.get(reference);
+        }
+
+        Object selection = getRecord();
+        final String[] parts = path.parts;
+        for (int i = 0; i < parts.length; i++) {
+            if (0 < i && selection instanceof Tuple) {
+                return ((Tuple<String>) selection).get(path.subReferences[i]);
+            }
+            selection = getAccessor(selection.getClass(), parts[i]).get(selection, parts[i]);
+        }
+        return selection;
+    }
+
+    @Override
+    public void put(final String reference, final Object value) {
+        final Path path = getPath(reference);
+        if (!path.isCompilable()) {
+            super.put(reference, value);
+            return;
+        }
+
+        Object selection = getRecord();
+        final String[] parts = path.parts;
+        final int last = parts.length - 1;
+        for (int i = 0; i < last; i++) {
+            if (0 < i && selection instanceof Tuple) {
+                ((Tuple<String>) selection).put(path.subReferences[i], value);
+                return;
+            }
+            selection = getAccessor(selection.getClass(), parts[i]).get(selection, parts[i]);
+        }
+
+        if (0 < last && selection instanceof Tuple) {
+            ((Tuple<String>) selection).put(parts[last], value);
+        } else {
+            getAccessor(selection.getClass(), parts[last]).put(selection, parts[last], value);
+        }
+    }
+
+    private Accessor getAccessor(final Class<?> itemClass, final String reference) {
+        final Map<String, Accessor> accessors = ACCESSOR_CACHE.get(itemClass);
+        Accessor accessor = accessors.get(reference);
+        if (isNull(accessor)) {
+            accessor = compile(itemClass, reference);
+            final Accessor existing = accessors.putIfAbsent(reference, accessor);
+            if (nonNull(existing)) {
+                accessor = existing;
+            }
+        }
+        return accessor;
+    }
+
+    private Accessor compile(final Class<?> itemClass, final String reference) {
+        final Method getMethod = getGetMethod(itemClass, reference);
+        final Method setMethod = getSetMethod(itemClass, getPrefixRef("set", reference));
+        final Field field = getField(itemClass, reference);
+
+        MethodHandle getter = null;
+        MethodHandle setter = null;
+        MethodHandle setterCheck = null;
+        MethodHandle fieldGetter = null;
+        MethodHandle fieldSetter = null;
+        MethodHandle fieldSetterCheck = null;
+        try {
+            if (nonNull(getMethod)) {
+                getter = LOOKUP.unreflect(getMethod).asType(GETTER_TYPE);
+            }
+        } catch (final IllegalAccessException ignored) {
+            // Not accessible - the field will be used instead
+        }
+        try {
+            if (nonNull(setMethod)) {
+                setter = LOOKUP.unreflect(setMethod).asType(SETTER_TYPE);
+                setterCheck = createCheck(setMethod.getParameterTypes()[0]);
+            }
+        } catch (final IllegalAccessException ignored) {
+            // Not accessible - the field will be used instead
+        }
+        try {
+            if (nonNull(field)) {
+                fieldGetter = LOOKUP.unreflectGetter(field).asType(GETTER_TYPE);
+            }
+        } catch (final IllegalAccessException ignored) {
+            // Not accessible
+        }
+        try {
+            if (nonNull(field)) {
+                fieldSetter = LOOKUP.unreflectSetter(field).asType(SETTER_TYPE);
+                fieldSetterCheck = createCheck(field.getType());
+            }
+        } catch (final IllegalAccessException ignored) {
+            // Not accessible, e.g. a final field
+        }
+
+        return new Accessor(getter, setMethod, setter, setterCheck, field, fieldGetter, fieldSetter, fieldSetterCheck);
+    }
+
+    /**
+     * Creates a handle that applies the same conversions to a value as
+     * {@link Method#invoke(Object, Object...)} and {@link Field#set(Object, Object)},
+     * so that an invalid value can be reported before the setter is called.
+     *
+     * @param type the parameter type
+     * @return a handle that throws a {@link ClassCastException} or
+     * {@link NullPointerException} if the value cannot be converted to the type
+     */
+    private static MethodHandle createCheck(final Class<?> type) {
+        return MethodHandles.identity(type).asType(CHECK_TYPE);
+    }
+
+    private static Path getPath(final String reference) {
+        requireNonNull(reference, "field reference is required");
+
+        Path path = PATH_CACHE.get(reference);
+        if (isNull(path)) {
+            path = new Path(reference);
+            if (PATH_CACHE.size() < MAX_CACHED_PATHS) {
+                final Path existing = PATH_CACHE.putIfAbsent(reference, path);
+                if (nonNull(existing)) {
+                    path = existing;
+                }
+            }
+        }
+        return path;
+    }
+
+    /**
+     * A reference split into its parts. References containing empty parts or
+     * the {@link Tuple#THIS} reference are not compiled so that they are
+     * handled, and any errors are reported, by the {@link ReflectiveTuple}.
+     */
+    private static final class Path {
+        private final String[] parts;
+        private final String[] subReferences;
+
+        private Path(final String reference) {
+            final String[] split = reference.split("\\.", -1);
+            boolean compilable = true;
+            for (final String part : split) {
+                if (part.isEmpty() || THIS.equals(part)) {
+                    compilable = false;
+                    break;
+                }
+            }
+
+            if (compilable) {
+                parts = split;
+                subReferences = new String[split.length];
+                int index = 0;
+                for (int i = 0; i < split.length; i++) {
+                    subReferences[i] = reference.substring(index);
+                    index += split[i].length() + 1;
+                }
+            } else {
+                parts = null;
+                subReferences = null;
+            }
+        }
+
+        private boolean isCompilable() {
+            return nonNull(parts);
+        }
+    }
+
+    /**
+     * The compiled handles for a single reference on a single class.
+     */
+    private static final class Accessor {
+        private final MethodHandle getter;
+        private final Method setMethod;
+        private final MethodHandle setter;
+        private final MethodHandle setterCheck;
+        private final Field field;
+        private final MethodHandle fieldGetter;
+        private final MethodHandle fieldSetter;
+        private final MethodHandle fieldSetterCheck;
+
+        private Accessor(final MethodHandle getter,
+                         final Method setMethod,
+                         final MethodHandle setter,
+                         final MethodHandle setterCheck,
+                         final Field field,
+                         final MethodHandle fieldGetter,
+                         final MethodHandle fieldSetter,
+                         final MethodHandle fieldSetterCheck) {
+            this.getter = getter;
+            this.setMethod = setMethod;
+            this.setter = setter;
+            this.setterCheck = setterCheck;
+            this.field = field;
+            this.fieldGetter = fieldGetter;
+            this.fieldSetter = fieldSetter;
+            this.fieldSetterCheck = fieldSetterCheck;
+        }
+
+        private Object get(final Object item, final String reference) {
+            if (nonNull(getter)) {
+                try {
+                    //invoked value can be null
+                    return (Object) getter.invokeExact(item);
+                } catch (final Throwable ignored) {
+                    // As with Method.invoke failing, fall back to the field
+                }
+            }
+
+            if (nonNull(fieldGetter)) {
+                try {
+                    //invoked value can be null
+                    return (Object) fieldGetter.invokeExact(item);
+                } catch (final Throwable e) {
+                    throw new IllegalStateException("Unable to get field " + field.getName(), e);
+                }
+            }
+
+            throw new RuntimeException(String.format(SELECTION_S_DOES_NOT_EXIST, reference));
+        }
+
+        private void put(final Object item, final String reference, final Object value) {
+            if (nonNull(setter)) {
+                check(setterCheck, value, "method", setMethod.getName(), Arrays.asList(setMethod.getParameterTypes()));
+                try {
+                    setter.invokeExact(item, value);
+                    return;
+                } catch (final Throwable ignored) {
+                    // As with Method.invoke failing, fall back to the field
+                }
+            }
+
+            if (nonNull(fieldSetter)) {
+                check(fieldSetterCheck, value, "field", field.getName(), field.getType());
+                try {
+                    fieldSetter.invokeExact(item, value);
+                    return;
+                } catch (final Throwable e) {
+                    throw new IllegalStateException("Unable to set field " + field.getName(), e);
+                }
+            }
+
+            throw new RuntimeException(String.format(SELECTION_S_DOES_NOT_EXIST, reference));
+        }
+
+        private static void check(final MethodHandle check, final Object value, final String memberType, final String name, final Object type) {
+            try {
+                check.invokeExact(value);
+            } catch (final ClassCastException | NullPointerException e) {
+                throw new IllegalArgumentException(String.format(ERROR_WRONG_PARAM, memberType, name, type, null == value ? null : value.getClass().getSimpleName()), e);
+            } catch (final Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private static final class AccessorCache extends ClassValue<Map<String, Accessor>> {
+        @Override
+        protected Map<String, Accessor> computeValue(final Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    }
+}
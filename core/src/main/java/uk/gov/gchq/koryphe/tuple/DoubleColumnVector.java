@@ -0,0 +1,72 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.koryphe.tuple;
+
+/**
+ * A <code>DoubleColumnVector</code> is a {@link ColumnVector} that holds
+ * primitive double values. It accepts {@link Double} values and nulls.
+ */
+public class DoubleColumnVector extends PrimitiveColumnVector {
+    private final double[] values;
+
+    /**
+     * @param capacity the number of records the column can hold
+     */
+    public DoubleColumnVector(final int capacity) {
+        super(capacity);
+        this.values = new double[capacity];
+    }
+
+    /**
+     * @param index the record index
+     * @return the value, which is 0 if the record has no value
+     */
+    public double getDouble(final int index) {
+        return values[index];
+    }
+
+    /**
+     * @param index the record index
+     * @param value the value
+     */
+    public void setDouble(final int index, final double value) {
+        values[index] = value;
+        setPresent(index);
+    }
+
+    @Override
+    public void set(final int index, final Object value) {
+        if (null == value) {
+            values[index] = 0;
+            setNull(index);
+        } else if (value instanceof Double) {
+            setDouble(index, (Double) value);
+        } else {
+            throw new IllegalArgumentException("A double column cannot hold a " + value.getClass().getName());
+        }
+    }
+
+    @Override
+    public boolean accepts(final Object value) {
+        return null == value || value instanceof Double;
+    }
+
+    @Override
+    protected Object box(final int index) {
+        return values[index];
+    }
+}
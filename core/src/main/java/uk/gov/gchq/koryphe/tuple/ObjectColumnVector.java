@@ -0,0 +1,87 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.koryphe.tuple;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import java.util.Arrays;
+
+/**
+ * An <code>ObjectColumnVector</code> is a {@link ColumnVector} that holds any
+ * values in an array.
+ */
+public class ObjectColumnVector extends ColumnVector {
+    private final Object[] values;
+
+    /**
+     * @param capacity the number of records the column can hold
+     */
+    public ObjectColumnVector(final int capacity) {
+        this.values = new Object[capacity];
+    }
+
+    /**
+     * Create a column backed by the given array.
+     *
+     * @param values the array of values
+     */
+    @SuppressFBWarnings(value = "EI_EXPOSE_REP2", justification = "The column is designed to wrap an array of batch outputs without copying.")
+    public ObjectColumnVector(final Object[] values) {
+        this.values = values;
+    }
+
+    @Override
+    public int getCapacity() {
+        return values.length;
+    }
+
+    @Override
+    public boolean isNull(final int index) {
+        return null == values[index];
+    }
+
+    @Override
+    public Object get(final int index) {
+        return values[index];
+    }
+
+    @Override
+    public void set(final int index, final Object value) {
+        values[index] = value;
+    }
+
+    @Override
+    public boolean accepts(final Object value) {
+        return true;
+    }
+
+    @SuppressFBWarnings(value = "EI_EXPOSE_REP", justification = "The backing array is returned so batch functions can read and write it without copying.")
+    @Override
+    public Object[] getValues(final int size) {
+        return values;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(values, null);
+    }
+
+    @Override
+    public ObjectColumnVector toObjectColumn(final int size) {
+        return this;
+    }
+}
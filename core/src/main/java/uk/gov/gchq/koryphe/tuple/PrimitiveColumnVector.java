@@ -0,0 +1,87 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.koryphe.tuple;
+
+import java.util.Arrays;
+
+/**
+ * The base of the primitive {@link ColumnVector}s. It keeps a bitmap of the
+ * records that hold a value and the boxed values returned by
+ * {@link #getValues(int)} until the column is next changed.
+ */
+abstract class PrimitiveColumnVector extends ColumnVector {
+    private final int capacity;
+    private final long[] present;
+    private Object[] boxed;
+    private int boxedSize = -1;
+
+    PrimitiveColumnVector(final int capacity) {
+        this.capacity = capacity;
+        this.present = new long[(capacity + 63) >>> 6];
+    }
+
+    @Override
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public boolean isNull(final int index) {
+        return 0 == (present[index >>> 6] & (1L << index));
+    }
+
+    @Override
+    public Object get(final int index) {
+        return isNull(index) ? null : box(index);
+    }
+
+    @Override
+    public Object[] getValues(final int size) {
+        if (size > boxedSize) {
+            if (null == boxed) {
+                boxed = new Object[capacity];
+            }
+            for (int i = 0; i < size; i++) {
+                boxed[i] = get(i);
+            }
+            boxedSize = size;
+        }
+        return boxed;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(present, 0L);
+        changed();
+    }
+
+    protected void setNull(final int index) {
+        present[index >>> 6] &= ~(1L << index);
+        changed();
+    }
+
+    protected void setPresent(final int index) {
+        present[index >>> 6] |= 1L << index;
+        changed();
+    }
+
+    protected abstract Object box(int index);
+
+    private void changed() {
+        boxedSize = -1;
+    }
+}
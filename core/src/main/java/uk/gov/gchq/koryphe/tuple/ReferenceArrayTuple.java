@@ -27,12 +27,57 @@ import java.util.Iterator;
 
 public class ReferenceArrayTuple<R> extends Tuple5 {
     private final R[] fields;
-    private final Tuple<R> tuple;
+    private final boolean reusable;
+    private Tuple<R> tuple;
 
-    @SuppressFBWarnings(value = "EI_EXPOSE_REP2", justification = "Cloning the array would be expensive - we will have to reply on users not modifying the array")
     public ReferenceArrayTuple(final Tuple<R> tuple, final R[] fields) {
+        this(tuple, fields, false);
+    }
+
+    /**
+     * Create a <code>ReferenceArrayTuple</code> that may be re-pointed at a
+     * different tuple using {@link #setTuple(Tuple)}.
+     *
+     * @param tuple    the tuple to reference
+     * @param fields   the field references
+     * @param reusable true if this instance is a reusable view
+     */
+    @SuppressFBWarnings(value = "EI_EXPOSE_REP2", justification = "Cloning the array would be expensive - we will have to reply on users not modifying the array")
+    ReferenceArrayTuple(final Tuple<R> tuple, final R[] fields, final boolean reusable) {
         this.tuple = tuple;
         this.fields = fields;
+        this.reusable = reusable;
+    }
+
+    /**
+     * Re-points a reusable view at a different tuple.
+     *
+     * @param tuple the tuple to reference
+     */
+    void setTuple(final Tuple<R> tuple) {
+        if (!reusable) {
+            throw new IllegalStateException("Only reusable views can be re-pointed at a different tuple");
+        }
+        this.tuple = tuple;
+    }
+
+    Tuple<R> getTuple() {
+        return tuple;
+    }
+
+    boolean isReusable() {
+        return reusable;
+    }
+
+    /**
+     * @return a new, non reusable, <code>ReferenceArrayTuple</code> referencing the same tuple and fields.
+     */
+    ReferenceArrayTuple<R> detach() {
+        return new ReferenceArrayTuple<>(tuple, fields);
+    }
+
+    int size() {
+        return fields.length;
     }
 
     @Override
@@ -23,9 +23,9 @@ import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
@@ -39,7 +39,9 @@ import static java.util.Objects.requireNonNull;
  * </p>
  * <p>
  * Reflection is expensive and this class should only be used for testing,
- * at small scales or as a temporary solution.
+ * at small scales or as a temporary solution. The resolved fields and methods,
+ * including references that do not exist, are cached in thread safe caches
+ * shared by all instances.
  * </p>
  */
 public class ReflectiveTuple implements Tuple<String> {
@@ -105,15 +107,7 @@ public class ReflectiveTuple implements Tuple<String> {
                 selection = selectionAsTuple.get(subReference);
             }
         } else {
-            try {
-                selection = invokeMethodGet(record, reference);
-            } catch (final IllegalAccessException | NoSuchMethodException | InvocationTargetException ignored) {
-                try {
-                    selection = invokeFieldGet(record, reference);
-                } catch (final IllegalAccessException | NoSuchFieldException ignore) {
-                    throw new RuntimeException(String.format(SELECTION_S_DOES_NOT_EXIST, reference));
-                }
-            }
+            selection = invokeGet(record, reference);
         }
         return selection;
     }
@@ -136,15 +130,7 @@ public class ReflectiveTuple implements Tuple<String> {
             final String subReference = reference.substring(index + 1, reference.length());
             selectionAsTuple.put(subReference, value);
         } else {
-            try {
-                invokeMethodPut(record, reference, value);
-            } catch (final IllegalAccessException | NoSuchMethodException | InvocationTargetException ignored) {
-                try {
-                    invokeFieldPut(record, reference, value);
-                } catch (final IllegalAccessException | NoSuchFieldException ignore) {
-                    throw new RuntimeException(String.format(SELECTION_S_DOES_NOT_EXIST, reference));
-                }
-            }
+            invokePut(record, reference, value);
         }
     }
 
@@ -153,65 +139,96 @@ public class ReflectiveTuple implements Tuple<String> {
         throw new UnsupportedOperationException("This " + getClass().getSimpleName() + " does not support listing all values.");
     }
 
-    private Object invokeFieldGet(final Object item, final String reference) throws IllegalAccessException, NoSuchFieldException {
-        //invoked value can be null
-        return getField(item.getClass(), reference).get(item);
-    }
+    private Object invokeGet(final Object item, final String reference) {
+        final Class<?> itemClass = item.getClass();
+        final Method method = getGetMethod(itemClass, reference);
+        if (nonNull(method)) {
+            try {
+                //invoked value can be null
+                return method.invoke(item);
+            } catch (final IllegalAccessException | InvocationTargetException ignored) {
+                // fall back to the field
+            }
+        }
 
-    private Object invokeMethodGet(final Object item, final String reference) throws NoSuchMethodException, InvocationTargetException, IllegalAccessException {
-        Method method;
-        try {
-            method = getGetMethod(item.getClass(), getPrefixRef("get", reference));
-        } catch (final Exception e) {
-            // ignore
-            method = getGetMethod(item.getClass(), getPrefixRef("is", reference));
+        final Field field = getField(itemClass, reference);
+        if (nonNull(field)) {
+            try {
+                //invoked value can be null
+                return field.get(item);
+            } catch (final IllegalAccessException ignored) {
+                // fall through to the error below
+            }
         }
 
-        //invoked value can be null
-        return method.invoke(item);
+        throw new RuntimeException(String.format(SELECTION_S_DOES_NOT_EXIST, reference));
     }
 
-    private void invokeFieldPut(final Object item, final String reference, final Object value) throws IllegalAccessException, NoSuchFieldException {
-        final Field field = getField(item.getClass(), reference);
-        try {
-            field.set(item, value);
-        } catch (final IllegalArgumentException e) {
-            throw new IllegalArgumentException(String.format(ERROR_WRONG_PARAM, "field", field.getName(), field.getType(), value.getClass().getSimpleName()));
+    private void invokePut(final Object item, final String reference, final Object value) {
+        final Class<?> itemClass = item.getClass();
+        final Method method = getSetMethod(itemClass, getPrefixRef("set", reference));
+        if (nonNull(method)) {
+            try {
+                method.invoke(item, value);
+                return;
+            } catch (final IllegalArgumentException e) {
+                throw new IllegalArgumentException(String.format(ERROR_WRONG_PARAM, "method", method.getName(), Arrays.asList(method.getParameterTypes()), value.getClass().getSimpleName()));
+            } catch (final IllegalAccessException | InvocationTargetException ignored) {
+                // fall back to the field
+            }
         }
-    }
 
-    private void invokeMethodPut(final Object item, final String reference, final Object value) throws NoSuchMethodException, InvocationTargetException, IllegalAccessException {
-        final Method method = getSetMethod(item.getClass(), getPrefixRef("set", reference));
-        try {
-            method.invoke(item, value);
-        } catch (final IllegalArgumentException e) {
-            throw new IllegalArgumentException(String.format(ERROR_WRONG_PARAM, "method", method.getName(), Arrays.asList(method.getParameterTypes()), value.getClass().getSimpleName()));
+        final Field field = getField(itemClass, reference);
+        if (nonNull(field)) {
+            try {
+                field.set(item, value);
+                return;
+            } catch (final IllegalArgumentException e) {
+                throw new IllegalArgumentException(String.format(ERROR_WRONG_PARAM, "field", field.getName(), field.getType(), value.getClass().getSimpleName()));
+            } catch (final IllegalAccessException ignored) {
+                // fall through to the error below
+            }
         }
+
+        throw new RuntimeException(String.format(SELECTION_S_DOES_NOT_EXIST, reference));
     }
 
-    private Field getField(final Class<?> aClass, final String reference) throws NoSuchFieldException {
+    Field getField(final Class<?> aClass, final String reference) {
         Field rtn = fieldCache.get(aClass, reference);
-        if (isNull(rtn)) {
-            rtn = aClass.getField(reference);
-            this.fieldCache.put(aClass, reference, rtn);
+        if (isNull(rtn) && !fieldCache.isMissing(aClass, reference)) {
+            try {
+                rtn = aClass.getField(reference);
+                fieldCache.put(aClass, reference, rtn);
+            } catch (final NoSuchFieldException e) {
+                fieldCache.putMissing(aClass, reference);
+            }
         }
 
         return rtn;
     }
 
-    private Method getGetMethod(final Class<?> aClass, final String reference) throws NoSuchMethodException {
+    Method getGetMethod(final Class<?> aClass, final String reference) {
+        final Method rtn = getNoArgMethod(aClass, getPrefixRef("get", reference));
+        return nonNull(rtn) ? rtn : getNoArgMethod(aClass, getPrefixRef("is", reference));
+    }
+
+    private Method getNoArgMethod(final Class<?> aClass, final String reference) {
         Method rtn = methodCache.get(aClass, reference);
-        if (isNull(rtn)) {
-            rtn = aClass.getMethod(reference);
-            this.methodCache.put(aClass, reference, rtn);
+        if (isNull(rtn) && !methodCache.isMissing(aClass, reference)) {
+            try {
+                rtn = aClass.getMethod(reference);
+                methodCache.put(aClass, reference, rtn);
+            } catch (final NoSuchMethodException e) {
+                methodCache.putMissing(aClass, reference);
+            }
         }
 
         return rtn;
     }
 
-    private Method getSetMethod(final Class<?> aClass, final String reference) throws NoSuchMethodException {
+    Method getSetMethod(final Class<?> aClass, final String reference) {
         Method rtn = methodCache.get(aClass, reference);
-        if (isNull(rtn)) {
+        if (isNull(rtn) && !methodCache.isMissing(aClass, reference)) {
             for (final Method method : aClass.getMethods()) {
                 if (method.getName().equals(reference) && 1 == method.getParameterCount()) {
                     rtn = method;
@@ -219,41 +236,87 @@ public class ReflectiveTuple implements Tuple<String> {
                 }
             }
             if (isNull(rtn)) {
-                throw new NoSuchMethodException("No public setter " + reference + " in class " + aClass.getName());
+                methodCache.putMissing(aClass, reference);
+            } else {
+                methodCache.put(aClass, reference, rtn);
             }
-            this.methodCache.put(aClass, reference, rtn);
         }
 
         return rtn;
     }
 
-    private String getPrefixRef(final String prefix, final String reference) {
+    static String getPrefixRef(final String prefix, final String reference) {
         final boolean startsWithPrefix = reference.toLowerCase(Locale.getDefault()).startsWith(prefix);
         return startsWithPrefix ? reference : prefix + Character.toUpperCase(reference.charAt(0)) + reference.substring(1);
     }
 
+    /**
+     * A thread safe cache of the {@link AccessibleObject}s resolved for each
+     * class and reference.
+     * <p>
+     * Entries are held against the class using a {@link ClassValue}, so they
+     * are released when the class is unloaded, and reads do not lock.
+     * References that could not be resolved can be recorded with
+     * {@link #putMissing(Class, String)} so that repeated lookups of the same
+     * reference do not need to repeat the reflective search. Missing references
+     * are only recorded while fewer than {@link #MAX_MISSING_REFERENCES} entries
+     * are cached for the class, to bound the memory used by arbitrary references.
+     * </p>
+     *
+     * @param <T> the type of {@link AccessibleObject} to cache
+     */
     public static class Cache<T extends AccessibleObject> {
-        private final Map<Class, Map<String, T>> cache = new HashMap<>();
+        public static final int MAX_MISSING_REFERENCES = 1000;
+
+        private static final Object MISSING = new Object();
+
+        private final ReferenceCache cache = new ReferenceCache();
 
         public T get(final Class<?> itemClass, final String reference) {
             requireNonNull(itemClass);
             requireNonNull(reference);
 
-            T rtn = null;
-            final Map<String, T> map = cache.get(itemClass);
-            if (nonNull(map)) {
-                rtn = map.get(reference);
-            }
-            return rtn;
+            final Object rtn = cache.get(itemClass).get(reference);
+            return MISSING == rtn ? null : (T) rtn;
         }
 
         public T put(final Class<?> itemClass, final String reference, final T accessibleObject) {
-            Map<String, T> accessibleObjectMap = cache.get(itemClass);
-            if (isNull(accessibleObjectMap)) {
-                accessibleObjectMap = new HashMap<>();
-                cache.put(itemClass, accessibleObjectMap);
+            requireNonNull(accessibleObject);
+
+            final Object previous = cache.get(itemClass).put(reference, accessibleObject);
+            return MISSING == previous ? null : (T) previous;
+        }
+
+        /**
+         * @param itemClass the class the reference was resolved against.
+         * @param reference the reference.
+         * @return true if the reference has been recorded as missing for the class.
+         */
+        public boolean isMissing(final Class<?> itemClass, final String reference) {
+            requireNonNull(itemClass);
+            requireNonNull(reference);
+
+            return MISSING == cache.get(itemClass).get(reference);
+        }
+
+        /**
+         * Records that the reference does not exist for the given class.
+         *
+         * @param itemClass the class the reference was resolved against.
+         * @param reference the reference that could not be resolved.
+         */
+        public void putMissing(final Class<?> itemClass, final String reference) {
+            final Map<String, Object> references = cache.get(itemClass);
+            if (references.size() < MAX_MISSING_REFERENCES) {
+                references.putIfAbsent(reference, MISSING);
             }
-            return accessibleObjectMap.put(reference, accessibleObject);
+        }
+    }
+
+    private static final class ReferenceCache extends ClassValue<Map<String, Object>> {
+        @Override
+        protected Map<String, Object> computeValue(final Class<?> type) {
+            return new ConcurrentHashMap<>();
         }
     }
 
@@ -0,0 +1,275 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.koryphe.tuple;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A <code>TupleBatch</code> holds a batch of records as one {@link ColumnVector}
+ * per field, rather than as a {@link Tuple} per record, so the values of a
+ * field are held together and can be processed a column at a time.
+ * <p>
+ * The column for a field is created when the first value is added for it:
+ * a {@link LongColumnVector} or {@link DoubleColumnVector} for {@link Long}
+ * and {@link Double} values, otherwise an {@link ObjectColumnVector}. A
+ * primitive column is replaced by an object column if a value of a different
+ * type is added later.
+ * <p>
+ * A {@link Row} is a {@link Tuple} view of one record, for functions that
+ * cannot process a column at a time. A row reads and writes the columns
+ * directly, and can be moved from record to record.
+ * <p>
+ * A batch is not thread safe.
+ *
+ * @param <R> The type of reference used by tuples.
+ */
+public class TupleBatch<R> {
+    private final int capacity;
+    private final Map<R, ColumnVector> columns = new LinkedHashMap<>();
+    private int size;
+
+    /**
+     * @param capacity the number of records the batch can hold
+     */
+    public TupleBatch(final int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity must not be negative: " + capacity);
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Adds the values of the given fields of a tuple as the next record.
+     *
+     * @param tuple  the tuple
+     * @param fields the fields to add
+     * @return the index of the record
+     * @throws IllegalStateException if the batch is full
+     */
+    public int add(final Tuple<R> tuple, final R[] fields) {
+        final int index = addRow();
+        for (final R field : fields) {
+            put(field, index, tuple.get(field));
+        }
+        return index;
+    }
+
+    /**
+     * Adds an empty record, whose values can then be set with
+     * {@link #put(Object, int, Object)} or a {@link Row}.
+     *
+     * @return the index of the record
+     * @throws IllegalStateException if the batch is full
+     */
+    public int addRow() {
+        if (size == capacity) {
+            throw new IllegalStateException("The batch is full, it has a capacity of " + capacity);
+        }
+        return size++;
+    }
+
+    /**
+     * @param field the field
+     * @param index the record index
+     * @return the value of the field for the record, or null
+     */
+    public Object get(final R field, final int index) {
+        final ColumnVector column = columns.get(field);
+        return null == column ? null : column.get(index);
+    }
+
+    /**
+     * Sets the value of a field for a record, creating or widening the column
+     * for the field if needed.
+     *
+     * @param field the field
+     * @param index the record index
+     * @param value the value
+     */
+    public void put(final R field, final int index, final Object value) {
+        ColumnVector column = columns.get(field);
+        if (null == column) {
+            if (null == value) {
+                return;
+            }
+            column = ColumnVector.create(value, capacity);
+            columns.put(field, column);
+        } else if (!column.accepts(value)) {
+            column = column.toObjectColumn(size);
+            columns.put(field, column);
+        }
+        column.set(index, value);
+    }
+
+    /**
+     * @param field the field
+     * @return the column for the field, or null if no values have been added for it
+     */
+    public ColumnVector getColumn(final R field) {
+        return columns.get(field);
+    }
+
+    /**
+     * Replaces the column for a field.
+     *
+     * @param field  the field
+     * @param column the column, which must have the same capacity as the batch
+     */
+    public void setColumn(final R field, final ColumnVector column) {
+        if (column.getCapacity() < capacity) {
+            throw new IllegalArgumentException("The column capacity " + column.getCapacity()
+                    + " is less than the batch capacity " + capacity);
+        }
+        columns.put(field, column);
+    }
+
+    /**
+     * Returns the values of a field for all the records in the batch, see
+     * {@link ColumnVector#getValues(int)}.
+     *
+     * @param field the field
+     * @return the values, of at least {@link #size()} length
+     */
+    public Object[] getValues(final R field) {
+        final ColumnVector column = columns.get(field);
+        return null == column ? new Object[size] : column.getValues(size);
+    }
+
+    /**
+     * @return the fields that have columns
+     */
+    public Set<R> getFields() {
+        return Collections.unmodifiableSet(columns.keySet());
+    }
+
+    /**
+     * @return the number of records in the batch
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the number of records the batch can hold
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return true if no more records can be added
+     */
+    public boolean isFull() {
+        return size == capacity;
+    }
+
+    /**
+     * Removes all the records, keeping the columns so the batch can be reused.
+     */
+    public void clear() {
+        for (final ColumnVector column : columns.values()) {
+            column.clear();
+        }
+        size = 0;
+    }
+
+    /**
+     * @return a new {@link Row} positioned at the first record
+     */
+    public Row<R> row() {
+        return new Row<>(this);
+    }
+
+    /**
+     * Copies the values of a record into a new {@link MapTuple}.
+     *
+     * @param index the record index
+     * @return the tuple
+     */
+    public MapTuple<R> toTuple(final int index) {
+        final MapTuple<R> tuple = new MapTuple<>(new LinkedHashMap<>());
+        for (final Map.Entry<R, ColumnVector> entry : columns.entrySet()) {
+            tuple.put(entry.getKey(), entry.getValue().get(index));
+        }
+        return tuple;
+    }
+
+    /**
+     * A <code>Row</code> is a {@link Tuple} view of one record in a
+     * {@link TupleBatch}. Values put into the row are set in the batch.
+     *
+     * @param <R> The type of reference used by tuples.
+     */
+    public static class Row<R> implements Tuple<R> {
+        private final TupleBatch<R> batch;
+        private int index;
+
+        Row(final TupleBatch<R> batch) {
+            this.batch = batch;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * Moves the view to another record.
+         *
+         * @param index the record index
+         */
+        public void setIndex(final int index) {
+            this.index = index;
+        }
+
+        @Override
+        public void put(final R reference, final Object value) {
+            batch.put(reference, index, value);
+        }
+
+        @Override
+        public Object get(final R reference) {
+            if (THIS.equals(reference)) {
+                return this;
+            }
+            return batch.get(reference, index);
+        }
+
+        @Override
+        public Iterable<Object> values() {
+            final List<Object> values = new ArrayList<>(batch.columns.size());
+            for (final ColumnVector column : batch.columns.values()) {
+                values.add(column.get(index));
+            }
+            return values;
+        }
+
+        @Override
+        public String toString() {
+            return new ToStringBuilder(this)
+                    .append("index", index)
+                    .append("values", batch.toTuple(index).getValues())
+                    .build();
+        }
+    }
+}
@@ -16,6 +16,8 @@
 
 package uk.gov.gchq.koryphe.tuple;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
@@ -27,13 +29,26 @@ import uk.gov.gchq.koryphe.function.KorypheFunction;
 import java.util.Arrays;
 
 /**
+ * A <code>TupleInputAdapter</code> selects fields from a {@link Tuple}. A single
+ * selection returns the referenced value, otherwise a {@link ReferenceArrayTuple}
+ * view over the selected fields is returned.
+ * <p>
+ * When compiled plans are enabled on an adapter, see
+ * {@link #setUseCompiledPlans(boolean)}, its multi-field selections reuse a per
+ * thread view rather than allocating a new one for each record. A view is only
+ * valid until the adapter has been applied twice more on the same thread, or
+ * until {@link #clearViews()} is called, so this should only be enabled when the
+ * adapted functions do not keep hold of their inputs.
+ *
  * @param <R>  The type of reference used by tuples.
  * @param <FI> The adapted input type.
  */
 @Since("1.0.0")
 @Summary("Extracts items from a tuple")
 public class TupleInputAdapter<R, FI> extends KorypheFunction<Tuple<R>, FI> {
+    private final ThreadLocal<SelectionViews<R>> views = new ThreadLocal<>();
     private R[] selection;
+    private boolean useCompiledPlans;
 
     /**
      * Create a new <code>TupleMask</code>.
@@ -63,9 +78,59 @@ public class TupleInputAdapter<R, FI> extends KorypheFunction<Tuple<R>, FI> {
             }
         }
 
+        if (useCompiledPlans) {
+            return (FI) getView(input);
+        }
+
         return (FI) new ReferenceArrayTuple<>(input, selection);
     }
 
+    /**
+     * @return true if multi-field selections reuse a per thread view.
+     */
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    public boolean isUseCompiledPlans() {
+        return useCompiledPlans;
+    }
+
+    /**
+     * @param useCompiledPlans if true then multi-field selections reuse a per thread view.
+     */
+    public void setUseCompiledPlans(final boolean useCompiledPlans) {
+        this.useCompiledPlans = useCompiledPlans;
+    }
+
+    /**
+     * @return true if the result of each call to apply is only valid until
+     * the next calls, so results for a whole batch cannot be held at once.
+     */
+    @JsonIgnore
+    public boolean isReusingViews() {
+        return useCompiledPlans && selection.length > 1;
+    }
+
+    /**
+     * Clears the references the views of the current thread hold to the last
+     * records selected, so the records are not kept reachable once the adapted
+     * function has finished with them. Views returned earlier on this thread no
+     * longer reference any record.
+     */
+    public void clearViews() {
+        final SelectionViews<R> selectionViews = views.get();
+        if (null != selectionViews) {
+            selectionViews.clear();
+        }
+    }
+
+    private ReferenceArrayTuple<R> getView(final Tuple<R> input) {
+        SelectionViews<R> selectionViews = views.get();
+        if (null == selectionViews || selectionViews.selection != selection) {
+            selectionViews = new SelectionViews<>(selection);
+            views.set(selectionViews);
+        }
+        return selectionViews.next(input);
+    }
+
     /**
      * @return Field references.
      */
@@ -100,6 +165,7 @@ public class TupleInputAdapter<R, FI> extends KorypheFunction<Tuple<R>, FI> {
         final TupleInputAdapter that = (TupleInputAdapter) o;
         return new EqualsBuilder()
                 .append(selection, that.selection)
+                .append(useCompiledPlans, that.useCompiledPlans)
                 .isEquals();
     }
 
@@ -108,6 +174,36 @@ public class TupleInputAdapter<R, FI> extends KorypheFunction<Tuple<R>, FI> {
         return new HashCodeBuilder(43, 67)
                 .appendSuper(super.hashCode())
                 .append(selection)
+                .append(useCompiledPlans)
                 .toHashCode();
     }
+
+    /**
+     * Two views are kept so that both the state and the input of a
+     * {@link java.util.function.BinaryOperator} can be selected at once.
+     */
+    private static final class SelectionViews<R> {
+        private final R[] selection;
+        private final ReferenceArrayTuple<R> first;
+        private final ReferenceArrayTuple<R> second;
+        private boolean useSecond;
+
+        private SelectionViews(final R[] selection) {
+            this.selection = selection;
+            this.first = new ReferenceArrayTuple<>(null, selection, true);
+            this.second = new ReferenceArrayTuple<>(null, selection, true);
+        }
+
+        private ReferenceArrayTuple<R> next(final Tuple<R> tuple) {
+            final ReferenceArrayTuple<R> view = useSecond ? second : first;
+            useSecond = !useSecond;
+            view.setTuple(tuple);
+            return view;
+        }
+
+        private void clear() {
+            first.setTuple(null);
+            second.setTuple(null);
+        }
+    }
 }
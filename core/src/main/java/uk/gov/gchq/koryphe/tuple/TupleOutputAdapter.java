@@ -25,6 +25,8 @@ import uk.gov.gchq.koryphe.Since;
 import uk.gov.gchq.koryphe.Summary;
 
 import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
 import java.util.function.BiFunction;
 
 /**
@@ -61,7 +63,19 @@ public class TupleOutputAdapter<R, FO> implements BiFunction<Tuple<R>, FO, Tuple
 
         if (null != state) {
             if (1 == projection.length) {
-                state.put(projection[0], output);
+                if (output instanceof ReferenceArrayTuple && ((ReferenceArrayTuple) output).isReusable()) {
+                    state.put(projection[0], ((ReferenceArrayTuple) output).detach());
+                } else {
+                    state.put(projection[0], output);
+                }
+            } else if (output instanceof ReferenceArrayTuple) {
+                projectReferences(state, (ReferenceArrayTuple) output);
+            } else if (output instanceof RandomAccess && output instanceof List) {
+                final List<?> values = (List<?>) output;
+                final int size = values.size();
+                for (int i = 0; i < size; i++) {
+                    state.put(projection[i], values.get(i));
+                }
             } else {
                 int i = 0;
                 for (final Object obj : (Iterable) output) {
@@ -73,6 +87,31 @@ public class TupleOutputAdapter<R, FO> implements BiFunction<Tuple<R>, FO, Tuple
         return state;
     }
 
+    /**
+     * Projects the values of a view by index. The values are only copied
+     * first if the view reads from the tuple being written to, as the
+     * projection could then overwrite values before they are read.
+     *
+     * @param state  the tuple to project into
+     * @param output the view to project
+     */
+    private void projectReferences(final Tuple<R> state, final ReferenceArrayTuple output) {
+        final int size = output.size();
+        if (output.getTuple() == state) {
+            final Object[] values = new Object[size];
+            for (int i = 0; i < size; i++) {
+                values[i] = output.get(i);
+            }
+            for (int i = 0; i < size; i++) {
+                state.put(projection[i], values[i]);
+            }
+        } else {
+            for (int i = 0; i < size; i++) {
+                state.put(projection[i], output.get(i));
+            }
+        }
+    }
+
     /**
      * Set this <code>TupleMask</code> to refer to a tuple of field references.
      *
@@ -17,12 +17,15 @@
 package uk.gov.gchq.koryphe.tuple.binaryoperator;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 
 import uk.gov.gchq.koryphe.Since;
 import uk.gov.gchq.koryphe.Summary;
 import uk.gov.gchq.koryphe.binaryoperator.AdaptedBinaryOperator;
+import uk.gov.gchq.koryphe.binaryoperator.BatchBinaryOperator;
 import uk.gov.gchq.koryphe.tuple.Tuple;
+import uk.gov.gchq.koryphe.tuple.TupleBatch;
 import uk.gov.gchq.koryphe.tuple.TupleInputAdapter;
 import uk.gov.gchq.koryphe.tuple.TupleOutputAdapter;
 
@@ -64,6 +67,102 @@ public class TupleAdaptedBinaryOperator<R, OT> extends AdaptedBinaryOperator<Tup
         getOutputAdapter().setProjection(selection);
     }
 
+    @Override
+    public Tuple<R> apply(final Tuple<R> state, final Tuple<R> input) {
+        if (!(inputAdapter instanceof TupleInputAdapter && getInputAdapter().isReusingViews())) {
+            return super.apply(state, input);
+        }
+
+        try {
+            return super.apply(state, input);
+        } finally {
+            getInputAdapter().clearViews();
+        }
+    }
+
+    /**
+     * @return true if multi-field selections reuse a per thread view, see
+     * {@link TupleInputAdapter#setUseCompiledPlans(boolean)}.
+     */
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    public boolean isUseCompiledPlans() {
+        return getInputAdapter().isUseCompiledPlans();
+    }
+
+    public void setUseCompiledPlans(final boolean useCompiledPlans) {
+        getInputAdapter().setUseCompiledPlans(useCompiledPlans);
+    }
+
+    /**
+     * For a single field selection the selected values of the whole batch are
+     * folded with the binary operator as a batch, and the result is projected
+     * into the state once. Otherwise each input is folded in turn.
+     *
+     * @param state  the state tuple
+     * @param inputs the input tuples
+     * @param size   the number of input tuples
+     * @return the state tuple
+     */
+    @Override
+    public Tuple<R> reduceBatch(final Tuple<R> state, final Object[] inputs, final int size) {
+        if (null == state || null == binaryOperator
+                || !(inputAdapter instanceof TupleInputAdapter)
+                || !(outputAdapter instanceof TupleOutputAdapter)
+                || 1 != getSelection().length
+                || contains(inputs, size, state)) {
+            return super.reduceBatch(state, inputs, size);
+        }
+
+        final Object[] selected = new Object[size];
+        for (int i = 0; i < size; i++) {
+            selected[i] = adaptInput((Tuple<R>) inputs[i]);
+        }
+        final OT result = BatchBinaryOperator.reduceBatch(binaryOperator, adaptInput(state), selected, size);
+        return adaptOutput(result, state);
+    }
+
+    /**
+     * Folds every record in a {@link TupleBatch} into the state. For a single
+     * field selection the column of values is folded with the binary operator
+     * as a batch, and the result is projected into the state once. Otherwise
+     * a {@link TupleBatch.Row} view of each record is folded in turn.
+     *
+     * @param state the state tuple
+     * @param batch the batch
+     * @return the state tuple
+     */
+    public Tuple<R> reduceBatch(final Tuple<R> state, final TupleBatch<R> batch) {
+        if (null == state || null == binaryOperator
+                || !(inputAdapter instanceof TupleInputAdapter)
+                || !(outputAdapter instanceof TupleOutputAdapter)
+                || 1 != getSelection().length) {
+            return reduceRows(this, state, batch);
+        }
+
+        final OT result = BatchBinaryOperator.reduceBatch(binaryOperator, adaptInput(state),
+                batch.getValues(getSelection()[0]), batch.size());
+        return adaptOutput(result, state);
+    }
+
+    static <R> Tuple<R> reduceRows(final BinaryOperator<Tuple<R>> binaryOperator, final Tuple<R> state, final TupleBatch<R> batch) {
+        final TupleBatch.Row<R> row = batch.row();
+        Tuple<R> result = state;
+        for (int i = 0; i < batch.size(); i++) {
+            row.setIndex(i);
+            result = binaryOperator.apply(result, row);
+        }
+        return result;
+    }
+
+    private static boolean contains(final Object[] inputs, final int size, final Object item) {
+        for (int i = 0; i < size; i++) {
+            if (item == inputs[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @JsonIgnore
     @Override
     public TupleInputAdapter<R, OT> getInputAdapter() {
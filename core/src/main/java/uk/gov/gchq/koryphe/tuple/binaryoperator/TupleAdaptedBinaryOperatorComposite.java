@@ -22,8 +22,11 @@ import uk.gov.gchq.koryphe.Since;
 import uk.gov.gchq.koryphe.Summary;
 import uk.gov.gchq.koryphe.binaryoperator.BinaryOperatorComposite;
 import uk.gov.gchq.koryphe.tuple.Tuple;
+import uk.gov.gchq.koryphe.tuple.TupleBatch;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.function.BinaryOperator;
 
 /**
@@ -40,6 +43,65 @@ public class TupleAdaptedBinaryOperatorComposite<R> extends BinaryOperatorCompos
         return super.getComponents();
     }
 
+    /**
+     * If the components select different fields then folding the whole batch
+     * with each component in turn gives the same result as folding each input
+     * with every component, so each component can reduce the whole batch.
+     * Otherwise each input is folded in turn.
+     *
+     * @param state  the state tuple
+     * @param inputs the input tuples
+     * @param size   the number of input tuples
+     * @return the state tuple
+     */
+    @Override
+    public Tuple<R> reduceBatch(final Tuple<R> state, final Object[] inputs, final int size) {
+        if (null == state || !hasDisjointSelections()) {
+            return super.reduceBatch(state, inputs, size);
+        }
+
+        Tuple<R> result = state;
+        for (final TupleAdaptedBinaryOperator<R, ?> component : components) {
+            result = component.reduceBatch(result, inputs, size);
+        }
+        return result;
+    }
+
+    /**
+     * Folds every record in a {@link TupleBatch} into the state. As for
+     * {@link #reduceBatch(Tuple, Object[], int)}, each component reduces the
+     * whole batch if the components select different fields. Otherwise a
+     * {@link TupleBatch.Row} view of each record is folded in turn.
+     *
+     * @param state the state tuple
+     * @param batch the batch
+     * @return the state tuple
+     * @see TupleAdaptedBinaryOperator#reduceBatch(Tuple, TupleBatch)
+     */
+    public Tuple<R> reduceBatch(final Tuple<R> state, final TupleBatch<R> batch) {
+        if (null == state || !hasDisjointSelections()) {
+            return TupleAdaptedBinaryOperator.reduceRows(this, state, batch);
+        }
+
+        Tuple<R> result = state;
+        for (final TupleAdaptedBinaryOperator<R, ?> component : components) {
+            result = component.reduceBatch(result, batch);
+        }
+        return result;
+    }
+
+    private boolean hasDisjointSelections() {
+        final Set<R> selected = new HashSet<>();
+        for (final TupleAdaptedBinaryOperator<R, ?> component : components) {
+            for (final R reference : component.getSelection()) {
+                if (!selected.add(reference)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
     public static class Builder<R> {
         private final TupleAdaptedBinaryOperatorComposite<R> binaryOperator;
 
@@ -17,15 +17,23 @@
 package uk.gov.gchq.koryphe.tuple.function;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 
 import uk.gov.gchq.koryphe.Since;
 import uk.gov.gchq.koryphe.Summary;
 import uk.gov.gchq.koryphe.function.AdaptedFunction;
+import uk.gov.gchq.koryphe.function.BatchFunction;
+import uk.gov.gchq.koryphe.tuple.ColumnVector;
+import uk.gov.gchq.koryphe.tuple.ObjectColumnVector;
 import uk.gov.gchq.koryphe.tuple.Tuple;
+import uk.gov.gchq.koryphe.tuple.TupleBatch;
 import uk.gov.gchq.koryphe.tuple.TupleInputAdapter;
 import uk.gov.gchq.koryphe.tuple.TupleOutputAdapter;
 
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
 import java.util.function.Function;
 
 /**
@@ -69,6 +77,32 @@ public class TupleAdaptedFunction<R, FI, FO> extends AdaptedFunction<Tuple<R>, F
         getInputAdapter().setSelection(selection);
     }
 
+    @Override
+    public Tuple<R> apply(final Tuple<R> input) {
+        if (!(inputAdapter instanceof TupleInputAdapter && getInputAdapter().isReusingViews())) {
+            return super.apply(input);
+        }
+
+        try {
+            return super.apply(input);
+        } finally {
+            getInputAdapter().clearViews();
+        }
+    }
+
+    /**
+     * @return true if multi-field selections reuse a per thread view, see
+     * {@link TupleInputAdapter#setUseCompiledPlans(boolean)}.
+     */
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    public boolean isUseCompiledPlans() {
+        return getInputAdapter().isUseCompiledPlans();
+    }
+
+    public void setUseCompiledPlans(final boolean useCompiledPlans) {
+        getInputAdapter().setUseCompiledPlans(useCompiledPlans);
+    }
+
     public R[] getProjection() {
         return getOutputAdapter().getProjection();
     }
@@ -77,6 +111,79 @@ public class TupleAdaptedFunction<R, FI, FO> extends AdaptedFunction<Tuple<R>, F
         getOutputAdapter().setProjection(fields);
     }
 
+    /**
+     * Selects the inputs for the whole batch, applies the function to them as
+     * a batch and then projects the outputs. If the same tuple appears more
+     * than once in the batch the function is applied to each tuple in turn
+     * instead, so later entries see the outputs projected by earlier ones.
+     *
+     * @param inputs  the input tuples
+     * @param outputs the array to write the output tuples to
+     * @param size    the number of tuples
+     */
+    @Override
+    public void applyBatch(final Object[] inputs, final Object[] outputs, final int size) {
+        if (!(inputAdapter instanceof TupleInputAdapter) || getInputAdapter().isReusingViews()
+                || containsDuplicates(inputs, size)) {
+            super.applyBatch(inputs, outputs, size);
+            return;
+        }
+
+        final Object[] selected = new Object[size];
+        for (int i = 0; i < size; i++) {
+            selected[i] = adaptInput((Tuple<R>) inputs[i]);
+        }
+        BatchFunction.applyBatch(function, selected, selected, size);
+        for (int i = 0; i < size; i++) {
+            outputs[i] = adaptOutput((FO) selected[i], (Tuple<R>) inputs[i]);
+        }
+    }
+
+    private static boolean containsDuplicates(final Object[] inputs, final int size) {
+        final Set<Object> seen = Collections.newSetFromMap(new IdentityHashMap<>(size));
+        for (int i = 0; i < size; i++) {
+            if (!seen.add(inputs[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Applies the function to every record in a {@link TupleBatch}. When a
+     * single field is selected and projected, the function is applied to the
+     * column of selected values as a batch and its outputs become the column
+     * of the projected field. Otherwise the function is applied to a
+     * {@link TupleBatch.Row} view of each record in turn.
+     *
+     * @param batch the batch
+     */
+    public void applyBatch(final TupleBatch<R> batch) {
+        final int size = batch.size();
+        if (null == function
+                || !(inputAdapter instanceof TupleInputAdapter)
+                || !(outputAdapter instanceof TupleOutputAdapter)
+                || 1 != getSelection().length
+                || 1 != getProjection().length) {
+            final TupleBatch.Row<R> row = batch.row();
+            for (int i = 0; i < size; i++) {
+                row.setIndex(i);
+                apply(row);
+            }
+            return;
+        }
+
+        final R selection = getSelection()[0];
+        final R projection = getProjection()[0];
+        final ColumnVector column = batch.getColumn(selection);
+        final Object[] inputs = batch.getValues(selection);
+        // An object column transformed in place can be written straight back into
+        final Object[] outputs = selection.equals(projection) && column instanceof ObjectColumnVector
+                ? inputs : new Object[batch.getCapacity()];
+        BatchFunction.applyBatch(function, inputs, outputs, size);
+        batch.setColumn(projection, new ObjectColumnVector(outputs));
+    }
+
     @JsonIgnore
     @Override
     public TupleInputAdapter<R, FI> getInputAdapter() {
@@ -22,6 +22,7 @@ import uk.gov.gchq.koryphe.Since;
 import uk.gov.gchq.koryphe.Summary;
 import uk.gov.gchq.koryphe.function.FunctionComposite;
 import uk.gov.gchq.koryphe.tuple.Tuple;
+import uk.gov.gchq.koryphe.tuple.TupleBatch;
 
 import java.util.List;
 import java.util.function.Function;
@@ -41,6 +42,18 @@ public class TupleAdaptedFunctionComposite<R>
         return super.getComponents();
     }
 
+    /**
+     * Applies each function in turn to every record in a {@link TupleBatch}.
+     *
+     * @param batch the batch
+     * @see TupleAdaptedFunction#applyBatch(TupleBatch)
+     */
+    public void applyBatch(final TupleBatch<R> batch) {
+        for (final TupleAdaptedFunction<R, ?, ?> component : components) {
+            component.applyBatch(batch);
+        }
+    }
+
     public static class Builder<R> {
         private final TupleAdaptedFunctionComposite<R> transformer;
 
@@ -17,12 +17,15 @@
 package uk.gov.gchq.koryphe.tuple.predicate;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 
 import uk.gov.gchq.koryphe.Since;
 import uk.gov.gchq.koryphe.Summary;
 import uk.gov.gchq.koryphe.predicate.AdaptedPredicate;
+import uk.gov.gchq.koryphe.predicate.BatchPredicate;
 import uk.gov.gchq.koryphe.tuple.Tuple;
+import uk.gov.gchq.koryphe.tuple.TupleBatch;
 import uk.gov.gchq.koryphe.tuple.TupleInputAdapter;
 
 import java.util.function.Predicate;
@@ -60,6 +63,90 @@ public class TupleAdaptedPredicate<R, PI> extends AdaptedPredicate<Tuple<R>, PI>
         getInputAdapter().setSelection(selection);
     }
 
+    @Override
+    public boolean test(final Tuple<R> input) {
+        if (!(inputAdapter instanceof TupleInputAdapter && getInputAdapter().isReusingViews())) {
+            return super.test(input);
+        }
+
+        try {
+            return super.test(input);
+        } finally {
+            getInputAdapter().clearViews();
+        }
+    }
+
+    /**
+     * @return true if multi-field selections reuse a per thread view, see
+     * {@link TupleInputAdapter#setUseCompiledPlans(boolean)}.
+     */
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    public boolean isUseCompiledPlans() {
+        return getInputAdapter().isUseCompiledPlans();
+    }
+
+    public void setUseCompiledPlans(final boolean useCompiledPlans) {
+        getInputAdapter().setUseCompiledPlans(useCompiledPlans);
+    }
+
+    /**
+     * Selects the values for the whole batch and tests them as a batch.
+     *
+     * @param inputs    the input tuples
+     * @param selection the indices of the tuples to test
+     * @param size      the number of entries in the selection
+     * @return the number of tuples that passed
+     */
+    @Override
+    public int testBatch(final Object[] inputs, final int[] selection, final int size) {
+        if (null == predicate) {
+            return size;
+        }
+
+        if (!(inputAdapter instanceof TupleInputAdapter) || getInputAdapter().isReusingViews()) {
+            return super.testBatch(inputs, selection, size);
+        }
+
+        final Object[] selected = new Object[inputs.length];
+        for (int i = 0; i < size; i++) {
+            final int index = selection[i];
+            selected[index] = adaptInput((Tuple<R>) inputs[index]);
+        }
+        return BatchPredicate.testBatch(predicate, selected, selection, size);
+    }
+
+    /**
+     * Tests the selected records of a {@link TupleBatch}, narrowing the
+     * selection to those that pass, see {@link BatchPredicate}. When a single
+     * field is selected the column of values is tested as a batch. Otherwise
+     * a {@link TupleBatch.Row} view of each record is tested in turn.
+     *
+     * @param batch     the batch
+     * @param selection the indices of the records to test
+     * @param size      the number of entries in the selection
+     * @return the number of records that passed
+     */
+    public int testBatch(final TupleBatch<R> batch, final int[] selection, final int size) {
+        if (null == predicate) {
+            return size;
+        }
+
+        if (!(inputAdapter instanceof TupleInputAdapter) || 1 != getSelection().length) {
+            final TupleBatch.Row<R> row = batch.row();
+            int passed = 0;
+            for (int i = 0; i < size; i++) {
+                final int index = selection[i];
+                row.setIndex(index);
+                if (test(row)) {
+                    selection[passed++] = index;
+                }
+            }
+            return passed;
+        }
+
+        return BatchPredicate.testBatch(predicate, batch.getValues(getSelection()[0]), selection, size);
+    }
+
     @JsonIgnore
     @Override
     public TupleInputAdapter<R, PI> getInputAdapter() {
@@ -22,6 +22,7 @@ import uk.gov.gchq.koryphe.Since;
 import uk.gov.gchq.koryphe.Summary;
 import uk.gov.gchq.koryphe.predicate.PredicateComposite;
 import uk.gov.gchq.koryphe.tuple.Tuple;
+import uk.gov.gchq.koryphe.tuple.TupleBatch;
 
 import java.util.List;
 import java.util.function.Predicate;
@@ -40,6 +41,28 @@ public class TupleAdaptedPredicateComposite<R> extends PredicateComposite<Tuple<
         return super.getComponents();
     }
 
+    /**
+     * Tests the selected records of a {@link TupleBatch} with each predicate in
+     * turn, so each predicate only tests the records that passed the previous
+     * predicates.
+     *
+     * @param batch     the batch
+     * @param selection the indices of the records to test
+     * @param size      the number of entries in the selection
+     * @return the number of records that passed all the predicates
+     * @see TupleAdaptedPredicate#testBatch(TupleBatch, int[], int)
+     */
+    public int testBatch(final TupleBatch<R> batch, final int[] selection, final int size) {
+        int passed = size;
+        for (final TupleAdaptedPredicate<R, ?> component : components) {
+            if (0 == passed) {
+                break;
+            }
+            passed = component.testBatch(batch, selection, passed);
+        }
+        return passed;
+    }
+
     public static class Builder<R> {
         private final TupleAdaptedPredicateComposite<R> composite;
 
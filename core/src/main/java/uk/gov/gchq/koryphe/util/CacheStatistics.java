@@ -0,0 +1,94 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.koryphe.util;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+/**
+ * A snapshot of the statistics for a {@link MemoisingCache}.
+ */
+public class CacheStatistics {
+    private final long size;
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final long rejections;
+
+    public CacheStatistics(final long size, final long hits, final long misses, final long evictions, final long rejections) {
+        this.size = size;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.rejections = rejections;
+    }
+
+    /**
+     * @return the approximate number of entries in the cache
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * @return the number of lookups that found a cached value
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return the number of lookups that had to compute the value
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return the number of entries evicted to keep the cache within its
+     * bounds
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * @return the number of computed values that were not cached, because
+     * they were too heavy or their keys had not been seen often enough
+     */
+    public long getRejections() {
+        return rejections;
+    }
+
+    /**
+     * @return the proportion of lookups that found a cached value
+     */
+    public double getHitRate() {
+        final long lookups = hits + misses;
+        return 0 == lookups ? 1.0 : (double) hits / lookups;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("size", size)
+                .append("hits", hits)
+                .append("misses", misses)
+                .append("evictions", evictions)
+                .append("rejections", rejections)
+                .toString();
+    }
+}
@@ -0,0 +1,435 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.koryphe.util;
+
+import io.github.lukehutch.fastclasspathscanner.FastClasspathScanner;
+import io.github.lukehutch.fastclasspathscanner.scanner.ScanResult;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.Attributes;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * The combined class indexes found on the classpath. The indexes are written
+ * at build time by the {@code ClassIndexProcessor} in the class-index module,
+ * which records the super types and annotations of every compiled type.
+ * <p>
+ * An index describes every class in the jar or directory that contains it,
+ * so those classpath elements are never scanned. A package that has classes
+ * in an index is assumed to be covered by the indexes, along with its sub
+ * packages, so it is not scanned in the rest of the classpath either. Only
+ * the reflection packages that are not covered are scanned, in the classpath
+ * elements that are not indexed. Each package is scanned the first time a
+ * lookup needs it, and the result is kept for later lookups. The index itself
+ * does not depend on the reflection packages, so it does not need to be
+ * loaded again when a package is added.
+ * <p>
+ * The index of a jar must describe all of the classes in it, so a shaded jar
+ * must merge the indexes of the jars it includes, for example with the
+ * AppendingTransformer of the maven-shade-plugin.
+ */
+final class ClassIndex {
+    /**
+     * The location of the index. This must match ClassIndexProcessor.INDEX_RESOURCE.
+     */
+    static final String INDEX_RESOURCE = "META-INF/koryphe/class-index";
+
+    private static final String JAR_SEPARATOR = "!/";
+
+    private final Map<String, Set<String>> superTypes = new HashMap<>();
+    private final Map<String, Set<String>> annotations = new HashMap<>();
+    private final Set<File> roots = new HashSet<>();
+    private final Set<String> indexedPackages = new HashSet<>();
+    private final Map<String, Set<String>> subTypes = new HashMap<>();
+    private final Map<String, Set<String>> annotatedTypes = new HashMap<>();
+    private final Map<String, Optional<ScanResult>> scanResults = new ConcurrentHashMap<>();
+    private final ClassLoader classLoader;
+    private volatile List<File> unindexedElements;
+
+    private ClassIndex(final ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * Loads all of the indexes visible to the given class loader. Any index
+     * that cannot be read is skipped, so its classes will be scanned instead.
+     * Nothing is scanned until a lookup needs it.
+     *
+     * @param classLoader the class loader to find the indexes with
+     * @return the combined index
+     */
+    static ClassIndex load(final ClassLoader classLoader) {
+        final ClassIndex index = new ClassIndex(classLoader);
+        try {
+            final Enumeration<URL> resources = classLoader.getResources(INDEX_RESOURCE);
+            while (resources.hasMoreElements()) {
+                index.add(resources.nextElement());
+            }
+        } catch (final IOException e) {
+            // Without an index the whole classpath is scanned
+        }
+        index.build();
+        return index;
+    }
+
+    /**
+     * @param element a jar or directory on the classpath
+     * @return true if the classes in the element are described by an index
+     */
+    boolean isIndexed(final File element) {
+        return roots.contains(canonical(element));
+    }
+
+    /**
+     * @param packageName the name of a package
+     * @return true if the package, or a package it is in, has indexed classes
+     */
+    boolean isCovered(final String packageName) {
+        String name = packageName;
+        while (!indexedPackages.contains(name)) {
+            final int separator = name.lastIndexOf('.');
+            if (separator < 0) {
+                return false;
+            }
+            name = name.substring(0, separator);
+        }
+        return true;
+    }
+
+    /**
+     * Gets the types that extend or implement the given type. A scanned class
+     * that extends an indexed class is found through the indexed class.
+     *
+     * @param typeName the name of a class or interface
+     * @param packages the packages to scan if they are not covered by the indexes
+     * @return the names of all known types that extend or implement it
+     */
+    Set<String> getSubTypes(final String typeName, final Collection<String> packages) {
+        final Set<String> indexed = subTypes.getOrDefault(typeName, Collections.emptySet());
+        final List<ScanResult> scanned = getScanResults(packages);
+        if (scanned.isEmpty()) {
+            return indexed;
+        }
+
+        final Set<String> result = new HashSet<>(indexed);
+        for (final ScanResult scanResult : scanned) {
+            addScannedSubTypes(scanResult, typeName, result);
+            for (final String indexedType : indexed) {
+                addScannedSubTypes(scanResult, indexedType, result);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the types annotated with the given annotation, either directly
+     * or through another annotation.
+     *
+     * @param annotationName the name of the annotation
+     * @param packages       the packages to scan if they are not covered by the indexes
+     * @return the names of all known types with the annotation
+     */
+    Set<String> getAnnotatedTypes(final String annotationName, final Collection<String> packages) {
+        final Set<String> result = new HashSet<>();
+        final Deque<String> pending = new ArrayDeque<>();
+        pending.add(annotationName);
+        while (!pending.isEmpty()) {
+            for (final String typeName : annotatedTypes.getOrDefault(pending.poll(), Collections.emptySet())) {
+                if (result.add(typeName)) {
+                    pending.add(typeName);
+                }
+            }
+        }
+        for (final ScanResult scanResult : getScanResults(packages)) {
+            result.addAll(scanResult.getNamesOfClassesWithAnnotation(annotationName));
+        }
+        return result;
+    }
+
+    private static void addScannedSubTypes(final ScanResult scanned, final String typeName, final Set<String> result) {
+        result.addAll(scanned.getNamesOfSubclassesOf(typeName));
+        result.addAll(scanned.getNamesOfClassesImplementing(typeName));
+    }
+
+    private List<ScanResult> getScanResults(final Collection<String> packages) {
+        final List<ScanResult> results = new ArrayList<>(packages.size());
+        for (final String packageName : packages) {
+            scanResults.computeIfAbsent(packageName, this::scan).ifPresent(results::add);
+        }
+        return results;
+    }
+
+    // Scans the package in the classpath elements that are not indexed,
+    // skipping the sub packages that are covered by the indexes
+    private Optional<ScanResult> scan(final String packageName) {
+        if (isCovered(packageName)) {
+            return Optional.empty();
+        }
+
+        final String packagePath = packageName.replace('.', '/') + '/';
+        final List<File> elements = new ArrayList<>();
+        for (final File element : getUnindexedElements()) {
+            if (containsPath(element, packagePath)) {
+                elements.add(element);
+            }
+        }
+        if (elements.isEmpty()) {
+            return Optional.empty();
+        }
+
+        final List<String> scanSpec = new ArrayList<>();
+        scanSpec.add(packageName);
+        for (final String indexedPackage : indexedPackages) {
+            if (indexedPackage.startsWith(packageName + ".")) {
+                scanSpec.add("-" + indexedPackage);
+            }
+        }
+        return Optional.of(new FastClasspathScanner(scanSpec.toArray(new String[scanSpec.size()]))
+                .overrideClasspath(elements)
+                .scan());
+    }
+
+    private List<File> getUnindexedElements() {
+        List<File> elements = unindexedElements;
+        if (null == elements) {
+            elements = new ArrayList<>();
+            for (final File element : getClasspathElements()) {
+                if (!isIndexed(element)) {
+                    elements.add(element);
+                }
+            }
+            unindexedElements = elements;
+        }
+        return elements;
+    }
+
+    // Lists the jars and directories of the class loader and its parents,
+    // following the Class-Path of jar manifests. Starting the scanner takes a
+    // noticeable time, so it is only used to list the elements of class
+    // loaders that are not understood here.
+    private List<File> getClasspathElements() {
+        final Set<File> elements = new LinkedHashSet<>();
+        final ClassLoader systemClassLoader = ClassLoader.getSystemClassLoader();
+        for (ClassLoader loader = classLoader; null != loader; loader = loader.getParent()) {
+            if (loader == systemClassLoader.getParent()) {
+                // The JDK classes are never scanned
+                continue;
+            }
+            if (loader instanceof URLClassLoader) {
+                for (final URL url : ((URLClassLoader) loader).getURLs()) {
+                    addClasspathElement(toFile(url), elements);
+                }
+            } else if (loader == systemClassLoader) {
+                for (final String path : System.getProperty("java.class.path", "").split(File.pathSeparator)) {
+                    if (!path.isEmpty()) {
+                        addClasspathElement(new File(path), elements);
+                    }
+                }
+            } else {
+                return new FastClasspathScanner().getUniqueClasspathElements();
+            }
+        }
+        return new ArrayList<>(elements);
+    }
+
+    private static void addClasspathElement(final File file, final Set<File> elements) {
+        if (null == file || !file.exists() || !elements.add(canonical(file)) || !file.isFile()) {
+            return;
+        }
+
+        try (final JarFile jarFile = new JarFile(file)) {
+            final Manifest manifest = jarFile.getManifest();
+            final String classPath = null == manifest ? null : manifest.getMainAttributes().getValue(Attributes.Name.CLASS_PATH);
+            if (null != classPath) {
+                final URL base = file.toURI().toURL();
+                for (final String path : classPath.trim().split("\\s+")) {
+                    if (!path.isEmpty()) {
+                        addClasspathElement(toFile(new URL(base, path)), elements);
+                    }
+                }
+            }
+        } catch (final IOException e) {
+            // The element is left for the scanner to read
+        }
+    }
+
+    private static File toFile(final URL url) {
+        if (!"file".equals(url.getProtocol())) {
+            return null;
+        }
+        try {
+            return new File(url.toURI());
+        } catch (final URISyntaxException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // Checks the names in a jar or directory, without reading any classes, so
+    // the scanner is only started for the elements that have the package
+    private static boolean containsPath(final File element, final String path) {
+        if (element.isDirectory()) {
+            return new File(element, path).isDirectory();
+        }
+        try (final ZipFile zipFile = new ZipFile(element)) {
+            if (null != zipFile.getEntry(path)) {
+                return true;
+            }
+            final Enumeration<? extends ZipEntry> entries = zipFile.entries();
+            while (entries.hasMoreElements()) {
+                if (entries.nextElement().getName().startsWith(path)) {
+                    return true;
+                }
+            }
+            return false;
+        } catch (final IOException e) {
+            // Leave it to the scanner
+            return true;
+        }
+    }
+
+    // Builds the lookups from super type and annotation to the indexed types.
+    // The super types are followed transitively, so a type inherits all of
+    // the super types of an indexed class it extends, even one in another jar.
+    // Only the outermost indexed packages are kept, as they cover the others.
+    private void build() {
+        for (final Map.Entry<String, Set<String>> entry : superTypes.entrySet()) {
+            for (final String superType : getAllSuperTypes(entry.getKey())) {
+                subTypes.computeIfAbsent(superType, k -> new HashSet<>()).add(entry.getKey());
+            }
+        }
+        for (final Map.Entry<String, Set<String>> entry : annotations.entrySet()) {
+            for (final String annotation : entry.getValue()) {
+                annotatedTypes.computeIfAbsent(annotation, k -> new HashSet<>()).add(entry.getKey());
+            }
+        }
+        final Set<String> packageNames = new HashSet<>(indexedPackages);
+        indexedPackages.removeIf(packageName -> {
+            for (int i = packageName.indexOf('.'); i > 0; i = packageName.indexOf('.', i + 1)) {
+                if (packageNames.contains(packageName.substring(0, i))) {
+                    return true;
+                }
+            }
+            return false;
+        });
+    }
+
+    private Set<String> getAllSuperTypes(final String typeName) {
+        final Set<String> result = new HashSet<>();
+        final Deque<String> pending = new ArrayDeque<>(superTypes.get(typeName));
+        while (!pending.isEmpty()) {
+            final String superType = pending.poll();
+            if (result.add(superType)) {
+                pending.addAll(superTypes.getOrDefault(superType, Collections.emptySet()));
+            }
+        }
+        return result;
+    }
+
+    private void add(final URL url) {
+        final File root = getRoot(url);
+        if (null == root) {
+            return;
+        }
+
+        final List<String[]> entries = new ArrayList<>();
+        try (final BufferedReader reader = new BufferedReader(new InputStreamReader(url.openStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while (null != (line = reader.readLine())) {
+                if (line.isEmpty()) {
+                    // Merged indexes may be separated by blank lines
+                    continue;
+                }
+                final String[] fields = line.split("\t", -1);
+                if (3 != fields.length) {
+                    throw new IOException("Invalid class index entry: " + line);
+                }
+                entries.add(fields);
+            }
+        } catch (final IOException e) {
+            // The classes in this element will be scanned instead
+            return;
+        }
+
+        for (final String[] fields : entries) {
+            superTypes.computeIfAbsent(fields[0], k -> new HashSet<>()).addAll(split(fields[1]));
+            annotations.computeIfAbsent(fields[0], k -> new HashSet<>()).addAll(split(fields[2]));
+            final int separator = fields[0].lastIndexOf('.');
+            if (separator > 0) {
+                indexedPackages.add(fields[0].substring(0, separator));
+            }
+        }
+        roots.add(root);
+    }
+
+    private static List<String> split(final String csv) {
+        return csv.isEmpty() ? Collections.emptyList() : Arrays.asList(csv.split(","));
+    }
+
+    // Returns the jar or directory that contains the index resource
+    private static File getRoot(final URL url) {
+        try {
+            if ("jar".equals(url.getProtocol())) {
+                final String path = url.getPath();
+                final int separator = path.indexOf(JAR_SEPARATOR);
+                return separator < 0 ? null : canonical(new File(new URL(path.substring(0, separator)).toURI()));
+            }
+            if ("file".equals(url.getProtocol())) {
+                final File file = new File(url.toURI());
+                final String path = file.getPath().replace(File.separatorChar, '/');
+                if (path.endsWith(INDEX_RESOURCE)) {
+                    return canonical(new File(path.substring(0, path.length() - INDEX_RESOURCE.length())));
+                }
+            }
+        } catch (final IOException | URISyntaxException | IllegalArgumentException e) {
+            // The element cannot be excluded from the scan
+        }
+        return null;
+    }
+
+    private static File canonical(final File file) {
+        try {
+            return file.getCanonicalFile();
+        } catch (final IOException e) {
+            return file.getAbsoluteFile();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.koryphe.util;
+
+/**
+ * A <code>CompressionFormat</code> identifies the container format used by
+ * {@link CompressionUtil} to compress and decompress data.
+ */
+public enum CompressionFormat {
+    /**
+     * The gzip file format (RFC 1952). Concatenated gzip members are
+     * decompressed as a single stream.
+     */
+    GZIP,
+
+    /**
+     * The zlib wrapped deflate format (RFC 1950), as produced by
+     * {@link java.util.zip.DeflaterOutputStream}.
+     */
+    DEFLATE
+}
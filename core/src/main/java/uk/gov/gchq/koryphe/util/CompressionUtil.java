@@ -0,0 +1,670 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.koryphe.util;
+
+import uk.gov.gchq.koryphe.iterable.CloseableIterable;
+import uk.gov.gchq.koryphe.iterable.CloseableIterator;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.NoSuchElementException;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
+
+/**
+ * A {@code CompressionUtil} is a utility class for compressing and decompressing
+ * gzip and deflate data as streams, so that large payloads never have to be held
+ * on the heap in full.
+ * <p>
+ * {@link Inflater}s and {@link Deflater}s hold native memory and are expensive to
+ * create, so they are pooled per thread and returned to the pool when the stream
+ * using them is closed. Streams that are never closed simply leave their instance
+ * to the garbage collector.
+ */
+public final class CompressionUtil {
+    /**
+     * The default chunk size in bytes.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+    private static final int MIN_BUFFER_SIZE = 512;
+    private static final int MAX_POOLED = 4;
+    private static final int GZIP_MAGIC = 0x8b1f;
+    private static final int GZIP_DEFLATE_METHOD = 8;
+    private static final int FHCRC = 2;
+    private static final int FEXTRA = 4;
+    private static final int FNAME = 8;
+    private static final int FCOMMENT = 16;
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, GZIP_DEFLATE_METHOD, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+    private static final ThreadLocal<Deque<Inflater>> GZIP_INFLATERS = ThreadLocal.withInitial(ArrayDeque::new);
+    private static final ThreadLocal<Deque<Inflater>> DEFLATE_INFLATERS = ThreadLocal.withInitial(ArrayDeque::new);
+    private static final ThreadLocal<Deque<Deflater>> GZIP_DEFLATERS = ThreadLocal.withInitial(ArrayDeque::new);
+    private static final ThreadLocal<Deque<Deflater>> DEFLATE_DEFLATERS = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private CompressionUtil() {
+        // Private constructor to prevent instantiation.
+    }
+
+    /**
+     * Wraps a stream of compressed data in a stream that lazily decompresses it.
+     * Closing the returned stream closes the source stream.
+     *
+     * @param compressed the compressed data
+     * @param format     the compression format
+     * @return the decompressing stream
+     * @throws IOException if the gzip header cannot be read
+     */
+    public static InputStream decompress(final InputStream compressed, final CompressionFormat format) throws IOException {
+        return decompress(compressed, format, BUFFER_SIZE);
+    }
+
+    /**
+     * Wraps a stream in a stream that compresses everything written to it.
+     * Closing the returned stream finishes the compressed data and closes the
+     * target stream.
+     *
+     * @param target the stream to write the compressed data to
+     * @param format the compression format
+     * @return the compressing stream
+     * @throws IOException if the gzip header cannot be written
+     */
+    public static OutputStream compress(final OutputStream target, final CompressionFormat format) throws IOException {
+        if (CompressionFormat.GZIP == format) {
+            return new PooledGzipOutputStream(target);
+        }
+        return new PooledDeflaterOutputStream(target, false);
+    }
+
+    /**
+     * Decompresses a byte array.
+     *
+     * @param compressed the compressed data
+     * @param format     the compression format
+     * @return the decompressed data
+     * @throws IOException if the data is not valid for the format
+     */
+    public static byte[] decompress(final byte[] compressed, final CompressionFormat format) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(32, compressed.length * 4));
+        final InputStream in = decompress(new ByteArrayInputStream(compressed), format, bufferSize(compressed.length));
+        try {
+            final byte[] buffer = new byte[bufferSize(compressed.length * 4)];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+        } finally {
+            in.close();
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Compresses a byte array.
+     *
+     * @param uncompressed the data to compress
+     * @param format       the compression format
+     * @return the compressed data
+     * @throws IOException if the data cannot be compressed
+     */
+    public static byte[] compress(final byte[] uncompressed, final CompressionFormat format) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(32, uncompressed.length / 2));
+        final OutputStream compressing = compress(out, format);
+        try {
+            compressing.write(uncompressed);
+        } finally {
+            compressing.close();
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Lazily decompresses data and splits it into lines of text. Each call to
+     * {@link Iterable#iterator()} starts decompressing from the current position
+     * of the source, so an {@link InputStream} source can only be iterated once.
+     * Closing the iterable closes an {@link InputStream} source.
+     *
+     * @param compressed the compressed data, as an {@link InputStream}, {@link ByteBuffer} or byte[]
+     * @param format     the compression format
+     * @param charset    the charset of the text
+     * @return the lines of text
+     */
+    public static CloseableIterable<String> lines(final Object compressed, final CompressionFormat format, final Charset charset) {
+        final int bufferSize = bufferSize(compressed);
+        return new DecompressedIterable<>(compressed, in -> new LineIterator(decompress(in, format, bufferSize), charset, bufferSize));
+    }
+
+    /**
+     * Lazily decompresses data into chunks of at most {@code chunkSize} bytes.
+     * Each chunk is full apart from the last. Each call to
+     * {@link Iterable#iterator()} starts decompressing from the current position
+     * of the source, so an {@link InputStream} source can only be iterated once.
+     * Closing the iterable closes an {@link InputStream} source.
+     *
+     * @param compressed the compressed data, as an {@link InputStream}, {@link ByteBuffer} or byte[]
+     * @param format     the compression format
+     * @param chunkSize  the maximum number of bytes in each chunk
+     * @return the chunks of decompressed data
+     */
+    public static CloseableIterable<byte[]> chunks(final Object compressed, final CompressionFormat format, final int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be at least 1");
+        }
+        final int bufferSize = bufferSize(compressed);
+        return new DecompressedIterable<>(compressed, in -> new ChunkIterator(decompress(in, format, bufferSize), chunkSize));
+    }
+
+    /**
+     * Adapts an {@link InputStream}, {@link ByteBuffer} or byte[] to an
+     * {@link InputStream}. Byte buffers are read from their current position
+     * without modifying it.
+     *
+     * @param data the data
+     * @return a stream of the data
+     */
+    public static InputStream toInputStream(final Object data) {
+        if (data instanceof InputStream) {
+            return (InputStream) data;
+        }
+        if (data instanceof byte[]) {
+            return new ByteArrayInputStream((byte[]) data);
+        }
+        if (data instanceof ByteBuffer) {
+            return new ByteBufferInputStream(((ByteBuffer) data).duplicate());
+        }
+        throw new IllegalArgumentException("Unable to read compressed data from "
+                + (null == data ? "null" : data.getClass().getName())
+                + ", expected an InputStream, ByteBuffer or byte[]");
+    }
+
+    private static InputStream decompress(final InputStream compressed, final CompressionFormat format, final int bufferSize) throws IOException {
+        if (CompressionFormat.GZIP == format) {
+            return new PooledGzipInputStream(compressed, bufferSize);
+        }
+        return new PooledInflaterInputStream(compressed, false, bufferSize);
+    }
+
+    // Small in memory payloads get small buffers, as most of the cost of
+    // decompressing them is allocation.
+    private static int bufferSize(final Object compressed) {
+        if (compressed instanceof byte[]) {
+            return bufferSize(((byte[]) compressed).length);
+        }
+        if (compressed instanceof ByteBuffer) {
+            return bufferSize(((ByteBuffer) compressed).remaining());
+        }
+        return BUFFER_SIZE;
+    }
+
+    private static int bufferSize(final int dataSize) {
+        return Math.min(BUFFER_SIZE, Math.max(MIN_BUFFER_SIZE, dataSize));
+    }
+
+    private static Inflater borrowInflater(final boolean gzip) {
+        final Inflater inflater = (gzip ? GZIP_INFLATERS : DEFLATE_INFLATERS).get().pollFirst();
+        return null != inflater ? inflater : new Inflater(gzip);
+    }
+
+    private static void releaseInflater(final Inflater inflater, final boolean gzip) {
+        inflater.reset();
+        final Deque<Inflater> pool = (gzip ? GZIP_INFLATERS : DEFLATE_INFLATERS).get();
+        if (pool.size() < MAX_POOLED) {
+            pool.addFirst(inflater);
+        } else {
+            inflater.end();
+        }
+    }
+
+    private static Deflater borrowDeflater(final boolean gzip) {
+        final Deflater deflater = (gzip ? GZIP_DEFLATERS : DEFLATE_DEFLATERS).get().pollFirst();
+        return null != deflater ? deflater : new Deflater(Deflater.DEFAULT_COMPRESSION, gzip);
+    }
+
+    private static void releaseDeflater(final Deflater deflater, final boolean gzip) {
+        deflater.reset();
+        final Deque<Deflater> pool = (gzip ? GZIP_DEFLATERS : DEFLATE_DEFLATERS).get();
+        if (pool.size() < MAX_POOLED) {
+            pool.addFirst(deflater);
+        } else {
+            deflater.end();
+        }
+    }
+
+    private static int readUnsignedByte(final InputStream in) throws IOException {
+        final int b = in.read();
+        if (-1 == b) {
+            throw new EOFException("Unexpected end of gzip data");
+        }
+        return b;
+    }
+
+    private static int readUnsignedShort(final InputStream in) throws IOException {
+        return readUnsignedByte(in) | (readUnsignedByte(in) << 8);
+    }
+
+    private static long readUnsignedInt(final InputStream in) throws IOException {
+        return readUnsignedShort(in) | ((long) readUnsignedShort(in) << 16);
+    }
+
+    private static void writeInt(final OutputStream out, final long value) throws IOException {
+        out.write((int) value);
+        out.write((int) (value >>> 8));
+        out.write((int) (value >>> 16));
+        out.write((int) (value >>> 24));
+    }
+
+    /**
+     * Functional interface for opening an iterator over a source stream.
+     *
+     * @param <T> the type of items in the iterator
+     */
+    @FunctionalInterface
+    private interface IteratorOpener<T> {
+        CloseableIterator<T> open(InputStream in) throws IOException;
+    }
+
+    private static class PooledInflaterInputStream extends InflaterInputStream {
+        private final boolean gzip;
+        private boolean released;
+
+        PooledInflaterInputStream(final InputStream in, final boolean gzip, final int bufferSize) {
+            super(in, borrowInflater(gzip), bufferSize);
+            this.gzip = gzip;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                release();
+            }
+        }
+
+        void release() {
+            if (!released) {
+                released = true;
+                releaseInflater(inf, gzip);
+            }
+        }
+    }
+
+    /**
+     * Reads gzip data using a pooled raw {@link Inflater}, checking the CRC and
+     * length in the trailer of each member. The source is wrapped in a
+     * {@link PushbackInputStream} so that bytes the inflater has buffered past
+     * the end of a member can be pushed back before the trailer is read.
+     */
+    private static final class PooledGzipInputStream extends PooledInflaterInputStream {
+        private final PushbackInputStream source;
+        private final CRC32 crc = new CRC32();
+        private boolean endOfStream;
+
+        PooledGzipInputStream(final InputStream in, final int bufferSize) throws IOException {
+            this(new PushbackInputStream(in, bufferSize), bufferSize);
+        }
+
+        private PooledGzipInputStream(final PushbackInputStream source, final int bufferSize) throws IOException {
+            super(source, true, bufferSize);
+            this.source = source;
+            try {
+                readHeader();
+            } catch (final IOException | RuntimeException e) {
+                // Leave the caller's stream open, as GZIPInputStream does
+                release();
+                throw e;
+            }
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            while (!endOfStream) {
+                final int read = super.read(b, off, len);
+                if (-1 != read) {
+                    crc.update(b, off, read);
+                    return read;
+                }
+                endOfStream = readTrailer();
+            }
+            return -1;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return endOfStream ? 0 : super.available();
+        }
+
+        private void readHeader() throws IOException {
+            if (GZIP_MAGIC != readUnsignedShort(source)) {
+                throw new ZipException("Not in GZIP format");
+            }
+            if (GZIP_DEFLATE_METHOD != readUnsignedByte(source)) {
+                throw new ZipException("Unsupported compression method");
+            }
+            final int flags = readUnsignedByte(source);
+            for (int i = 0; i < 6; i++) {
+                // Modification time, extra flags and operating system
+                readUnsignedByte(source);
+            }
+            if ((flags & FEXTRA) == FEXTRA) {
+                for (int i = readUnsignedShort(source); i > 0; i--) {
+                    readUnsignedByte(source);
+                }
+            }
+            if ((flags & FNAME) == FNAME) {
+                while (0 != readUnsignedByte(source)) {
+                    // Skip the file name
+                }
+            }
+            if ((flags & FCOMMENT) == FCOMMENT) {
+                while (0 != readUnsignedByte(source)) {
+                    // Skip the comment
+                }
+            }
+            if ((flags & FHCRC) == FHCRC) {
+                readUnsignedShort(source);
+            }
+        }
+
+        // Returns true if there are no more gzip members to read.
+        private boolean readTrailer() throws IOException {
+            final int remaining = inf.getRemaining();
+            if (remaining > 0) {
+                source.unread(buf, len - remaining, remaining);
+            }
+            if (readUnsignedInt(source) != crc.getValue()) {
+                throw new ZipException("Corrupt GZIP trailer");
+            }
+            if (readUnsignedInt(source) != (inf.getBytesWritten() & 0xffffffffL)) {
+                throw new ZipException("Corrupt GZIP trailer");
+            }
+
+            final int next = source.read();
+            if (-1 == next) {
+                return true;
+            }
+            source.unread(next);
+            try {
+                readHeader();
+            } catch (final IOException e) {
+                // Trailing data that is not another gzip member is ignored
+                return true;
+            }
+            inf.reset();
+            crc.reset();
+            return false;
+        }
+    }
+
+    /**
+     * Writes compressed data using a pooled {@link Deflater}. Once closed, the
+     * deflater may be in use by another stream, so writing to, flushing or
+     * finishing a closed stream throws an {@link IOException} rather than
+     * corrupting that stream.
+     */
+    private static class PooledDeflaterOutputStream extends DeflaterOutputStream {
+        private final boolean gzip;
+        private boolean released;
+
+        PooledDeflaterOutputStream(final OutputStream out, final boolean gzip) {
+            super(out, borrowDeflater(gzip), BUFFER_SIZE);
+            this.gzip = gzip;
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            ensureOpen();
+            super.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            ensureOpen();
+            super.flush();
+        }
+
+        @Override
+        public void finish() throws IOException {
+            ensureOpen();
+            super.finish();
+        }
+
+        void ensureOpen() throws IOException {
+            if (released) {
+                throw new IOException("Stream closed");
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                if (!released) {
+                    released = true;
+                    releaseDeflater(def, gzip);
+                }
+            }
+        }
+    }
+
+    private static final class PooledGzipOutputStream extends PooledDeflaterOutputStream {
+        private final CRC32 crc = new CRC32();
+
+        PooledGzipOutputStream(final OutputStream out) throws IOException {
+            super(out, true);
+            out.write(GZIP_HEADER);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            super.write(b, off, len);
+            crc.update(b, off, len);
+        }
+
+        @Override
+        public void finish() throws IOException {
+            ensureOpen();
+            if (!def.finished()) {
+                super.finish();
+                writeInt(out, crc.getValue());
+                writeInt(out, def.getBytesRead());
+            }
+        }
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(final ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) {
+            if (0 == len) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            final int read = Math.min(len, buffer.remaining());
+            buffer.get(b, off, read);
+            return read;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+
+    private static final class DecompressedIterable<T> implements CloseableIterable<T> {
+        private final Object compressed;
+        private final IteratorOpener<T> opener;
+
+        DecompressedIterable(final Object compressed, final IteratorOpener<T> opener) {
+            this.compressed = compressed;
+            this.opener = opener;
+        }
+
+        @Override
+        public CloseableIterator<T> iterator() {
+            try {
+                return opener.open(toInputStream(compressed));
+            } catch (final IOException e) {
+                throw new UncheckedIOException("Failed to decompress data", e);
+            }
+        }
+
+        @Override
+        public void close() {
+            CloseableUtil.close(compressed);
+        }
+    }
+
+    private static final class LineIterator implements CloseableIterator<String> {
+        private final BufferedReader reader;
+        private String nextLine;
+        private boolean closed;
+
+        LineIterator(final InputStream in, final Charset charset, final int bufferSize) {
+            this.reader = new BufferedReader(new InputStreamReader(in, charset), bufferSize);
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (null == nextLine && !closed) {
+                try {
+                    nextLine = reader.readLine();
+                } catch (final IOException e) {
+                    close();
+                    throw new UncheckedIOException("Failed to decompress data", e);
+                }
+                if (null == nextLine) {
+                    close();
+                }
+            }
+            return null != nextLine;
+        }
+
+        @Override
+        public String next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("Reached the end of the iterator");
+            }
+            final String line = nextLine;
+            nextLine = null;
+            return line;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                CloseableUtil.close(reader);
+            }
+        }
+    }
+
+    private static final class ChunkIterator implements CloseableIterator<byte[]> {
+        private static final byte[] EMPTY = new byte[0];
+
+        private final InputStream in;
+        private final int chunkSize;
+        private byte[] nextChunk;
+        private boolean closed;
+
+        ChunkIterator(final InputStream in, final int chunkSize) {
+            this.in = in;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (null == nextChunk && !closed) {
+                try {
+                    nextChunk = readChunk();
+                } catch (final IOException e) {
+                    close();
+                    throw new UncheckedIOException("Failed to decompress data", e);
+                }
+                if (0 == nextChunk.length) {
+                    nextChunk = null;
+                    close();
+                }
+            }
+            return null != nextChunk;
+        }
+
+        @Override
+        public byte[] next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("Reached the end of the iterator");
+            }
+            final byte[] chunk = nextChunk;
+            nextChunk = null;
+            return chunk;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                CloseableUtil.close(in);
+            }
+        }
+
+        private byte[] readChunk() throws IOException {
+            final byte[] chunk = new byte[chunkSize];
+            int filled = 0;
+            while (filled < chunkSize) {
+                final int read = in.read(chunk, filled, chunkSize - filled);
+                if (-1 == read) {
+                    break;
+                }
+                filled += read;
+            }
+            if (0 == filled) {
+                return EMPTY;
+            }
+            return filled == chunkSize ? chunk : Arrays.copyOf(chunk, filled);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.koryphe.util;
+
+/**
+ * An approximate count of how often keys have been seen recently, used by
+ * {@link MemoisingCache} to decide whether a new entry is worth caching. It
+ * is a count-min sketch of four bit counters, with four counters per key.
+ * All counters are halved after a number of increments proportional to the
+ * size of the cache, so keys that were popular long ago are forgotten. There
+ * are 64 counters per cache entry, so a key seen once is rarely mistaken for
+ * a key seen twice. The sketch is sized for at most 16384 entries, a table of
+ * 512 KB, and larger caches share its counters.
+ * <p>
+ * The counters are updated without locking, so concurrent increments may be
+ * lost. This only makes the counts more approximate.
+ */
+final class FrequencySketch {
+    private static final long[] SEEDS = {
+            0xC3A5C85C97CB3127L, 0xB492B66FBE98F273L, 0x9AE16A3B2F90404FL, 0xCBF29CE484222325L};
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final int MAX_COUNT = 15;
+    private static final int MIN_SIZE = 16;
+    private static final int WORDS_PER_ENTRY = 4;
+    private static final int MAX_WORDS = 1 << 16;
+    private static final int MAX_SIZE = MAX_WORDS / WORDS_PER_ENTRY;
+    private static final int SAMPLES_PER_ENTRY = 8;
+
+    private final long[] table;
+    private final int mask;
+    private final int sampleSize;
+    private int additions;
+
+    /**
+     * @param maximumSize an estimate of the number of entries the cache can hold
+     */
+    FrequencySketch(final long maximumSize) {
+        final int entries = (int) Math.max(MIN_SIZE, Math.min(maximumSize, MAX_SIZE));
+        int size = MIN_SIZE;
+        while (size < entries * WORDS_PER_ENTRY) {
+            size <<= 1;
+        }
+        table = new long[size];
+        mask = size - 1;
+        sampleSize = SAMPLES_PER_ENTRY * entries;
+    }
+
+    /**
+     * @return the number of 64 bit words in the table of counters
+     */
+    int tableSize() {
+        return table.length;
+    }
+
+    /**
+     * @param hash the hash code of a key
+     * @return the approximate number of times the key has been seen recently
+     */
+    int frequency(final int hash) {
+        final int start = (hash & 3) << 2;
+        int frequency = MAX_COUNT;
+        for (int i = 0; i < SEEDS.length; i++) {
+            final int shift = (start + i) << 2;
+            final int count = (int) ((table[indexOf(hash, i)] >>> shift) & MAX_COUNT);
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    /**
+     * Records that a key has been seen.
+     *
+     * @param hash the hash code of a key
+     */
+    void increment(final int hash) {
+        final int start = (hash & 3) << 2;
+        boolean added = false;
+        for (int i = 0; i < SEEDS.length; i++) {
+            final int index = indexOf(hash, i);
+            final int shift = (start + i) << 2;
+            final long word = table[index];
+            if (((word >>> shift) & MAX_COUNT) != MAX_COUNT) {
+                table[index] = word + (1L << shift);
+                added = true;
+            }
+        }
+        if (added && ++additions >= sampleSize) {
+            reset();
+        }
+    }
+
+    private int indexOf(final int hash, final int i) {
+        long h = (hash + SEEDS[i]) * SEEDS[i];
+        h += h >>> 32;
+        return (int) h & mask;
+    }
+
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        additions = 0;
+    }
+}
@@ -21,10 +21,24 @@ import uk.gov.gchq.koryphe.impl.predicate.And;
 import uk.gov.gchq.koryphe.iterable.CloseableIterable;
 import uk.gov.gchq.koryphe.iterable.CloseableIterator;
 
+import java.util.ArrayDeque;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.LinkedTransferQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
@@ -33,10 +47,16 @@ import java.util.function.Predicate;
  * <ul>
  * <li>Lazily applying a {@link Function}, or a {@link List} of {@link Function}s,
  * to each element of an {@link Iterable}</li>
+ * <li>Applying a {@link List} of {@link Function}s to each element of an {@link Iterable}
+ * asynchronously on an {@link Executor}, with a bounded number of items in flight</li>
  * <li>Flatmapping of nested {@link Iterable}s via concatenation, to allow correct closing of the iterables</li>
  * </ul>
  */
 public final class IterableUtil {
+    public static final int MAX_IN_FLIGHT = 1024;
+    public static final String ASYNC_THREADS_KEY = "koryphe.async.threads";
+    public static final int DEFAULT_ASYNC_THREADS = MAX_IN_FLIGHT;
+
     private IterableUtil() {
         // Empty
     }
@@ -95,16 +115,55 @@ public final class IterableUtil {
             return null;
         }
 
-        if (null == functions) {
-            throw new IllegalArgumentException("List of functions cannot be null");
+        validateFunctions(functions);
+        return new MappedIterable<>(iterable, functions);
+    }
+
+    /**
+     * Lazily applies a list of functions to each item of an iterable, running
+     * the function chain for each item as a task on the supplied {@link Executor}.
+     * Items are read from the source iterable on the consuming thread and at most
+     * {@code maxInFlight} items, up to {@link #MAX_IN_FLIGHT}, are being processed
+     * or waiting to be consumed at any one time. The functions run concurrently,
+     * so they must be thread safe. Results are returned in input order unless
+     * {@code completionOrder} is set, in which case they are returned as soon as
+     * they are available. Closing the returned iterator cancels any outstanding
+     * tasks and closes the source iterator.
+     * <p>
+     * The shared thread pool used when no executor is supplied is sized for
+     * functions that block, such as I/O. It starts a thread whenever a task is
+     * submitted and no thread is idle, up to the number of threads given by the
+     * {@value #ASYNC_THREADS_KEY} system property, {@value #DEFAULT_ASYNC_THREADS}
+     * by default, after which tasks wait in a queue. Idle threads stop after a
+     * minute. Tasks are never run on the consuming thread, so if a supplied
+     * executor rejects a task the iterator is closed and the
+     * {@link RejectedExecutionException} is thrown.
+     *
+     * @param iterable        the items to map
+     * @param functions       the functions to apply to each item
+     * @param executor        the executor to run the functions on, or null to use a shared daemon thread pool
+     * @param maxInFlight     the maximum number of items being processed at once
+     * @param completionOrder true to return results in the order they complete rather than input order
+     * @param <I_ITEM>        the type of the items in the input iterable
+     * @param <O_ITEM>        the type of the items in the output iterable
+     * @return the lazily mapped iterable
+     */
+    public static <I_ITEM, O_ITEM> CloseableIterable<O_ITEM> mapAsync(final Iterable<I_ITEM> iterable, final List<Function> functions,
+                                                                      final Executor executor, final int maxInFlight,
+                                                                      final boolean completionOrder) {
+        if (null == iterable) {
+            return null;
         }
 
-        for (final Function func : functions) {
-            if (null == func) {
-                throw new IllegalArgumentException("Functions list cannot contain a null function");
-            }
+        validateFunctions(functions);
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("The maximum number of items in flight must be at least 1");
         }
-        return new MappedIterable<>(iterable, functions);
+        if (maxInFlight > MAX_IN_FLIGHT) {
+            throw new IllegalArgumentException("The maximum number of items in flight must be at most " + MAX_IN_FLIGHT);
+        }
+        return new AsyncMappedIterable<>(iterable, functions,
+                null != executor ? executor : AsyncExecutorHolder.EXECUTOR, maxInFlight, completionOrder);
     }
 
     public static <T> CloseableIterable<T> concat(final Iterable<? extends Iterable<? extends T>> iterables) {
@@ -115,6 +174,30 @@ public final class IterableUtil {
         return new LimitedIterable<>(iterable, start, end, truncate);
     }
 
+    private static void validateFunctions(final List<Function> functions) {
+        if (null == functions) {
+            throw new IllegalArgumentException("List of functions cannot be null");
+        }
+
+        for (final Function func : functions) {
+            if (null == func) {
+                throw new IllegalArgumentException("Functions list cannot contain a null function");
+            }
+        }
+    }
+
+    private static Object applyFunctions(final Object input, final List<Function> functions) {
+        Object item = input;
+        try {
+            for (final Function function : functions) {
+                item = function.apply(item);
+            }
+            return item;
+        } catch (final ClassCastException c) {
+            throw new IllegalArgumentException("The input/output types of the functions were incompatible", c);
+        }
+    }
+
     private static class MappedIterable<I_ITEM, O_ITEM> implements CloseableIterable<O_ITEM> {
         private final Iterable<I_ITEM> iterable;
         private final List<Function> functions;
@@ -151,20 +234,210 @@ public final class IterableUtil {
 
         @Override
         public O_ITEM next() {
-            Object item = iterator.next();
-            try {
-                for (final Function function : functions) {
-                    item = function.apply(item);
+            return (O_ITEM) applyFunctions(iterator.next(), functions);
+        }
+
+        @Override
+        public void close() {
+            CloseableUtil.close(iterator);
+        }
+    }
+
+    /**
+     * Lazily holds the shared executor used when no executor is supplied to
+     * {@link #mapAsync(Iterable, List, Executor, int, boolean)}. The threads are
+     * daemons so an unclosed iterator never prevents the JVM from exiting.
+     * A task is handed to an idle thread if there is one, otherwise a new
+     * thread is started, and once the limit is reached the task is queued.
+     */
+    private static final class AsyncExecutorHolder {
+        private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+        private static final ExecutorService EXECUTOR = createExecutor();
+
+        private static ExecutorService createExecutor() {
+            final int threads = Math.max(1, Integer.getInteger(ASYNC_THREADS_KEY, DEFAULT_ASYNC_THREADS));
+            return new ThreadPoolExecutor(0, threads, 60L, TimeUnit.SECONDS, new HandOffQueue(), runnable -> {
+                final Thread thread = new Thread(runnable, "koryphe-async-" + THREAD_COUNT.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }, (task, executor) -> {
+                if (executor.isShutdown()) {
+                    throw new RejectedExecutionException("The executor has been shut down");
                 }
-                return (O_ITEM) item;
-            } catch (final ClassCastException c) {
-                throw new IllegalArgumentException("The input/output types of the functions were incompatible", c);
+                ((HandOffQueue) executor.getQueue()).queue(task);
+            });
+        }
+
+        private AsyncExecutorHolder() {
+            // Empty
+        }
+    }
+
+    /**
+     * Only accepts a task from the executor when a thread is idle and waiting
+     * for one, so the executor starts a new thread rather than queueing the
+     * task. Tasks are queued once the executor cannot start any more threads.
+     */
+    private static final class HandOffQueue extends LinkedTransferQueue<Runnable> {
+        private static final long serialVersionUID = -7027218316208716475L;
+
+        @Override
+        public boolean offer(final Runnable task) {
+            return tryTransfer(task);
+        }
+
+        private void queue(final Runnable task) {
+            super.offer(task);
+        }
+    }
+
+    private static class AsyncMappedIterable<I_ITEM, O_ITEM> implements CloseableIterable<O_ITEM> {
+        private final Iterable<I_ITEM> iterable;
+        private final List<Function> functions;
+        private final Executor executor;
+        private final int maxInFlight;
+        private final boolean completionOrder;
+
+        AsyncMappedIterable(final Iterable<I_ITEM> iterable, final List<Function> functions, final Executor executor,
+                            final int maxInFlight, final boolean completionOrder) {
+            this.iterable = iterable;
+            this.functions = functions;
+            this.executor = executor;
+            this.maxInFlight = maxInFlight;
+            this.completionOrder = completionOrder;
+        }
+
+        @Override
+        public CloseableIterator<O_ITEM> iterator() {
+            return new AsyncMappedIterator<>(iterable.iterator(), functions, executor, maxInFlight, completionOrder);
+        }
+
+        @Override
+        public void close() {
+            CloseableUtil.close(iterable);
+        }
+    }
+
+    private static class AsyncMappedIterator<I_ITEM, O_ITEM> implements CloseableIterator<O_ITEM> {
+        private final Iterator<? extends I_ITEM> iterator;
+        private final List<Function> functions;
+        private final Executor executor;
+        private final int maxInFlight;
+        private final Deque<MappingTask> inFlight = new ArrayDeque<>();
+        private final BlockingQueue<MappingTask> completed;
+        private boolean closed;
+
+        AsyncMappedIterator(final Iterator<I_ITEM> iterator, final List<Function> functions, final Executor executor,
+                            final int maxInFlight, final boolean completionOrder) {
+            this.iterator = iterator;
+            this.functions = functions;
+            this.executor = executor;
+            this.maxInFlight = maxInFlight;
+            this.completed = completionOrder ? new LinkedBlockingQueue<>() : null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            submitTasks();
+            final boolean hasNext = !inFlight.isEmpty();
+            if (!hasNext) {
+                close();
             }
+            return hasNext;
+        }
+
+        @Override
+        public O_ITEM next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("Reached the end of the iterator");
+            }
+
+            final MappingTask task;
+            if (null == completed) {
+                task = inFlight.removeFirst();
+            } else {
+                task = takeCompleted();
+                inFlight.remove(task);
+            }
+
+            final O_ITEM result = (O_ITEM) getResult(task);
+            submitTasks();
+            return result;
         }
 
         @Override
         public void close() {
-            CloseableUtil.close(iterator);
+            if (!closed) {
+                closed = true;
+                for (final MappingTask task : inFlight) {
+                    task.cancel(true);
+                }
+                inFlight.clear();
+                CloseableUtil.close(iterator);
+            }
+        }
+
+        // The source iterator is only ever read on the consuming thread, so it
+        // does not need to be thread safe.
+        private void submitTasks() {
+            while (!closed && inFlight.size() < maxInFlight && iterator.hasNext()) {
+                final MappingTask task = new MappingTask(iterator.next(), functions, completed);
+                inFlight.addLast(task);
+                try {
+                    executor.execute(task);
+                } catch (final RejectedExecutionException e) {
+                    inFlight.removeLast();
+                    close();
+                    throw e;
+                }
+            }
+        }
+
+        private MappingTask takeCompleted() {
+            try {
+                return completed.take();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                close();
+                throw new IllegalStateException("Interrupted whilst waiting for a function to complete", e);
+            }
+        }
+
+        private Object getResult(final MappingTask task) {
+            try {
+                return task.get();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                close();
+                throw new IllegalStateException("Interrupted whilst waiting for a function to complete", e);
+            } catch (final CancellationException e) {
+                throw new IllegalStateException("The function was cancelled", e);
+            } catch (final ExecutionException e) {
+                final Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new IllegalStateException("Failed to apply the functions", cause);
+            }
+        }
+    }
+
+    private static final class MappingTask extends FutureTask<Object> {
+        private final BlockingQueue<MappingTask> completed;
+
+        MappingTask(final Object item, final List<Function> functions, final BlockingQueue<MappingTask> completed) {
+            super(() -> applyFunctions(item, functions));
+            this.completed = completed;
+        }
+
+        @Override
+        protected void done() {
+            if (null != completed) {
+                completed.add(this);
+            }
         }
     }
 
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.koryphe.util;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.RemovalCause;
+
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * A bounded, concurrent cache of the outputs of a pure function.
+ * <p>
+ * Entries are evicted least recently used first. Once the cache has started
+ * evicting entries, a new entry is only cached if its key has been seen
+ * before recently, so keys that are only seen once do not push out keys that
+ * are seen often. The cache can be bounded by its number of entries or by the
+ * total weight of its values, where the weight of a value is the length of a
+ * {@link CharSequence}, array, {@link Collection} or {@link Map} and one for
+ * anything else. Values heavier than a maximum entry weight are never
+ * cached, and entries can expire a fixed time after they were cached.
+ * <p>
+ * Null keys are never cached. Cached values are returned to every caller that
+ * looks up the same key, so they must not be modified.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public class MemoisingCache<K, V> {
+    private static final Object NULL = new Object();
+    private static final int MIN_ADMISSION_FREQUENCY = 2;
+
+    private final Cache<K, Object> cache;
+    private final FrequencySketch sketch;
+    private final long maximumEntryWeight;
+    private final LongAdder rejections = new LongAdder();
+    private volatile boolean evicting;
+
+    /**
+     * @param maximumSize            the maximum number of entries, used if
+     *                               the maximum weight is not positive,
+     *                               otherwise the expected number of entries
+     * @param maximumWeight          the maximum total weight of the values,
+     *                               or 0 to bound the number of entries
+     * @param maximumEntryWeight     the maximum weight of a value to cache,
+     *                               or 0 for no maximum
+     * @param expireAfterWriteMillis the time after which entries expire, in
+     *                               milliseconds, or 0 for entries to not
+     *                               expire
+     */
+    public MemoisingCache(final long maximumSize, final long maximumWeight, final long maximumEntryWeight,
+                          final long expireAfterWriteMillis) {
+        final CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder()
+                .recordStats()
+                .removalListener(notification -> {
+                    if (RemovalCause.SIZE == notification.getCause()) {
+                        evicting = true;
+                    }
+                });
+        if (maximumWeight > 0) {
+            builder.maximumWeight(maximumWeight).weigher((key, value) -> (int) Math.min(weigh(value), Integer.MAX_VALUE));
+        } else {
+            builder.maximumSize(maximumSize);
+        }
+        if (expireAfterWriteMillis > 0) {
+            builder.expireAfterWrite(expireAfterWriteMillis, TimeUnit.MILLISECONDS);
+        }
+        this.cache = builder.build();
+        // Every value weighs at least one, so a weighted cache holds at most maximumWeight entries
+        this.sketch = new FrequencySketch(maximumWeight > 0 ? Math.min(maximumSize, maximumWeight) : maximumSize);
+        this.maximumEntryWeight = maximumEntryWeight;
+    }
+
+    /**
+     * @param value a value
+     * @return the weight of the value
+     */
+    public static long weigh(final Object value) {
+        final long weight;
+        if (value instanceof CharSequence) {
+            weight = ((CharSequence) value).length();
+        } else if (value instanceof Collection) {
+            weight = ((Collection<?>) value).size();
+        } else if (value instanceof Map) {
+            weight = ((Map<?, ?>) value).size();
+        } else if (null != value && value.getClass().isArray()) {
+            weight = Array.getLength(value);
+        } else {
+            weight = 1;
+        }
+        return Math.max(weight, 1);
+    }
+
+    /**
+     * Returns the cached value for a key, or computes, caches and returns it.
+     *
+     * @param key      the key
+     * @param function the function that computes the value for a key
+     * @return the value for the key
+     */
+    @SuppressWarnings("unchecked")
+    public V get(final K key, final Function<? super K, ? extends V> function) {
+        if (null == key) {
+            return function.apply(null);
+        }
+
+        final int hash = key.hashCode();
+        sketch.increment(hash);
+        final Object cached = cache.getIfPresent(key);
+        if (null != cached) {
+            return NULL == cached ? null : (V) cached;
+        }
+
+        final V value = function.apply(key);
+        if (admit(hash, value)) {
+            cache.put(key, null == value ? NULL : value);
+        } else {
+            rejections.increment();
+        }
+        return value;
+    }
+
+    private boolean admit(final int hash, final V value) {
+        if (maximumEntryWeight > 0 && weigh(value) > maximumEntryWeight) {
+            return false;
+        }
+        return !evicting || sketch.frequency(hash) >= MIN_ADMISSION_FREQUENCY;
+    }
+
+    /**
+     * @return a snapshot of the statistics for this cache
+     */
+    public CacheStatistics getStatistics() {
+        final CacheStats stats = cache.stats();
+        return new CacheStatistics(cache.size(), stats.hitCount(), stats.missCount(), stats.evictionCount(), rejections.sum());
+    }
+
+    /**
+     * Removes all entries from the cache.
+     */
+    public void clear() {
+        cache.invalidateAll();
+    }
+}
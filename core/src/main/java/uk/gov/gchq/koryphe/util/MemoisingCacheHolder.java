@@ -0,0 +1,171 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.koryphe.util;
+
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+/**
+ * Holds the sizing of a {@link MemoisingCache} and lazily creates the cache
+ * the first time it is used. Changing the sizing discards the cache, so a new
+ * one is created with the new sizing.
+ * <p>
+ * Only the sizing is compared by {@link #equals(Object)} and
+ * {@link #hashCode()}, not the cached values.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ * @see uk.gov.gchq.koryphe.function.Cached
+ * @see uk.gov.gchq.koryphe.predicate.CachedPredicate
+ */
+public final class MemoisingCacheHolder<K, V> {
+    public static final long DEFAULT_MAXIMUM_SIZE = 10000;
+
+    private long maximumSize = DEFAULT_MAXIMUM_SIZE;
+    private long maximumWeight;
+    private long maximumEntryWeight;
+    private long expireAfterWriteMillis;
+    private volatile MemoisingCache<K, V> cache;
+
+    /**
+     * @return the cache, created with the current sizing if it does not
+     * exist yet
+     */
+    public MemoisingCache<K, V> getCache() {
+        MemoisingCache<K, V> result = cache;
+        if (null == result) {
+            synchronized (this) {
+                result = cache;
+                if (null == result) {
+                    result = new MemoisingCache<>(maximumSize, maximumWeight, maximumEntryWeight, expireAfterWriteMillis);
+                    cache = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Discards the cache, so a new one is created when it is next used.
+     */
+    public void reset() {
+        cache = null;
+    }
+
+    /**
+     * @return the statistics for the cache, or null if it has not been
+     * created yet
+     */
+    public CacheStatistics getStatistics() {
+        final MemoisingCache<K, V> current = cache;
+        return null != current ? current.getStatistics() : null;
+    }
+
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * @param maximumSize the maximum number of values to cache, used if
+     *                    there is no maximum weight
+     */
+    public void setMaximumSize(final long maximumSize) {
+        this.maximumSize = maximumSize;
+        reset();
+    }
+
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    /**
+     * @param maximumWeight the maximum total weight of the values to cache,
+     *                      or 0 to bound the number of values instead
+     * @see MemoisingCache#weigh(Object)
+     */
+    public void setMaximumWeight(final long maximumWeight) {
+        this.maximumWeight = maximumWeight;
+        reset();
+    }
+
+    public long getMaximumEntryWeight() {
+        return maximumEntryWeight;
+    }
+
+    /**
+     * @param maximumEntryWeight the maximum weight of a value to cache, or
+     *                           0 for no maximum
+     */
+    public void setMaximumEntryWeight(final long maximumEntryWeight) {
+        this.maximumEntryWeight = maximumEntryWeight;
+        reset();
+    }
+
+    public long getExpireAfterWriteMillis() {
+        return expireAfterWriteMillis;
+    }
+
+    /**
+     * @param expireAfterWriteMillis the time in milliseconds after which a
+     *                               cached value expires, or 0 for values
+     *                               to not expire
+     */
+    public void setExpireAfterWriteMillis(final long expireAfterWriteMillis) {
+        this.expireAfterWriteMillis = expireAfterWriteMillis;
+        reset();
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (null == o || !getClass().equals(o.getClass())) {
+            return false;
+        }
+
+        final MemoisingCacheHolder that = (MemoisingCacheHolder) o;
+        return new EqualsBuilder()
+                .append(maximumSize, that.maximumSize)
+                .append(maximumWeight, that.maximumWeight)
+                .append(maximumEntryWeight, that.maximumEntryWeight)
+                .append(expireAfterWriteMillis, that.expireAfterWriteMillis)
+                .isEquals();
+    }
+
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder(29, 61)
+                .append(maximumSize)
+                .append(maximumWeight)
+                .append(maximumEntryWeight)
+                .append(expireAfterWriteMillis)
+                .toHashCode();
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("maximumSize", maximumSize)
+                .append("maximumWeight", maximumWeight)
+                .append("maximumEntryWeight", maximumEntryWeight)
+                .append("expireAfterWriteMillis", expireAfterWriteMillis)
+                .toString();
+    }
+}
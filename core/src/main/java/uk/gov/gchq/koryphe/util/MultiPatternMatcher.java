@@ -0,0 +1,194 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.koryphe.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * A {@code MultiPatternMatcher} checks whether a string fully matches any of
+ * a set of {@link Pattern}s without running each pattern in turn.
+ * <p>
+ * Literal patterns are held in a hash map keyed on the pattern string, so
+ * they are matched with a single lookup. The remaining patterns are combined
+ * into one alternation, with each pattern wrapped in a capturing group so the
+ * matching pattern can be identified. Patterns that cannot safely be combined
+ * are matched individually, in order. This includes patterns with flags,
+ * backreferences, quoting, named groups or inline flags.
+ * <p>
+ * The matcher is immutable and safe to share between threads.
+ */
+public final class MultiPatternMatcher {
+    private static final Pattern UNCOMBINABLE = Pattern.compile(
+            "\\\\[1-9]|\\\\k<|\\\\Q|\\(\\?<[a-zA-Z]|\\(\\?[a-zA-Z-]");
+
+    private final Pattern[] patterns;
+    private final Map<String, Integer> literals = new HashMap<>();
+    private final Pattern combined;
+    private final int[] groupToIndex;
+    private final int[] fallback;
+
+    public MultiPatternMatcher(final Pattern... patterns) {
+        this.patterns = null != patterns ? patterns.clone() : new Pattern[0];
+
+        final List<Integer> alternatives = new ArrayList<>();
+        final List<Integer> uncombined = new ArrayList<>();
+        for (int i = 0; i < this.patterns.length; i++) {
+            final Pattern pattern = this.patterns[i];
+            if (PatternUtil.isLiteral(pattern)) {
+                literals.putIfAbsent(pattern.pattern(), i);
+            } else if (isCombinable(pattern)) {
+                alternatives.add(i);
+            } else {
+                uncombined.add(i);
+            }
+        }
+
+        Pattern alternation = null;
+        int[] groups = new int[0];
+        if (alternatives.size() > 1) {
+            try {
+                alternation = compileAlternation(alternatives);
+                groups = mapGroups(alternation, alternatives);
+            } catch (final PatternSyntaxException e) {
+                alternation = null;
+            }
+        }
+        if (null == alternation) {
+            uncombined.addAll(alternatives);
+            uncombined.sort(null);
+        }
+
+        this.combined = alternation;
+        this.groupToIndex = groups;
+        this.fallback = new int[uncombined.size()];
+        for (int i = 0; i < fallback.length; i++) {
+            fallback[i] = uncombined.get(i);
+        }
+    }
+
+    /**
+     * Checks whether the input fully matches any of the patterns.
+     *
+     * @param input the string to match
+     * @return true if at least one pattern matches
+     */
+    public boolean matches(final String input) {
+        if (literals.containsKey(input)) {
+            return true;
+        }
+        if (null != combined && combined.matcher(input).matches()) {
+            return true;
+        }
+        for (final int index : fallback) {
+            if (patterns[index].matcher(input).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Finds the first pattern, in the original order, that fully matches
+     * the input.
+     *
+     * @param input the string to match
+     * @return the index of the first matching pattern, or -1 if none match
+     */
+    public int indexOf(final String input) {
+        int first = Integer.MAX_VALUE;
+
+        final Integer literal = literals.get(input);
+        if (null != literal) {
+            first = literal;
+        }
+
+        if (null != combined) {
+            final Matcher matcher = combined.matcher(input);
+            if (matcher.matches()) {
+                for (int group = 1; group < groupToIndex.length; group++) {
+                    if (groupToIndex[group] >= 0 && matcher.start(group) >= 0) {
+                        first = Math.min(first, groupToIndex[group]);
+                        break;
+                    }
+                }
+            }
+        }
+
+        for (final int index : fallback) {
+            if (index >= first) {
+                break;
+            }
+            if (patterns[index].matcher(input).matches()) {
+                return index;
+            }
+        }
+
+        return Integer.MAX_VALUE == first ? -1 : first;
+    }
+
+    /**
+     * @return true if the patterns that were not literals could be combined
+     * into a single alternation
+     */
+    public boolean isCombined() {
+        return null != combined;
+    }
+
+    /**
+     * @return the number of patterns that are matched individually
+     */
+    public int getFallbackCount() {
+        return fallback.length;
+    }
+
+    // Patterns with flags, backreferences or named groups change meaning
+    // when wrapped in a larger expression, so they are matched on their own.
+    private static boolean isCombinable(final Pattern pattern) {
+        return 0 == pattern.flags() && !UNCOMBINABLE.matcher(pattern.pattern()).find();
+    }
+
+    private Pattern compileAlternation(final List<Integer> alternatives) {
+        final StringBuilder builder = new StringBuilder();
+        for (final int index : alternatives) {
+            if (builder.length() > 0) {
+                builder.append('|');
+            }
+            builder.append('(').append(patterns[index].pattern()).append(')');
+        }
+        return Pattern.compile(builder.toString());
+    }
+
+    // Maps each wrapper group to the index of its pattern. Groups inside
+    // the patterns themselves map to -1.
+    private int[] mapGroups(final Pattern alternation, final List<Integer> alternatives) {
+        final int[] groups = new int[alternation.matcher("").groupCount() + 1];
+        Arrays.fill(groups, -1);
+        int group = 1;
+        for (final int index : alternatives) {
+            groups[group] = index;
+            group += 1 + patterns[index].matcher("").groupCount();
+        }
+        return groups;
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.koryphe.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Utility methods for regular expressions.
+ * <p>
+ * Compiled {@link Pattern}s are held in a bounded cache that is shared by all
+ * of the regex based functions and predicates. Patterns are immutable so a
+ * single compiled instance can safely be used by many threads. Once the cache
+ * reaches its maximum size it is cleared, so a stream of distinct expressions
+ * cannot grow it without bound.
+ */
+public final class PatternUtil {
+    /**
+     * The system property used to set the maximum number of cached patterns.
+     */
+    public static final String CACHE_SIZE_KEY = "koryphe.pattern.cacheSize";
+    public static final int DEFAULT_CACHE_SIZE = 1000;
+
+    private static final String METACHARACTERS = "\\^$.|?*+()[]{}";
+    private static final Map<String, Pattern> CACHE = new ConcurrentHashMap<>();
+
+    private static volatile int cacheSize = Integer.getInteger(CACHE_SIZE_KEY, DEFAULT_CACHE_SIZE);
+
+    private PatternUtil() {
+        // Private constructor to prevent instantiation.
+    }
+
+    /**
+     * Compiles the given regular expression, reusing a previously compiled
+     * {@link Pattern} if there is one in the cache.
+     *
+     * @param regex the regular expression
+     * @return the compiled pattern
+     */
+    public static Pattern compile(final String regex) {
+        Pattern pattern = CACHE.get(regex);
+        if (null == pattern) {
+            pattern = Pattern.compile(regex);
+            if (cacheSize > 0) {
+                if (CACHE.size() >= cacheSize) {
+                    CACHE.clear();
+                }
+                final Pattern existing = CACHE.putIfAbsent(regex, pattern);
+                if (null != existing) {
+                    pattern = existing;
+                }
+            }
+        }
+        return pattern;
+    }
+
+    /**
+     * Checks whether a regular expression only matches itself, i.e. it is
+     * non-empty and contains no metacharacters.
+     *
+     * @param regex the regular expression
+     * @return true if the expression can be treated as a plain string
+     */
+    public static boolean isLiteral(final String regex) {
+        if (null == regex || regex.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < regex.length(); i++) {
+            if (METACHARACTERS.indexOf(regex.charAt(i)) >= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether a compiled {@link Pattern} only matches its own source
+     * string.
+     *
+     * @param pattern the pattern
+     * @return true if the pattern has no flags and a literal expression
+     */
+    public static boolean isLiteral(final Pattern pattern) {
+        return null != pattern && 0 == pattern.flags() && isLiteral(pattern.pattern());
+    }
+
+    /**
+     * Splits the input around a literal separator without using the regex
+     * engine. The result is the same as {@link Pattern#split(CharSequence)}
+     * for a literal expression, so trailing empty strings are removed.
+     *
+     * @param input     the string to split
+     * @param separator the non-empty literal separator
+     * @return the split string
+     */
+    public static String[] splitLiteral(final String input, final String separator) {
+        int index = input.indexOf(separator);
+        if (index < 0) {
+            return new String[]{input};
+        }
+
+        final List<String> parts = new ArrayList<>();
+        int start = 0;
+        while (index >= 0) {
+            parts.add(input.substring(start, index));
+            start = index + separator.length();
+            index = input.indexOf(separator, start);
+        }
+        parts.add(input.substring(start));
+
+        int size = parts.size();
+        while (size > 0 && parts.get(size - 1).isEmpty()) {
+            size--;
+        }
+        return parts.subList(0, size).toArray(new String[size]);
+    }
+
+    /**
+     * Checks whether a replacement string contains characters that
+     * {@link java.util.regex.Matcher#replaceAll(String)} treats specially.
+     *
+     * @param replacement the replacement string
+     * @return true if the replacement can be inserted as is
+     */
+    public static boolean isLiteralReplacement(final String replacement) {
+        return null != replacement && replacement.indexOf('$') < 0 && replacement.indexOf('\\') < 0;
+    }
+
+    public static int getCacheSize() {
+        return cacheSize;
+    }
+
+    /**
+     * Sets the maximum number of patterns to cache. A size of 0 disables
+     * the cache. The default is taken from the {@value #CACHE_SIZE_KEY}
+     * system property.
+     *
+     * @param cacheSize the maximum number of cached patterns
+     */
+    public static void setCacheSize(final int cacheSize) {
+        PatternUtil.cacheSize = cacheSize;
+        clearCache();
+    }
+
+    public static void clearCache() {
+        CACHE.clear();
+    }
+
+    static int getCachedCount() {
+        return CACHE.size();
+    }
+}
@@ -36,15 +36,25 @@ import java.util.concurrent.ConcurrentHashMap;
  * If you wish to include your own packages/classes in the scanner you can call
  * {@link ReflectionUtil#addReflectionPackages(String...)} or set the System Property
  * "koryphe.reflection.packages" with a csv of your additional packages.
+ * <p>
+ * Jars and directories that contain a class index, written at build time by the
+ * class-index annotation processor, are read from the index rather than
+ * scanned. Only the reflection packages that the indexes do not cover are
+ * scanned, once each, in the rest of the classpath. The index is kept when
+ * reflection packages are added. This can be disabled by setting the System
+ * Property "koryphe.reflection.index" to false.
  */
 public final class ReflectionUtil {
     public static final String PACKAGES_KEY = "koryphe.reflection.packages";
     public static final Set<String> DEFAULT_PACKAGES = Collections.unmodifiableSet(Sets.newHashSet("uk.gov.gchq"));
+    public static final String INDEX_KEY = "koryphe.reflection.index";
 
     private static Set<String> packages;
     private static Map<Class<?>, Map<String, Set<Class>>> simpleClassNamesCache;
     private static Map<Class<?>, Set<Class>> subclassesCache;
     private static Map<Class<? extends Annotation>, Set<Class>> annoClassesCache;
+    private static volatile boolean useClassIndex = Boolean.parseBoolean(System.getProperty(INDEX_KEY, "true"));
+    private static volatile ClassIndex classIndex;
 
     static {
         resetReflectionPackages();
@@ -103,7 +113,13 @@ public final class ReflectionUtil {
             updateReflectionPackages();
 
             final Set<Class> newSubClasses = new HashSet<>();
-            if (clazz.isInterface()) {
+            if (useClassIndex) {
+                for (final Class indexedClass : loadClasses(getClassIndex().getSubTypes(clazz.getName(), packages))) {
+                    if (clazz.isAssignableFrom(indexedClass) && isPublicConcrete(indexedClass)) {
+                        newSubClasses.add(indexedClass);
+                    }
+                }
+            } else if (clazz.isInterface()) {
                 getScanner().matchClassesImplementing(clazz, c -> {
                     if (isPublicConcrete(c)) {
                         newSubClasses.add(c);
@@ -133,7 +149,11 @@ public final class ReflectionUtil {
         if (null == annoClasses) {
             updateReflectionPackages();
             annoClasses = new HashSet<>();
-            getScanner().matchClassesWithAnnotation(annoClass, annoClasses::add).scan();
+            if (useClassIndex) {
+                annoClasses.addAll(loadClasses(getClassIndex().getAnnotatedTypes(annoClass.getName(), packages)));
+            } else {
+                getScanner().matchClassesWithAnnotation(annoClass, annoClasses::add).scan();
+            }
             annoClasses = Collections.unmodifiableSet(annoClasses);
             subclassesCache.put(annoClass, annoClasses);
         }
@@ -186,9 +206,25 @@ public final class ReflectionUtil {
      * Resets the caches.
      */
     public static void resetReflectionCache() {
-        simpleClassNamesCache = new ConcurrentHashMap<>();
-        subclassesCache = new ConcurrentHashMap<>();
-        annoClassesCache = new ConcurrentHashMap<>();
+        resetResultCaches();
+        classIndex = null;
+    }
+
+    public static boolean isUseClassIndex() {
+        return useClassIndex;
+    }
+
+    /**
+     * Sets whether the build time class indexes should be used instead of
+     * scanning the classpath elements that contain them. The default is
+     * taken from the {@value #INDEX_KEY} system property and is true if
+     * the property is not set. Changing this resets the reflection cache.
+     *
+     * @param useClassIndex true if the class indexes should be used
+     */
+    public static void setUseClassIndex(final boolean useClassIndex) {
+        ReflectionUtil.useClassIndex = useClassIndex;
+        resetReflectionCache();
     }
 
     /**
@@ -200,7 +236,8 @@ public final class ReflectionUtil {
 
     /**
      * Adds new reflection packages. If any new packages are found then the
-     * reflection cache is reset.
+     * cached results are reset. The class index is kept, as only the new
+     * packages need to be scanned.
      *
      * @param newPackages new packages to add. These can be CSVs.
      */
@@ -230,7 +267,7 @@ public final class ReflectionUtil {
             }
 
             if (hasNewPackage) {
-                resetReflectionCache();
+                resetResultCaches();
             }
         }
     }
@@ -239,7 +276,53 @@ public final class ReflectionUtil {
         return Collections.unmodifiableSet(packages);
     }
 
+    private static void resetResultCaches() {
+        simpleClassNamesCache = new ConcurrentHashMap<>();
+        subclassesCache = new ConcurrentHashMap<>();
+        annoClassesCache = new ConcurrentHashMap<>();
+    }
+
     private static FastClasspathScanner getScanner() {
         return new FastClasspathScanner(packages.toArray(new String[packages.size()]));
     }
+
+    static ClassIndex getClassIndex() {
+        ClassIndex index = classIndex;
+        if (null == index) {
+            index = ClassIndex.load(getClassLoader());
+            classIndex = index;
+        }
+        return index;
+    }
+
+    private static ClassLoader getClassLoader() {
+        final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        return null != contextClassLoader ? contextClassLoader : ReflectionUtil.class.getClassLoader();
+    }
+
+    // Loads the classes that are in the reflection packages, without
+    // initialising them, in the same way the scanner does.
+    private static Set<Class> loadClasses(final Set<String> classNames) {
+        final Set<Class> classes = new HashSet<>();
+        final ClassLoader classLoader = getClassLoader();
+        for (final String className : classNames) {
+            if (isInReflectionPackages(className)) {
+                try {
+                    classes.add(Class.forName(className, false, classLoader));
+                } catch (final ClassNotFoundException | LinkageError e) {
+                    // The scanner also skips classes that cannot be loaded
+                }
+            }
+        }
+        return classes;
+    }
+
+    private static boolean isInReflectionPackages(final String className) {
+        for (final String packageName : packages) {
+            if (className.startsWith(packageName + ".")) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
@@ -0,0 +1,309 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.koryphe.compiler;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.koryphe.impl.function.Concat;
+import uk.gov.gchq.koryphe.impl.function.If;
+import uk.gov.gchq.koryphe.impl.function.SetValue;
+import uk.gov.gchq.koryphe.impl.function.ToString;
+import uk.gov.gchq.koryphe.impl.predicate.And;
+import uk.gov.gchq.koryphe.impl.predicate.Exists;
+import uk.gov.gchq.koryphe.impl.predicate.IsLongerThan;
+import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
+import uk.gov.gchq.koryphe.impl.predicate.Not;
+import uk.gov.gchq.koryphe.impl.predicate.Or;
+import uk.gov.gchq.koryphe.tuple.ArrayTuple;
+import uk.gov.gchq.koryphe.tuple.ReflectiveTuple;
+import uk.gov.gchq.koryphe.tuple.Tuple;
+import uk.gov.gchq.koryphe.tuple.function.TupleAdaptedFunctionComposite;
+import uk.gov.gchq.koryphe.tuple.predicate.IntegerTupleAdaptedPredicate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CommonSubexpressionEliminatorTest {
+
+    @Test
+    public void shouldApplyRepeatedFunctionOncePerValue() {
+        // Given
+        final AtomicInteger calls = new AtomicInteger();
+        final TupleAdaptedFunctionComposite<Integer> function = new TupleAdaptedFunctionComposite.Builder<Integer>()
+                .select(new Integer[]{0}).execute(new CountingToUpperCase(calls)).project(new Integer[]{1})
+                .select(new Integer[]{0}).execute(new CountingToUpperCase(calls)).project(new Integer[]{2})
+                .build();
+
+        // When
+        final Function<ArrayTuple, ArrayTuple> optimised = (Function) CommonSubexpressionEliminator.optimise(function);
+        final ArrayTuple result = optimised.apply(new ArrayTuple(new Object[]{"value", null, null}));
+
+        // Then
+        assertNotSame(function, optimised);
+        assertEquals(1, calls.get());
+        assertEquals(new ArrayTuple(new Object[]{"value", "VALUE", "VALUE"}), result);
+    }
+
+    @Test
+    public void shouldApplyRepeatedFunctionAgainWhenValueChanges() {
+        // Given
+        final AtomicInteger calls = new AtomicInteger();
+        final TupleAdaptedFunctionComposite<Integer> function = new TupleAdaptedFunctionComposite.Builder<Integer>()
+                .select(new Integer[]{0}).execute(new CountingToUpperCase(calls)).project(new Integer[]{1})
+                .select(new Integer[]{0}).execute(new SetValue("other")).project(new Integer[]{0})
+                .select(new Integer[]{0}).execute(new CountingToUpperCase(calls)).project(new Integer[]{2})
+                .build();
+
+        // When
+        final Function<ArrayTuple, ArrayTuple> optimised = (Function) CommonSubexpressionEliminator.optimise(function);
+        final ArrayTuple first = optimised.apply(new ArrayTuple(new Object[]{"value", null, null}));
+        final ArrayTuple second = optimised.apply(new ArrayTuple(new Object[]{"next", null, null}));
+
+        // Then
+        assertEquals(4, calls.get());
+        assertEquals(new ArrayTuple(new Object[]{"other", "VALUE", "OTHER"}), first);
+        assertEquals(new ArrayTuple(new Object[]{"other", "NEXT", "OTHER"}), second);
+    }
+
+    @Test
+    public void shouldShareRepeatedFunctionOverMultipleFields() {
+        // Given
+        final TupleAdaptedFunctionComposite<Integer> function = new TupleAdaptedFunctionComposite.Builder<Integer>()
+                .select(new Integer[]{0, 1}).execute(new Concat()).project(new Integer[]{2})
+                .select(new Integer[]{0, 1}).execute(new Concat()).project(new Integer[]{3})
+                .select(new Integer[]{1, 0}).execute(new Concat()).project(new Integer[]{4})
+                .build();
+
+        // When
+        final Function<ArrayTuple, ArrayTuple> optimised = (Function) CommonSubexpressionEliminator.optimise(function);
+        final ArrayTuple result = optimised.apply(new ArrayTuple(new Object[]{"a", "b", null, null, null}));
+
+        // Then
+        assertEquals(new ArrayTuple(new Object[]{"a", "b", "a,b", "a,b", "b,a"}), result);
+        assertSame(result.get(2), result.get(3));
+    }
+
+    @Test
+    public void shouldTestRepeatedIfConditionOncePerValue() {
+        // Given
+        final AtomicInteger calls = new AtomicInteger();
+        final TupleAdaptedFunctionComposite<Integer> function = new TupleAdaptedFunctionComposite.Builder<Integer>()
+                .select(new Integer[]{0})
+                .execute(new If<>().predicate(new CountingIsPositive(calls)).then(new ToString()))
+                .project(new Integer[]{1})
+                .select(new Integer[]{0})
+                .execute(new If<>().predicate(new CountingIsPositive(calls)).then(new SetValue("positive")).otherwise(new SetValue("negative")))
+                .project(new Integer[]{2})
+                .build();
+
+        // When
+        final Function<ArrayTuple, ArrayTuple> optimised = (Function) CommonSubexpressionEliminator.optimise(function);
+        final ArrayTuple positive = optimised.apply(new ArrayTuple(new Object[]{5, null, null}));
+        final ArrayTuple negative = optimised.apply(new ArrayTuple(new Object[]{-5, null, null}));
+
+        // Then
+        assertEquals(2, calls.get());
+        assertEquals(new ArrayTuple(new Object[]{5, "5", "positive"}), positive);
+        assertEquals(new ArrayTuple(new Object[]{-5, -5, "negative"}), negative);
+    }
+
+    @Test
+    public void shouldTestRepeatedPredicateOncePerValue() {
+        // Given
+        final AtomicInteger calls = new AtomicInteger();
+        final And<ArrayTuple> predicate = new And<>(
+                new IntegerTupleAdaptedPredicate(new CountingIsPositive(calls), 0),
+                new Not<>(new IntegerTupleAdaptedPredicate(new IsMoreThan(10), 1)),
+                new IntegerTupleAdaptedPredicate(new CountingIsPositive(calls), 0));
+
+        // When
+        final Predicate<ArrayTuple> optimised = CommonSubexpressionEliminator.optimise(predicate);
+
+        // Then
+        assertTrue(optimised.test(new ArrayTuple(new Object[]{1, 2})));
+        assertFalse(optimised.test(new ArrayTuple(new Object[]{1, 20})));
+        assertFalse(optimised.test(new ArrayTuple(new Object[]{-1, 2})));
+        // Each record is tested once, even though the boxed 1 is the same object in the first two tuples
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    public void shouldNotReuseResultsForMutableInputReusedAcrossRecords() {
+        // Given
+        final Or<List<Integer>> predicate = new Or<>(
+                new And<>(new IsLongerThan(2), new Exists()),
+                new And<>(new IsLongerThan(2), new Exists()));
+        final List<Integer> record = new ArrayList<>(Arrays.asList(1, 2, 3));
+
+        // When
+        final Predicate<List<Integer>> optimised = CommonSubexpressionEliminator.optimise(predicate);
+        final boolean first = optimised.test(record);
+        record.clear();
+        record.add(1);
+        final boolean second = optimised.test(record);
+
+        // Then
+        assertNotSame(predicate, optimised);
+        assertTrue(first);
+        assertFalse(second);
+    }
+
+    @Test
+    public void shouldShareRepeatedPredicateOverTupleThatCannotListValues() {
+        // Given
+        final AtomicInteger calls = new AtomicInteger();
+        final And<Tuple<String>> predicate = new And<>(new CountingHasField(calls), new CountingHasField(calls));
+        final ReflectiveTuple tuple = new ReflectiveTuple(new Record("value"));
+        final ReflectiveTuple otherTuple = new ReflectiveTuple(new Record(null));
+
+        // When
+        final Predicate<Tuple<String>> optimised = CommonSubexpressionEliminator.optimise(predicate);
+
+        // Then
+        assertNotSame(predicate, optimised);
+        assertTrue(optimised.test(tuple));
+        assertFalse(optimised.test(otherTuple));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void shouldNotModifyOriginalTree() {
+        // Given
+        final TupleAdaptedFunctionComposite<Integer> function = new TupleAdaptedFunctionComposite.Builder<Integer>()
+                .select(new Integer[]{0}).execute(new ToString()).project(new Integer[]{1})
+                .select(new Integer[]{0}).execute(new ToString()).project(new Integer[]{2})
+                .build();
+        final TupleAdaptedFunctionComposite<Integer> copy = new TupleAdaptedFunctionComposite.Builder<Integer>()
+                .select(new Integer[]{0}).execute(new ToString()).project(new Integer[]{1})
+                .select(new Integer[]{0}).execute(new ToString()).project(new Integer[]{2})
+                .build();
+
+        // When
+        CommonSubexpressionEliminator.optimise(function);
+
+        // Then
+        assertEquals(copy, function);
+    }
+
+    @Test
+    public void shouldReturnTreesWithoutRepeatsUnchanged() {
+        // Given
+        final TupleAdaptedFunctionComposite<Integer> function = new TupleAdaptedFunctionComposite.Builder<Integer>()
+                .select(new Integer[]{0}).execute(new ToString()).project(new Integer[]{1})
+                .select(new Integer[]{1}).execute(new ToString()).project(new Integer[]{2})
+                .build();
+        final Predicate<Comparable> predicate = new IsMoreThan(1);
+
+        // When / Then
+        assertSame(function, CommonSubexpressionEliminator.optimise(function));
+        assertSame(predicate, CommonSubexpressionEliminator.optimise(predicate));
+    }
+
+    public static final class Record {
+        private final String field;
+
+        public Record(final String field) {
+            this.field = field;
+        }
+
+        public String getField() {
+            return field;
+        }
+    }
+
+    private static final class CountingHasField implements Predicate<Tuple<String>> {
+        private final AtomicInteger calls;
+
+        private CountingHasField(final AtomicInteger calls) {
+            this.calls = calls;
+        }
+
+        @Override
+        public boolean test(final Tuple<String> input) {
+            calls.incrementAndGet();
+            return null != input.get("field");
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof CountingHasField;
+        }
+
+        @Override
+        public int hashCode() {
+            return CountingHasField.class.hashCode();
+        }
+    }
+
+    private static final class CountingToUpperCase implements Function<String, String> {
+        private final AtomicInteger calls;
+
+        private CountingToUpperCase(final AtomicInteger calls) {
+            this.calls = calls;
+        }
+
+        @Override
+        public String apply(final String input) {
+            calls.incrementAndGet();
+            return input.toUpperCase();
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof CountingToUpperCase;
+        }
+
+        @Override
+        public int hashCode() {
+            return CountingToUpperCase.class.hashCode();
+        }
+    }
+
+    private static final class CountingIsPositive implements Predicate<Integer> {
+        private final AtomicInteger calls;
+
+        private CountingIsPositive(final AtomicInteger calls) {
+            this.calls = calls;
+        }
+
+        @Override
+        public boolean test(final Integer input) {
+            calls.incrementAndGet();
+            return input > 0;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof CountingIsPositive;
+        }
+
+        @Override
+        public int hashCode() {
+            return CountingIsPositive.class.hashCode();
+        }
+    }
+}
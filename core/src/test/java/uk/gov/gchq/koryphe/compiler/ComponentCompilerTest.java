@@ -0,0 +1,280 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.koryphe.compiler;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.koryphe.impl.function.Concat;
+import uk.gov.gchq.koryphe.impl.function.FunctionChain;
+import uk.gov.gchq.koryphe.impl.function.If;
+import uk.gov.gchq.koryphe.impl.function.MultiplyBy;
+import uk.gov.gchq.koryphe.impl.function.StringAppend;
+import uk.gov.gchq.koryphe.impl.function.ToLowerCase;
+import uk.gov.gchq.koryphe.impl.function.ToString;
+import uk.gov.gchq.koryphe.impl.predicate.And;
+import uk.gov.gchq.koryphe.impl.predicate.IsA;
+import uk.gov.gchq.koryphe.impl.predicate.IsEqual;
+import uk.gov.gchq.koryphe.impl.predicate.IsLessThan;
+import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
+import uk.gov.gchq.koryphe.impl.predicate.Not;
+import uk.gov.gchq.koryphe.impl.predicate.Or;
+import uk.gov.gchq.koryphe.impl.predicate.Regex;
+import uk.gov.gchq.koryphe.tuple.ArrayTuple;
+import uk.gov.gchq.koryphe.tuple.MapTuple;
+import uk.gov.gchq.koryphe.tuple.function.TupleAdaptedFunctionComposite;
+import uk.gov.gchq.koryphe.tuple.predicate.IntegerTupleAdaptedPredicate;
+import uk.gov.gchq.koryphe.tuple.predicate.TupleAdaptedPredicateComposite;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ComponentCompilerTest {
+
+    @Test
+    public void shouldCompileTupleAdaptedFunctionComposite() {
+        // Given
+        final TupleAdaptedFunctionComposite<Integer> function = new TupleAdaptedFunctionComposite.Builder<Integer>()
+                .select(new Integer[]{0}).execute(new MultiplyBy(2)).project(new Integer[]{3})
+                .select(new Integer[]{1}).execute(new ToLowerCase()).project(new Integer[]{4})
+                .select(new Integer[]{4}).execute(new StringAppend("-suffix")).project(new Integer[]{4})
+                .select(new Integer[]{1, 2}).execute(new Concat(",")).project(new Integer[]{5})
+                .build();
+
+        // When
+        final Function<ArrayTuple, ArrayTuple> compiled = (Function) ComponentCompiler.compile(function);
+
+        // Then
+        assertCompiled(compiled);
+        final ArrayTuple expected = (ArrayTuple) function.apply(new ArrayTuple(new Object[]{5, "VALUE", "other", null, null, null}));
+        final ArrayTuple result = compiled.apply(new ArrayTuple(new Object[]{5, "VALUE", "other", null, null, null}));
+        assertEquals(expected, result);
+        assertEquals(10, result.get(3));
+        assertEquals("value-suffix", result.get(4));
+        assertEquals("VALUE,other", result.get(5));
+    }
+
+    @Test
+    public void shouldCompileFunctionOverMapTuples() {
+        // Given
+        final TupleAdaptedFunctionComposite<String> function = new TupleAdaptedFunctionComposite.Builder<String>()
+                .select(new String[]{"a"}).execute(new MultiplyBy(3)).project(new String[]{"b"})
+                .build();
+        final MapTuple<String> tuple = new MapTuple<>();
+        tuple.put("a", 2);
+
+        // When
+        final Function<MapTuple<String>, MapTuple<String>> compiled = (Function) ComponentCompiler.compile(function);
+        compiled.apply(tuple);
+
+        // Then
+        assertEquals(6, tuple.get("b"));
+    }
+
+    @Test
+    public void shouldCompileFunctionChainWithIf() {
+        // Given
+        final FunctionChain<Object, Object> function = new FunctionChain.Builder<>()
+                .execute(new If<>()
+                        .predicate(new IsA(Integer.class))
+                        .then(new MultiplyBy(10))
+                        .otherwise(new ToString()))
+                .execute(new ToString())
+                .execute(new StringAppend("!"))
+                .build();
+
+        // When
+        final Function<Object, Object> compiled = ComponentCompiler.compile(function);
+
+        // Then
+        for (final Object input : Arrays.asList(1, 7, 2.5, "a", null)) {
+            assertEquals(function.apply(input), compiled.apply(input), String.valueOf(input));
+        }
+        assertEquals("70!", compiled.apply(7));
+    }
+
+    @Test
+    public void shouldCompileIfWithFixedConditionAndMissingBranches() {
+        // Given
+        final If<Object, Object> thenOnly = new If<>().condition(true).then(new ToString());
+        final If<Object, Object> otherwiseMissing = new If<>().condition(false).then(new ToString());
+        final If<Object, Object> noPredicate = new If<>().then(new ToString());
+
+        // When / Then
+        assertEquals("1", ComponentCompiler.compile(thenOnly).apply(1));
+        assertEquals(1, ComponentCompiler.compile(otherwiseMissing).apply(1));
+        assertEquals(1, ComponentCompiler.compile(noPredicate).apply(1));
+    }
+
+    @Test
+    public void shouldCompileAndOrNotTrees() {
+        // Given
+        final And<ArrayTuple> and = new And.Builder<ArrayTuple>()
+                .select(0).execute(new IsMoreThan(1))
+                .select(0).execute(new IsLessThan(10))
+                .select(1).execute(new Regex("val.*"))
+                .build();
+        final Or<ArrayTuple> or = new Or.Builder<ArrayTuple>()
+                .select(0).execute(new IsEqual(50))
+                .select(0).execute(new Not<>(new IsLessThan(100)))
+                .select(1).execute(new Regex("other.*"))
+                .build();
+        final Predicate<ArrayTuple> nested = new Or<>(and, new And<>(or, new Not<>(new IntegerTupleAdaptedPredicate(new IsEqual(200), 0))));
+
+        // When
+        final List<Predicate<ArrayTuple>> compiled = Arrays.asList(
+                ComponentCompiler.compile(and), ComponentCompiler.compile(or), ComponentCompiler.compile(nested));
+
+        // Then
+        compiled.forEach(ComponentCompilerTest::assertCompiled);
+        final List<Predicate<ArrayTuple>> interpreted = Arrays.asList(and, or, nested);
+        for (final int value : new int[]{0, 5, 10, 50, 150, 200}) {
+            for (final String text : new String[]{"value", "other", "none"}) {
+                final ArrayTuple tuple = new ArrayTuple(value, text);
+                for (int i = 0; i < compiled.size(); i++) {
+                    assertEquals(interpreted.get(i).test(tuple), compiled.get(i).test(tuple), i + " " + tuple);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void shouldCompilePredicateIf() {
+        // Given
+        final uk.gov.gchq.koryphe.impl.predicate.If<Object> predicate = new uk.gov.gchq.koryphe.impl.predicate.If<>(
+                new IsA(String.class), (Predicate) new Regex("a.*"), (Predicate) new IsMoreThan(5));
+
+        // When
+        final Predicate<Object> compiled = ComponentCompiler.compile(predicate);
+
+        // Then
+        assertCompiled(compiled);
+        assertTrue(compiled.test("abc"));
+        for (final Object input : Arrays.asList("abc", "xyz", 1, 10)) {
+            assertEquals(predicate.test(input), compiled.test(input), String.valueOf(input));
+        }
+    }
+
+    @Test
+    public void shouldCompileTupleAdaptedPredicateComposite() {
+        // Given
+        final TupleAdaptedPredicateComposite<String> predicate = new TupleAdaptedPredicateComposite.Builder<String>()
+                .select(new String[]{"a"}).execute(new IsMoreThan(1))
+                .select(new String[]{"a", "b"}).execute(new uk.gov.gchq.koryphe.impl.predicate.AreEqual())
+                .build();
+        final MapTuple<String> tuple = new MapTuple<>();
+        tuple.put("a", 2);
+        tuple.put("b", 2);
+
+        // When
+        final Predicate<MapTuple<String>> compiled = (Predicate) ComponentCompiler.compile(predicate);
+
+        // Then
+        assertTrue(compiled.test(tuple));
+        tuple.put("b", 3);
+        assertEquals(predicate.test(tuple), compiled.test(tuple));
+    }
+
+    @Test
+    public void shouldTestUnpackedTupleWithOriginalPredicate() {
+        // Given
+        final And<Object> predicate = new And.Builder<>()
+                .select(0).execute(new IsMoreThan(1))
+                .build();
+
+        // When
+        final Predicate<Object> compiled = ComponentCompiler.compile(predicate);
+
+        // Then
+        assertEquals(predicate.test(5), compiled.test(5));
+        assertTrue(compiled.test(5));
+    }
+
+    @Test
+    public void shouldTestUnpackedTupleWithOriginalPredicateInsideFunction() {
+        // Given
+        final If<Object, Object> function = new If<>()
+                .predicate(new And.Builder<>().select(0).execute(new IsMoreThan(1)).build())
+                .then(new ToString());
+
+        // When
+        final Function<Object, Object> compiled = ComponentCompiler.compile(function);
+
+        // Then
+        assertCompiled(compiled);
+        assertEquals(function.apply(5), compiled.apply(5));
+        assertEquals("5", compiled.apply(5));
+        assertEquals(0, compiled.apply(0));
+    }
+
+    @Test
+    public void shouldCallUnsupportedComponentsDirectly() {
+        // Given
+        final Function<Object, Object> lambda = o -> o + "-lambda";
+        final FunctionChain<Object, Object> function = new FunctionChain<>(lambda, new ToLowerCase());
+        final And<Object> predicate = new And<>(o -> null != o, new IsA(String.class));
+
+        // When
+        final Function<Object, Object> compiledFunction = ComponentCompiler.compile(function);
+        final Predicate<Object> compiledPredicate = ComponentCompiler.compile(predicate);
+
+        // Then
+        assertCompiled(compiledFunction);
+        assertCompiled(compiledPredicate);
+        assertEquals("a-lambda", compiledFunction.apply("A"));
+        assertTrue(compiledPredicate.test("a"));
+    }
+
+    @Test
+    public void shouldPropagateExceptions() {
+        // Given
+        final FunctionChain<Object, Object> function = new FunctionChain<>(new MultiplyBy(2));
+
+        // When
+        final Function<Object, Object> compiled = ComponentCompiler.compile(function);
+
+        // Then
+        assertThrows(ClassCastException.class, () -> compiled.apply("not a number"));
+    }
+
+    @Test
+    public void shouldReturnComponentsThatAreNotTreesUnchanged() {
+        // Given
+        final Function<Object, String> function = new ToString();
+        final Predicate<Object> predicate = new IsA(String.class);
+        final Or<Object> orWithNullComponents = new Or<>();
+        orWithNullComponents.setComponents(null);
+
+        // When / Then
+        assertSame(function, ComponentCompiler.compile(function));
+        assertSame(predicate, ComponentCompiler.compile(predicate));
+        assertSame(orWithNullComponents, ComponentCompiler.compile(orWithNullComponents));
+        assertNull(ComponentCompiler.compile((Function<Object, Object>) null));
+        assertNull(ComponentCompiler.compile((Predicate<Object>) null));
+    }
+
+    private static void assertCompiled(final Object component) {
+        assertTrue(component.getClass().getName().startsWith("uk.gov.gchq.koryphe.compiler.generated."), component.getClass().getName());
+    }
+}
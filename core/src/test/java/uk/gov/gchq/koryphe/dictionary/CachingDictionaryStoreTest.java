@@ -0,0 +1,83 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.koryphe.dictionary;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class CachingDictionaryStoreTest {
+
+    @Test
+    public void shouldAnswerRepeatedLookupsFromCache() {
+        // Given
+        final MapStore store = new MapStore();
+        store.map.put("a", "1");
+        final CachingDictionaryStore<String, String> cached = new CachingDictionaryStore<>(store, 10);
+
+        // When
+        cached.get("a");
+        cached.get("a");
+        cached.get("b");
+        cached.get("b");
+
+        // Then
+        assertEquals("1", cached.get("a"));
+        assertNull(cached.get("b"));
+        assertEquals(2, store.lookups);
+        final DictionaryStatistics statistics = cached.getStatistics();
+        assertEquals(6, statistics.getLookups());
+        assertEquals(3, statistics.getHits());
+        assertEquals(4, statistics.getCacheHits());
+        assertEquals(1, statistics.getSize());
+    }
+
+    @Test
+    public void shouldEvictEntriesBeyondMaximumSize() {
+        // Given
+        final MapStore store = new MapStore();
+        final CachingDictionaryStore<String, String> cached = new CachingDictionaryStore<>(store, 1);
+
+        // When
+        cached.get("a");
+        cached.get("b");
+        cached.get("a");
+
+        // Then
+        assertEquals(3, store.lookups);
+    }
+
+    private static final class MapStore implements DictionaryStore<String, String> {
+        private final Map<String, String> map = new HashMap<>();
+        private int lookups;
+
+        @Override
+        public String get(final String key) {
+            lookups++;
+            return map.get(key);
+        }
+
+        @Override
+        public DictionaryStatistics getStatistics() {
+            return new DictionaryStatistics(map.size(), 0, 0, lookups, 0, 0);
+        }
+    }
+}
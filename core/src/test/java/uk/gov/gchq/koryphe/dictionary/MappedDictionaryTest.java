@@ -0,0 +1,204 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.koryphe.dictionary;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MappedDictionaryTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void shouldLookUpEveryWrittenEntry() throws IOException {
+        // Given
+        final Map<String, String> entries = new HashMap<>();
+        for (int i = 0; i < 10000; i++) {
+            entries.put("key" + i, "value" + i);
+        }
+        final File file = tempDir.resolve("dictionary").toFile();
+        MappedDictionaryWriter.write(entries, file);
+
+        // When
+        final MappedDictionary dictionary = new MappedDictionary(file);
+
+        // Then
+        for (final Map.Entry<String, String> entry : entries.entrySet()) {
+            assertEquals(entry.getValue(), dictionary.get(entry.getKey()));
+        }
+        assertNull(dictionary.get("key10000"));
+        assertNull(dictionary.get(null));
+        assertEquals(10000, dictionary.getStatistics().getSize());
+    }
+
+    @Test
+    public void shouldCompareKeysWithMultiByteCharacters() throws IOException {
+        // Given
+        final Map<String, String> entries = new HashMap<>();
+        entries.put("caf\u00e9", "two bytes");
+        entries.put("\u20ac", "three bytes");
+        entries.put("\ud83d\ude00", "four bytes");
+        entries.put("\ud83d", "unpaired surrogate");
+        entries.put("", "empty");
+        final File file = tempDir.resolve("dictionary").toFile();
+        MappedDictionaryWriter.write(entries, file);
+
+        // When
+        final MappedDictionary dictionary = new MappedDictionary(file);
+
+        // Then
+        for (final Map.Entry<String, String> entry : entries.entrySet()) {
+            assertEquals(entry.getValue(), dictionary.get(entry.getKey()));
+        }
+        assertNull(dictionary.get("cafe"));
+        assertNull(dictionary.get("caf\u00e9s"));
+        assertNull(dictionary.get("\u20ad"));
+    }
+
+    @Test
+    public void shouldKeepLastValueForRepeatedKey() throws IOException {
+        // Given
+        final File file = tempDir.resolve("dictionary").toFile();
+        try (MappedDictionaryWriter writer = new MappedDictionaryWriter(file)) {
+            writer.put("a", "first");
+            writer.put("b", "b");
+            writer.put("a", "second");
+        }
+
+        // When
+        final MappedDictionary dictionary = new MappedDictionary(file);
+
+        // Then
+        assertEquals("second", dictionary.get("a"));
+        assertEquals("b", dictionary.get("b"));
+        assertEquals(2, dictionary.getStatistics().getSize());
+    }
+
+    @Test
+    public void shouldNotLeaveTemporaryFiles() throws IOException {
+        // Given
+        final File file = tempDir.resolve("dictionary").toFile();
+
+        // When
+        MappedDictionaryWriter.write(new HashMap<>(), file);
+
+        // Then
+        assertEquals(1, tempDir.toFile().list().length);
+        assertNull(new MappedDictionary(file).get("a"));
+    }
+
+    @Test
+    public void shouldCountLookupsAndHits() throws IOException {
+        // Given
+        final File file = tempDir.resolve("dictionary").toFile();
+        final Map<String, String> entries = new HashMap<>();
+        entries.put("a", "1");
+        MappedDictionaryWriter.write(entries, file);
+        final MappedDictionary dictionary = new MappedDictionary(file);
+
+        // When
+        dictionary.get("a");
+        dictionary.get("a");
+        dictionary.get("b");
+
+        // Then
+        final DictionaryStatistics statistics = dictionary.getStatistics();
+        assertEquals(3, statistics.getLookups());
+        assertEquals(2, statistics.getHits());
+        assertEquals(file.length(), statistics.getSizeInBytes());
+        assertTrue(statistics.getLoadTimeNanos() > 0);
+    }
+
+    @Test
+    public void shouldShareOpenDictionaryUntilFileChanges() throws IOException {
+        // Given
+        final File file = tempDir.resolve("dictionary").toFile();
+        final Map<String, String> entries = new HashMap<>();
+        entries.put("a", "1");
+        MappedDictionaryWriter.write(entries, file);
+
+        // When
+        final MappedDictionary first = MappedDictionary.open(file.getPath());
+        final MappedDictionary second = MappedDictionary.open(tempDir.resolve(".").resolve("dictionary").toString());
+        entries.put("b", "2");
+        MappedDictionaryWriter.write(entries, file);
+        final MappedDictionary third = MappedDictionary.open(file.getPath());
+
+        // Then
+        assertSame(first, second);
+        assertNotSame(first, third);
+        assertEquals("2", third.get("b"));
+    }
+
+    @Test
+    public void shouldKeepReadingDictionaryWhenFileIsReplaced() throws IOException {
+        // Given
+        final File file = tempDir.resolve("dictionary").toFile();
+        final Map<String, String> entries = new HashMap<>();
+        entries.put("a", "1");
+        MappedDictionaryWriter.write(entries, file);
+        final MappedDictionary dictionary = new MappedDictionary(file);
+
+        // When
+        entries.put("a", "2");
+        MappedDictionaryWriter.write(entries, file);
+        final MappedDictionary replaced = new MappedDictionary(file);
+
+        // Then
+        assertEquals("1", dictionary.get("a"));
+        assertTrue(dictionary.isStale());
+        assertEquals("2", replaced.get("a"));
+        assertFalse(replaced.isStale());
+    }
+
+    @Test
+    public void shouldRejectFileThatIsNotADictionary() throws IOException {
+        // Given
+        final File file = tempDir.resolve("dictionary").toFile();
+        Files.write(file.toPath(), "not a dictionary".getBytes(StandardCharsets.UTF_8));
+
+        // When / Then
+        final IOException exception = assertThrows(IOException.class, () -> new MappedDictionary(file));
+        assertEquals("Not a dictionary file: " + file, exception.getMessage());
+    }
+
+    @Test
+    public void shouldRejectNullKeysAndValues() throws IOException {
+        // Given
+        try (MappedDictionaryWriter writer = new MappedDictionaryWriter(tempDir.resolve("dictionary").toFile())) {
+            // When / Then
+            assertThrows(IllegalArgumentException.class, () -> writer.put(null, "a"));
+            assertThrows(IllegalArgumentException.class, () -> writer.put("a", null));
+        }
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.koryphe.function;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.koryphe.impl.function.ToLong;
+import uk.gov.gchq.koryphe.impl.function.ToUpperCase;
+import uk.gov.gchq.koryphe.util.CacheStatistics;
+import uk.gov.gchq.koryphe.util.JsonSerialiser;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CachedTest extends FunctionTest<Cached> {
+
+    @Test
+    public void shouldApplyFunctionOncePerInput() {
+        // Given
+        final CountingFunction function = new CountingFunction();
+        final Cached<String, String> cached = new Cached<>(function);
+
+        // When
+        final String first = cached.apply("a");
+        final String second = cached.apply("a");
+        final String third = cached.apply("b");
+
+        // Then
+        assertEquals("A", first);
+        assertEquals("A", second);
+        assertEquals("B", third);
+        assertEquals(2, function.count);
+        final CacheStatistics statistics = cached.getStatistics();
+        assertEquals(1, statistics.getHits());
+        assertEquals(2, statistics.getMisses());
+        assertEquals(2, statistics.getSize());
+    }
+
+    @Test
+    public void shouldCacheNullOutputsButNotNullInputs() {
+        // Given
+        final CountingFunction function = new CountingFunction();
+        final Cached<String, String> cached = new Cached<>(function);
+
+        // When
+        cached.apply("null");
+        cached.apply("null");
+        cached.apply(null);
+        cached.apply(null);
+
+        // Then
+        assertNull(cached.apply("null"));
+        assertEquals(3, function.count);
+    }
+
+    @Test
+    public void shouldNotCacheOutputsHeavierThanMaximumEntryWeight() {
+        // Given
+        final CountingFunction function = new CountingFunction();
+        final Cached<String, String> cached = new Cached<>(function);
+        cached.setMaximumEntryWeight(3);
+
+        // When
+        cached.apply("abcd");
+        cached.apply("abcd");
+        cached.apply("abc");
+        cached.apply("abc");
+
+        // Then
+        assertEquals(3, function.count);
+        assertEquals(2, cached.getStatistics().getRejections());
+    }
+
+    @Test
+    public void shouldKeepFrequentInputsWhenFull() {
+        // Given
+        final CountingFunction function = new CountingFunction();
+        final Cached<String, String> cached = new Cached<>(function, 100);
+        for (int i = 0; i < 100; i++) {
+            cached.apply("hot" + (i % 50));
+        }
+
+        // When
+        for (int i = 0; i < 5000; i++) {
+            cached.apply("hot" + (i % 50));
+            cached.apply("cold" + i);
+        }
+
+        // Then
+        final CacheStatistics statistics = cached.getStatistics();
+        assertTrue(statistics.getHits() > 4500, statistics.toString());
+        assertTrue(statistics.getRejections() > 4500, statistics.toString());
+    }
+
+    @Test
+    public void shouldCreateCachePerInstance() throws IOException {
+        // Given
+        final Cached<Object, String> cached = new Cached<>(new ToUpperCase());
+        cached.apply("a");
+
+        // When
+        final Cached deserialised = JsonSerialiser.deserialise(JsonSerialiser.serialise(cached), Cached.class);
+
+        // Then
+        assertEquals(cached, deserialised);
+        assertNotSame(cached, deserialised);
+        assertNull(deserialised.getStatistics());
+    }
+
+    @Test
+    public void shouldThrowExceptionIfFunctionIsNull() {
+        final Exception exception = assertThrows(IllegalArgumentException.class, () -> new Cached<>().apply("a"));
+
+        assertEquals("The uk.gov.gchq.koryphe.function.Cached KorypheFunction has not been provided with a function", exception.getMessage());
+    }
+
+    @Test
+    @Override
+    public void shouldJsonSerialiseAndDeserialise() throws IOException {
+        // Given
+        final Cached<Object, Long> cached = new Cached<>(new ToLong(), 500);
+        cached.setMaximumEntryWeight(10);
+        cached.setExpireAfterWriteMillis(60000);
+
+        // When
+        final String json = JsonSerialiser.serialise(cached);
+
+        // Then
+        JsonSerialiser.assertEquals(String.format("{%n" +
+                "  \"class\" : \"uk.gov.gchq.koryphe.function.Cached\",%n" +
+                "  \"function\" : {%n" +
+                "    \"class\" : \"uk.gov.gchq.koryphe.impl.function.ToLong\"%n" +
+                "  },%n" +
+                "  \"maximumSize\" : 500,%n" +
+                "  \"maximumEntryWeight\" : 10,%n" +
+                "  \"expireAfterWriteMillis\" : 60000%n" +
+                "}"), json);
+        assertEquals(cached, JsonSerialiser.deserialise(json, Cached.class));
+    }
+
+    @Override
+    protected Cached getInstance() {
+        return new Cached<>(new ToUpperCase());
+    }
+
+    @Override
+    protected Iterable<Cached> getDifferentInstancesOrNull() {
+        final Cached<Object, String> weighted = new Cached<>(new ToUpperCase());
+        weighted.setMaximumWeight(1000);
+        final Cached<Object, String> expiring = new Cached<>(new ToUpperCase());
+        expiring.setExpireAfterWriteMillis(1000);
+        return Arrays.asList(
+                new Cached<>(),
+                new Cached<>(new ToLong()),
+                new Cached<>(new ToUpperCase(), 1),
+                weighted,
+                expiring
+        );
+    }
+
+    @Override
+    protected Class[] getExpectedSignatureInputClasses() {
+        return new Class[] {Object.class};
+    }
+
+    @Override
+    protected Class[] getExpectedSignatureOutputClasses() {
+        return new Class[] {Object.class};
+    }
+
+    private static final class CountingFunction extends KorypheFunction<String, String> {
+        private int count;
+
+        @Override
+        public String apply(final String input) {
+            count++;
+            return null == input || "null".equals(input) ? null : input.toUpperCase();
+        }
+    }
+}
@@ -2,9 +2,11 @@ package uk.gov.gchq.koryphe.function;
 
 import org.junit.jupiter.api.Test;
 
+import uk.gov.gchq.koryphe.impl.function.MultiplyBy;
 import uk.gov.gchq.koryphe.impl.function.MultiplyLongBy;
 import uk.gov.gchq.koryphe.impl.function.StringSplit;
 import uk.gov.gchq.koryphe.impl.function.ToLong;
+import uk.gov.gchq.koryphe.impl.function.ToLowerCase;
 import uk.gov.gchq.koryphe.impl.function.ToString;
 import uk.gov.gchq.koryphe.util.JsonSerialiser;
 
@@ -119,4 +121,33 @@ class FunctionCompositeTest extends FunctionTest<FunctionComposite>{
 
         assertNotNull(e.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldApplyBatchThroughEachFunction() {
+        // Given
+        final FunctionComposite<Object, String, Function> composite = new FunctionComposite<>(Arrays.asList(
+                new MultiplyBy(3),
+                new ToString(),
+                new ToLowerCase()));
+        final Object[] batch = {1, 2, null, 4};
+
+        // When
+        composite.applyBatch(batch, batch, 3);
+
+        // Then
+        assertEquals(Arrays.asList("3", "6", null, 4), Arrays.asList(batch));
+    }
+
+    @Test
+    public void shouldCopyBatchWithNoFunctions() {
+        // Given
+        final FunctionComposite<Object, Object, Function> composite = new FunctionComposite<>();
+        final Object[] outputs = new Object[2];
+
+        // When
+        composite.applyBatch(new Object[]{"a", "b"}, outputs, 2);
+
+        // Then
+        assertEquals(Arrays.asList("a", "b"), Arrays.asList(outputs));
+    }
+}
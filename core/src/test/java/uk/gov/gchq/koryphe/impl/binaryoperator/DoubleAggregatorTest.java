@@ -0,0 +1,99 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.koryphe.impl.binaryoperator;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DoubleAggregatorTest {
+    @Test
+    public void shouldAggregateValues() {
+        // Given
+        final DoubleAggregator aggregator = new DoubleAggregator(NumericOperation.SUM);
+
+        // When
+        aggregator.accept(1.5);
+        aggregator.accept(2.25);
+
+        // Then
+        assertEquals(3.75, aggregator.getAsDouble());
+        assertEquals(3.75, aggregator.getResult());
+    }
+
+    @Test
+    public void shouldApplyOverflowPolicies() {
+        // Given
+        final DoubleAggregator saturate = new DoubleAggregator(NumericOperation.PRODUCT, OverflowPolicy.SATURATE);
+        final DoubleAggregator thrower = new DoubleAggregator(NumericOperation.PRODUCT);
+        saturate.accept(Double.MAX_VALUE);
+        thrower.accept(Double.MAX_VALUE);
+
+        // When
+        saturate.accept(-10);
+
+        // Then
+        assertEquals(-Double.MAX_VALUE, saturate.getAsDouble());
+        assertThrows(ArithmeticException.class, () -> thrower.accept(10));
+    }
+
+    @Test
+    public void shouldNotTreatInfiniteInputsAsOverflow() {
+        // Given
+        final DoubleAggregator aggregator = new DoubleAggregator(NumericOperation.SUM);
+        aggregator.accept(1);
+
+        // When
+        aggregator.accept(Double.POSITIVE_INFINITY);
+
+        // Then
+        assertEquals(Double.POSITIVE_INFINITY, aggregator.getAsDouble());
+    }
+
+    @Test
+    public void shouldWidenToBigDecimal() {
+        // Given
+        final DoubleAggregator aggregator = new DoubleAggregator(NumericOperation.SUM, OverflowPolicy.WIDEN);
+        aggregator.accept(Double.MAX_VALUE);
+
+        // When
+        aggregator.accept(Double.MAX_VALUE);
+        aggregator.accept(1);
+
+        // Then
+        assertTrue(aggregator.isWidened());
+        assertEquals(new BigDecimal(Double.MAX_VALUE).multiply(BigDecimal.valueOf(2)).add(BigDecimal.ONE), aggregator.getResult());
+    }
+
+    @Test
+    public void shouldMergeAggregators() {
+        // Given
+        final DoubleAggregator first = new DoubleAggregator(NumericOperation.MIN);
+        final DoubleAggregator second = new DoubleAggregator(NumericOperation.MIN);
+        first.accept(3);
+        second.accept(-2);
+
+        // When
+        first.merge(second);
+
+        // Then
+        assertEquals(-2d, first.getAsDouble());
+    }
+}
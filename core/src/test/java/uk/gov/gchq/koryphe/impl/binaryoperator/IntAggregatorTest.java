@@ -0,0 +1,95 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.koryphe.impl.binaryoperator;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class IntAggregatorTest {
+    @Test
+    public void shouldAggregateValues() {
+        // Given
+        final IntAggregator aggregator = new IntAggregator(NumericOperation.MAX);
+
+        // When
+        aggregator.accept(3);
+        aggregator.accept(-7);
+        aggregator.accept(5);
+
+        // Then
+        assertEquals(5, aggregator.getAsInt());
+        assertEquals(5, aggregator.getResult());
+    }
+
+    @Test
+    public void shouldApplyOverflowPolicies() {
+        // Given
+        final IntAggregator saturate = new IntAggregator(NumericOperation.SUM, OverflowPolicy.SATURATE);
+        final IntAggregator thrower = new IntAggregator(NumericOperation.SUM);
+        saturate.accept(Integer.MIN_VALUE);
+        thrower.accept(Integer.MIN_VALUE);
+
+        // When
+        saturate.accept(-1);
+
+        // Then
+        assertEquals(Integer.MIN_VALUE, saturate.getAsInt());
+        assertThrows(ArithmeticException.class, () -> thrower.accept(-1));
+    }
+
+    @Test
+    public void shouldWidenToLongThenBigInteger() {
+        // Given
+        final IntAggregator aggregator = new IntAggregator(NumericOperation.PRODUCT, OverflowPolicy.WIDEN);
+        aggregator.accept(Integer.MAX_VALUE);
+
+        // When
+        aggregator.accept(2);
+
+        // Then
+        assertTrue(aggregator.isWidened());
+        assertEquals(Integer.MAX_VALUE * 2L, aggregator.getResult());
+        assertThrows(ArithmeticException.class, aggregator::getAsInt);
+
+        // When
+        aggregator.accept(Integer.MAX_VALUE);
+        aggregator.accept(Integer.MAX_VALUE);
+
+        // Then
+        assertEquals(BigInteger.valueOf(Integer.MAX_VALUE).pow(3).multiply(BigInteger.valueOf(2)), aggregator.getResult());
+    }
+
+    @Test
+    public void shouldMergeWidenedAggregators() {
+        // Given
+        final IntAggregator first = new IntAggregator(NumericOperation.SUM, OverflowPolicy.WIDEN);
+        final IntAggregator second = new IntAggregator(NumericOperation.SUM, OverflowPolicy.WIDEN);
+        first.accept(1);
+        second.accept(Integer.MAX_VALUE);
+        second.accept(1);
+
+        // When
+        first.merge(second);
+
+        // Then
+        assertEquals(Integer.MAX_VALUE + 2L, first.getResult());
+    }
+}
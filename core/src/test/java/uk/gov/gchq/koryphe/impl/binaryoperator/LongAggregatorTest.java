@@ -0,0 +1,128 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.koryphe.impl.binaryoperator;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LongAggregatorTest {
+    @Test
+    public void shouldAggregateValues() {
+        // Given
+        final LongAggregator sum = new LongAggregator(NumericOperation.SUM);
+        final LongAggregator min = new LongAggregator(NumericOperation.MIN);
+
+        // When
+        for (long i = 1; i <= 100; i++) {
+            sum.accept(i);
+            min.accept(i);
+        }
+
+        // Then
+        assertEquals(5050L, sum.getAsLong());
+        assertEquals(5050L, sum.getResult());
+        assertEquals(1L, min.getAsLong());
+    }
+
+    @Test
+    public void shouldReturnNullResultWhenEmpty() {
+        // Given
+        final LongAggregator aggregator = new LongAggregator(NumericOperation.MAX);
+
+        // When / Then
+        assertTrue(aggregator.isEmpty());
+        assertNull(aggregator.getResult());
+        assertThrows(NoSuchElementException.class, aggregator::getAsLong);
+    }
+
+    @Test
+    public void shouldApplyOverflowPolicies() {
+        // Given
+        final LongAggregator saturate = new LongAggregator(NumericOperation.SUM, OverflowPolicy.SATURATE);
+        final LongAggregator thrower = new LongAggregator(NumericOperation.SUM, OverflowPolicy.THROW);
+        saturate.accept(Long.MAX_VALUE);
+        thrower.accept(Long.MAX_VALUE);
+
+        // When
+        saturate.accept(1);
+        saturate.accept(1);
+
+        // Then
+        assertEquals(Long.MAX_VALUE, saturate.getAsLong());
+        assertThrows(ArithmeticException.class, () -> thrower.accept(1));
+    }
+
+    @Test
+    public void shouldWidenToBigInteger() {
+        // Given
+        final LongAggregator aggregator = new LongAggregator(NumericOperation.PRODUCT, OverflowPolicy.WIDEN);
+        aggregator.accept(Long.MAX_VALUE);
+
+        // When
+        aggregator.accept(2);
+        aggregator.accept(3);
+
+        // Then
+        assertTrue(aggregator.isWidened());
+        assertEquals(BigInteger.valueOf(Long.MAX_VALUE).multiply(BigInteger.valueOf(6)), aggregator.getResult());
+        assertThrows(ArithmeticException.class, aggregator::getAsLong);
+    }
+
+    @Test
+    public void shouldMergeAggregators() {
+        // Given
+        final LongAggregator first = new LongAggregator(NumericOperation.SUM, OverflowPolicy.WIDEN);
+        final LongAggregator second = new LongAggregator(NumericOperation.SUM, OverflowPolicy.WIDEN);
+        final LongAggregator empty = new LongAggregator(NumericOperation.SUM, OverflowPolicy.WIDEN);
+        first.accept(5);
+        second.accept(Long.MAX_VALUE);
+        second.accept(1);
+
+        // When
+        first.merge(second);
+        first.merge(empty);
+        empty.merge(first);
+
+        // Then
+        final BigInteger expected = BigInteger.valueOf(Long.MAX_VALUE).add(BigInteger.valueOf(6));
+        assertEquals(expected, first.getResult());
+        assertEquals(expected, empty.getResult());
+    }
+
+    @Test
+    public void shouldReset() {
+        // Given
+        final LongAggregator aggregator = new LongAggregator(NumericOperation.SUM, OverflowPolicy.WIDEN);
+        aggregator.accept(Long.MAX_VALUE);
+        aggregator.accept(Long.MAX_VALUE);
+
+        // When
+        aggregator.reset();
+        aggregator.accept(2);
+
+        // Then
+        assertFalse(aggregator.isWidened());
+        assertEquals(2L, aggregator.getAsLong());
+    }
+}
@@ -159,4 +159,16 @@ public class MaxTest extends BinaryOperatorTest<Max> {
     protected Iterable<Max> getDifferentInstancesOrNull() {
         return null;
     }
+
+    @Test
+    public void shouldReduceBatch() {
+        // Given
+        final Max operator = new Max();
+        final Object[] inputs = {4, null, 9, 1, 5};
+
+        // When / Then
+        assertEquals(9, operator.reduceBatch(null, inputs, inputs.length));
+        assertEquals(9, operator.reduceBatch(3, inputs, inputs.length));
+        assertEquals(3, operator.reduceBatch(3, inputs, 0));
+    }
 }
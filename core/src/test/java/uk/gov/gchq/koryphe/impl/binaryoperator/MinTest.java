@@ -160,4 +160,15 @@ public class MinTest extends BinaryOperatorTest<Min> {
         return null;
     }
 
+    @Test
+    public void shouldReduceBatch() {
+        // Given
+        final Min operator = new Min();
+        final Object[] inputs = {4, null, 9, 1, 5};
+
+        // When / Then
+        assertEquals(1, operator.reduceBatch(null, inputs, inputs.length));
+        assertEquals(1, operator.reduceBatch(3, inputs, inputs.length));
+        assertEquals(3, operator.reduceBatch(3, inputs, 0));
+    }
 }
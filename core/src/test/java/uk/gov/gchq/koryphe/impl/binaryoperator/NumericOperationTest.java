@@ -0,0 +1,82 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.koryphe.impl.binaryoperator;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.LongBinaryOperator;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class NumericOperationTest {
+    @Test
+    public void shouldApplyEachOperationToLongs() {
+        assertEquals(7L, NumericOperation.SUM.applyAsLong(3, 4, OverflowPolicy.THROW));
+        assertEquals(12L, NumericOperation.PRODUCT.applyAsLong(3, 4, OverflowPolicy.THROW));
+        assertEquals(4L, NumericOperation.MAX.applyAsLong(3, 4, OverflowPolicy.THROW));
+        assertEquals(3L, NumericOperation.MIN.applyAsLong(3, 4, OverflowPolicy.THROW));
+    }
+
+    @Test
+    public void shouldDetectLongOverflow() {
+        assertEquals(Long.MAX_VALUE, NumericOperation.SUM.applyAsLong(Long.MAX_VALUE, 1, OverflowPolicy.SATURATE));
+        assertEquals(Long.MIN_VALUE, NumericOperation.SUM.applyAsLong(Long.MIN_VALUE, -1, OverflowPolicy.SATURATE));
+        assertEquals(Long.MAX_VALUE, NumericOperation.PRODUCT.applyAsLong(Long.MIN_VALUE, -1, OverflowPolicy.SATURATE));
+        assertEquals(Long.MIN_VALUE, NumericOperation.PRODUCT.applyAsLong(1L << 32, -(1L << 32), OverflowPolicy.SATURATE));
+        assertEquals(-(1L << 62), NumericOperation.PRODUCT.applyAsLong(1L << 31, -(1L << 31), OverflowPolicy.THROW));
+        assertThrows(ArithmeticException.class, () -> NumericOperation.PRODUCT.applyAsLong(Long.MAX_VALUE, 2, OverflowPolicy.THROW));
+        assertThrows(ArithmeticException.class, () -> NumericOperation.SUM.applyAsLong(Long.MAX_VALUE, 1, OverflowPolicy.WIDEN));
+    }
+
+    @Test
+    public void shouldDetectIntOverflow() {
+        assertEquals(Integer.MAX_VALUE, NumericOperation.PRODUCT.applyAsInt(1 << 16, 1 << 16, OverflowPolicy.SATURATE));
+        assertThrows(ArithmeticException.class, () -> NumericOperation.SUM.applyAsInt(Integer.MIN_VALUE, -1, OverflowPolicy.THROW));
+    }
+
+    @Test
+    public void shouldOnlyTreatFiniteToInfiniteAsDoubleOverflow() {
+        assertEquals(Double.MAX_VALUE, NumericOperation.SUM.applyAsDouble(Double.MAX_VALUE, Double.MAX_VALUE, OverflowPolicy.SATURATE));
+        assertEquals(Double.POSITIVE_INFINITY, NumericOperation.SUM.applyAsDouble(Double.POSITIVE_INFINITY, 1, OverflowPolicy.THROW));
+        assertThrows(ArithmeticException.class, () -> NumericOperation.PRODUCT.applyAsDouble(Double.MAX_VALUE, 2, OverflowPolicy.THROW));
+    }
+
+    @Test
+    public void shouldApplyToBoxedNumbers() {
+        assertEquals(BigInteger.valueOf(5), NumericOperation.SUM.apply(BigInteger.valueOf(2), BigInteger.valueOf(3), OverflowPolicy.THROW));
+        assertEquals(new BigDecimal("1.5"), NumericOperation.MAX.apply(new BigDecimal("1.5"), new BigDecimal("0.5"), OverflowPolicy.THROW));
+        assertEquals(BigInteger.valueOf(Long.MAX_VALUE).add(BigInteger.ONE),
+                NumericOperation.SUM.apply(Long.MAX_VALUE, BigInteger.ONE, OverflowPolicy.WIDEN));
+        assertNull(NumericOperation.SUM.apply((byte) 1, (byte) 2, OverflowPolicy.THROW));
+        assertThrows(ClassCastException.class, () -> NumericOperation.SUM.apply(1, 1L, OverflowPolicy.SATURATE));
+    }
+
+    @Test
+    public void shouldProvidePrimitiveViews() {
+        final LongBinaryOperator sum = NumericOperation.SUM.asLongBinaryOperator(OverflowPolicy.SATURATE);
+        final DoubleBinaryOperator max = NumericOperation.MAX.asDoubleBinaryOperator(OverflowPolicy.THROW);
+
+        assertEquals(Long.MAX_VALUE, LongStream.of(Long.MAX_VALUE, 1, 2).reduce(sum).getAsLong());
+        assertEquals(3d, max.applyAsDouble(3d, -1d));
+        assertEquals(6, NumericOperation.PRODUCT.asIntBinaryOperator(OverflowPolicy.THROW).applyAsInt(2, 3));
+    }
+}
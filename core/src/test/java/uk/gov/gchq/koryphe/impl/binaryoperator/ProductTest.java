@@ -22,6 +22,8 @@ import uk.gov.gchq.koryphe.binaryoperator.BinaryOperatorTest;
 import uk.gov.gchq.koryphe.util.JsonSerialiser;
 
 import java.io.IOException;
+import java.math.BigInteger;
+import java.util.Arrays;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -334,6 +336,17 @@ public class ProductTest extends BinaryOperatorTest<Product> {
     }
 
 
+    @Test
+    public void shouldApplyOverflowPolicies() {
+        assertEquals(Long.MIN_VALUE, new Product(OverflowPolicy.SATURATE).apply(Long.MAX_VALUE, -2L));
+        assertEquals(Integer.MAX_VALUE, new Product(OverflowPolicy.SATURATE).apply(Integer.MIN_VALUE, -1));
+        assertThrows(ArithmeticException.class, () -> new Product(OverflowPolicy.THROW).apply(Long.MIN_VALUE, -1L));
+        assertEquals(BigInteger.valueOf(Long.MAX_VALUE).multiply(BigInteger.valueOf(2)),
+                new Product(OverflowPolicy.WIDEN).apply(Long.MAX_VALUE, 2L));
+        assertEquals(-Double.MAX_VALUE, new Product(OverflowPolicy.SATURATE).apply(Double.MAX_VALUE, -2d));
+        assertEquals(12, new Product(OverflowPolicy.THROW).apply(3, 4));
+    }
+
     @Test
     public void shouldJsonSerialiseAndDeserialise() throws IOException {
         // Given
@@ -361,6 +374,10 @@ public class ProductTest extends BinaryOperatorTest<Product> {
 
     @Override
     protected Iterable<Product> getDifferentInstancesOrNull() {
-        return null;
+        return Arrays.asList(
+                new Product(OverflowPolicy.THROW),
+                new Product(OverflowPolicy.SATURATE),
+                new Product(OverflowPolicy.WIDEN)
+        );
     }
 }
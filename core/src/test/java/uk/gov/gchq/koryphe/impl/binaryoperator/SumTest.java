@@ -22,6 +22,8 @@ import uk.gov.gchq.koryphe.binaryoperator.BinaryOperatorTest;
 import uk.gov.gchq.koryphe.util.JsonSerialiser;
 
 import java.io.IOException;
+import java.math.BigInteger;
+import java.util.Arrays;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -408,6 +410,62 @@ public class SumTest extends BinaryOperatorTest<Sum> {
         assertEquals(firstValue, state);
     }
 
+    @Test
+    public void shouldSaturateIntsWithSaturatePolicy() {
+        final Sum sum = new Sum(OverflowPolicy.SATURATE);
+
+        assertEquals(Integer.MAX_VALUE, sum.apply(Integer.MAX_VALUE, 1));
+        assertEquals(Integer.MIN_VALUE, sum.apply(Integer.MIN_VALUE, -1));
+        assertEquals(Short.MIN_VALUE, sum.apply(Short.MIN_VALUE, (short) -1));
+        assertEquals(3, sum.apply(1, 2));
+    }
+
+    @Test
+    public void shouldThrowOnLongOverflowWithThrowPolicy() {
+        final Sum sum = new Sum(OverflowPolicy.THROW);
+
+        assertThrows(ArithmeticException.class, () -> sum.apply(Long.MAX_VALUE, 1L));
+        assertThrows(ArithmeticException.class, () -> sum.apply((short) 32767, (short) 1));
+        assertThrows(ClassCastException.class, () -> sum.apply(1L, 1));
+    }
+
+    @Test
+    public void shouldWidenOnOverflowWithWidenPolicy() {
+        final Sum sum = new Sum(OverflowPolicy.WIDEN);
+
+        // When
+        Number state = sum.apply(Integer.MAX_VALUE, 1);
+        // Then
+        assertEquals((long) Integer.MAX_VALUE + 1, state);
+
+        // When
+        state = sum.apply(state, Long.MAX_VALUE);
+        // Then
+        assertEquals(BigInteger.valueOf(Long.MAX_VALUE).add(BigInteger.valueOf((long) Integer.MAX_VALUE + 1)), state);
+
+        // When
+        state = sum.apply(state, 1);
+        // Then
+        assertEquals(BigInteger.valueOf(Long.MAX_VALUE).add(BigInteger.valueOf((long) Integer.MAX_VALUE + 2)), state);
+        assertEquals(Double.valueOf(Float.MAX_VALUE * 2d), sum.apply(Float.MAX_VALUE, Float.MAX_VALUE));
+    }
+
+    @Test
+    public void shouldJsonSerialiseAndDeserialiseWithOverflowPolicy() throws IOException {
+        // Given
+        final Sum aggregator = new Sum(OverflowPolicy.SATURATE);
+
+        // When
+        final String json = JsonSerialiser.serialise(aggregator);
+
+        // Then
+        JsonSerialiser.assertEquals(String.format("{%n" +
+                "  \"class\" : \"uk.gov.gchq.koryphe.impl.binaryoperator.Sum\",%n" +
+                "  \"overflowPolicy\" : \"SATURATE\"%n" +
+                "}"), json);
+        assertEquals(aggregator, JsonSerialiser.deserialise(json, Sum.class));
+    }
+
     @Test
     public void shouldJsonSerialiseAndDeserialise() throws IOException {
         // Given
@@ -435,6 +493,44 @@ public class SumTest extends BinaryOperatorTest<Sum> {
 
     @Override
     protected Iterable<Sum> getDifferentInstancesOrNull() {
-        return null;
+        return Arrays.asList(
+                new Sum(OverflowPolicy.THROW),
+                new Sum(OverflowPolicy.SATURATE),
+                new Sum(OverflowPolicy.WIDEN)
+        );
+    }
+
+    @Test
+    public void shouldReduceBatchTheSameAsApply() {
+        // Given
+        final Sum sum = new Sum();
+        final Object[] ints = {null, Integer.MAX_VALUE, 1, null, 5};
+        final Object[] longs = {3L, 4L, null};
+        final Object[] doubles = {0.5d, 0.25d};
+
+        // When / Then
+        assertEquals(sum.apply(sum.apply(Integer.MAX_VALUE, 1), 5), sum.reduceBatch(null, ints, ints.length));
+        assertEquals(17L, sum.reduceBatch(10L, longs, longs.length));
+        assertEquals(1.75d, sum.reduceBatch(1d, doubles, doubles.length));
+        assertNull(sum.reduceBatch(null, new Object[]{null, null}, 2));
+        assertEquals((short) 3, sum.reduceBatch((short) 1, new Object[]{(short) 2}, 1));
+    }
+
+    @Test
+    public void shouldFallBackToApplyForMixedTypesInBatch() {
+        // Given
+        final Sum sum = new Sum();
+
+        // When / Then
+        assertThrows(ClassCastException.class, () -> sum.reduceBatch(1, new Object[]{2, 3L}, 2));
+    }
+
+    @Test
+    public void shouldApplyOverflowPolicyInBatch() {
+        // Given
+        final Sum sum = new Sum(OverflowPolicy.SATURATE);
+
+        // When / Then
+        assertEquals(Integer.MAX_VALUE, sum.reduceBatch(Integer.MAX_VALUE, new Object[]{1, 2}, 2));
     }
 }
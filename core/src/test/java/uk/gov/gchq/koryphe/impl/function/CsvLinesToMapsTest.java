@@ -16,6 +16,9 @@
 package uk.gov.gchq.koryphe.impl.function;
 
 import com.google.common.collect.Lists;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
 import org.junit.jupiter.api.Test;
 
 import uk.gov.gchq.koryphe.function.FunctionTest;
@@ -30,6 +33,7 @@ import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class CsvLinesToMapsTest extends FunctionTest<CsvLinesToMaps> {
     @Override
@@ -103,6 +107,74 @@ public class CsvLinesToMapsTest extends FunctionTest<CsvLinesToMaps> {
         assertEquals(Collections.singletonList(expected), Lists.newArrayList(result));
     }
 
+    @Test
+    public void shouldParseTheSameValuesAsCsvParser() throws IOException {
+        // Given
+        final CsvLinesToMaps function = new CsvLinesToMaps().header("a", "b", "c");
+        final List<String> input = Arrays.asList(
+                "1,2,3",
+                ",,",
+                " x , y ,z ",
+                "\"quoted, with comma\",\"say \"\"hi\"\"\",plain",
+                "a\"b,c,d"
+        );
+
+        for (final String line : input) {
+            // When
+            final Map<String, Object> result = function.apply(Collections.singletonList(line)).iterator().next();
+
+            // Then
+            final CSVRecord record = CSVParser.parse(line, CSVFormat.DEFAULT).iterator().next();
+            final Map<String, Object> expected = new HashMap<>();
+            expected.put("a", record.get(0));
+            expected.put("b", record.get(1));
+            expected.put("c", record.get(2));
+            assertEquals(expected, result, line);
+        }
+    }
+
+    @Test
+    public void shouldParseQuotedCsvWithCustomQuoteChar() {
+        // Given
+        final CsvLinesToMaps function = new CsvLinesToMaps().header("a", "b").quoted().quoteChar('\'');
+
+        // When
+        final Map<String, Object> result = function.apply(Collections.singletonList("'x,y',z")).iterator().next();
+
+        // Then
+        assertEquals("x,y", result.get("a"));
+        assertEquals("z", result.get("b"));
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenColumnCountDoesNotMatchHeader() {
+        // Given
+        final CsvLinesToMaps function = new CsvLinesToMaps().header("a", "b");
+        final Iterable<Map<String, Object>> result = function.apply(Collections.singletonList("1,2,3"));
+
+        // When / Then
+        final Exception exception = assertThrows(IllegalArgumentException.class, () -> result.iterator().next());
+        assertEquals("CSV has 3 columns, but there are 2 provided column names", exception.getMessage());
+    }
+
+    @Test
+    public void shouldReturnMutableMaps() {
+        // Given
+        final CsvLinesToMaps function = new CsvLinesToMaps().header("a", "b");
+        final Map<String, Object> result = function.apply(Collections.singletonList("1,2")).iterator().next();
+
+        // When
+        result.put("a", 10);
+        result.put("c", 3);
+        result.remove("b");
+
+        // Then
+        final Map<String, Object> expected = new HashMap<>();
+        expected.put("a", 10);
+        expected.put("c", 3);
+        assertEquals(expected, result);
+    }
+
     @Test
     public void shouldReturnNullForNullInput() {
         // Given
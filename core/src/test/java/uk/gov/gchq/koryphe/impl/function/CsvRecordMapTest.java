@@ -0,0 +1,82 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.koryphe.impl.function;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CsvRecordMapTest {
+
+    @Test
+    public void shouldBehaveLikeHashMap() {
+        // Given
+        final CsvRecordMap.Header header = new CsvRecordMap.Header(Arrays.asList("a", "b", "c"));
+
+        // When
+        final Map<String, Object> map = new CsvRecordMap(header, new Object[]{"1", "2", null});
+
+        // Then
+        final Map<String, Object> expected = new HashMap<>();
+        expected.put("a", "1");
+        expected.put("b", "2");
+        expected.put("c", null);
+        assertEquals(expected, map);
+        assertEquals(expected.hashCode(), map.hashCode());
+        assertEquals(3, map.size());
+        assertTrue(map.containsKey("c"));
+        assertFalse(map.containsKey("d"));
+        assertNull(map.get("d"));
+    }
+
+    @Test
+    public void shouldUseLastColumnForRepeatedNames() {
+        // Given
+        final CsvRecordMap.Header header = new CsvRecordMap.Header(Arrays.asList("a", "b", "a"));
+
+        // When
+        final Map<String, Object> map = new CsvRecordMap(header, new Object[]{"1", "2", "3"});
+
+        // Then
+        assertEquals(2, map.size());
+        assertEquals("3", map.get("a"));
+    }
+
+    @Test
+    public void shouldShareHeaderBetweenRows() {
+        // Given
+        final CsvRecordMap.Header header = new CsvRecordMap.Header(Arrays.asList("a", "b"));
+        final Map<String, Object> first = new CsvRecordMap(header, new Object[]{"1", "2"});
+        final Map<String, Object> second = new CsvRecordMap(header, new Object[]{"3", "4"});
+
+        // When
+        first.put("c", "5");
+        second.entrySet().iterator().next().setValue("6");
+
+        // Then
+        assertEquals("5", first.get("c"));
+        assertFalse(second.containsKey("c"));
+        assertEquals("6", second.get("a"));
+    }
+}
@@ -16,19 +16,28 @@
 package uk.gov.gchq.koryphe.impl.function;
 
 import com.google.common.collect.Lists;
+import org.apache.commons.lang3.StringUtils;
 import org.junit.jupiter.api.Test;
 
 import uk.gov.gchq.koryphe.function.FunctionTest;
+import uk.gov.gchq.koryphe.iterable.CloseableIterable;
 import uk.gov.gchq.koryphe.util.JsonSerialiser;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class CsvToMapsTest extends FunctionTest<CsvToMaps> {
     @Override
@@ -99,6 +108,80 @@ public class CsvToMapsTest extends FunctionTest<CsvToMaps> {
         assertEquals(Collections.singletonList(expected), Lists.newArrayList(result));
     }
 
+    @Test
+    public void shouldIterateParsedCsvMoreThanOnce() {
+        // Given
+        final CsvToMaps function = new CsvToMaps().header("a", "b");
+        final Iterable<Map<String, Object>> result = function.apply("1,2\n3,4");
+
+        // When
+        final List<Map<String, Object>> first = Lists.newArrayList(result);
+        final List<Map<String, Object>> second = Lists.newArrayList(result);
+
+        // Then
+        assertEquals(2, first.size());
+        assertEquals(first, second);
+        assertEquals("4", first.get(1).get("b"));
+    }
+
+    @Test
+    public void shouldParseCsvWithQuotedLineBreaks() {
+        // Given
+        final CsvToMaps function = new CsvToMaps().header("a", "b");
+
+        // When
+        final List<Map<String, Object>> result = Lists.newArrayList(function.apply("\"1\n2\",3\n4,5"));
+
+        // Then
+        assertEquals(2, result.size());
+        assertEquals("1\n2", result.get(0).get("a"));
+        assertEquals("5", result.get(1).get("b"));
+    }
+
+    @Test
+    public void shouldKeepRowsWithFewerColumnsThanHeader() {
+        // Given
+        final CsvToMaps function = new CsvToMaps().header("a", "b");
+
+        // When
+        final List<Map<String, Object>> result = Lists.newArrayList(function.apply("1,2\n3"));
+
+        // Then
+        assertEquals(Collections.singletonMap("a", "3"), result.get(1));
+    }
+
+    @Test
+    public void shouldLazilyParseReader() {
+        // Given
+        final CsvToMaps function = new CsvToMaps().header("a").firstRow(1);
+        final CountingReader reader = new CountingReader("a\n1\n2\n" + StringUtils.repeat("3\n", 100000));
+
+        // When
+        try (final CloseableIterable<Map<String, Object>> result = function.parse(reader)) {
+            final Iterator<Map<String, Object>> iterator = result.iterator();
+
+            // Then
+            assertEquals("1", iterator.next().get("a"));
+            assertEquals("2", iterator.next().get("a"));
+            assertTrue(reader.charsRead < 100000);
+        }
+        assertTrue(reader.closed);
+    }
+
+    @Test
+    public void shouldParseInputStream() {
+        // Given
+        final CsvToMaps function = new CsvToMaps().header("a", "b");
+        final InputStream input = new ByteArrayInputStream("1,\u00e9\n3,4".getBytes(StandardCharsets.UTF_8));
+
+        // When
+        final List<Map<String, Object>> result = Lists.newArrayList(function.parse(input));
+
+        // Then
+        assertEquals("\u00e9", result.get(0).get("b"));
+        assertEquals("3", result.get(1).get("a"));
+    }
+
     @Test
     public void shouldReturnNullForNullInput() {
         // Given
@@ -110,4 +193,28 @@ public class CsvToMapsTest extends FunctionTest<CsvToMaps> {
         // Then
         assertNull(result);
     }
+
+    private static final class CountingReader extends StringReader {
+        private int charsRead;
+        private boolean closed;
+
+        private CountingReader(final String s) {
+            super(s);
+        }
+
+        @Override
+        public int read(final char[] cbuf, final int off, final int len) throws IOException {
+            final int read = super.read(cbuf, off, len);
+            if (read > 0) {
+                charsRead += read;
+            }
+            return read;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            super.close();
+        }
+    }
 }
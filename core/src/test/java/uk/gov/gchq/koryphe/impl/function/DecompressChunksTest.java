@@ -0,0 +1,121 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.koryphe.impl.function;
+
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.koryphe.function.FunctionTest;
+import uk.gov.gchq.koryphe.util.CompressionFormat;
+import uk.gov.gchq.koryphe.util.JsonSerialiser;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class DecompressChunksTest extends FunctionTest<DecompressChunks> {
+    private static final byte[] DATA = "0123456789abcdefghij".getBytes(StandardCharsets.UTF_8);
+
+    @Override
+    protected DecompressChunks getInstance() {
+        return new DecompressChunks();
+    }
+
+    @Override
+    protected Iterable<DecompressChunks> getDifferentInstancesOrNull() {
+        return Arrays.asList(
+                new DecompressChunks(CompressionFormat.DEFLATE, 1024),
+                new DecompressChunks(CompressionFormat.GZIP, 1024)
+        );
+    }
+
+    @Override
+    protected Class[] getExpectedSignatureInputClasses() {
+        return new Class[]{Object.class};
+    }
+
+    @Override
+    protected Class[] getExpectedSignatureOutputClasses() {
+        return new Class[]{Iterable.class};
+    }
+
+    @Test
+    @Override
+    public void shouldJsonSerialiseAndDeserialise() throws IOException {
+        // Given
+        final DecompressChunks function = new DecompressChunks(CompressionFormat.DEFLATE, 1024);
+
+        // When
+        final String json = JsonSerialiser.serialise(function);
+
+        // Then
+        JsonSerialiser.assertEquals(String.format("{%n" +
+                "  \"class\" : \"uk.gov.gchq.koryphe.impl.function.DecompressChunks\",%n" +
+                "  \"format\" : \"DEFLATE\",%n" +
+                "  \"chunkSize\" : 1024%n" +
+                "}"), json);
+
+        // When 2
+        final DecompressChunks deserialised = JsonSerialiser.deserialise(json, DecompressChunks.class);
+
+        // Then 2
+        assertEquals(function, deserialised);
+    }
+
+    @Test
+    public void shouldSplitDecompressedDataIntoChunks() {
+        // Given
+        final DecompressChunks function = new DecompressChunks(CompressionFormat.GZIP, 8);
+
+        // When
+        final List<byte[]> result = Lists.newArrayList(function.apply(ByteBuffer.wrap(new Gzip().apply(DATA))));
+
+        // Then
+        assertEquals(3, result.size());
+        assertArrayEquals("01234567".getBytes(StandardCharsets.UTF_8), result.get(0));
+        assertArrayEquals("89abcdef".getBytes(StandardCharsets.UTF_8), result.get(1));
+        assertArrayEquals("ghij".getBytes(StandardCharsets.UTF_8), result.get(2));
+    }
+
+    @Test
+    public void shouldThrowExceptionForInvalidChunkSize() {
+        // Given
+        final DecompressChunks function = new DecompressChunks();
+
+        // When / Then
+        final Exception exception = assertThrows(IllegalArgumentException.class, () -> function.setChunkSize(0));
+        assertEquals("Chunk size must be at least 1", exception.getMessage());
+    }
+
+    @Test
+    public void shouldReturnNullForNullInput() {
+        // Given
+        final DecompressChunks function = new DecompressChunks();
+
+        // When
+        final Iterable<byte[]> result = function.apply(null);
+
+        // Then
+        assertNull(result);
+    }
+}
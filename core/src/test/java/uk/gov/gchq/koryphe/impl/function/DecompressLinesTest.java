@@ -0,0 +1,143 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.koryphe.impl.function;
+
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.koryphe.function.FunctionTest;
+import uk.gov.gchq.koryphe.util.CompressionFormat;
+import uk.gov.gchq.koryphe.util.JsonSerialiser;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class DecompressLinesTest extends FunctionTest<DecompressLines> {
+    private static final byte[] CSV = "name,age\nalice,30\nbob,40\n".getBytes(StandardCharsets.UTF_8);
+
+    @Override
+    protected DecompressLines getInstance() {
+        return new DecompressLines();
+    }
+
+    @Override
+    protected Iterable<DecompressLines> getDifferentInstancesOrNull() {
+        return Collections.singletonList(new DecompressLines(CompressionFormat.DEFLATE));
+    }
+
+    @Override
+    protected Class[] getExpectedSignatureInputClasses() {
+        return new Class[]{Object.class};
+    }
+
+    @Override
+    protected Class[] getExpectedSignatureOutputClasses() {
+        return new Class[]{Iterable.class};
+    }
+
+    @Test
+    @Override
+    public void shouldJsonSerialiseAndDeserialise() throws IOException {
+        // Given
+        final DecompressLines function = new DecompressLines(CompressionFormat.DEFLATE);
+        function.setCharset(StandardCharsets.ISO_8859_1);
+
+        // When
+        final String json = JsonSerialiser.serialise(function);
+
+        // Then
+        JsonSerialiser.assertEquals(String.format("{%n" +
+                "  \"class\" : \"uk.gov.gchq.koryphe.impl.function.DecompressLines\",%n" +
+                "  \"format\" : \"DEFLATE\",%n" +
+                "  \"charset\" : \"ISO-8859-1\"%n" +
+                "}"), json);
+
+        // When 2
+        final DecompressLines deserialised = JsonSerialiser.deserialise(json, DecompressLines.class);
+
+        // Then 2
+        assertEquals(function, deserialised);
+    }
+
+    @Test
+    public void shouldSplitGzippedTextIntoLines() {
+        // Given
+        final DecompressLines function = new DecompressLines();
+
+        // When
+        final Iterable<String> result = function.apply(new ByteArrayInputStream(new Gzip().apply(CSV)));
+
+        // Then
+        assertEquals(Arrays.asList("name,age", "alice,30", "bob,40"), Lists.newArrayList(result));
+    }
+
+    @Test
+    public void shouldReadWithCharset() {
+        // Given
+        final DecompressLines function = new DecompressLines(CompressionFormat.DEFLATE);
+        function.setCharset(StandardCharsets.ISO_8859_1);
+        final String text = "caf\u00e9\nna\u00efve";
+
+        // When
+        final Iterable<String> result = function.apply(new Deflate().apply(text.getBytes(StandardCharsets.ISO_8859_1)));
+
+        // Then
+        assertEquals(Arrays.asList("caf\u00e9", "na\u00efve"), Lists.newArrayList(result));
+    }
+
+    @Test
+    public void shouldFeedCsvLinesToMaps() {
+        // Given
+        final DecompressLines decompress = new DecompressLines();
+        final CsvLinesToMaps csvLinesToMaps = new CsvLinesToMaps()
+                .header("name", "age")
+                .firstRow(1);
+
+        // When
+        final Iterable<Map<String, Object>> result = csvLinesToMaps.apply(decompress.apply(new Gzip().apply(CSV)));
+
+        // Then
+        final Map<String, Object> alice = new HashMap<>();
+        alice.put("name", "alice");
+        alice.put("age", "30");
+        final Map<String, Object> bob = new HashMap<>();
+        bob.put("name", "bob");
+        bob.put("age", "40");
+        final List<Map<String, Object>> expected = Arrays.asList(alice, bob);
+        assertEquals(expected, Lists.newArrayList(result));
+    }
+
+    @Test
+    public void shouldReturnNullForNullInput() {
+        // Given
+        final DecompressLines function = new DecompressLines();
+
+        // When
+        final Iterable<String> result = function.apply(null);
+
+        // Then
+        assertNull(result);
+    }
+}
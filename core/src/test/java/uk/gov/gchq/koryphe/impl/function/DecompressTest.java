@@ -0,0 +1,142 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.koryphe.impl.function;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.koryphe.function.FunctionTest;
+import uk.gov.gchq.koryphe.util.CompressionFormat;
+import uk.gov.gchq.koryphe.util.JsonSerialiser;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class DecompressTest extends FunctionTest<Decompress> {
+    private static final byte[] DATA = "test string".getBytes(StandardCharsets.UTF_8);
+
+    @Override
+    protected Decompress getInstance() {
+        return new Decompress();
+    }
+
+    @Override
+    protected Iterable<Decompress> getDifferentInstancesOrNull() {
+        return Collections.singletonList(new Decompress(CompressionFormat.DEFLATE));
+    }
+
+    @Override
+    protected Class[] getExpectedSignatureInputClasses() {
+        return new Class[]{Object.class};
+    }
+
+    @Override
+    protected Class[] getExpectedSignatureOutputClasses() {
+        return new Class[]{InputStream.class};
+    }
+
+    @Test
+    @Override
+    public void shouldJsonSerialiseAndDeserialise() throws IOException {
+        // Given
+        final Decompress function = new Decompress(CompressionFormat.DEFLATE);
+
+        // When
+        final String json = JsonSerialiser.serialise(function);
+
+        // Then
+        JsonSerialiser.assertEquals(String.format("{%n" +
+                "  \"class\" : \"uk.gov.gchq.koryphe.impl.function.Decompress\",%n" +
+                "  \"format\" : \"DEFLATE\"%n" +
+                "}"), json);
+
+        // When 2
+        final Decompress deserialised = JsonSerialiser.deserialise(json, Decompress.class);
+
+        // Then 2
+        assertEquals(function, deserialised);
+    }
+
+    @Test
+    public void shouldDefaultToGzip() throws IOException {
+        // Given
+        final Decompress function = new Decompress();
+
+        // When
+        final String json = JsonSerialiser.serialise(function);
+
+        // Then
+        assertEquals(CompressionFormat.GZIP, function.getFormat());
+        JsonSerialiser.assertEquals(String.format("{%n" +
+                "  \"class\" : \"uk.gov.gchq.koryphe.impl.function.Decompress\"%n" +
+                "}"), json);
+    }
+
+    @Test
+    public void shouldDecompressInputStream() throws IOException {
+        // Given
+        final Decompress function = new Decompress();
+
+        // When
+        try (final InputStream result = function.apply(new ByteArrayInputStream(new Gzip().apply(DATA)))) {
+            // Then
+            assertArrayEquals(DATA, IOUtils.toByteArray(result));
+        }
+    }
+
+    @Test
+    public void shouldDecompressByteBuffer() throws IOException {
+        // Given
+        final Decompress function = new Decompress(CompressionFormat.DEFLATE);
+
+        // When
+        try (final InputStream result = function.apply(ByteBuffer.wrap(new Deflate().apply(DATA)))) {
+            // Then
+            assertArrayEquals(DATA, IOUtils.toByteArray(result));
+        }
+    }
+
+    @Test
+    public void shouldThrowExceptionForInvalidData() {
+        // Given
+        final Decompress function = new Decompress();
+
+        // When / Then
+        final Exception exception = assertThrows(RuntimeException.class, () -> function.apply(DATA));
+        assertEquals("Failed to decompress provided data", exception.getMessage());
+    }
+
+    @Test
+    public void shouldReturnNullForNullInput() {
+        // Given
+        final Decompress function = new Decompress();
+
+        // When
+        final InputStream result = function.apply(null);
+
+        // Then
+        assertNull(result);
+    }
+}
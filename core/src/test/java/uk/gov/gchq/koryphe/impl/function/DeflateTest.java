@@ -0,0 +1,104 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.koryphe.impl.function;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.koryphe.function.FunctionTest;
+import uk.gov.gchq.koryphe.util.JsonSerialiser;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class DeflateTest extends FunctionTest<Deflate> {
+
+    @Override
+    protected Deflate getInstance() {
+        return new Deflate();
+    }
+
+    @Override
+    protected Iterable<Deflate> getDifferentInstancesOrNull() {
+        return null;
+    }
+
+    @Override
+    protected Class[] getExpectedSignatureInputClasses() {
+        return new Class[]{byte[].class};
+    }
+
+    @Override
+    protected Class[] getExpectedSignatureOutputClasses() {
+        return new Class[]{byte[].class};
+    }
+
+    @Test
+    @Override
+    public void shouldJsonSerialiseAndDeserialise() throws IOException {
+        // Given
+        final Deflate function = new Deflate();
+
+        // When
+        final String json = JsonSerialiser.serialise(function);
+
+        // Then
+        JsonSerialiser.assertEquals(String.format("{%n" +
+                "  \"class\" : \"uk.gov.gchq.koryphe.impl.function.Deflate\"" +
+                "}"), json);
+
+        // When 2
+        final Deflate deserialisedMethod = JsonSerialiser.deserialise(json, Deflate.class);
+
+        // Then 2
+        assertNotNull(deserialisedMethod);
+    }
+
+    @Test
+    public void shouldCompressString() throws DataFormatException {
+        // Given
+        final Deflate function = new Deflate();
+        final byte[] input = "test string".getBytes(StandardCharsets.UTF_8);
+
+        // When
+        final byte[] result = function.apply(input);
+
+        // Then
+        final Inflater inflater = new Inflater();
+        inflater.setInput(result);
+        final byte[] uncompressed = new byte[input.length];
+        inflater.inflate(uncompressed);
+        inflater.end();
+        assertArrayEquals(input, uncompressed);
+    }
+
+    @Test
+    public void shouldReturnNullForNullInput() {
+        // Given
+        final Deflate function = new Deflate();
+
+        // When
+        final byte[] result = function.apply(null);
+
+        // Then
+        assertNull(result);
+    }
+}
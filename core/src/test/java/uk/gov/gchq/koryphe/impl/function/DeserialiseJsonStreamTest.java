@@ -0,0 +1,219 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.koryphe.impl.function;
+
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.koryphe.function.FunctionTest;
+import uk.gov.gchq.koryphe.iterable.CloseableIterable;
+import uk.gov.gchq.koryphe.util.JsonSerialiser;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DeserialiseJsonStreamTest extends FunctionTest<DeserialiseJsonStream> {
+    private static final String PEOPLE = "[" +
+            "{\"name\": \"alice\", \"age\": 30, \"address\": {\"city\": \"London\", \"street\": \"High Street\"}, \"tags\": [\"a\", \"b\"]}," +
+            "{\"name\": \"bob\", \"age\": 40, \"address\": {\"city\": \"Leeds\", \"street\": \"Park Lane\"}, \"tags\": []}" +
+            "]";
+
+    @Override
+    protected DeserialiseJsonStream getInstance() {
+        return new DeserialiseJsonStream();
+    }
+
+    @Override
+    protected Iterable<DeserialiseJsonStream> getDifferentInstancesOrNull() {
+        return Arrays.asList(
+                new DeserialiseJsonStream<>(Long.class),
+                new DeserialiseJsonStream<>().fields("name")
+        );
+    }
+
+    @Override
+    protected Class[] getExpectedSignatureInputClasses() {
+        return new Class[] {String.class};
+    }
+
+    @Override
+    protected Class[] getExpectedSignatureOutputClasses() {
+        return new Class[] {Iterable.class};
+    }
+
+    @Test
+    @Override
+    public void shouldJsonSerialiseAndDeserialise() throws IOException {
+        // Given
+        final DeserialiseJsonStream function = new DeserialiseJsonStream<>(Map.class).fields("name", "address.city");
+
+        // When
+        final String json = JsonSerialiser.serialise(function);
+
+        // Then
+        JsonSerialiser.assertEquals(String.format("{%n" +
+                "   \"class\" : \"uk.gov.gchq.koryphe.impl.function.DeserialiseJsonStream\",%n" +
+                "   \"fields\" : [\"name\", \"address.city\"],%n" +
+                "   \"outputClass\" : \"java.util.Map\"" +
+                "}"), json);
+
+        // When 2
+        final DeserialiseJsonStream deserialised = JsonSerialiser.deserialise(json, DeserialiseJsonStream.class);
+
+        // Then 2
+        assertEquals(function, deserialised);
+    }
+
+    @Test
+    public void shouldParseElementsOfJsonArray() {
+        // Given
+        final DeserialiseJsonStream<Long> function = new DeserialiseJsonStream<>(Long.class);
+
+        // When
+        final Iterable<Long> result = function.apply("[1, 2, 3]");
+
+        // Then
+        assertEquals(Arrays.asList(1L, 2L, 3L), Lists.newArrayList(result));
+        assertEquals(Arrays.asList(1L, 2L, 3L), Lists.newArrayList(result));
+    }
+
+    @Test
+    public void shouldParseNewlineDelimitedJson() {
+        // Given
+        final DeserialiseJsonStream<Object> function = new DeserialiseJsonStream<>();
+        final String input = "{\"value\": \"value1\"}\n{\"value\": \"value2\"}\n";
+
+        // When
+        final Iterable<Object> result = function.apply(input);
+
+        // Then
+        assertEquals(Arrays.asList(map("value", "value1"), map("value", "value2")), Lists.newArrayList(result));
+    }
+
+    @Test
+    public void shouldReturnNoElementsForEmptyInput() {
+        // Given
+        final DeserialiseJsonStream<Object> function = new DeserialiseJsonStream<>();
+
+        // When / Then
+        assertFalse(function.apply("").iterator().hasNext());
+        assertFalse(function.apply("[]").iterator().hasNext());
+    }
+
+    @Test
+    public void shouldSelectFields() {
+        // Given
+        final DeserialiseJsonStream<Map> function = new DeserialiseJsonStream<>(Map.class).fields("name", "address.city", "missing.field");
+
+        // When
+        final List<Map> result = Lists.newArrayList(function.apply(PEOPLE));
+
+        // Then
+        final Map<String, Object> alice = map("name", "alice");
+        alice.put("address", map("city", "London"));
+        final Map<String, Object> bob = map("name", "bob");
+        bob.put("address", map("city", "Leeds"));
+        assertEquals(Arrays.asList(alice, bob), result);
+    }
+
+    @Test
+    public void shouldSelectWholeValueWhenParentAndChildSelected() {
+        // Given
+        final DeserialiseJsonStream<Map> function = new DeserialiseJsonStream<>(Map.class).fields("address.city", "address", "tags");
+
+        // When
+        final Map result = function.apply(PEOPLE).iterator().next();
+
+        // Then
+        final Map<String, Object> address = map("city", "London");
+        address.put("street", "High Street");
+        final Map<String, Object> expected = map("address", address);
+        expected.put("tags", Arrays.asList("a", "b"));
+        assertEquals(expected, result);
+    }
+
+    @Test
+    public void shouldLazilyParseFromReader() {
+        // Given
+        final DeserialiseJsonStream<Object> function = new DeserialiseJsonStream<>();
+        final String input = "[{\"value\": 1}, {\"value\": 2}, {not valid json";
+
+        // When
+        final Iterator<Object> itr = function.parse(new StringReader(input)).iterator();
+
+        // Then
+        assertEquals(map("value", 1), itr.next());
+        assertEquals(map("value", 2), itr.next());
+        final Exception exception = assertThrows(RuntimeException.class, itr::next);
+        assertEquals("Failed to deserialise JSON", exception.getMessage());
+        assertFalse(itr.hasNext());
+    }
+
+    @Test
+    public void shouldParseFromInputStream() {
+        // Given
+        final DeserialiseJsonStream<Map> function = new DeserialiseJsonStream<>(Map.class).fields("name");
+
+        // When
+        final CloseableIterable<Map> result = function.parse(new ByteArrayInputStream(PEOPLE.getBytes(StandardCharsets.UTF_8)));
+
+        // Then
+        assertEquals(Arrays.asList(map("name", "alice"), map("name", "bob")), Lists.newArrayList(result));
+    }
+
+    @Test
+    public void shouldParseLinesFromDecompressLines() {
+        // Given
+        final byte[] gzipped = new Gzip().apply("{\"value\": 1}\n{\"value\": 2}\n".getBytes(StandardCharsets.UTF_8));
+        final IterableFunction<String, Object> parseLines = new IterableFunction<>(new DeserialiseJson<>());
+
+        // When
+        final Iterable<Object> result = parseLines.apply(new DecompressLines().apply(gzipped));
+
+        // Then
+        assertEquals(Arrays.asList(map("value", 1), map("value", 2)), Lists.newArrayList(result));
+    }
+
+    @Test
+    public void shouldReturnNullForNullInput() {
+        // Given
+        final DeserialiseJsonStream<Object> function = new DeserialiseJsonStream<>();
+
+        // When / Then
+        assertNull(function.apply(null));
+        assertNull(function.parse((StringReader) null));
+        assertTrue(new DeserialiseJsonStream<>().getFields().isEmpty());
+    }
+
+    private static Map<String, Object> map(final String key, final Object value) {
+        final Map<String, Object> map = new HashMap<>();
+        map.put(key, value);
+        return map;
+    }
+}
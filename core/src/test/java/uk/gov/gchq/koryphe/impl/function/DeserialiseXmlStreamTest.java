@@ -0,0 +1,243 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.koryphe.impl.function;
+
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.koryphe.function.FunctionTest;
+import uk.gov.gchq.koryphe.iterable.CloseableIterable;
+import uk.gov.gchq.koryphe.tuple.Tuple;
+import uk.gov.gchq.koryphe.util.JsonSerialiser;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class DeserialiseXmlStreamTest extends FunctionTest<DeserialiseXmlStream> {
+    private static final String FEED = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>" +
+            "<feed><title>people</title>" +
+            "<entry id=\"1\"><name>alice</name><address><city>London</city><street>High Street</street></address><tag>a</tag><tag>b</tag></entry>" +
+            "<entry id=\"2\"><name>bob</name><address><city>Leeds</city><street>Park Lane</street></address></entry>" +
+            "<other><entry id=\"3\"/></other>" +
+            "</feed>";
+
+    @Override
+    protected DeserialiseXmlStream getInstance() {
+        return new DeserialiseXmlStream();
+    }
+
+    @Override
+    protected Iterable<DeserialiseXmlStream> getDifferentInstancesOrNull() {
+        return Arrays.asList(
+                new DeserialiseXmlStream("feed/entry"),
+                new DeserialiseXmlStream().fields("name")
+        );
+    }
+
+    @Override
+    protected Class[] getExpectedSignatureInputClasses() {
+        return new Class[] {String.class};
+    }
+
+    @Override
+    protected Class[] getExpectedSignatureOutputClasses() {
+        return new Class[] {Iterable.class};
+    }
+
+    @Test
+    @Override
+    public void shouldJsonSerialiseAndDeserialise() throws IOException {
+        // Given
+        final DeserialiseXmlStream function = new DeserialiseXmlStream("feed/entry").fields("name", "address.city");
+
+        // When
+        final String json = JsonSerialiser.serialise(function);
+
+        // Then
+        JsonSerialiser.assertEquals(String.format("{%n" +
+                "   \"class\" : \"uk.gov.gchq.koryphe.impl.function.DeserialiseXmlStream\",%n" +
+                "   \"elementPath\" : \"feed/entry\",%n" +
+                "   \"fields\" : [\"name\", \"address.city\"]" +
+                "}"), json);
+
+        // When 2
+        final DeserialiseXmlStream deserialised = JsonSerialiser.deserialise(json, DeserialiseXmlStream.class);
+
+        // Then 2
+        assertEquals(function, deserialised);
+    }
+
+    @Test
+    public void shouldParseRepeatingElements() {
+        // Given
+        final DeserialiseXmlStream function = new DeserialiseXmlStream("feed/entry");
+
+        // When
+        final Iterable<Map<String, Object>> result = function.apply(FEED);
+
+        // Then
+        final Map<String, Object> alice = map("id", 1);
+        alice.put("name", "alice");
+        final Map<String, Object> aliceAddress = map("city", "London");
+        aliceAddress.put("street", "High Street");
+        alice.put("address", aliceAddress);
+        alice.put("tag", Arrays.asList("a", "b"));
+        final Map<String, Object> bob = map("id", 2);
+        bob.put("name", "bob");
+        final Map<String, Object> bobAddress = map("city", "Leeds");
+        bobAddress.put("street", "Park Lane");
+        bob.put("address", bobAddress);
+        assertEquals(Arrays.asList(alice, bob), Lists.newArrayList(result));
+        assertEquals(Arrays.asList(alice, bob), Lists.newArrayList(result));
+    }
+
+    @Test
+    public void shouldMatchAnyElementNameWithWildcard() {
+        // Given
+        final DeserialiseXmlStream function = new DeserialiseXmlStream("feed/*/entry");
+
+        // When
+        final List<Map<String, Object>> result = Lists.newArrayList(function.apply(FEED));
+
+        // Then
+        assertEquals(Arrays.asList(map("id", 3)), result);
+    }
+
+    @Test
+    public void shouldParseRootElementByDefault() {
+        // Given
+        final DeserialiseXmlStream function = new DeserialiseXmlStream();
+        final String input = "<root attr=\"value\">text<child>1</child></root>";
+
+        // When
+        final List<Map<String, Object>> result = Lists.newArrayList(function.apply(input));
+
+        // Then
+        final Map<String, Object> expected = map("attr", "value");
+        expected.put("content", "text");
+        expected.put("child", 1);
+        assertEquals(Arrays.asList(expected), result);
+    }
+
+    @Test
+    public void shouldPutTextOfMatchedElementInContent() {
+        // Given
+        final DeserialiseXmlStream function = new DeserialiseXmlStream("root/value");
+        final String input = "<root><value>one</value><value/></root>";
+
+        // When
+        final List<Map<String, Object>> result = Lists.newArrayList(function.apply(input));
+
+        // Then
+        assertEquals(Arrays.asList(map("content", "one"), new HashMap<>()), result);
+    }
+
+    @Test
+    public void shouldSelectFields() {
+        // Given
+        final DeserialiseXmlStream function = new DeserialiseXmlStream("feed/entry").fields("id", "address.city", "missing.field");
+
+        // When
+        final List<Map<String, Object>> result = Lists.newArrayList(function.apply(FEED));
+
+        // Then
+        final Map<String, Object> alice = map("id", 1);
+        alice.put("address", map("city", "London"));
+        final Map<String, Object> bob = map("id", 2);
+        bob.put("address", map("city", "Leeds"));
+        assertEquals(Arrays.asList(alice, bob), result);
+    }
+
+    @Test
+    public void shouldReturnNoElementsWhenPathDoesNotMatch() {
+        // Given
+        final DeserialiseXmlStream function = new DeserialiseXmlStream("feed/missing");
+
+        // When / Then
+        assertFalse(function.apply(FEED).iterator().hasNext());
+    }
+
+    @Test
+    public void shouldLazilyParseFromReader() {
+        // Given
+        final DeserialiseXmlStream function = new DeserialiseXmlStream("root/value");
+        final String input = "<root><value>1</value><value>2</value><value>not valid xml";
+
+        // When
+        final Iterator<Map<String, Object>> itr = function.parse(new StringReader(input)).iterator();
+
+        // Then
+        assertEquals(map("content", 1), itr.next());
+        assertEquals(map("content", 2), itr.next());
+        final Exception exception = assertThrows(RuntimeException.class, itr::next);
+        assertEquals("Failed to deserialise XML", exception.getMessage());
+        assertFalse(itr.hasNext());
+    }
+
+    @Test
+    public void shouldParseFromInputStream() {
+        // Given
+        final DeserialiseXmlStream function = new DeserialiseXmlStream("feed/entry").fields("name");
+
+        // When
+        final CloseableIterable<Map<String, Object>> result = function.parse(new ByteArrayInputStream(FEED.getBytes(StandardCharsets.UTF_8)));
+
+        // Then
+        assertEquals(Arrays.asList(map("name", "alice"), map("name", "bob")), Lists.newArrayList(result));
+    }
+
+    @Test
+    public void shouldConvertElementsToTuples() {
+        // Given
+        final DeserialiseXmlStream function = new DeserialiseXmlStream("feed/entry").fields("name");
+        final IterableFunction<Map<String, Object>, Tuple<String>> toTuples = new IterableFunction<>(new MapToTuple<String>());
+
+        // When
+        final List<Tuple<String>> result = Lists.newArrayList(toTuples.apply(function.apply(FEED)));
+
+        // Then
+        assertEquals("alice", result.get(0).get("name"));
+        assertEquals("bob", result.get(1).get("name"));
+    }
+
+    @Test
+    public void shouldReturnNullForNullInput() {
+        // Given
+        final DeserialiseXmlStream function = new DeserialiseXmlStream();
+
+        // When / Then
+        assertNull(function.apply(null));
+        assertNull(function.parse((StringReader) null));
+    }
+
+    private static Map<String, Object> map(final String key, final Object value) {
+        final Map<String, Object> map = new HashMap<>();
+        map.put(key, value);
+        return map;
+    }
+}
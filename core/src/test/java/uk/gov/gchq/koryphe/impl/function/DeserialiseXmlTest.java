@@ -15,6 +15,7 @@
  */
 package uk.gov.gchq.koryphe.impl.function;
 
+import org.json.XML;
 import org.junit.jupiter.api.Test;
 
 import uk.gov.gchq.koryphe.function.FunctionTest;
@@ -88,6 +89,51 @@ public class DeserialiseXmlTest extends FunctionTest<DeserialiseXml> {
         assertEquals(expectedRootMap, result);
     }
 
+    @Test
+    public void shouldParseXmlInSameFormAsOrgJson() {
+        // Given
+        final DeserialiseXml function = new DeserialiseXml();
+        final String input = "<?xml version=\"1.0\"?><!-- comment --><root version=\"2\">" +
+                "<empty/><blank></blank><number>12</number><decimal>1.5</decimal><flag>true</flag>" +
+                "<mixed a=\"x\">  some text  <child>c</child></mixed>" +
+                "<item><name>one</name></item><item><name>two</name><name>three</name></item>" +
+                "<escaped>&lt;tag&gt; &amp; more</escaped>" +
+                "<data><![CDATA[<b>bold</b>]]></data>" +
+                "</root>";
+
+        // When
+        final Map<String, Object> result = function.apply(input);
+
+        // Then
+        assertEquals(XML.toJSONObject(input).toMap(), result);
+    }
+
+    @Test
+    public void shouldParseNamespacedXmlInSameFormAsOrgJson() {
+        // Given
+        final DeserialiseXml function = new DeserialiseXml();
+        final String input = "<r xmlns:a=\"urn:a\" xmlns:b=\"urn:b\" xmlns=\"urn:default\">" +
+                "<a:item a:id=\"1\" b:id=\"2\" id=\"3\">t</a:item><b:item/></r>";
+
+        // When
+        final Map<String, Object> result = function.apply(input);
+
+        // Then
+        assertEquals(XML.toJSONObject(input).toMap(), result);
+    }
+
+    @Test
+    public void shouldReturnEmptyMapForEmptyInput() {
+        // Given
+        final DeserialiseXml function = new DeserialiseXml();
+
+        // When
+        final Map<String, Object> result = function.apply("");
+
+        // Then
+        assertEquals(new HashMap<>(), result);
+    }
+
     @Test
     public void shouldReturnNullForNullInput() {
         // Given
@@ -17,14 +17,22 @@
 package uk.gov.gchq.koryphe.impl.function;
 
 import com.google.common.collect.Maps;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import uk.gov.gchq.koryphe.dictionary.DictionaryStatistics;
+import uk.gov.gchq.koryphe.dictionary.MappedDictionaryWriter;
 import uk.gov.gchq.koryphe.function.FunctionTest;
 import uk.gov.gchq.koryphe.util.JsonSerialiser;
 
+import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -46,6 +54,11 @@ public class DictionaryLookupTest extends FunctionTest<DictionaryLookup<?, ?>> {
         dictionaryLookUp = new DictionaryLookup<>(dictionary);
     }
 
+    @AfterEach
+    public void tearDown() {
+        System.clearProperty(DictionaryLookup.DICTIONARY_DIRECTORY_KEY);
+    }
+
     @Test
     public void shouldReturnExistingValueInDictionary() {
         assertEquals(1, (int) dictionaryLookUp.apply("one"));
@@ -70,6 +83,132 @@ public class DictionaryLookupTest extends FunctionTest<DictionaryLookup<?, ?>> {
         assertEquals(expected, exception.getMessage());
     }
 
+    @Test
+    public void shouldLookUpValuesInDictionaryFile(@TempDir final Path tempDir) throws IOException {
+        // Given
+        final File file = tempDir.resolve("dictionary").toFile();
+        final Map<String, String> entries = new HashMap<>();
+        entries.put("one", "1");
+        entries.put("two", "2");
+        MappedDictionaryWriter.write(entries, file);
+        System.setProperty(DictionaryLookup.DICTIONARY_DIRECTORY_KEY, tempDir.toString());
+        final DictionaryLookup<String, String> lookup = new DictionaryLookup<>();
+        lookup.setDictionaryFile("dictionary");
+        lookup.setCacheSize(10);
+
+        // When / Then
+        assertEquals("1", lookup.apply("one"));
+        assertEquals("1", lookup.apply("one"));
+        assertEquals("2", lookup.apply("two"));
+        assertNull(lookup.apply("three"));
+        assertNull(lookup.apply(null));
+
+        final DictionaryStatistics statistics = lookup.getStatistics();
+        assertEquals(2, statistics.getSize());
+        assertEquals(5, statistics.getLookups());
+        assertEquals(3, statistics.getHits());
+        assertEquals(1, statistics.getCacheHits());
+    }
+
+    @Test
+    public void shouldReopenDictionaryFileWhenItIsRebuilt(@TempDir final Path tempDir) throws IOException, InterruptedException {
+        // Given
+        final File file = tempDir.resolve("dictionary").toFile();
+        final Map<String, String> entries = new HashMap<>();
+        entries.put("one", "1");
+        MappedDictionaryWriter.write(entries, file);
+        System.setProperty(DictionaryLookup.DICTIONARY_DIRECTORY_KEY, tempDir.toString());
+        final DictionaryLookup<String, String> lookup = new DictionaryLookup<>();
+        lookup.setDictionaryFile("dictionary");
+        lookup.setCacheSize(10);
+        assertEquals("1", lookup.apply("one"));
+
+        // When
+        entries.put("one", "2");
+        MappedDictionaryWriter.write(entries, file);
+        Thread.sleep(1100);
+
+        // Then
+        assertEquals("2", lookup.apply("one"));
+    }
+
+    @Test
+    public void shouldThrowExceptionIfDictionaryFileDoesNotExist(@TempDir final Path tempDir) {
+        // Given
+        System.setProperty(DictionaryLookup.DICTIONARY_DIRECTORY_KEY, tempDir.toString());
+        final DictionaryLookup<String, String> lookup = new DictionaryLookup<>();
+        lookup.setDictionaryFile("missing");
+
+        // When / Then
+        final Exception exception = assertThrows(RuntimeException.class, () -> lookup.apply("one"));
+        assertEquals("Failed to open dictionary file: " + lookup.getDictionaryFile(), exception.getMessage());
+    }
+
+    @Test
+    public void shouldNotReadDictionaryFilesIfDirectoryIsNotSet(@TempDir final Path tempDir) throws IOException {
+        // Given
+        final File file = tempDir.resolve("dictionary").toFile();
+        MappedDictionaryWriter.write(new HashMap<>(), file);
+        final DictionaryLookup<String, String> lookup = new DictionaryLookup<>();
+        lookup.setDictionaryFile(file.getPath());
+
+        // When / Then
+        final Exception exception = assertThrows(IllegalArgumentException.class, () -> lookup.apply("one"));
+        assertEquals("Dictionary files cannot be used as the System Property koryphe.dictionary.directory has not been set",
+                exception.getMessage());
+    }
+
+    @Test
+    public void shouldRejectDictionaryFilesOutsideDirectory(@TempDir final Path tempDir) throws IOException {
+        // Given
+        final Path directory = Files.createDirectory(tempDir.resolve("dictionaries"));
+        final File outside = tempDir.resolve("outside").toFile();
+        MappedDictionaryWriter.write(new HashMap<>(), outside);
+        Files.createSymbolicLink(directory.resolve("link"), outside.toPath());
+        System.setProperty(DictionaryLookup.DICTIONARY_DIRECTORY_KEY, directory.toString());
+
+        for (final String path : Arrays.asList("../outside", outside.getPath(), "link")) {
+            final DictionaryLookup<String, String> lookup = new DictionaryLookup<>();
+            lookup.setDictionaryFile(path);
+
+            // When / Then
+            final Exception exception = assertThrows(IllegalArgumentException.class, () -> lookup.apply("one"));
+            assertEquals("Dictionary file " + path + " is not in the dictionary directory", exception.getMessage());
+        }
+    }
+
+    @Test
+    public void shouldReadDictionaryFileByAbsolutePathInsideDirectory(@TempDir final Path tempDir) throws IOException {
+        // Given
+        final File file = tempDir.resolve("dictionary").toFile();
+        MappedDictionaryWriter.write(Collections.singletonMap("one", "1"), file);
+        System.setProperty(DictionaryLookup.DICTIONARY_DIRECTORY_KEY, tempDir.toString());
+        final DictionaryLookup<String, String> lookup = new DictionaryLookup<>();
+        lookup.setDictionaryFile(file.getAbsolutePath());
+
+        // When / Then
+        assertEquals("1", lookup.apply("one"));
+    }
+
+    @Test
+    public void shouldJsonSerialiseReferenceToDictionaryFile() throws IOException {
+        // Given
+        final DictionaryLookup<String, String> lookup = new DictionaryLookup<>();
+        lookup.setDictionaryFile("/data/dictionary");
+        lookup.setCacheSize(1000);
+
+        // When
+        final String json = JsonSerialiser.serialise(lookup);
+
+        // Then
+        JsonSerialiser.assertEquals(String.format("{%n" +
+                "   \"class\" : \"uk.gov.gchq.koryphe.impl.function.DictionaryLookup\"," +
+                "   \"dictionaryFile\" : \"/data/dictionary\"," +
+                "   \"cacheSize\" : 1000" +
+                "}"), json);
+        assertEquals(lookup, JsonSerialiser.deserialise(json, DictionaryLookup.class));
+    }
+
     @Override
     protected DictionaryLookup<String, Integer> getInstance() {
         HashMap<String, Integer> map = new HashMap<>();
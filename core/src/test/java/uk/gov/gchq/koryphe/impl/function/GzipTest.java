@@ -0,0 +1,107 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.koryphe.impl.function;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.koryphe.function.FunctionTest;
+import uk.gov.gchq.koryphe.util.JsonSerialiser;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class GzipTest extends FunctionTest<Gzip> {
+
+    @Override
+    protected Gzip getInstance() {
+        return new Gzip();
+    }
+
+    @Override
+    protected Iterable<Gzip> getDifferentInstancesOrNull() {
+        return null;
+    }
+
+    @Override
+    protected Class[] getExpectedSignatureInputClasses() {
+        return new Class[]{byte[].class};
+    }
+
+    @Override
+    protected Class[] getExpectedSignatureOutputClasses() {
+        return new Class[]{byte[].class};
+    }
+
+    @Test
+    @Override
+    public void shouldJsonSerialiseAndDeserialise() throws IOException {
+        // Given
+        final Gzip function = new Gzip();
+
+        // When
+        final String json = JsonSerialiser.serialise(function);
+
+        // Then
+        JsonSerialiser.assertEquals(String.format("{%n" +
+                "  \"class\" : \"uk.gov.gchq.koryphe.impl.function.Gzip\"" +
+                "}"), json);
+
+        // When 2
+        final Gzip deserialisedMethod = JsonSerialiser.deserialise(json, Gzip.class);
+
+        // Then 2
+        assertNotNull(deserialisedMethod);
+    }
+
+    @Test
+    public void shouldCompressString() throws IOException {
+        // Given
+        final Gzip function = new Gzip();
+        final byte[] input = "test string".getBytes(StandardCharsets.UTF_8);
+
+        // When
+        final byte[] result = function.apply(input);
+
+        // Then
+        try (final GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(result))) {
+            final byte[] uncompressed = new byte[input.length];
+            int read = 0;
+            while (read < uncompressed.length) {
+                read += in.read(uncompressed, read, uncompressed.length - read);
+            }
+            assertArrayEquals(input, uncompressed);
+        }
+        assertArrayEquals(input, new Gunzip().apply(result));
+    }
+
+    @Test
+    public void shouldReturnNullForNullInput() {
+        // Given
+        final Gzip function = new Gzip();
+
+        // When
+        final byte[] result = function.apply(null);
+
+        // Then
+        assertNull(result);
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.koryphe.impl.function;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.koryphe.function.FunctionTest;
+import uk.gov.gchq.koryphe.util.JsonSerialiser;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DeflaterOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class InflateTest extends FunctionTest<Inflate> {
+
+    @Override
+    protected Inflate getInstance() {
+        return new Inflate();
+    }
+
+    @Override
+    protected Iterable<Inflate> getDifferentInstancesOrNull() {
+        return null;
+    }
+
+    @Override
+    protected Class[] getExpectedSignatureInputClasses() {
+        return new Class[]{byte[].class};
+    }
+
+    @Override
+    protected Class[] getExpectedSignatureOutputClasses() {
+        return new Class[]{byte[].class};
+    }
+
+    @Test
+    @Override
+    public void shouldJsonSerialiseAndDeserialise() throws IOException {
+        // Given
+        final Inflate function = new Inflate();
+
+        // When
+        final String json = JsonSerialiser.serialise(function);
+
+        // Then
+        JsonSerialiser.assertEquals(String.format("{%n" +
+                "  \"class\" : \"uk.gov.gchq.koryphe.impl.function.Inflate\"" +
+                "}"), json);
+
+        // When 2
+        final Inflate deserialisedMethod = JsonSerialiser.deserialise(json, Inflate.class);
+
+        // Then 2
+        assertNotNull(deserialisedMethod);
+    }
+
+    @Test
+    public void shouldUncompressString() throws IOException {
+        // Given
+        final Inflate function = new Inflate();
+        final byte[] input = "test string".getBytes(StandardCharsets.UTF_8);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (final DeflaterOutputStream deflaterOut = new DeflaterOutputStream(out)) {
+            deflaterOut.write(input);
+        }
+
+        // When
+        final byte[] result = function.apply(out.toByteArray());
+
+        // Then
+        assertArrayEquals(input, result);
+    }
+
+    @Test
+    public void shouldRoundTripWithDeflate() {
+        // Given
+        final byte[] input = "test string".getBytes(StandardCharsets.UTF_8);
+
+        // When
+        final byte[] result = new Inflate().apply(new Deflate().apply(input));
+
+        // Then
+        assertArrayEquals(input, result);
+    }
+
+    @Test
+    public void shouldThrowExceptionForInvalidData() {
+        // Given
+        final Inflate function = new Inflate();
+        final byte[] input = "not deflated".getBytes(StandardCharsets.UTF_8);
+
+        // When / Then
+        final Exception exception = assertThrows(RuntimeException.class, () -> function.apply(input));
+        assertEquals("Failed to inflate provided data", exception.getMessage());
+    }
+
+    @Test
+    public void shouldReturnNullForNullInput() {
+        // Given
+        final Inflate function = new Inflate();
+
+        // When
+        final byte[] result = function.apply(null);
+
+        // Then
+        assertNull(result);
+    }
+}
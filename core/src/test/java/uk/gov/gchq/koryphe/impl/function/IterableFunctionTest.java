@@ -27,6 +27,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -86,6 +87,68 @@ public class IterableFunctionTest extends FunctionTest<IterableFunction> {
         assertNotNull(deserialised);
     }
 
+    @Test
+    public void shouldJsonSerialiseAndDeserialiseAsyncOptions() throws IOException {
+        // Given
+        final IterableFunction<Integer, String> function = new IterableFunction<>(new ToString());
+        function.setAsync(true);
+        function.setMaxInFlight(4);
+        function.setCompletionOrder(true);
+
+        // When
+        final String json = JsonSerialiser.serialise(function);
+
+        // Then
+        JsonSerialiser.assertEquals(String.format("{%n" +
+                "   \"class\" : \"uk.gov.gchq.koryphe.impl.function.IterableFunction\",%n" +
+                "   \"functions\" : [{%n" +
+                "      \"class\" : \"uk.gov.gchq.koryphe.impl.function.ToString\"%n" +
+                "   }],%n" +
+                "   \"async\" : true,%n" +
+                "   \"maxInFlight\" : 4,%n" +
+                "   \"completionOrder\" : true%n" +
+                "}"), json);
+
+        // When 2
+        final IterableFunction deserialised = JsonSerialiser.deserialise(json, IterableFunction.class);
+
+        // Then 2
+        assertEquals(function, deserialised);
+    }
+
+    @Test
+    public void shouldConvertIterableOfIntegersAsynchronously() {
+        // Given
+        final IterableFunction<Integer, String> function = new IterableFunction<>(new ToString());
+        function.setAsync(true);
+        function.setMaxInFlight(2);
+
+        // When
+        final Iterable<String> result = function.apply(Arrays.asList(1, 2, 3, 4));
+
+        // Then
+        assertEquals(Arrays.asList("1", "2", "3", "4"), Lists.newArrayList(result));
+    }
+
+    @Test
+    public void shouldUseSuppliedExecutorInAsyncMode() {
+        // Given
+        final AtomicInteger executed = new AtomicInteger();
+        final IterableFunction<Integer, String> function = new IterableFunction<>(new ToString());
+        function.setAsync(true);
+        function.setExecutor(task -> {
+            executed.incrementAndGet();
+            task.run();
+        });
+
+        // When
+        final List<String> result = Lists.newArrayList(function.apply(Arrays.asList(1, 2, 3)));
+
+        // Then
+        assertEquals(Arrays.asList("1", "2", "3"), result);
+        assertEquals(3, executed.get());
+    }
+
     @Test
     public void shouldConvertIterableOfIntegers() {
         // Given
@@ -111,4 +111,17 @@ public class MultiplyByTest extends FunctionTest<MultiplyBy> {
     protected Class[] getExpectedSignatureOutputClasses() {
         return new Class[] { Integer.class };
     }
+
+    @Test
+    public void shouldApplyBatch() {
+        // Given
+        final MultiplyBy function = new MultiplyBy(4);
+        final Object[] batch = {1, null, 3, 10};
+
+        // When
+        function.applyBatch(batch, batch, 3);
+
+        // Then
+        assertEquals(Arrays.asList(4, null, 12, 10), Arrays.asList(batch));
+    }
 }
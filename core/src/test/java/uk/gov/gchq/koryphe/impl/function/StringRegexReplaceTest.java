@@ -54,6 +54,33 @@ public class StringRegexReplaceTest extends FunctionTest<StringRegexReplace> {
         assertEquals("An output string.", result);
     }
 
+    @Test
+    public void shouldTreatReplacementGroupReferencesAsRegexWhenExpressionIsLiteral() {
+        // Given
+        final StringRegexReplace function = new StringRegexReplace("input", "[$0]");
+        final String input = "An input string.";
+
+        // When
+        final String result = function.apply(input);
+
+        // Then
+        assertEquals("An [input] string.", result);
+    }
+
+    @Test
+    public void shouldReplaceStringRegexAfterRegexIsChanged() {
+        // Given
+        final StringRegexReplace function = new StringRegexReplace("\\d", "#");
+        function.apply("a1");
+
+        // When
+        function.setRegex("[a-z]");
+        final String result = function.apply("a1b2");
+
+        // Then
+        assertEquals("#1#2", result);
+    }
+
     @Test
     public void shouldReplaceStringRegex() {
         // Given
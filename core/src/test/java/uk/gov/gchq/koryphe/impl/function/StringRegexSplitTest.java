@@ -26,6 +26,7 @@ import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.IsCollectionContaining.hasItems;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 
@@ -56,6 +57,46 @@ public class StringRegexSplitTest extends FunctionTest<StringRegexSplit> {
         assertThat(result, hasItems("first", "second", "third"));
     }
 
+    @Test
+    public void shouldSplitStringWithLiteralSeparator() {
+        // Given
+        final StringRegexSplit function = new StringRegexSplit("::");
+        final String input = "::first::::second::";
+
+        // When
+        final List<String> result = function.apply(input);
+
+        // Then
+        assertEquals(Arrays.asList("", "first", "", "second"), result);
+    }
+
+    @Test
+    public void shouldSplitStringAfterRegexIsChanged() {
+        // Given
+        final StringRegexSplit function = new StringRegexSplit("\\s+");
+        function.apply("a b");
+
+        // When
+        function.setRegex("[,;]");
+        final List<String> result = function.apply("a b,c;d");
+
+        // Then
+        assertEquals(Arrays.asList("a b", "c", "d"), result);
+    }
+
+    @Test
+    public void shouldSplitStringAfterJsonDeserialisation() throws IOException {
+        // Given
+        final StringRegexSplit function = JsonSerialiser.deserialise(
+                JsonSerialiser.serialise(new StringRegexSplit("\\d")), StringRegexSplit.class);
+
+        // When
+        final List<String> result = function.apply("a1b2c");
+
+        // Then
+        assertEquals(Arrays.asList("a", "b", "c"), result);
+    }
+
     @Override
     protected StringRegexSplit getInstance() {
         return new StringRegexSplit("test");
@@ -23,6 +23,7 @@ import uk.gov.gchq.koryphe.function.FunctionTest;
 import uk.gov.gchq.koryphe.util.JsonSerialiser;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -118,4 +119,17 @@ public class ToLowerCaseTest extends FunctionTest<ToLowerCase> {
             return this.getClass().getSimpleName().toUpperCase();
         }
     }
+
+    @Test
+    public void shouldApplyBatch() {
+        // Given
+        final ToLowerCase function = new ToLowerCase();
+        final Object[] outputs = new Object[3];
+
+        // When
+        function.applyBatch(new Object[]{"aBc", null, 1}, outputs, 3);
+
+        // Then
+        assertEquals(Arrays.asList("abc", null, "1"), Arrays.asList(outputs));
+    }
 }
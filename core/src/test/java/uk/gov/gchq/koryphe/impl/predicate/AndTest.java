@@ -27,8 +27,11 @@ import java.io.IOException;
 import java.util.Arrays;
 import java.util.function.Predicate;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
@@ -252,4 +255,105 @@ public class AndTest extends PredicateTest<And> {
                 new And(new Exists())
         );
     }
+
+    @Test
+    public void shouldLearnToTestRejectingPredicateFirst() {
+        // Given
+        final IsMoreThan alwaysPasses = new IsMoreThan(-1);
+        final IsEqual alwaysRejects = new IsEqual(-1);
+        final And<Integer> and = new And<>(alwaysPasses, alwaysRejects);
+        and.setAdaptive(true);
+
+        // When
+        for (int i = 0; i < 50_000; i++) {
+            assertFalse(and.test(i));
+        }
+
+        // Then
+        assertEquals(Arrays.asList(alwaysRejects, alwaysPasses), and.getLearnedOrder());
+        assertEquals(Arrays.asList(alwaysPasses, alwaysRejects), and.getComponents());
+    }
+
+    @Test
+    public void shouldKeepLearnedOrder() {
+        // Given
+        final IsMoreThan alwaysPasses = new IsMoreThan(-1);
+        final IsEqual alwaysRejects = new IsEqual(-1);
+        final And<Integer> and = new And<>(alwaysPasses, alwaysRejects);
+        and.setAdaptive(true);
+        for (int i = 0; i < 50_000; i++) {
+            and.test(i);
+        }
+
+        // When
+        and.applyLearnedOrder();
+
+        // Then
+        assertEquals(Arrays.asList(alwaysRejects, alwaysPasses), and.getComponents());
+        assertEquals(and.getComponents(), and.getLearnedOrder());
+    }
+
+    @Test
+    public void shouldRevertToDeclaredOrderWhenReorderedPredicateThrowsException() {
+        // Given
+        final IsA isString = new IsA(String.class);
+        final Regex regex = new Regex("a.*");
+        final And<Object> and = new And<>(isString, regex);
+        and.setAdaptive(true);
+        for (int i = 0; i < 50_000; i++) {
+            assertFalse(and.test("xyz"));
+        }
+        assertSame(regex, and.getLearnedOrder().get(0));
+
+        // When
+        final boolean result = and.test(1);
+
+        // Then
+        assertFalse(result);
+        assertEquals(Arrays.asList(isString, regex), and.getLearnedOrder());
+        assertTrue(and.test("abc"));
+    }
+
+    @Test
+    public void shouldKeepLearnedOrderWhenDeclaredOrderAlsoThrowsException() {
+        // Given
+        final Exists exists = new Exists();
+        final Regex regex = new Regex("a.*");
+        final And<Object> and = new And<>(exists, regex);
+        and.setAdaptive(true);
+        for (int i = 0; i < 50_000; i++) {
+            assertFalse(and.test("xyz"));
+        }
+        assertSame(regex, and.getLearnedOrder().get(0));
+
+        // When / Then
+        assertThrows(ClassCastException.class, () -> and.test(1));
+        assertSame(regex, and.getLearnedOrder().get(0));
+    }
+
+    @Test
+    public void shouldJsonSerialiseAndDeserialiseAdaptive() throws IOException {
+        // Given
+        final And filter = new And(new IsA());
+        filter.setAdaptive(true);
+
+        // When
+        final String json = JsonSerialiser.serialise(filter);
+
+        // Then
+        JsonSerialiser.assertEquals(String.format("{%n" +
+                "  \"class\" : \"uk.gov.gchq.koryphe.impl.predicate.And\",%n" +
+                "  \"adaptive\" : true,%n" +
+                "  \"predicates\" : [ {%n" +
+                "    \"class\" : \"uk.gov.gchq.koryphe.impl.predicate.IsA\"%n" +
+                "  } ]%n" +
+                "}"), json);
+
+        // When 2
+        final And deserialisedFilter = JsonSerialiser.deserialise(json, And.class);
+
+        // Then 2
+        assertTrue(deserialisedFilter.isAdaptive());
+        assertEquals(filter, deserialisedFilter);
+    }
 }
@@ -33,6 +33,7 @@ import java.util.List;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -171,6 +172,40 @@ public class AreInTest extends PredicateTest<AreIn> {
         assertArrayEquals(Collections.singleton(VALUE1).toArray(), deserialisedFilter.getValues().toArray());
     }
 
+    @Test
+    public void shouldTestLargeAllowListWithBloomFilter() {
+        // Given
+        final List<Long> allowed = new ArrayList<>();
+        for (long i = 0; i < 5000; i++) {
+            allowed.add(i * 3);
+        }
+        final AreIn filter = new AreIn(allowed);
+        filter.setBloomFilter(true);
+
+        // When / Then
+        assertTrue(filter.test(Arrays.asList(0L, 3L, 14997L)));
+        assertFalse(filter.test(Arrays.asList(0L, 4L)));
+        assertFalse(filter.test(Arrays.asList(0L, 3)));
+    }
+
+    @Test
+    public void shouldJsonSerialiseAndDeserialiseWithBloomFilter() throws IOException {
+        // Given
+        final AreIn filter = new AreIn("a", "b");
+        filter.setBloomFilter(true);
+
+        // When
+        final String json = JsonSerialiser.serialise(filter);
+
+        // Then
+        JsonSerialiser.assertEquals(String.format("{%n" +
+                "  \"class\" : \"uk.gov.gchq.koryphe.impl.predicate.AreIn\",%n" +
+                "  \"bloomFilter\" : true,%n" +
+                "  \"values\" : [ \"a\", \"b\" ]%n" +
+                "}"), json);
+        assertEquals(filter, JsonSerialiser.deserialise(json, AreIn.class));
+    }
+
     @Override
     protected AreIn getInstance() {
         return new AreIn(VALUE1);
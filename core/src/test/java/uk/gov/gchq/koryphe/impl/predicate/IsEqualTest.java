@@ -18,6 +18,7 @@ package uk.gov.gchq.koryphe.impl.predicate;
 
 import org.junit.jupiter.api.Test;
 
+import uk.gov.gchq.koryphe.predicate.BatchPredicate;
 import uk.gov.gchq.koryphe.predicate.PredicateTest;
 import uk.gov.gchq.koryphe.util.CustomObj;
 import uk.gov.gchq.koryphe.util.JsonSerialiser;
@@ -103,4 +104,20 @@ public class IsEqualTest extends PredicateTest<IsEqual> {
                 new IsEqual(4L)
         );
     }
+
+    @Test
+    public void shouldTestBatch() {
+        // Given
+        final Object[] inputs = {"a", null, "b", "a"};
+        final int[] selection = BatchPredicate.selectAll(inputs.length);
+        final int[] nullSelection = BatchPredicate.selectAll(inputs.length);
+
+        // When
+        final int passed = new IsEqual("a").testBatch(inputs, selection, inputs.length);
+        final int passedNull = new IsEqual().testBatch(inputs, nullSelection, inputs.length);
+
+        // Then
+        assertEquals("[0, 3]", Arrays.toString(Arrays.copyOf(selection, passed)));
+        assertEquals("[1]", Arrays.toString(Arrays.copyOf(nullSelection, passedNull)));
+    }
 }
@@ -24,12 +24,15 @@ import uk.gov.gchq.koryphe.util.CustomObj;
 import uk.gov.gchq.koryphe.util.JsonSerialiser;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class IsInTest extends PredicateTest<IsIn> {
@@ -81,6 +84,71 @@ public class IsInTest extends PredicateTest<IsIn> {
         assertEquals(Sets.newHashSet(controlData), deserialisedFilter.getAllowedValues());
     }
 
+    @Test
+    public void shouldNotMatchIntegerAgainstLongValues() {
+        // Given
+        final IsIn filter = new IsIn(1L, 2L, 0L);
+
+        // When / Then
+        assertTrue(filter.test(1L));
+        assertTrue(filter.test(0L));
+        assertFalse(filter.test(1));
+        assertFalse(filter.test(3L));
+        assertFalse(filter.test(null));
+    }
+
+    @Test
+    public void shouldAcceptAndRejectWithBloomFilter() {
+        // Given
+        final List<Object> controlData = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            controlData.add("value" + i);
+        }
+        final IsIn filter = new IsIn(controlData);
+        filter.setBloomFilter(true);
+
+        // When / Then
+        for (final Object value : controlData) {
+            assertTrue(filter.test(value));
+        }
+        assertFalse(filter.test("value5000"));
+        assertFalse(filter.test(1));
+    }
+
+    @Test
+    public void shouldShareLargeAllowedValues() {
+        // Given
+        final List<Object> controlData = new ArrayList<>();
+        for (long i = 0; i < ValueSet.INTERN_THRESHOLD; i++) {
+            controlData.add(i);
+        }
+
+        // When
+        final IsIn first = new IsIn(controlData);
+        final IsIn second = new IsIn(new ArrayList<>(controlData));
+
+        // Then
+        assertSame(first.getAllowedValues(), second.getAllowedValues());
+    }
+
+    @Test
+    public void shouldJsonSerialiseAndDeserialiseWithBloomFilter() throws IOException {
+        // Given
+        final IsIn filter = new IsIn(3, 1, 2);
+        filter.setBloomFilter(true);
+
+        // When
+        final String json = JsonSerialiser.serialise(filter);
+
+        // Then
+        JsonSerialiser.assertEquals(String.format("{%n" +
+                "  \"class\" : \"uk.gov.gchq.koryphe.impl.predicate.IsIn\",%n" +
+                "  \"bloomFilter\" : true,%n" +
+                "  \"values\" : [ 1, 2, 3 ]%n" +
+                "}"), json);
+        assertEquals(filter, JsonSerialiser.deserialise(json, IsIn.class));
+    }
+
     @Override
     protected IsIn getInstance() {
         return new IsIn(Collections.singletonList("someValue"));
@@ -18,6 +18,7 @@ package uk.gov.gchq.koryphe.impl.predicate;
 
 import org.junit.jupiter.api.Test;
 
+import uk.gov.gchq.koryphe.predicate.BatchPredicate;
 import uk.gov.gchq.koryphe.predicate.PredicateTest;
 import uk.gov.gchq.koryphe.serialisation.json.SimpleClassNameCache;
 import uk.gov.gchq.koryphe.util.CustomObj;
@@ -194,4 +195,23 @@ public class IsLessThanTest extends PredicateTest<IsLessThan> {
                 new IsLessThan(5, true)
         );
     }
+
+    @Test
+    public void shouldTestBatchTheSameAsEachItem() {
+        // Given
+        final IsLessThan filter = new IsLessThan(5);
+        final IsLessThan filterOrEqual = new IsLessThan(5, true);
+        final Object[] inputs = {1, 5, 6, "7", null, 4};
+        final int[] selection = BatchPredicate.selectAll(inputs.length);
+        final int[] orEqualSelection = BatchPredicate.selectAll(inputs.length);
+
+        // When
+        final int passed = filter.testBatch(inputs, selection, inputs.length);
+        final int passedOrEqual = filterOrEqual.testBatch(inputs, orEqualSelection, inputs.length);
+
+        // Then
+        assertEquals("[0, 5]", Arrays.toString(Arrays.copyOf(selection, passed)));
+        assertEquals(passed + 1, passedOrEqual);
+        assertTrue(filterOrEqual.test((Comparable) inputs[1]));
+    }
 }
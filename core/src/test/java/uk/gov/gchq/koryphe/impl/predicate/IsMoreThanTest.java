@@ -18,6 +18,7 @@ package uk.gov.gchq.koryphe.impl.predicate;
 
 import org.junit.jupiter.api.Test;
 
+import uk.gov.gchq.koryphe.predicate.BatchPredicate;
 import uk.gov.gchq.koryphe.predicate.PredicateTest;
 import uk.gov.gchq.koryphe.util.CustomObj;
 import uk.gov.gchq.koryphe.util.JsonSerialiser;
@@ -152,4 +153,23 @@ public class IsMoreThanTest extends PredicateTest<IsMoreThan> {
                 new IsMoreThan(10L)
         );
     }
+
+    @Test
+    public void shouldTestBatchTheSameAsEachItem() {
+        // Given
+        final IsMoreThan filter = new IsMoreThan(5);
+        final IsMoreThan filterOrEqual = new IsMoreThan(5, true);
+        final Object[] inputs = {1, 5, 6, "7", null, 9};
+        final int[] selection = BatchPredicate.selectAll(inputs.length);
+        final int[] orEqualSelection = BatchPredicate.selectAll(inputs.length);
+
+        // When
+        final int passed = filter.testBatch(inputs, selection, inputs.length);
+        final int passedOrEqual = filterOrEqual.testBatch(inputs, orEqualSelection, inputs.length);
+
+        // Then
+        assertEquals("[2, 5]", Arrays.toString(Arrays.copyOf(selection, passed)));
+        assertEquals(passed + 1, passedOrEqual);
+        assertTrue(filterOrEqual.test((Comparable) inputs[1]));
+    }
 }
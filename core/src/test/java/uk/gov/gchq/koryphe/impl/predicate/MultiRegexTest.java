@@ -28,6 +28,7 @@ import java.util.regex.Pattern;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class MultiRegexTest extends PredicateTest<MultiRegex> {
@@ -62,6 +63,92 @@ public class MultiRegexTest extends PredicateTest<MultiRegex> {
         assertFalse(accepted);
     }
 
+    @Test
+    public void shouldAcceptValidValueWithStringPatterns() {
+        // Given
+        final MultiRegex filter = new MultiRegex("fail", "pa[s]+");
+
+        // When
+        boolean accepted = filter.test("pass");
+
+        // Then
+        assertTrue(accepted);
+        assertEquals(new MultiRegex(Pattern.compile("fail"), Pattern.compile("pa[s]+")), filter);
+    }
+
+    @Test
+    public void shouldAcceptValidValueWithAutomatonEngine() {
+        // Given
+        final MultiRegex filter = new MultiRegex("fail", "pa[s]+", "reallyFail");
+        filter.setEngine(MultiRegex.Engine.AUTOMATON);
+
+        // When / Then
+        assertTrue(filter.test("pass"));
+        assertTrue(filter.test("fail"));
+        assertFalse(filter.test("other"));
+        assertFalse(filter.test(null));
+    }
+
+    @Test
+    public void shouldFindFirstMatchingPatternWithEitherEngine() {
+        for (final MultiRegex.Engine engine : MultiRegex.Engine.values()) {
+            // Given
+            final MultiRegex filter = new MultiRegex("p.*", "pass", "x", "(?i)PASS");
+            filter.setEngine(engine);
+
+            // When
+            final Pattern result = filter.findMatchingPattern("pass");
+
+            // Then
+            assertEquals("p.*", result.pattern());
+            assertEquals("(?i)PASS", filter.findMatchingPattern("PaSs").pattern());
+            assertNull(filter.findMatchingPattern("other"));
+        }
+    }
+
+    @Test
+    public void shouldRebuildAutomatonWhenPatternsChange() {
+        // Given
+        final MultiRegex filter = new MultiRegex("a", "b+");
+        filter.setEngine(MultiRegex.Engine.AUTOMATON);
+        filter.test("a");
+
+        // When
+        filter.setPatterns(new Pattern[]{Pattern.compile("c")});
+
+        // Then
+        assertFalse(filter.test("a"));
+        assertTrue(filter.test("c"));
+    }
+
+    @Test
+    public void shouldJsonSerialiseAndDeserialiseWithEngine() throws IOException {
+        // Given
+        final MultiRegex filter = new MultiRegex("test", "te.t");
+        filter.setEngine(MultiRegex.Engine.AUTOMATON);
+
+        // When
+        final String json = JsonSerialiser.serialise(filter);
+
+        // Then
+        JsonSerialiser.assertEquals(String.format("{%n" +
+                "  \"class\" : \"uk.gov.gchq.koryphe.impl.predicate.MultiRegex\",%n" +
+                "  \"value\" : [ {%n" +
+                "    \"java.util.regex.Pattern\" : \"test\"%n" +
+                "  }, {%n" +
+                "    \"java.util.regex.Pattern\" : \"te.t\"%n" +
+                "  } ],%n" +
+                "  \"engine\" : \"AUTOMATON\"%n" +
+                "}"), json);
+
+        // When 2
+        final MultiRegex deserialisedFilter = JsonSerialiser.deserialise(json, MultiRegex.class);
+
+        // Then 2
+        assertEquals(filter, deserialisedFilter);
+        assertTrue(deserialisedFilter.test("text"));
+    }
+
     @Test
     public void shouldJsonSerialiseAndDeserialise() throws IOException {
         // Given
@@ -105,8 +192,14 @@ public class MultiRegexTest extends PredicateTest<MultiRegex> {
         return Arrays.asList(
                 new MultiRegex(),
                 new MultiRegex(Pattern.compile("Something")),
-                new MultiRegex(Pattern.compile("different"), Pattern.compile("[t,T].*[t,T]"))
+                new MultiRegex(Pattern.compile("different"), Pattern.compile("[t,T].*[t,T]")),
+                withAutomaton(new MultiRegex(Pattern.compile("NOTHING"), Pattern.compile("[t,T].*[t,T]")))
         );
     }
 
+
+    private MultiRegex withAutomaton(final MultiRegex filter) {
+        filter.setEngine(MultiRegex.Engine.AUTOMATON);
+        return filter;
     }
+}
@@ -18,6 +18,7 @@ package uk.gov.gchq.koryphe.impl.predicate;
 
 import org.junit.jupiter.api.Test;
 
+import uk.gov.gchq.koryphe.predicate.BatchPredicate;
 import uk.gov.gchq.koryphe.predicate.PredicateTest;
 import uk.gov.gchq.koryphe.tuple.ArrayTuple;
 import uk.gov.gchq.koryphe.tuple.predicate.IntegerTupleAdaptedPredicate;
@@ -27,6 +28,7 @@ import java.io.IOException;
 import java.util.Arrays;
 import java.util.function.Predicate;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -252,4 +254,73 @@ public class OrTest extends PredicateTest<Or> {
                 new Or<>(new IsMoreThan(5), new IsLessThan(5, true))
         );
     }
+
+    @Test
+    public void shouldTestBatchAgainstAnyPredicate() {
+        // Given
+        final Predicate<Object> second = mock(Predicate.class);
+        given(second.test(5)).willReturn(true);
+        final Or<Object> or = new Or<>(new IsLessThan(2), second);
+        final Object[] inputs = {1, 3, 5, 0};
+        final int[] selection = {3, 2, 1, 0};
+
+        // When
+        final int passed = or.testBatch(inputs, selection, 4);
+
+        // Then
+        assertEquals(3, passed);
+        assertEquals(3, selection[0]);
+        assertEquals(2, selection[1]);
+        assertEquals(0, selection[2]);
+        verify(second, never()).test(1);
+        verify(second, never()).test(0);
+    }
+
+    @Test
+    public void shouldNotPassAnyOfBatchWithNoPredicates() {
+        // Given
+        final Or<Object> or = new Or<>();
+        final int[] selection = BatchPredicate.selectAll(2);
+
+        // When / Then
+        assertEquals(0, or.testBatch(new Object[]{1, 2}, selection, 2));
+    }
+
+    @Test
+    public void shouldLearnToTestAcceptingPredicateFirst() {
+        // Given
+        final IsEqual alwaysRejects = new IsEqual(-1);
+        final IsMoreThan alwaysPasses = new IsMoreThan(-1);
+        final Or<Integer> or = new Or<>(alwaysRejects, alwaysPasses);
+        or.setAdaptive(true);
+
+        // When
+        for (int i = 0; i < 50_000; i++) {
+            assertTrue(or.test(i));
+        }
+
+        // Then
+        assertEquals(Arrays.asList(alwaysPasses, alwaysRejects), or.getLearnedOrder());
+    }
+
+    @Test
+    public void shouldTestBatchInLearnedOrder() {
+        // Given
+        final Or<Object> or = new Or<>(new IsEqual(-1), new IsLessThan(2));
+        or.setAdaptive(true);
+        for (int i = 0; i < 50_000; i++) {
+            or.test(i % 3);
+        }
+        final Object[] inputs = {1, 3, 5, 0, -1};
+        final int[] selection = BatchPredicate.selectAll(5);
+
+        // When
+        final int passed = or.testBatch(inputs, selection, 5);
+
+        // Then
+        assertEquals(3, passed);
+        assertEquals(0, selection[0]);
+        assertEquals(3, selection[1]);
+        assertEquals(4, selection[2]);
+    }
 }
@@ -23,6 +23,7 @@ import uk.gov.gchq.koryphe.util.JsonSerialiser;
 
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.regex.Pattern;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -55,6 +56,39 @@ public class RegexTest extends PredicateTest<Regex> {
         assertFalse(accepted);
     }
 
+    @Test
+    public void shouldMatchWholeValueWithLiteralPattern() {
+        // Given
+        final Regex filter = new Regex("test");
+
+        // When / Then
+        assertTrue(filter.test("test"));
+        assertFalse(filter.test("test2"));
+        assertFalse(filter.test("a test"));
+    }
+
+    @Test
+    public void shouldRespectFlagsOnLiteralPattern() {
+        // Given
+        final Regex filter = new Regex(Pattern.compile("test", Pattern.CASE_INSENSITIVE));
+
+        // When
+        boolean accepted = filter.test("TEST");
+
+        // Then
+        assertTrue(accepted);
+    }
+
+    @Test
+    public void shouldMatchAfterJsonDeserialisation() throws IOException {
+        // Given
+        final Regex filter = JsonSerialiser.deserialise(JsonSerialiser.serialise(new Regex("test")), Regex.class);
+
+        // When / Then
+        assertTrue(filter.test("test"));
+        assertFalse(filter.test("other"));
+    }
+
     @Test
     public void shouldJsonSerialiseAndDeserialise() throws IOException {
         // Given
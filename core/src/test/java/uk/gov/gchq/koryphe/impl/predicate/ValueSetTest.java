@@ -0,0 +1,178 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.koryphe.impl.predicate;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ValueSetTest {
+
+    @Test
+    public void shouldChooseBackingSetFromElementTypes() {
+        assertTrue(ValueSet.of(1L, 2L) instanceof PrimitiveValueSet);
+        assertTrue(ValueSet.of(1, 2) instanceof PrimitiveValueSet);
+        assertTrue(ValueSet.of("a", "b") instanceof StringValueSet);
+        assertFalse(ValueSet.of(1, 2L) instanceof PrimitiveValueSet);
+        assertFalse(ValueSet.of("a", null) instanceof StringValueSet);
+    }
+
+    @Test
+    public void shouldBeEqualToHashSetOfSameValues() {
+        for (final List<Object> values : Arrays.<List<Object>>asList(
+                Arrays.asList(5L, 0L, -7L, 5L, Long.MIN_VALUE, Long.MAX_VALUE),
+                Arrays.asList(3, 0, Integer.MIN_VALUE, 3),
+                Arrays.asList("b", "", "a", "b", "\u00e9t\u00e9"),
+                Arrays.asList("a", 1, null, 2.5))) {
+            // Given
+            final Set<Object> expected = new HashSet<>(values);
+
+            // When
+            final ValueSet set = ValueSet.of(values);
+
+            // Then
+            assertEquals(expected, set);
+            assertEquals(set, expected);
+            assertEquals(expected.hashCode(), set.hashCode());
+            assertEquals(expected.size(), set.size());
+            for (final Object value : values) {
+                assertTrue(set.contains(value));
+                assertTrue(set.contains(value, true));
+            }
+        }
+    }
+
+    @Test
+    public void shouldIterateNumbersInAscendingOrder() {
+        // Given
+        final ValueSet set = ValueSet.of(3, -1, 0, 2);
+
+        // When
+        final List<Object> values = Lists.newArrayList(set);
+
+        // Then
+        assertEquals(Arrays.asList(-1, 0, 2, 3), values);
+    }
+
+    @Test
+    public void shouldIterateStringsInOrderFirstAdded() {
+        // Given
+        final ValueSet set = ValueSet.of("c", "a", "c", "b");
+
+        // When
+        final List<Object> values = Lists.newArrayList(set);
+
+        // Then
+        assertEquals(Arrays.asList("c", "a", "b"), values);
+    }
+
+    @Test
+    public void shouldNotContainValuesOfOtherTypes() {
+        // Given
+        final ValueSet longs = ValueSet.of(1L, 2L);
+        final ValueSet strings = ValueSet.of("1", "2");
+
+        // When / Then
+        assertFalse(longs.contains(1));
+        assertFalse(longs.contains("1"));
+        assertFalse(longs.contains(null));
+        assertFalse(strings.contains(1L));
+        assertFalse(strings.contains(null));
+    }
+
+    @Test
+    public void shouldContainAllValues() {
+        // Given
+        final ValueSet set = ValueSet.of("a", "b", "c");
+
+        // When / Then
+        assertTrue(set.containsAll(Arrays.asList("a", "c"), false));
+        assertTrue(set.containsAll(Arrays.asList("a", "c"), true));
+        assertFalse(set.containsAll(Arrays.asList("a", "d"), false));
+        assertFalse(set.containsAll(Arrays.asList("a", "d"), true));
+    }
+
+    @Test
+    public void shouldRejectMissingValuesWithBloomFilter() {
+        // Given
+        final List<Long> values = new ArrayList<>();
+        for (long i = 0; i < 10000; i++) {
+            values.add(i * 2);
+        }
+        final ValueSet set = ValueSet.of(values);
+
+        // When
+        int accepted = 0;
+        for (long i = 0; i < 20000; i++) {
+            if (set.contains(i, true)) {
+                accepted++;
+            }
+        }
+
+        // Then
+        assertEquals(10000, accepted);
+    }
+
+    @Test
+    public void shouldInternOnlyLargeSets() {
+        // Given
+        final List<String> large = new ArrayList<>();
+        for (int i = 0; i < ValueSet.INTERN_THRESHOLD; i++) {
+            large.add(Integer.toString(i));
+        }
+
+        // When / Then
+        assertSame(ValueSet.of(large), ValueSet.of(new ArrayList<>(large)));
+        assertNotSame(ValueSet.of("a", "b"), ValueSet.of("a", "b"));
+        assertEquals(ValueSet.of("a", "b"), ValueSet.of("b", "a"));
+    }
+
+    @Test
+    public void shouldReturnSameValueSetAndNull() {
+        // Given
+        final ValueSet set = ValueSet.of(1, 2);
+
+        // When / Then
+        assertSame(set, ValueSet.of(set));
+        assertNull(ValueSet.of((List<Object>) null));
+    }
+
+    @Test
+    public void shouldBeImmutable() {
+        // Given
+        final ValueSet set = ValueSet.of(Sets.newHashSet(1L, 2L));
+
+        // When / Then
+        assertThrows(UnsupportedOperationException.class, () -> set.add(3L));
+        assertThrows(UnsupportedOperationException.class, () -> set.remove(1L));
+        assertThrows(UnsupportedOperationException.class, set::clear);
+    }
+}
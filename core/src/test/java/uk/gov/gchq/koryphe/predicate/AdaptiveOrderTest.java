@@ -0,0 +1,101 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.koryphe.predicate;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AdaptiveOrderTest {
+
+    @Test
+    public void shouldSortByCostPerStop() {
+        // Given
+        final AdaptiveOrder order = new AdaptiveOrder(3);
+        record(order, 0, 100, 10, 5);
+        record(order, 1, 100, 10, 0);
+        record(order, 2, 10, 10, 2);
+
+        // When
+        order.sort();
+
+        // Then
+        assertArrayEquals(new int[]{2, 0, 1}, order.getOrder());
+    }
+
+    @Test
+    public void shouldTestUntestedComponentsFirst() {
+        // Given
+        final AdaptiveOrder order = new AdaptiveOrder(3);
+        record(order, 0, 10, 10, 10);
+        record(order, 1, 10, 10, 10);
+
+        // When
+        order.sort();
+
+        // Then
+        assertArrayEquals(new int[]{2, 0, 1}, order.getOrder());
+    }
+
+    @Test
+    public void shouldSortAfterSampledCalls() {
+        // Given
+        final AdaptiveOrder order = new AdaptiveOrder(2, 2, 2);
+        int sampled = 0;
+
+        // When
+        for (int i = 0; i < 4; i++) {
+            if (order.isSampling()) {
+                order.record(0, 10, false);
+                order.record(1, 10, true);
+                order.sampled();
+                sampled++;
+            }
+        }
+
+        // Then
+        assertEquals(2, sampled);
+        assertArrayEquals(new int[]{1, 0}, order.getOrder());
+    }
+
+    @Test
+    public void shouldStopLearningWhenPinned() {
+        // Given
+        final AdaptiveOrder order = new AdaptiveOrder(2, 1, 1);
+        record(order, 1, 1, 1, 1);
+        order.sort();
+
+        // When
+        order.pin();
+        order.sort();
+
+        // Then
+        assertTrue(order.isPinned());
+        assertFalse(order.isSampling());
+        assertArrayEquals(new int[]{0, 1}, order.getOrder());
+        assertTrue(AdaptiveOrder.isDeclaredOrder(order.getOrder()));
+    }
+
+    private static void record(final AdaptiveOrder order, final int index, final long nanos, final int tested, final int stopped) {
+        for (int i = 0; i < tested; i++) {
+            order.record(index, nanos / tested, i < stopped);
+        }
+    }
+}
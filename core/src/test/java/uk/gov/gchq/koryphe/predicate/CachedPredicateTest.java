@@ -0,0 +1,101 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.koryphe.predicate;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
+import uk.gov.gchq.koryphe.util.JsonSerialiser;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CachedPredicateTest extends PredicateTest<CachedPredicate> {
+
+    @Test
+    public void shouldTestPredicateOncePerInput() {
+        // Given
+        final CountingPredicate predicate = new CountingPredicate();
+        final CachedPredicate<Integer> cached = new CachedPredicate<>(predicate);
+
+        // When / Then
+        assertTrue(cached.test(2));
+        assertTrue(cached.test(2));
+        assertFalse(cached.test(3));
+        assertFalse(cached.test(3));
+        assertEquals(2, predicate.count);
+        assertEquals(2, cached.getStatistics().getHits());
+    }
+
+    @Test
+    public void shouldThrowExceptionIfPredicateIsNull() {
+        final Exception exception = assertThrows(IllegalArgumentException.class, () -> new CachedPredicate<>().test("a"));
+
+        assertEquals("The uk.gov.gchq.koryphe.predicate.CachedPredicate KoryphePredicate has not been provided with a predicate", exception.getMessage());
+    }
+
+    @Test
+    @Override
+    public void shouldJsonSerialiseAndDeserialise() throws IOException {
+        // Given
+        final CachedPredicate<Comparable> cached = new CachedPredicate<>(new IsMoreThan(5), 100);
+
+        // When
+        final String json = JsonSerialiser.serialise(cached);
+
+        // Then
+        JsonSerialiser.assertEquals(String.format("{%n" +
+                "  \"class\" : \"uk.gov.gchq.koryphe.predicate.CachedPredicate\",%n" +
+                "  \"predicate\" : {%n" +
+                "    \"class\" : \"uk.gov.gchq.koryphe.impl.predicate.IsMoreThan\",%n" +
+                "    \"orEqualTo\" : false,%n" +
+                "    \"value\" : 5%n" +
+                "  },%n" +
+                "  \"maximumSize\" : 100%n" +
+                "}"), json);
+        assertEquals(cached, JsonSerialiser.deserialise(json, CachedPredicate.class));
+    }
+
+    @Override
+    protected CachedPredicate getInstance() {
+        return new CachedPredicate<>(new IsMoreThan(5));
+    }
+
+    @Override
+    protected Iterable<CachedPredicate> getDifferentInstancesOrNull() {
+        return Arrays.asList(
+                new CachedPredicate<>(),
+                new CachedPredicate<>(new IsMoreThan(6)),
+                new CachedPredicate<>(new IsMoreThan(5), 1)
+        );
+    }
+
+    private static final class CountingPredicate extends KoryphePredicate<Integer> {
+        private int count;
+
+        @Override
+        public boolean test(final Integer input) {
+            count++;
+            return 0 == input % 2;
+        }
+    }
+}
@@ -7,18 +7,24 @@ import uk.gov.gchq.koryphe.impl.predicate.IsA;
 import uk.gov.gchq.koryphe.impl.predicate.IsFalse;
 import uk.gov.gchq.koryphe.impl.predicate.IsLessThan;
 import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
+import uk.gov.gchq.koryphe.tuple.ArrayTuple;
 import uk.gov.gchq.koryphe.tuple.n.Tuple1;
 import uk.gov.gchq.koryphe.tuple.predicate.TupleAdaptedPredicate;
 import uk.gov.gchq.koryphe.util.JsonSerialiser;
 
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.function.Predicate;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 
 class PredicateCompositeTest extends PredicateTest<PredicateComposite> {
     @Override
@@ -138,4 +144,61 @@ class PredicateCompositeTest extends PredicateTest<PredicateComposite> {
         // Then
         assertTrue(result);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldNarrowSelectionThroughEachPredicate() {
+        // Given
+        final PredicateComposite composite = new PredicateComposite(Arrays.asList(
+                new IsMoreThan(2),
+                new IsLessThan(6)));
+        final Object[] inputs = {1, 3, 5, 7, 4, 2};
+        final int[] selection = BatchPredicate.selectAll(inputs.length);
+
+        // When
+        final int passed = composite.testBatch(inputs, selection, inputs.length);
+
+        // Then
+        assertEquals(3, passed);
+        assertEquals(1, selection[0]);
+        assertEquals(2, selection[1]);
+        assertEquals(4, selection[2]);
+    }
+
+    @Test
+    public void shouldOnlyTestRemainingItemsWithLaterPredicates() {
+        // Given
+        final Predicate<Object> second = mock(Predicate.class);
+        given(second.test(3)).willReturn(true);
+        final PredicateComposite composite = new PredicateComposite(Arrays.asList(
+                new IsMoreThan(2),
+                second));
+        final Object[] inputs = {1, 3, 2};
+        final int[] selection = BatchPredicate.selectAll(inputs.length);
+
+        // When
+        final int passed = composite.testBatch(inputs, selection, inputs.length);
+
+        // Then
+        assertEquals(1, passed);
+        assertEquals(1, selection[0]);
+        verify(second).test(3);
+        verifyNoMoreInteractions(second);
+    }
+
+    @Test
+    public void shouldFallBackToUnpackedTupleWhenBatchTestingNonTuples() {
+        // Given
+        final TupleAdaptedPredicate<Integer, Comparable> predicate = new TupleAdaptedPredicate<>(new IsMoreThan(2), new Integer[]{0});
+        final PredicateComposite composite = new PredicateComposite(Arrays.asList(predicate));
+        final Object[] inputs = {1, new ArrayTuple(new Object[]{5}), 3};
+        final int[] selection = BatchPredicate.selectAll(inputs.length);
+
+        // When
+        final int passed = composite.testBatch(inputs, selection, inputs.length);
+
+        // Then
+        assertEquals(2, passed);
+        assertEquals(1, selection[0]);
+        assertEquals(2, selection[1]);
+    }
+}
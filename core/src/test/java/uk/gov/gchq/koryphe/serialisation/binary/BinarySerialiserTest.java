@@ -0,0 +1,291 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.koryphe.serialisation.binary;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.primitives.UnsignedLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.koryphe.impl.binaryoperator.Max;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Sum;
+import uk.gov.gchq.koryphe.impl.function.MultiplyBy;
+import uk.gov.gchq.koryphe.impl.function.ToLowerCase;
+import uk.gov.gchq.koryphe.impl.predicate.And;
+import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
+import uk.gov.gchq.koryphe.impl.predicate.Or;
+import uk.gov.gchq.koryphe.impl.predicate.Regex;
+import uk.gov.gchq.koryphe.predicate.MockPredicateTrue;
+import uk.gov.gchq.koryphe.serialisation.json.SimpleClassNameIdResolver;
+import uk.gov.gchq.koryphe.tuple.binaryoperator.TupleAdaptedBinaryOperatorComposite;
+import uk.gov.gchq.koryphe.tuple.function.TupleAdaptedFunctionComposite;
+import uk.gov.gchq.koryphe.util.JsonSerialiser;
+import uk.gov.gchq.koryphe.util.ReflectionUtil;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BinarySerialiserTest {
+    private ObjectMapper mapper;
+    private BinarySerialiser serialiser;
+
+    @BeforeEach
+    public void setUp() {
+        mapper = new ObjectMapper();
+        mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        SimpleClassNameIdResolver.configureObjectMapper(mapper);
+        serialiser = new BinarySerialiser(mapper);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ReflectionUtil.resetReflectionPackages();
+        ClassTable.reset();
+    }
+
+    @Test
+    public void shouldSerialiseAndDeserialiseComponents() throws IOException {
+        // Given
+        final Object[] components = {
+                new And.Builder<>()
+                        .select(0).execute(new IsMoreThan(1))
+                        .select(1).execute(new Regex("val.*"))
+                        .build(),
+                new TupleAdaptedFunctionComposite.Builder<String>()
+                        .select(new String[]{"a"}).execute(new MultiplyBy(2)).project(new String[]{"b"})
+                        .select(new String[]{"c"}).execute(new ToLowerCase()).project(new String[]{"d"})
+                        .build(),
+                new TupleAdaptedBinaryOperatorComposite.Builder<String>()
+                        .select(new String[]{"a"}).execute(new Sum())
+                        .select(new String[]{"b"}).execute(new Max())
+                        .build()
+        };
+
+        for (final Object component : components) {
+            // When
+            final byte[] bytes = serialiser.serialise(component);
+            final Object deserialised = serialiser.deserialise(bytes, component.getClass());
+
+            // Then
+            assertEquals(component, deserialised);
+            JsonSerialiser.assertEquals(mapper.writeValueAsString(component), serialiser.toJson(bytes));
+            assertTrue(bytes.length * 2 < mapper.writeValueAsBytes(component).length,
+                    bytes.length + " bytes compared to JSON " + mapper.writeValueAsBytes(component).length);
+        }
+    }
+
+    @Test
+    public void shouldWriteRepeatedSubtreesAsReferences() throws IOException {
+        // Given
+        final Or<Object> single = new Or<>(new And<>(new IsMoreThan(1), new Regex("[a-z]+[0-9]*")));
+        final Or<Object> repeated = new Or<>();
+        for (int i = 0; i < 10; i++) {
+            repeated.getComponents().add(new And<>(new IsMoreThan(1), new Regex("[a-z]+[0-9]*")));
+        }
+
+        // When
+        final byte[] singleBytes = serialiser.serialise(single);
+        final byte[] repeatedBytes = serialiser.serialise(repeated);
+
+        // Then
+        assertTrue(repeatedBytes.length < singleBytes.length + 20, singleBytes.length + " compared to " + repeatedBytes.length);
+        assertEquals(repeated, serialiser.deserialise(repeatedBytes, Or.class));
+    }
+
+    @Test
+    public void shouldRoundTripJsonValues() throws IOException {
+        // Given
+        final ObjectNode json = mapper.createObjectNode();
+        json.put("int", -5);
+        json.put("long", Long.MIN_VALUE);
+        json.set("bigInteger", mapper.getNodeFactory().numberNode(new BigInteger("123456789012345678901234567890")));
+        json.put("float", 1.5f);
+        json.put("double", -2.25);
+        json.put("decimal", new BigDecimal("-12.3450"));
+        json.put("true", true);
+        json.put("false", false);
+        json.putNull("null");
+        json.put("text", "caf\u00e9 \u2603");
+        json.put("binary", "bytes".getBytes(StandardCharsets.UTF_8));
+        json.putArray("array").add(1).add("text").add(mapper.createObjectNode());
+        json.putObject("empty");
+
+        // When
+        final JsonNode deserialised = serialiser.deserialiseTree(serialiser.serialise(json));
+
+        // Then
+        assertEquals(json, deserialised);
+    }
+
+    @Test
+    public void shouldConvertJsonLosslessly() throws IOException {
+        // Given
+        final String json = "{\"class\":\"uk.gov.gchq.koryphe.impl.predicate.Or\",\"predicates\":["
+                + "{\"class\":\"IsMoreThan\",\"orEqualTo\":false,\"value\":5},"
+                + "{\"class\":\"uk.gov.gchq.koryphe.impl.predicate.IsMoreThan\",\"orEqualTo\":false,\"value\":{\"java.lang.Long\":5}}]}";
+
+        // When
+        final byte[] bytes = serialiser.fromJson(json);
+
+        // Then
+        JsonSerialiser.assertEquals(json, serialiser.toJson(bytes));
+    }
+
+    @Test
+    public void shouldRejectInvalidBytes() throws IOException {
+        // Given
+        final byte[] valid = serialiser.serialise(new IsMoreThan(1));
+
+        // When / Then
+        assertThrows(IOException.class, () -> serialiser.deserialiseTree("{}".getBytes(StandardCharsets.UTF_8)));
+        assertThrows(IOException.class, () -> serialiser.deserialiseTree(Arrays.copyOf(valid, valid.length - 1)));
+        assertThrows(IOException.class, () -> serialiser.deserialiseTree(Arrays.copyOf(valid, valid.length + 1)));
+    }
+
+    @Test
+    public void shouldRejectNegativeIndexesAndLengths() throws IOException {
+        // Given
+        final byte[] negative = {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF,
+                (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x01};
+        final byte[][] invalid = {
+                withHeader(new byte[]{BinaryFormat.STRING}, negative),
+                withHeader(new byte[]{BinaryFormat.STRING, 1, 'a', BinaryFormat.STRING_REF}, negative),
+                withHeader(new byte[]{BinaryFormat.ARRAY, 2, BinaryFormat.ARRAY, 1, BinaryFormat.NULL, BinaryFormat.SUBTREE_REF}, negative),
+                withHeader(new byte[]{BinaryFormat.CLASS_REF}, negative),
+                withHeader(new byte[]{BinaryFormat.DECIMAL}, negative, new byte[]{1, 1}),
+                withHeader(new byte[]{BinaryFormat.DECIMAL, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x10, 1, 1}),
+                withHeader(new byte[]{BinaryFormat.BIG_INTEGER, 0})
+        };
+
+        // When / Then
+        for (final byte[] bytes : invalid) {
+            assertThrows(IOException.class, () -> serialiser.deserialiseTree(bytes));
+            assertThrows(IOException.class, () -> serialiser.deserialise(bytes, Object.class));
+        }
+    }
+
+    @Test
+    public void shouldRejectReferencesToSubtreesThatAreNotComplete() throws IOException {
+        // Given
+        final byte[] self = withHeader(new byte[]{BinaryFormat.ARRAY, 1, BinaryFormat.SUBTREE_REF, 0});
+        final byte[] ancestor = withHeader(new byte[]{BinaryFormat.OBJECT, 2,
+                BinaryFormat.STRING, 1, 'a', BinaryFormat.ARRAY, 1, BinaryFormat.NULL,
+                BinaryFormat.STRING, 1, 'b', BinaryFormat.ARRAY, 1, BinaryFormat.SUBTREE_REF, 1});
+
+        // When / Then
+        for (final byte[] bytes : Arrays.asList(self, ancestor)) {
+            assertThrows(IOException.class, () -> serialiser.deserialiseTree(bytes));
+            assertThrows(IOException.class, () -> serialiser.deserialise(bytes, Object.class));
+        }
+    }
+
+    @Test
+    public void shouldReadNestedReferencesToRepeatedSubtrees() throws IOException {
+        // Given
+        final String json = "{\"first\":{\"a\":[1,2],\"b\":{\"c\":\"x\"}},"
+                + "\"second\":{\"a\":[1,2],\"b\":{\"c\":\"x\"}},"
+                + "\"third\":[{\"a\":[1,2],\"b\":{\"c\":\"x\"}},{\"c\":\"x\"},\"y\",{\"d\":\"y\"}],"
+                + "\"fourth\":[{\"a\":[1,2],\"b\":{\"c\":\"x\"}},{\"c\":\"x\"},\"y\",{\"d\":\"y\"}]}";
+
+        // When
+        final byte[] bytes = serialiser.fromJson(json);
+
+        // Then
+        assertEquals(mapper.readTree(json), serialiser.deserialiseTree(bytes));
+        assertEquals(mapper.readValue(json, Map.class), serialiser.deserialise(bytes, Map.class));
+        JsonSerialiser.assertEquals(json, serialiser.toJson(bytes));
+    }
+
+    @Test
+    public void shouldRejectReferencesThatExpandTooFar() throws IOException {
+        // Given
+        final ByteArrayOutputStream levels = new ByteArrayOutputStream();
+        levels.write(new byte[]{BinaryFormat.ARRAY, 41, BinaryFormat.ARRAY, 1, BinaryFormat.INT, 0});
+        for (byte level = 1; level <= 40; level++) {
+            // Each level holds two references to the level before, so the last expands to 2^40 values
+            levels.write(new byte[]{BinaryFormat.ARRAY, 2, BinaryFormat.SUBTREE_REF, (byte) (level - 1), BinaryFormat.SUBTREE_REF, (byte) (level - 1)});
+        }
+        final byte[] bytes = withHeader(levels.toByteArray());
+
+        // When / Then
+        final IOException treeException = assertThrows(IOException.class, () -> serialiser.deserialiseTree(bytes));
+        final IOException valueException = assertThrows(IOException.class, () -> serialiser.deserialise(bytes, Object.class));
+        assertTrue(treeException.getMessage().startsWith("The references expand to more than"), treeException.getMessage());
+        assertTrue(valueException.getMessage().startsWith("The references expand to more than"), valueException.getMessage());
+    }
+
+    @Test
+    public void shouldBuildClassTableFromTheKorypheClassIndex() {
+        // Given
+        final ClassTable table = ClassTable.getInstance();
+
+        // When
+        ReflectionUtil.addReflectionPackages(UnsignedLong.class.getPackage().getName());
+        ClassTable.reset();
+
+        // Then
+        assertEquals(table.getFingerprint(), ClassTable.getInstance().getFingerprint());
+        assertTrue(table.indexOf(IsMoreThan.class.getName()) >= 0);
+        assertEquals(-1, table.indexOf(MockPredicateTrue.class.getName()));
+    }
+
+    @Test
+    public void shouldRejectClassesWrittenWithDifferentClassTable() throws IOException {
+        // Given
+        final byte[] bytes = serialiser.serialise(new IsMoreThan(1));
+        bytes[2] = (byte) ~bytes[2];
+
+        // When / Then
+        assertThrows(IOException.class, () -> serialiser.deserialise(bytes, IsMoreThan.class));
+    }
+
+    @Test
+    public void shouldReadValuesWithoutClassesWrittenWithDifferentClassTable() throws IOException {
+        // Given
+        final byte[] bytes = serialiser.serialise(Arrays.asList("a", "b"));
+        bytes[2] = (byte) ~bytes[2];
+
+        // When
+        final String[] deserialised = serialiser.deserialise(bytes, String[].class);
+
+        // Then
+        assertArrayEquals(new String[]{"a", "b"}, deserialised);
+    }
+
+    private byte[] withHeader(final byte[]... parts) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        bytes.write(serialiser.serialise((Object) null), 0, 6);
+        for (final byte[] part : parts) {
+            bytes.write(part);
+        }
+        return bytes.toByteArray();
+    }
+}
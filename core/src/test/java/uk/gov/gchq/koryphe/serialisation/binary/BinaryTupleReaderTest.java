@@ -0,0 +1,261 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.koryphe.serialisation.binary;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.koryphe.tuple.ArrayTuple;
+import uk.gov.gchq.koryphe.tuple.MapTuple;
+import uk.gov.gchq.koryphe.tuple.n.Tuple3;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BinaryTupleReaderTest {
+
+    @Test
+    public void shouldReadIntoExistingArrayTuple() throws IOException {
+        // Given
+        final byte[] bytes = write(new Tuple3<>("a", 1L, 2.0), new Tuple3<>("b", 3L, 4.0));
+        final ArrayTuple tuple = new ArrayTuple(3);
+        final BinaryTupleReader reader = new BinaryTupleReader(new ByteArrayInputStream(bytes));
+
+        // When / Then
+        assertTrue(reader.read(tuple));
+        assertEquals(new ArrayTuple("a", 1L, 2.0), tuple);
+        assertTrue(reader.read(tuple));
+        assertEquals(new ArrayTuple("b", 3L, 4.0), tuple);
+        assertFalse(reader.read(tuple));
+    }
+
+    @Test
+    public void shouldReadIntoExistingMapTuple() throws IOException {
+        // Given
+        final MapTuple<String> first = new MapTuple<>();
+        first.put("a", 1L);
+        first.put("b", "x");
+        final MapTuple<String> second = new MapTuple<>();
+        second.put("c", 2L);
+        final byte[] bytes = write(first, second);
+        final MapTuple<String> tuple = new MapTuple<>();
+        final BinaryTupleReader reader = new BinaryTupleReader(ByteBuffer.wrap(bytes));
+
+        // When / Then
+        assertTrue(reader.read(tuple));
+        assertEquals(first, tuple);
+        final Object values = tuple.getValues();
+        assertTrue(reader.read(tuple));
+        assertEquals(second, tuple);
+        assertSame(values, tuple.getValues());
+        assertFalse(reader.read(tuple));
+    }
+
+    @Test
+    public void shouldRejectTupleOfDifferentKindOrSize() throws IOException {
+        // Given
+        final byte[] bytes = write(new ArrayTuple("a", "b"));
+
+        // When / Then
+        assertThrows(IOException.class, () -> new BinaryTupleReader(ByteBuffer.wrap(bytes)).read(new MapTuple<>()));
+        assertThrows(IOException.class, () -> new BinaryTupleReader(ByteBuffer.wrap(bytes)).read(new ArrayTuple(3)));
+    }
+
+    @Test
+    public void shouldReadEmptyStream() throws IOException {
+        // Given
+        final BinaryTupleReader reader = new BinaryTupleReader(new ByteArrayInputStream(new byte[0]));
+
+        // When / Then
+        assertNull(reader.read());
+    }
+
+    @Test
+    public void shouldRejectInvalidData() {
+        // Given
+        final byte[] bytes = "{\"a\":1}".getBytes();
+
+        // When / Then
+        assertThrows(IOException.class, () -> new BinaryTupleReader(new ByteArrayInputStream(bytes)).read());
+    }
+
+    @Test
+    public void shouldReadStreamDeliveredInSmallChunks() throws IOException {
+        // Given
+        final ArrayTuple[] tuples = new ArrayTuple[100];
+        for (int i = 0; i < tuples.length; i++) {
+            tuples[i] = new ArrayTuple("value" + i, new byte[i], (long) i);
+        }
+        final byte[] bytes = write(tuples);
+        final InputStream in = new ByteArrayInputStream(bytes) {
+            @Override
+            public synchronized int read(final byte[] b, final int off, final int len) {
+                return super.read(b, off, Math.min(len, 3));
+            }
+        };
+        final BinaryTupleReader reader = new BinaryTupleReader(in);
+
+        // When / Then
+        for (final ArrayTuple tuple : tuples) {
+            final ArrayTuple result = (ArrayTuple) reader.read();
+            assertEquals(tuple.get(0), result.get(0));
+            assertEquals(((byte[]) tuple.get(1)).length, ((byte[]) result.get(1)).length);
+            assertEquals(tuple.get(2), result.get(2));
+        }
+        assertNull(reader.read());
+    }
+
+    @Test
+    public void shouldLeaveByteBufferAtStartOfIncompleteRecord() throws IOException {
+        // Given
+        final byte[] bytes = write(new ArrayTuple("a"), new ArrayTuple("b"));
+        final ByteBuffer buffer = ByteBuffer.wrap(Arrays.copyOf(bytes, bytes.length - 1));
+        final BinaryTupleReader reader = new BinaryTupleReader(buffer);
+
+        // When
+        assertEquals(new ArrayTuple("a"), reader.read());
+        final int position = buffer.position();
+
+        // Then
+        assertThrows(EOFException.class, reader::read);
+        assertEquals(position, buffer.position());
+    }
+
+    @Test
+    public void shouldRejectNegativeCount() {
+        // Given
+        final byte[] bytes = concat(new byte[]{TupleFormat.MAGIC, TupleFormat.VERSION, TupleFormat.ARRAY_TUPLE, TupleFormat.ARRAY_TUPLE_CLASS},
+                varint(-1L));
+
+        // When / Then
+        for (final BinaryTupleReader reader : readers(bytes)) {
+            final Exception exception = assertThrows(IOException.class, reader::read);
+            assertEquals("Invalid length or index -1", exception.getMessage());
+        }
+    }
+
+    @Test
+    public void shouldRejectCountsLargerThanTheRemainingData() {
+        // Given
+        final byte[] header = {TupleFormat.MAGIC, TupleFormat.VERSION, TupleFormat.ARRAY_TUPLE, TupleFormat.ARRAY_TUPLE_CLASS};
+        final byte[] tupleSize = concat(header, varint(Integer.MAX_VALUE - 8));
+        final byte[] arraySize = concat(header, varint(1), new byte[]{TupleFormat.OBJECT_ARRAY}, varint(Integer.MAX_VALUE - 8), new byte[]{TupleFormat.NULL});
+        final byte[] stringLength = concat(header, varint(1), new byte[]{TupleFormat.STRING}, varint(Integer.MAX_VALUE - 8), new byte[]{'a'});
+        final byte[] schemaSize = concat(new byte[]{TupleFormat.MAGIC, TupleFormat.VERSION, TupleFormat.SCHEMA}, varint(0), varint(Integer.MAX_VALUE - 8));
+
+        // When / Then
+        for (final byte[] bytes : Arrays.asList(tupleSize, arraySize, stringLength, schemaSize)) {
+            for (final BinaryTupleReader reader : readers(bytes)) {
+                assertThrows(EOFException.class, reader::read);
+            }
+        }
+    }
+
+    @Test
+    public void shouldReadFewerTuplesFromTruncatedData() throws IOException {
+        // Given
+        final MapTuple<String> mapTuple = new MapTuple<>();
+        mapTuple.put("a", Arrays.asList(1, "b"));
+        mapTuple.put("c", new Object[]{2.0, new byte[]{3}});
+        final byte[] arrayTuples = write(new ArrayTuple("a", 1L, Collections.singletonMap("k", 1.5f)), new Tuple3<>(true, null, "c"));
+        final byte[] mapTuples = write(mapTuple, mapTuple);
+
+        // When / Then
+        for (final byte[] bytes : Arrays.asList(arrayTuples, mapTuples)) {
+            for (int length = 1; length < bytes.length; length++) {
+                for (final BinaryTupleReader reader : readers(Arrays.copyOf(bytes, length))) {
+                    assertTrue(countUntilEndOrIOException(reader) < 2);
+                }
+            }
+        }
+    }
+
+    private static int countUntilEndOrIOException(final BinaryTupleReader reader) {
+        int count = 0;
+        try {
+            while (null != reader.read()) {
+                count++;
+            }
+        } catch (final IOException e) {
+            // Truncated data may be reported as an exception or as the end of the data
+        }
+        return count;
+    }
+
+    private static List<BinaryTupleReader> readers(final byte[] bytes) {
+        final ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+        direct.put(bytes);
+        ((Buffer) direct).flip();
+        return Arrays.asList(
+                new BinaryTupleReader(new ByteArrayInputStream(bytes)),
+                new BinaryTupleReader(ByteBuffer.wrap(bytes)),
+                new BinaryTupleReader(direct));
+    }
+
+    private static byte[] varint(final long value) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            bytes.write((int) ((remaining & 0x7F) | 0x80));
+            remaining >>>= 7;
+        }
+        bytes.write((int) remaining);
+        return bytes.toByteArray();
+    }
+
+    private static byte[] concat(final byte[]... parts) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        for (final byte[] part : parts) {
+            bytes.write(part, 0, part.length);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] write(final ArrayTuple... tuples) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final BinaryTupleWriter writer = new BinaryTupleWriter(bytes)) {
+            for (final ArrayTuple tuple : tuples) {
+                writer.write(tuple);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] write(final MapTuple<?>... tuples) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final BinaryTupleWriter writer = new BinaryTupleWriter(bytes)) {
+            for (final MapTuple<?> tuple : tuples) {
+                writer.write(tuple);
+            }
+        }
+        return bytes.toByteArray();
+    }
+}
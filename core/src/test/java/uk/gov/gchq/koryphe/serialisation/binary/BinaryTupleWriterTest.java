@@ -0,0 +1,264 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.koryphe.serialisation.binary;
+
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Sets;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.koryphe.tuple.ArrayTuple;
+import uk.gov.gchq.koryphe.tuple.MapTuple;
+import uk.gov.gchq.koryphe.tuple.Tuple;
+import uk.gov.gchq.koryphe.tuple.n.Tuple2;
+import uk.gov.gchq.koryphe.tuple.n.Tuple5;
+import uk.gov.gchq.koryphe.tuple.n.TupleN;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.math.BigDecimal;
+import java.nio.Buffer;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BinaryTupleWriterTest {
+
+    @Test
+    public void shouldWriteAndReadTuples() throws IOException {
+        // Given
+        final List<Tuple<?>> tuples = Arrays.asList(
+                new ArrayTuple("a", 1, 2L, 3.5, 4.5f, true, false, null),
+                new Tuple2<>("b", new byte[]{1, 2, 3}),
+                new Tuple5<>(new Date(1234567890L), Arrays.asList(1, "c"), Sets.newHashSet("d", "e"),
+                        Collections.singletonMap("f", 1L), new Object[]{"g", null}),
+                new TupleN("h", -1L, Long.MIN_VALUE, Integer.MAX_VALUE),
+                createMapTuple("a", 1, "b", "caf\u00e9 \u2603"));
+
+        // When
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final BinaryTupleWriter writer = new BinaryTupleWriter(bytes)) {
+            for (final Tuple<?> tuple : tuples) {
+                writer.write(tuple);
+            }
+        }
+        final List<Tuple<?>> result = readAll(bytes.toByteArray());
+
+        // Then
+        assertEquals(tuples.size(), result.size());
+        for (int i = 0; i < tuples.size(); i++) {
+            assertTupleEquals(tuples.get(i), result.get(i));
+        }
+    }
+
+    @Test
+    public void shouldWriteMapTupleKeysOncePerStream() throws IOException {
+        // Given
+        final ByteArrayOutputStream single = new ByteArrayOutputStream();
+        final ByteArrayOutputStream many = new ByteArrayOutputStream();
+
+        // When
+        try (final BinaryTupleWriter writer = new BinaryTupleWriter(single)) {
+            writer.write(createMapTuple("someLongPropertyName", 1L, "anotherLongPropertyName", 2L));
+        }
+        try (final BinaryTupleWriter writer = new BinaryTupleWriter(many)) {
+            for (int i = 0; i < 100; i++) {
+                writer.write(createMapTuple("someLongPropertyName", 1L, "anotherLongPropertyName", 2L));
+            }
+        }
+
+        // Then
+        final int recordSize = 6;
+        assertEquals(single.size() + 99 * recordSize, many.size());
+        assertEquals(100, readAll(many.toByteArray()).size());
+    }
+
+    @Test
+    public void shouldBeSmallerThanJavaSerialisation() throws IOException {
+        // Given
+        final ByteArrayOutputStream binary = new ByteArrayOutputStream();
+        final ByteArrayOutputStream java = new ByteArrayOutputStream();
+
+        // When
+        try (final BinaryTupleWriter writer = new BinaryTupleWriter(binary);
+             final ObjectOutputStream out = new ObjectOutputStream(java)) {
+            for (int i = 0; i < 100; i++) {
+                final MapTuple<String> tuple = createMapTuple("count", (long) i, "name", "name" + i);
+                writer.write(tuple);
+                out.writeObject(new HashMap<>(tuple.getValues()));
+            }
+        }
+
+        // Then
+        assertTrue(binary.size() * 4 < java.size(), binary.size() + " compared to " + java.size());
+    }
+
+    @Test
+    public void shouldReplaceSchemasWhenTheLimitIsReached() throws IOException {
+        // Given
+        final List<Tuple<?>> tuples = new ArrayList<>();
+        for (int i = 0; i < BinaryTupleWriter.MAX_SCHEMAS + 10; i++) {
+            tuples.add(createMapTuple("key" + i, i, "value", "x"));
+        }
+        tuples.add(createMapTuple("key0", 0, "value", "x"));
+
+        // When
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final BinaryTupleWriter writer = new BinaryTupleWriter(bytes)) {
+            for (final Tuple<?> tuple : tuples) {
+                writer.write(tuple);
+            }
+        }
+
+        // Then
+        assertEquals(tuples, readAll(bytes.toByteArray()));
+    }
+
+    @Test
+    public void shouldWriteRecordsIntoByteBufferUntilItIsFull() throws IOException {
+        // Given
+        final ByteBuffer buffer = ByteBuffer.allocate(64);
+        final BinaryTupleWriter writer = new BinaryTupleWriter(buffer);
+        final MapTuple<String> tuple = createMapTuple("a", "0123456789", "b", 1L);
+
+        // When
+        int written = 0;
+        try {
+            while (true) {
+                writer.write(tuple);
+                written++;
+            }
+        } catch (final BufferOverflowException e) {
+            // Expected once the buffer is full
+        }
+        final int position = buffer.position();
+        ((Buffer) buffer).flip();
+        final BinaryTupleReader reader = new BinaryTupleReader(buffer);
+
+        // Then
+        assertTrue(written > 1);
+        assertTrue(position <= 64);
+        for (int i = 0; i < written; i++) {
+            assertEquals(tuple, reader.read());
+        }
+        assertNull(reader.read());
+    }
+
+    @Test
+    public void shouldContinueStreamInDrainedByteBuffer() throws IOException {
+        // Given
+        final ByteBuffer buffer = ByteBuffer.allocate(32);
+        final BinaryTupleWriter writer = new BinaryTupleWriter(buffer);
+        final ByteArrayOutputStream drained = new ByteArrayOutputStream();
+        final List<Tuple<?>> tuples = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            tuples.add(createMapTuple("key", "value" + i));
+        }
+
+        // When
+        for (final Tuple<?> tuple : tuples) {
+            try {
+                writer.write(tuple);
+            } catch (final BufferOverflowException e) {
+                drained.write(buffer.array(), 0, buffer.position());
+                ((Buffer) buffer).clear();
+                writer.write(tuple);
+            }
+        }
+        drained.write(buffer.array(), 0, buffer.position());
+
+        // Then
+        assertEquals(tuples, readAll(drained.toByteArray()));
+    }
+
+    @Test
+    public void shouldWriteIntoDirectByteBuffer() throws IOException {
+        // Given
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(256);
+        final Tuple<?> tuple = new ArrayTuple("a", 1L);
+
+        // When
+        final BinaryTupleWriter writer = new BinaryTupleWriter(buffer);
+        writer.write(tuple);
+        writer.write(tuple);
+        ((Buffer) buffer).flip();
+        final BinaryTupleReader reader = new BinaryTupleReader(buffer);
+
+        // Then
+        assertEquals(tuple, reader.read());
+        assertEquals(tuple, reader.read());
+        assertNull(reader.read());
+    }
+
+    @Test
+    public void shouldRejectUnsupportedValuesAndLeaveWriterUnchanged() throws IOException {
+        // Given
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final MapTuple<String> valid = createMapTuple("a", 1L);
+
+        // When
+        try (final BinaryTupleWriter writer = new BinaryTupleWriter(bytes)) {
+            assertThrows(IllegalArgumentException.class,
+                    () -> writer.write(createMapTuple("a", 1L, "b", BigDecimal.ONE)));
+            writer.write(valid);
+        }
+
+        // Then
+        assertEquals(Collections.singletonList(valid), readAll(bytes.toByteArray()));
+    }
+
+    private static MapTuple<String> createMapTuple(final Object... keysAndValues) {
+        final Map<String, Object> values = new HashMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            values.put((String) keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return new MapTuple<>(values);
+    }
+
+    private static List<Tuple<?>> readAll(final byte[] bytes) throws IOException {
+        final List<Tuple<?>> tuples = new ArrayList<>();
+        try (final BinaryTupleReader reader = new BinaryTupleReader(new ByteArrayInputStream(bytes))) {
+            Tuple<?> tuple = reader.read();
+            while (null != tuple) {
+                tuples.add(tuple);
+                tuple = reader.read();
+            }
+        }
+        return tuples;
+    }
+
+    // Arrays are compared by value
+    private static void assertTupleEquals(final Tuple<?> expected, final Tuple<?> actual) {
+        assertEquals(expected.getClass(), actual.getClass());
+        final Object[] expectedValues = Iterables.toArray(expected.values(), Object.class);
+        final Object[] actualValues = Iterables.toArray(actual.values(), Object.class);
+        assertArrayEquals(expectedValues, actualValues);
+    }
+}
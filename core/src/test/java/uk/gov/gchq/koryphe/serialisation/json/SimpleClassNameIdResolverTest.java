@@ -16,6 +16,8 @@
 
 package uk.gov.gchq.koryphe.serialisation.json;
 
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.type.TypeFactory;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -26,6 +28,7 @@ import uk.gov.gchq.koryphe.impl.predicate.IsA;
 import uk.gov.gchq.koryphe.predicate.KoryphePredicate;
 import uk.gov.gchq.koryphe.serialisation.json.obj.TestCustomObj;
 import uk.gov.gchq.koryphe.serialisation.json.obj.first.TestCustomObjImpl;
+import uk.gov.gchq.koryphe.serialisation.json.obj.first.TestCustomObjImplUnique;
 import uk.gov.gchq.koryphe.util.JsonSerialiser;
 import uk.gov.gchq.koryphe.util.ReflectionUtil;
 
@@ -201,4 +204,53 @@ public class SimpleClassNameIdResolverTest {
         // Then
         assertNotNull(obj);
     }
+
+    @Test
+    public void shouldReturnUnknownIdUnchanged() {
+        // When
+        final String first = SimpleClassNameCache.getClassName("UnknownTestClassName");
+        final String second = SimpleClassNameCache.getClassName("UnknownTestClassName");
+
+        // Then
+        assertEquals("UnknownTestClassName", first);
+        assertEquals("UnknownTestClassName", second);
+    }
+
+    @Test
+    public void shouldResolveLowerCaseAndArrayIds() {
+        // When / Then
+        assertEquals(String.class.getName(), SimpleClassNameCache.getClassName("string"));
+        assertEquals("[L" + String.class.getName() + ";", SimpleClassNameCache.getClassName("String[]"));
+        assertEquals(IsA.class.getName(), SimpleClassNameCache.getClassName("isA"));
+        assertEquals(IsA.class.getName(), SimpleClassNameCache.getClassName("isA"));
+        assertEquals("[L" + IsA.class.getName() + ";", SimpleClassNameCache.getClassName("IsA[]"));
+    }
+
+    @Test
+    public void shouldResolveConflictingIdsUsingBaseType() {
+        // Given
+        final JavaType functionType = TypeFactory.defaultInstance().constructType(KorypheFunction.class);
+        final JavaType binaryOperatorType = TypeFactory.defaultInstance().constructType(KorypheBinaryOperator.class);
+
+        // When / Then
+        for (int i = 0; i < 2; i++) {
+            assertEquals(uk.gov.gchq.koryphe.serialisation.json.obj.function.TestCustomClass.class.getName(),
+                    SimpleClassNameCache.getClassName("TestCustomClass", functionType));
+            assertEquals(uk.gov.gchq.koryphe.serialisation.json.obj.binaryoperator.TestCustomClass.class.getName(),
+                    SimpleClassNameCache.getClassName("TestCustomClass", binaryOperatorType));
+            assertThrows(IllegalArgumentException.class, () -> SimpleClassNameCache.getClassName("TestCustomClass"));
+        }
+    }
+
+    @Test
+    public void shouldResolveClassesAddedAfterIdWasLookedUp() {
+        // Given
+        assertEquals("TestCustomObjImplUnique", SimpleClassNameCache.getClassName("TestCustomObjImplUnique"));
+
+        // When
+        SimpleClassNameCache.addSimpleClassNames(true, TestCustomObj.class);
+
+        // Then
+        assertEquals(TestCustomObjImplUnique.class.getName(), SimpleClassNameCache.getClassName("TestCustomObjImplUnique"));
+    }
 }
@@ -522,6 +522,49 @@ public class SignatureTest {
         assertFalse(signature.assignable(Object.class, Object.class).isValid());
     }
 
+    @Test
+    public void shouldValidateEachInstanceOfTheSameClassWithItsOwnState() {
+        // Given
+        final Predicate first = new Or.Builder()
+                .select(0)
+                .execute(new IsMoreThan(1))
+                .build();
+        final Predicate second = new Or.Builder()
+                .select(0)
+                .execute(new IsMoreThan(1))
+                .select(1)
+                .execute(new IsLessThan(10.0))
+                .build();
+
+        // When
+        final ValidationResult firstResult = Signature.getInputSignature(first).assignable(Integer.class);
+        final ValidationResult secondResult = Signature.getInputSignature(second).assignable(Integer.class);
+
+        // Then
+        assertTrue(firstResult.isValid(), firstResult.getErrorString());
+        assertFalse(secondResult.isValid());
+    }
+
+    @Test
+    public void shouldReturnTheSameTypesForRepeatedSignatures() {
+        // Given
+        final Function function = new MockFunction2();
+
+        // When
+        final Signature input = Signature.getInputSignature(function);
+        final Signature repeatedInput = Signature.getInputSignature(new MockFunction2());
+        final Signature output = Signature.getOutputSignature(function);
+        final Signature repeatedOutput = Signature.getOutputSignature(new MockFunction2());
+
+        // Then
+        assertArrayEquals(input.getClasses(), repeatedInput.getClasses());
+        assertEquals(input.getNumClasses(), repeatedInput.getNumClasses());
+        assertArrayEquals(output.getClasses(), repeatedOutput.getClasses());
+        assertEquals(output.getNumClasses(), repeatedOutput.getNumClasses());
+        assertTrue(repeatedInput.assignable(Double.class, Integer.class).isValid());
+        assertFalse(repeatedInput.assignable(Integer.class, Integer.class).isValid());
+    }
+
     private class TestIntegerBinaryOperator implements BinaryOperator<Integer> {
         @Override
         public Integer apply(final Integer integer, final Integer integer2) {
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.koryphe.tuple;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ColumnVectorTest {
+
+    @Test
+    public void shouldTrackNullsInPrimitiveColumn() {
+        // Given
+        final LongColumnVector column = new LongColumnVector(130);
+
+        // When
+        column.setLong(0, 5L);
+        column.set(64, 6L);
+        column.set(129, 7L);
+        column.set(64, null);
+
+        // Then
+        assertFalse(column.isNull(0));
+        assertTrue(column.isNull(1));
+        assertTrue(column.isNull(64));
+        assertEquals(7L, column.get(129));
+        assertNull(column.get(64));
+    }
+
+    @Test
+    public void shouldKeepBoxedValuesUntilChanged() {
+        // Given
+        final DoubleColumnVector column = new DoubleColumnVector(3);
+        column.setDouble(0, 1.0);
+        column.setDouble(2, 3.0);
+
+        // When
+        final Object[] first = column.getValues(3);
+        final Object[] second = column.getValues(3);
+        column.setDouble(1, 2.0);
+        final Object[] third = column.getValues(3);
+
+        // Then
+        assertSame(first, second);
+        assertArrayEquals(new Object[]{1.0, 2.0, 3.0}, third);
+    }
+
+    @Test
+    public void shouldReturnBackingArrayOfObjectColumn() {
+        // Given
+        final Object[] values = {"a", "b"};
+        final ObjectColumnVector column = new ObjectColumnVector(values);
+
+        // When / Then
+        assertSame(values, column.getValues(2));
+        assertSame(column, column.toObjectColumn(2));
+    }
+
+    @Test
+    public void shouldRejectOtherTypesInPrimitiveColumn() {
+        // Given
+        final LongColumnVector column = new LongColumnVector(1);
+
+        // When / Then
+        assertFalse(column.accepts(1));
+        assertTrue(column.accepts(null));
+        assertThrows(IllegalArgumentException.class, () -> column.set(0, "a"));
+    }
+
+    @Test
+    public void shouldCreateColumnForValueType() {
+        // When / Then
+        assertTrue(ColumnVector.create(1L, 1) instanceof LongColumnVector);
+        assertTrue(ColumnVector.create(1.0, 1) instanceof DoubleColumnVector);
+        assertTrue(ColumnVector.create(1, 1) instanceof ObjectColumnVector);
+        assertNotSame(ColumnVector.create("a", 1), ColumnVector.create("a", 1));
+    }
+}
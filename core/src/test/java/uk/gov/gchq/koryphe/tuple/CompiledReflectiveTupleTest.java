@@ -0,0 +1,166 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.koryphe.tuple;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static uk.gov.gchq.koryphe.tuple.ReflectiveTuple.ERROR_WRONG_PARAM;
+import static uk.gov.gchq.koryphe.tuple.ReflectiveTuple.SELECTION_S_DOES_NOT_EXIST;
+
+/**
+ * Runs all of the {@link ReflectiveTupleTest}s against a {@link CompiledReflectiveTuple}
+ * to check the behaviour is the same.
+ */
+public class CompiledReflectiveTupleTest extends ReflectiveTupleTest {
+    @Override
+    protected ReflectiveTuple createTuple(final Object record) {
+        return new CompiledReflectiveTuple(record);
+    }
+
+    @Test
+    public void shouldGetDeeplyNestedValues() {
+        // Given
+        final Node root = new Node("root", new Node("child", new Node("grandchild", null)));
+        final CompiledReflectiveTuple tuple = new CompiledReflectiveTuple(root);
+
+        // When / Then
+        assertEquals("root", tuple.get("name"));
+        assertEquals("child", tuple.get("child.name"));
+        assertEquals("grandchild", tuple.get("child.child.name"));
+        assertNull(tuple.get("child.child.child"));
+    }
+
+    @Test
+    public void shouldPutDeeplyNestedValues() {
+        // Given
+        final Node root = new Node("root", new Node("child", new Node("grandchild", null)));
+        final CompiledReflectiveTuple tuple = new CompiledReflectiveTuple(root);
+
+        // When
+        tuple.put("child.child.name", "changed");
+
+        // Then
+        assertEquals("changed", root.getChild().getChild().getName());
+    }
+
+    @Test
+    public void shouldDelegateToNestedTuples() {
+        // Given
+        final Map<String, Object> values = new HashMap<>();
+        values.put("a", Collections.singletonMap("b", "value"));
+        final Node root = new Node("root", null);
+        root.tuple = new MapTuple<>(values);
+        final CompiledReflectiveTuple tuple = new CompiledReflectiveTuple(root);
+
+        // When
+        tuple.put("tuple.c", "otherValue");
+
+        // Then
+        assertEquals(Collections.singletonMap("b", "value"), tuple.get("tuple.a"));
+        assertEquals("otherValue", tuple.get("tuple.c"));
+    }
+
+    @Test
+    public void shouldResolveTheRuntimeClassOfNestedValues() {
+        // Given
+        final CompiledReflectiveTuple tuple1 = new CompiledReflectiveTuple(new Node("root", new Node("child", null)));
+        final CompiledReflectiveTuple tuple2 = new CompiledReflectiveTuple(new Node("root", new SubNode("subChild")));
+
+        // When / Then
+        assertEquals("child", tuple1.get("child.name"));
+        assertEquals("subChild", tuple2.get("child.name"));
+        assertEquals("extra", tuple2.get("child.extra"));
+        final Exception exception = assertThrows(RuntimeException.class, () -> tuple1.get("child.extra"));
+        assertEquals(String.format(SELECTION_S_DOES_NOT_EXIST, "extra"), exception.getMessage());
+    }
+
+    @Test
+    public void shouldConvertValuesForPrimitiveSetters() {
+        // Given
+        final Node node = new Node("root", null);
+        final CompiledReflectiveTuple tuple = new CompiledReflectiveTuple(node);
+
+        // When
+        tuple.put("count", 5);
+
+        // Then
+        assertEquals(5L, node.getCount());
+        assertEquals(5L, tuple.get("count"));
+    }
+
+    @Test
+    public void shouldNotPutInvalidValueForPrimitiveSetter() {
+        // Given
+        final CompiledReflectiveTuple tuple = new CompiledReflectiveTuple(new Node("root", null));
+
+        // When
+        final Exception exception = assertThrows(IllegalArgumentException.class, () -> tuple.put("count", "five"));
+
+        // Then
+        final String expected = String.format(ERROR_WRONG_PARAM, "method", "setCount",
+                Collections.singletonList(long.class), String.class.getSimpleName());
+        assertEquals(expected, exception.getMessage());
+    }
+
+    public static class Node {
+        public Tuple<String> tuple;
+        private String name;
+        private Node child;
+        private long count;
+
+        public Node(final String name, final Node child) {
+            this.name = name;
+            this.child = child;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(final String name) {
+            this.name = name;
+        }
+
+        public Node getChild() {
+            return child;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public void setCount(final long count) {
+            this.count = count;
+        }
+    }
+
+    public static class SubNode extends Node {
+        public SubNode(final String name) {
+            super(name, null);
+        }
+
+        public String getExtra() {
+            return "extra";
+        }
+    }
+}
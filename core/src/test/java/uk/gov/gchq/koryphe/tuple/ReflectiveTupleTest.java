@@ -23,11 +23,19 @@ import uk.gov.gchq.koryphe.tuple.ReflectiveTuple.Cache;
 import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
@@ -46,9 +54,13 @@ public class ReflectiveTupleTest {
 
     private ReflectiveTuple testObj;
 
+    protected ReflectiveTuple createTuple(final Object record) {
+        return new ReflectiveTuple(record);
+    }
+
     @BeforeEach
     public void setUp() {
-        testObj = new ReflectiveTuple(new ExampleObj());
+        testObj = createTuple(new ExampleObj());
     }
 
     @Test
@@ -77,7 +89,7 @@ public class ReflectiveTupleTest {
     @Test
     public void shouldNotFindPublicFieldIfSubfieldNameIsBlank() {
         // Given
-        testObj = new ReflectiveTuple(new ExampleNestedObj1());
+        testObj = createTuple(new ExampleNestedObj1());
 
         // When
         final Exception exception = assertThrows(IllegalArgumentException.class, () -> testObj.get("nestedField."));
@@ -98,7 +110,7 @@ public class ReflectiveTupleTest {
     @Test
     public void shouldNotFindPublicFieldWith2Dots() {
         // Given
-        testObj = new ReflectiveTuple(new ExampleNestedObj1());
+        testObj = createTuple(new ExampleNestedObj1());
 
         // When
         final Exception exception = assertThrows(IllegalArgumentException.class, () -> testObj.get("nestedField.." + FIELD_A));
@@ -110,7 +122,7 @@ public class ReflectiveTupleTest {
     @Test
     public void shouldGetNestedField() {
         // Given
-        testObj = new ReflectiveTuple(new ExampleNestedObj1());
+        testObj = createTuple(new ExampleNestedObj1());
 
         // When / Then
         assertEquals("fa", testObj.get(NESTED_FIELD));
@@ -143,7 +155,7 @@ public class ReflectiveTupleTest {
     public void shouldPutField() {
         // Given
         final ExampleObj3 record = new ExampleObj3();
-        testObj = new ReflectiveTuple(record);
+        testObj = createTuple(record);
 
         // When
         testObj.put("fieldA", "changed");
@@ -157,7 +169,7 @@ public class ReflectiveTupleTest {
     public void shouldNotPutFieldWithWrongParam() {
         // Given
         final ExampleObj3 record = new ExampleObj3();
-        testObj = new ReflectiveTuple(record);
+        testObj = createTuple(record);
 
         // When
         final Exception exception = assertThrows(IllegalArgumentException.class, () -> testObj.put("fieldA", 1));
@@ -171,7 +183,7 @@ public class ReflectiveTupleTest {
     public void shouldPutMethod() {
         // Given
         final ExampleObj3 record = new ExampleObj3();
-        testObj = new ReflectiveTuple(record);
+        testObj = createTuple(record);
 
         // When
         testObj.put("fieldB", "changed");
@@ -183,7 +195,7 @@ public class ReflectiveTupleTest {
     @Test
     public void shouldNotPutFieldIfSubfieldIsBlank() {
         // Given
-        testObj = new ReflectiveTuple(new ExampleNestedObj1());
+        testObj = createTuple(new ExampleNestedObj1());
 
         // When
         final Exception exception = assertThrows(IllegalArgumentException.class, () -> testObj.put("nestedField.", "changed"));
@@ -204,7 +216,7 @@ public class ReflectiveTupleTest {
     @Test
     public void shouldNotPutFieldWith2Dots() {
         // Given
-        testObj = new ReflectiveTuple(new ExampleNestedObj1());
+        testObj = createTuple(new ExampleNestedObj1());
 
         // When
         final Exception exception = assertThrows(IllegalArgumentException.class, () -> testObj.put("nestedField.." + FIELD_A, "changed"));
@@ -217,7 +229,7 @@ public class ReflectiveTupleTest {
     public void shouldNotPutMethodWithWrongParam() {
         // Given
         final ExampleObj3 record = new ExampleObj3();
-        testObj = new ReflectiveTuple(record);
+        testObj = createTuple(record);
 
         // When
         final Exception exception = assertThrows(IllegalArgumentException.class, () -> testObj.put("fieldB", 1));
@@ -232,7 +244,7 @@ public class ReflectiveTupleTest {
     public void shouldNotPutMethod() {
         // Given
         final ExampleObj3 record = new ExampleObj3();
-        testObj = new ReflectiveTuple(record);
+        testObj = createTuple(record);
 
         // When
         final Exception exception = assertThrows(RuntimeException.class, () -> testObj.put("fieldC", 1));
@@ -245,7 +257,7 @@ public class ReflectiveTupleTest {
     public void shouldPutNestedField() {
         // Given
         final ExampleNestedObj1 record = new ExampleNestedObj1();
-        testObj = new ReflectiveTuple(record);
+        testObj = createTuple(record);
 
         // When
         testObj.put(NESTED_FIELD, "changed");
@@ -262,7 +274,7 @@ public class ReflectiveTupleTest {
     @Test
     public void shouldGetInOrderOfMethodGetIs() {
         // When
-        testObj = new ReflectiveTuple(new ExampleObj2());
+        testObj = createTuple(new ExampleObj2());
 
         // Then
         assertEquals("fa", testObj.get("valueA"));
@@ -327,6 +339,92 @@ public class ReflectiveTupleTest {
         assertEquals(toStringMethod, actual);
     }
 
+    @Test
+    public void shouldCacheMissingReferences() {
+        // Given
+        final Cache<Field> fieldCache = new Cache<>();
+        final Cache<Method> methodCache = new Cache<>();
+        testObj = new ReflectiveTuple(new ExampleObj(), fieldCache, methodCache);
+
+        // When
+        assertThrows(RuntimeException.class, () -> testObj.get(FIELD_X));
+
+        // Then
+        assertTrue(methodCache.isMissing(ExampleObj.class, "getFieldX"));
+        assertTrue(methodCache.isMissing(ExampleObj.class, "isFieldX"));
+        assertTrue(fieldCache.isMissing(ExampleObj.class, FIELD_X));
+        assertNull(fieldCache.get(ExampleObj.class, FIELD_X));
+
+        // When - the missing reference is requested again
+        final Exception exception = assertThrows(RuntimeException.class, () -> testObj.get(FIELD_X));
+
+        // Then
+        assertEquals(String.format(SELECTION_S_DOES_NOT_EXIST, FIELD_X), exception.getMessage());
+    }
+
+    @Test
+    public void shouldReplaceMissingReferenceWhenPut() throws Exception {
+        // Given
+        final Cache<Method> cache = new Cache<>();
+        cache.putMissing(String.class, "toString");
+
+        // When
+        final Method previous = cache.put(String.class, "toString", String.class.getMethod("toString"));
+
+        // Then
+        assertNull(previous);
+        assertFalse(cache.isMissing(String.class, "toString"));
+        assertEquals(String.class.getMethod("toString"), cache.get(String.class, "toString"));
+    }
+
+    @Test
+    public void shouldLimitMissingReferencesPerClass() {
+        // Given
+        final Cache<Field> cache = new Cache<>();
+
+        // When
+        for (int i = 0; i < Cache.MAX_MISSING_REFERENCES + 10; i++) {
+            cache.putMissing(ExampleObj.class, "missing" + i);
+        }
+
+        // Then
+        assertTrue(cache.isMissing(ExampleObj.class, "missing0"));
+        assertFalse(cache.isMissing(ExampleObj.class, "missing" + Cache.MAX_MISSING_REFERENCES));
+    }
+
+    @Test
+    public void shouldGetAndPutConcurrently() throws Exception {
+        // Given
+        final int threads = 8;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final List<Callable<Boolean>> tasks = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            tasks.add(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    final ExampleObj3 record = new ExampleObj3();
+                    final ReflectiveTuple tuple = createTuple(record);
+                    tuple.put("fieldB", "value" + j);
+                    if (!("value" + j).equals(record.fieldB) || !"fa".equals(tuple.get(FIELD_A))) {
+                        return false;
+                    }
+                }
+                return true;
+            });
+        }
+
+        try {
+            // When
+            final List<Future<Boolean>> results = executor.invokeAll(tasks);
+
+            // Then
+            for (final Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     private static class ExampleObj {
         public String fieldA = "fa";
         private String fieldB = "fb";
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.koryphe.tuple;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TupleBatchTest {
+
+    @Test
+    public void shouldHoldRecordsAsTypedColumns() {
+        // Given
+        final TupleBatch<String> batch = new TupleBatch<>(3);
+        final String[] fields = {"count", "score", "name"};
+
+        // When
+        batch.add(createTuple(1L, 0.5, "a"), fields);
+        batch.add(createTuple(null, 1.5, null), fields);
+        batch.add(createTuple(3L, null, "c"), fields);
+
+        // Then
+        assertEquals(3, batch.size());
+        assertTrue(batch.isFull());
+        assertTrue(batch.getColumn("count") instanceof LongColumnVector);
+        assertTrue(batch.getColumn("score") instanceof DoubleColumnVector);
+        assertTrue(batch.getColumn("name") instanceof ObjectColumnVector);
+        assertEquals(Arrays.asList(1L, null, 3L), Arrays.asList(batch.getValues("count")).subList(0, 3));
+        assertEquals(3L, ((LongColumnVector) batch.getColumn("count")).getLong(2));
+        assertTrue(batch.getColumn("score").isNull(2));
+        assertEquals(createTuple(null, 1.5, null), batch.toTuple(1));
+    }
+
+    @Test
+    public void shouldWidenPrimitiveColumnForOtherValues() {
+        // Given
+        final TupleBatch<String> batch = new TupleBatch<>(2);
+        batch.put("field", batch.addRow(), 1L);
+
+        // When
+        batch.put("field", batch.addRow(), "text");
+
+        // Then
+        assertTrue(batch.getColumn("field") instanceof ObjectColumnVector);
+        assertEquals(1L, batch.get("field", 0));
+        assertEquals("text", batch.get("field", 1));
+    }
+
+    @Test
+    public void shouldReadAndWriteRecordsThroughRow() {
+        // Given
+        final TupleBatch<String> batch = new TupleBatch<>(2);
+        final String[] fields = {"count", "score", "name"};
+        batch.add(createTuple(1L, 0.5, "a"), fields);
+        batch.add(createTuple(2L, 1.5, "b"), fields);
+        final TupleBatch.Row<String> row = batch.row();
+
+        // When
+        row.setIndex(1);
+        row.put("name", "B");
+        row.put("new", true);
+
+        // Then
+        assertEquals(2L, row.get("count"));
+        assertEquals("B", batch.get("name", 1));
+        assertEquals(true, batch.get("new", 1));
+        assertNull(batch.get("new", 0));
+        assertSame(row, row.get(Tuple.THIS));
+        assertEquals(Arrays.asList(2L, 1.5, "B", true), row.values());
+    }
+
+    @Test
+    public void shouldClearRecordsAndKeepColumns() {
+        // Given
+        final TupleBatch<String> batch = new TupleBatch<>(1);
+        batch.add(createTuple(1L, 0.5, "a"), new String[]{"count", "score", "name"});
+        final ColumnVector column = batch.getColumn("count");
+
+        // When
+        batch.clear();
+
+        // Then
+        assertEquals(0, batch.size());
+        assertFalse(batch.isFull());
+        assertSame(column, batch.getColumn("count"));
+        assertTrue(column.isNull(0));
+        assertNull(batch.getColumn("name").get(0));
+    }
+
+    @Test
+    public void shouldRejectRecordsWhenFull() {
+        // Given
+        final TupleBatch<String> batch = new TupleBatch<>(1);
+        batch.addRow();
+
+        // When / Then
+        assertThrows(IllegalStateException.class, batch::addRow);
+    }
+
+    private static MapTuple<String> createTuple(final Long count, final Double score, final String name) {
+        final MapTuple<String> tuple = new MapTuple<>(new LinkedHashMap<>());
+        tuple.put("count", count);
+        tuple.put("score", score);
+        tuple.put("name", name);
+        return tuple;
+    }
+}
@@ -3,13 +3,22 @@ package uk.gov.gchq.koryphe.tuple;
 import org.junit.jupiter.api.Test;
 
 import uk.gov.gchq.koryphe.function.FunctionTest;
+import uk.gov.gchq.koryphe.tuple.function.TupleAdaptedFunction;
 import uk.gov.gchq.koryphe.util.JsonSerialiser;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 class TupleInputAdapterTest extends FunctionTest<TupleInputAdapter> {
     @Override
@@ -105,4 +114,127 @@ class TupleInputAdapterTest extends FunctionTest<TupleInputAdapter> {
         ReferenceArrayTuple<String> expected = new ReferenceArrayTuple<>(objects, new String[]{"one", "two"});
         assertEquals(expected, adapted);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldReuseViewsWhenCompiledPlansAreEnabled() {
+        // Given
+        TupleInputAdapter<String, Tuple<Integer>> inputAdapter = new TupleInputAdapter<>(new String[]{"one", "two"});
+        inputAdapter.setUseCompiledPlans(true);
+        MapTuple<String> first = createTuple(1, 2);
+        MapTuple<String> second = createTuple(3, 4);
+        MapTuple<String> third = createTuple(5, 6);
+
+        // When
+        Tuple<Integer> firstView = inputAdapter.apply(first);
+        Tuple<Integer> secondView = inputAdapter.apply(second);
+
+        // Then
+        assertNotSame(firstView, secondView);
+        assertEquals(new ReferenceArrayTuple<>(first, new String[]{"one", "two"}), firstView);
+        assertEquals(new ReferenceArrayTuple<>(second, new String[]{"one", "two"}), secondView);
+
+        // When
+        Tuple<Integer> thirdView = inputAdapter.apply(third);
+
+        // Then
+        assertSame(firstView, thirdView);
+        assertEquals(5, thirdView.get(0));
+        assertEquals(6, thirdView.get(1));
+    }
+
+    @Test
+    public void shouldCreateNewViewsWhenSelectionChanges() {
+        // Given
+        TupleInputAdapter<String, Tuple<Integer>> inputAdapter = new TupleInputAdapter<>(new String[]{"one", "two"});
+        inputAdapter.setUseCompiledPlans(true);
+        MapTuple<String> tuple = createTuple(1, 2);
+        inputAdapter.apply(tuple);
+
+        // When
+        inputAdapter.setSelection(new String[]{"two", "one"});
+        Tuple<Integer> view = inputAdapter.apply(tuple);
+
+        // Then
+        assertEquals(2, view.get(0));
+        assertEquals(1, view.get(1));
+    }
+
+    @Test
+    public void shouldUseSeparateViewsPerThread() throws Exception {
+        // Given
+        TupleInputAdapter<String, Tuple<Integer>> inputAdapter = new TupleInputAdapter<>(new String[]{"one", "two"});
+        inputAdapter.setUseCompiledPlans(true);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            // When
+            Future<Tuple<Integer>> first = executor.submit(() -> inputAdapter.apply(createTuple(1, 2)));
+            Future<Tuple<Integer>> second = executor.submit(() -> inputAdapter.apply(createTuple(3, 4)));
+            Tuple<Integer> mainView = inputAdapter.apply(createTuple(5, 6));
+
+            // Then
+            assertNotSame(mainView, first.get());
+            assertNotSame(mainView, second.get());
+            assertEquals(5, mainView.get(0));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldClearViewsOfTheCurrentThread() {
+        // Given
+        TupleInputAdapter<String, ReferenceArrayTuple<String>> inputAdapter = new TupleInputAdapter<>(new String[]{"one", "two"});
+        inputAdapter.setUseCompiledPlans(true);
+        ReferenceArrayTuple<String> firstView = inputAdapter.apply(createTuple(1, 2));
+        ReferenceArrayTuple<String> secondView = inputAdapter.apply(createTuple(3, 4));
+
+        // When
+        inputAdapter.clearViews();
+
+        // Then
+        assertNull(firstView.getTuple());
+        assertNull(secondView.getTuple());
+    }
+
+    @Test
+    public void shouldNotKeepTheRecordReachableAfterAnAdaptedFunctionIsApplied() {
+        // Given
+        List<Object> inputs = new ArrayList<>();
+        TupleAdaptedFunction<String, Object, Object> function = new TupleAdaptedFunction<>(new String[]{"one", "two"}, input -> {
+            inputs.add(input);
+            return input.toString();
+        }, new String[]{"three"});
+        function.setUseCompiledPlans(true);
+        MapTuple<String> tuple = createTuple(1, 2);
+
+        // When
+        function.apply(tuple);
+
+        // Then
+        assertNotNull(tuple.get("three"));
+        assertNull(((ReferenceArrayTuple<String>) inputs.get(0)).getTuple());
+    }
+
+    @Test
+    public void shouldNotReuseViewsByDefault() {
+        // Given
+        TupleInputAdapter<String, Tuple<Integer>> inputAdapter = new TupleInputAdapter<>(new String[]{"one", "two"});
+
+        // When
+        Tuple<Integer> firstView = inputAdapter.apply(createTuple(1, 2));
+        inputAdapter.apply(createTuple(3, 4));
+        Tuple<Integer> thirdView = inputAdapter.apply(createTuple(5, 6));
+
+        // Then
+        assertNotSame(firstView, thirdView);
+        assertEquals(1, firstView.get(0));
+    }
+
+    private MapTuple<String> createTuple(final Object one, final Object two) {
+        MapTuple<String> tuple = new MapTuple<>();
+        tuple.put("one", one);
+        tuple.put("two", two);
+        return tuple;
+    }
+}
@@ -9,6 +9,8 @@ import java.io.IOException;
 import java.util.Arrays;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class TupleOutputAdapterTest extends EqualityTest<TupleOutputAdapter> { // Can't extend FunctionTest as TupleOutputAdapter is a BiFunction rather than a Function.
 
@@ -75,4 +77,77 @@ class TupleOutputAdapterTest extends EqualityTest<TupleOutputAdapter> { // Can't
         // Then
         assertEquals("test", adapted.get(2));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldProjectViewOfTheSameTupleWithoutOverwritingValues() {
+        // Given
+        ArrayTuple state = new ArrayTuple("a", "b");
+        TupleOutputAdapter<Integer, Object> adapter = new TupleOutputAdapter<>(new Integer[]{1, 0});
+
+        // When
+        adapter.apply(state, new ReferenceArrayTuple<>(state, new Integer[]{0, 1}));
+
+        // Then
+        assertEquals(new ArrayTuple("b", "a"), state);
+    }
+
+    @Test
+    public void shouldProjectViewOfADifferentTuple() {
+        // Given
+        ArrayTuple state = new ArrayTuple(2);
+        ArrayTuple other = new ArrayTuple("a", "b", "c");
+        TupleOutputAdapter<Integer, Object> adapter = new TupleOutputAdapter<>(new Integer[]{0, 1});
+
+        // When
+        adapter.apply(state, new ReferenceArrayTuple<>(other, new Integer[]{2, 0}));
+
+        // Then
+        assertEquals(new ArrayTuple("c", "a"), state);
+    }
+
+    @Test
+    public void shouldProjectList() {
+        // Given
+        ArrayTuple state = new ArrayTuple(2);
+        TupleOutputAdapter<Integer, Object> adapter = new TupleOutputAdapter<>(new Integer[]{1, 0});
+
+        // When
+        adapter.apply(state, Arrays.asList("a", "b"));
+
+        // Then
+        assertEquals(new ArrayTuple("b", "a"), state);
+    }
+
+    @Test
+    public void shouldThrowExceptionIfListIsLargerThanProjection() {
+        // Given
+        ArrayTuple state = new ArrayTuple(2);
+        TupleOutputAdapter<Integer, Object> adapter = new TupleOutputAdapter<>(new Integer[]{0});
+        TupleOutputAdapter<Integer, Object> multiAdapter = new TupleOutputAdapter<>(new Integer[]{0, 1});
+
+        // When / Then
+        adapter.apply(state, Arrays.asList("a", "b", "c"));
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> multiAdapter.apply(state, Arrays.asList("a", "b", "c")));
+    }
+
+    @Test
+    public void shouldDetachReusableViewWhenProjectedToASingleField() {
+        // Given
+        MapTuple<String> source = new MapTuple<>();
+        source.put("one", 1);
+        source.put("two", 2);
+        ReferenceArrayTuple<String> view = new ReferenceArrayTuple<>(source, new String[]{"one", "two"}, true);
+        MapTuple<String> state = new MapTuple<>();
+        TupleOutputAdapter<String, Object> adapter = new TupleOutputAdapter<>(new String[]{"both"});
+
+        // When
+        adapter.apply(state, view);
+        view.setTuple(new MapTuple<>());
+
+        // Then
+        final ReferenceArrayTuple<String> projected = (ReferenceArrayTuple<String>) state.get("both");
+        assertFalse(projected.isReusable());
+        assertEquals(1, projected.get(0));
+        assertEquals(2, projected.get(1));
+    }
+}
@@ -5,9 +5,11 @@ import org.junit.jupiter.api.Test;
 import uk.gov.gchq.koryphe.binaryoperator.BinaryOperatorTest;
 import uk.gov.gchq.koryphe.impl.binaryoperator.Max;
 import uk.gov.gchq.koryphe.impl.binaryoperator.Product;
+import uk.gov.gchq.koryphe.impl.binaryoperator.StringConcat;
 import uk.gov.gchq.koryphe.impl.binaryoperator.Sum;
 import uk.gov.gchq.koryphe.tuple.ArrayTuple;
 import uk.gov.gchq.koryphe.tuple.Tuple;
+import uk.gov.gchq.koryphe.tuple.TupleBatch;
 import uk.gov.gchq.koryphe.util.JsonSerialiser;
 
 import java.io.IOException;
@@ -124,5 +126,79 @@ public class TupleAdaptedBinaryOperatorCompositeTest extends BinaryOperatorTest<
         assertEquals(18, agg.get(2));
     }
 
+    @Test
+    public void shouldReduceBatchTheSameAsEachTuple() {
+        // Given
+        final TupleAdaptedBinaryOperatorComposite<Integer> composite = new TupleAdaptedBinaryOperatorComposite.Builder<Integer>()
+                .select(new Integer[]{0}).execute(new Sum())
+                .select(new Integer[]{1}).execute(new Max())
+                .select(new Integer[]{2}).execute(new StringConcat())
+                .build();
+        final Object[] inputs = {new ArrayTuple(2, 5, "b"), new ArrayTuple(3, 1, "c"), new ArrayTuple(4, 9, "d")};
+        final Tuple<Integer> expected = new ArrayTuple(1, 2, "a");
+        for (final Object input : inputs) {
+            composite.apply(expected, (Tuple<Integer>) input);
+        }
+
+        // When
+        final Tuple<Integer> result = composite.reduceBatch(new ArrayTuple(1, 2, "a"), inputs, inputs.length);
+
+        // Then
+        assertEquals(expected, result);
+        assertEquals(new ArrayTuple(10, 9, "a,b,c,d"), result);
+    }
+
+    @Test
+    public void shouldReduceBatchOneTupleAtATimeWhenSelectionsOverlap() {
+        // Given
+        final TupleAdaptedBinaryOperatorComposite<Integer> composite = new TupleAdaptedBinaryOperatorComposite.Builder<Integer>()
+                .select(new Integer[]{0}).execute(new Sum())
+                .select(new Integer[]{0}).execute(new Product())
+                .build();
+        final Object[] inputs = {new ArrayTuple(new Object[]{2}), new ArrayTuple(new Object[]{3})};
+
+        // When
+        final Tuple<Integer> result = composite.reduceBatch(new ArrayTuple(new Object[]{1}), inputs, inputs.length);
+
+        // Then - ((1 + 2) * 2 + 3) * 3
+        assertEquals(new ArrayTuple(new Object[]{27}), result);
+    }
 
-}
\ No newline at end of file
+    @Test
+    public void shouldReduceColumnsOfTupleBatch() {
+        // Given
+        final TupleAdaptedBinaryOperatorComposite<Integer> composite = new TupleAdaptedBinaryOperatorComposite.Builder<Integer>()
+                .select(new Integer[]{0}).execute(new Sum())
+                .select(new Integer[]{1}).execute(new Max())
+                .build();
+        final TupleBatch<Integer> batch = new TupleBatch<>(3);
+        final Integer[] fields = {0, 1};
+        batch.add(new ArrayTuple(2L, 5), fields);
+        batch.add(new ArrayTuple(3L, 1), fields);
+        batch.add(new ArrayTuple(4L, 9), fields);
+
+        // When
+        final Tuple<Integer> result = composite.reduceBatch(new ArrayTuple(1L, 2), batch);
+
+        // Then
+        assertEquals(new ArrayTuple(10L, 9), result);
+    }
+
+    @Test
+    public void shouldReduceRowsOfTupleBatchWhenSelectionsOverlap() {
+        // Given
+        final TupleAdaptedBinaryOperatorComposite<Integer> composite = new TupleAdaptedBinaryOperatorComposite.Builder<Integer>()
+                .select(new Integer[]{0}).execute(new Sum())
+                .select(new Integer[]{0}).execute(new Product())
+                .build();
+        final TupleBatch<Integer> batch = new TupleBatch<>(2);
+        batch.put(0, batch.addRow(), 2);
+        batch.put(0, batch.addRow(), 3);
+
+        // When
+        final Tuple<Integer> result = composite.reduceBatch(new ArrayTuple(new Object[]{1}), batch);
+
+        // Then - ((1 + 2) * 2 + 3) * 3
+        assertEquals(new ArrayTuple(new Object[]{27}), result);
+    }
+}
@@ -22,6 +22,7 @@ import uk.gov.gchq.koryphe.binaryoperator.BinaryOperatorTest;
 import uk.gov.gchq.koryphe.binaryoperator.MockBinaryOperator;
 import uk.gov.gchq.koryphe.impl.binaryoperator.Product;
 import uk.gov.gchq.koryphe.impl.binaryoperator.Sum;
+import uk.gov.gchq.koryphe.tuple.MapTuple;
 import uk.gov.gchq.koryphe.tuple.Tuple;
 import uk.gov.gchq.koryphe.tuple.TupleInputAdapter;
 import uk.gov.gchq.koryphe.tuple.TupleOutputAdapter;
@@ -32,6 +33,7 @@ import java.util.Arrays;
 import java.util.function.BinaryOperator;
 import java.util.function.Function;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.BDDMockito.given;
@@ -116,4 +118,32 @@ public class TupleAdaptedBinaryOperatorTest extends BinaryOperatorTest<TupleAdap
                 new TupleAdaptedBinaryOperator()
         );
     }
+
+    @Test
+    public void shouldSelectStateAndInputWithCompiledPlans() {
+        // Given
+        final BinaryOperator<Tuple<Integer>> pairwiseSum = (state, input) -> {
+            state.put(0, (Integer) state.get(0) + (Integer) input.get(0));
+            state.put(1, (Integer) state.get(1) + (Integer) input.get(1));
+            return state;
+        };
+        final TupleAdaptedBinaryOperator<String, Tuple<Integer>> binaryOperator =
+                new TupleAdaptedBinaryOperator<>(pairwiseSum, new String[]{"a", "b"});
+        binaryOperator.setUseCompiledPlans(true);
+        final MapTuple<String> state = new MapTuple<>();
+        state.put("a", 1);
+        state.put("b", 10);
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            final MapTuple<String> input = new MapTuple<>();
+            input.put("a", 2);
+            input.put("b", 20);
+            binaryOperator.apply(state, input);
+        }
+
+        // Then
+        assertEquals(7, state.get("a"));
+        assertEquals(70, state.get("b"));
+    }
 }
@@ -3,12 +3,15 @@ package uk.gov.gchq.koryphe.tuple.function;
 import org.junit.jupiter.api.Test;
 
 import uk.gov.gchq.koryphe.function.FunctionTest;
+import uk.gov.gchq.koryphe.impl.function.Concat;
+import uk.gov.gchq.koryphe.impl.function.MultiplyBy;
 import uk.gov.gchq.koryphe.impl.function.ParseDate;
 import uk.gov.gchq.koryphe.impl.function.ToLong;
 import uk.gov.gchq.koryphe.impl.function.ToUpperCase;
 import uk.gov.gchq.koryphe.tuple.ArrayTuple;
 import uk.gov.gchq.koryphe.tuple.MapTuple;
 import uk.gov.gchq.koryphe.tuple.Tuple;
+import uk.gov.gchq.koryphe.tuple.TupleBatch;
 import uk.gov.gchq.koryphe.util.JsonSerialiser;
 
 import java.io.IOException;
@@ -16,7 +19,9 @@ import java.util.Arrays;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class TupleAdaptedFunctionTest extends FunctionTest<TupleAdaptedFunction> {
 
@@ -53,6 +58,32 @@ class TupleAdaptedFunctionTest extends FunctionTest<TupleAdaptedFunction> {
         assertEquals(instance, deserialised);
     }
 
+    @Test
+    public void shouldJsonSerialiseAndDeserialiseWithCompiledPlans() throws IOException {
+        // Given
+        TupleAdaptedFunction instance = new TupleAdaptedFunction<>(new String[]{"a", "b"}, new Concat(), new String[]{"c"});
+        instance.setUseCompiledPlans(true);
+        String json = "" +
+                "{" +
+                    "\"selection\": [ \"a\", \"b\" ]," +
+                    "\"function\": {" +
+                        "\"class\": \"uk.gov.gchq.koryphe.impl.function.Concat\"," +
+                        "\"separator\": \",\"" +
+                    "}," +
+                    "\"projection\": [ \"c\" ]," +
+                    "\"useCompiledPlans\": true" +
+                "}";
+
+        // When
+        String serialised = JsonSerialiser.serialise(instance);
+        TupleAdaptedFunction deserialised = JsonSerialiser.deserialise(json, TupleAdaptedFunction.class);
+
+        // Then
+        JsonSerialiser.assertEquals(json, serialised);
+        assertEquals(instance, deserialised);
+        assertTrue(deserialised.isUseCompiledPlans());
+    }
+
     @Override
     protected TupleAdaptedFunction getInstance() {
         return new TupleAdaptedFunction(new String[] {"input"}, new ToUpperCase(), new String[] { "output" });
@@ -96,4 +127,89 @@ class TupleAdaptedFunctionTest extends FunctionTest<TupleAdaptedFunction> {
         assertEquals("test", returnedTuple.get(0));
         assertEquals("TEST", returnedTuple.get(1));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldApplyBatchTheSameAsEachTuple() {
+        // Given
+        final TupleAdaptedFunction<Integer, Integer, Integer> function =
+                new TupleAdaptedFunction<>(new Integer[]{0}, new MultiplyBy(2), new Integer[]{1});
+        final Object[] batch = {new ArrayTuple(1, null), new ArrayTuple(2, null), new ArrayTuple(null, null)};
+
+        // When
+        function.applyBatch(batch, batch, batch.length);
+
+        // Then
+        assertEquals(new ArrayTuple(1, 2), batch[0]);
+        assertEquals(new ArrayTuple(2, 4), batch[1]);
+        assertEquals(new ArrayTuple(null, null), batch[2]);
+    }
+
+    @Test
+    public void shouldApplyBatchTheSameAsEachTupleWhenTupleIsRepeated() {
+        // Given
+        final TupleAdaptedFunction<Integer, Integer, Integer> function =
+                new TupleAdaptedFunction<>(new Integer[]{0}, new MultiplyBy(2), new Integer[]{0});
+        final ArrayTuple tuple = new ArrayTuple(new Object[]{1});
+        final Object[] batch = {tuple, new ArrayTuple(new Object[]{5}), tuple};
+
+        // When
+        function.applyBatch(batch, batch, batch.length);
+
+        // Then
+        assertEquals(new ArrayTuple(new Object[]{4}), batch[0]);
+        assertEquals(new ArrayTuple(new Object[]{10}), batch[1]);
+        assertSame(tuple, batch[2]);
+    }
+
+    @Test
+    public void shouldApplyBatchWithMultipleSelectionsAndCompiledPlans() {
+        // Given
+        final TupleAdaptedFunction function = new TupleAdaptedFunction(new Integer[]{0, 1}, new Concat(), new Integer[]{2});
+        function.setUseCompiledPlans(true);
+        final Object[] batch = {new ArrayTuple("a", "b", null), new ArrayTuple("c", "d", null), new ArrayTuple("e", "f", null)};
+
+        // When
+        function.applyBatch(batch, batch, batch.length);
+
+        // Then
+        assertEquals("a,b", ((Tuple<Integer>) batch[0]).get(2));
+        assertEquals("c,d", ((Tuple<Integer>) batch[1]).get(2));
+        assertEquals("e,f", ((Tuple<Integer>) batch[2]).get(2));
+    }
+
+    @Test
+    public void shouldApplyToColumnOfTupleBatch() {
+        // Given
+        final TupleAdaptedFunction<String, Integer, Integer> function =
+                new TupleAdaptedFunction<>(new String[]{"a"}, new MultiplyBy(2), new String[]{"b"});
+        final TupleBatch<String> batch = new TupleBatch<>(3);
+        batch.put("a", batch.addRow(), 1);
+        batch.put("a", batch.addRow(), 2);
+        batch.addRow();
+
+        // When
+        function.applyBatch(batch);
+
+        // Then
+        assertEquals(Arrays.asList(2, 4, null), Arrays.asList(batch.getValues("b")).subList(0, 3));
+        assertEquals(1, batch.get("a", 0));
+    }
+
+    @Test
+    public void shouldApplyToRowsOfTupleBatchForMultipleSelections() {
+        // Given
+        final TupleAdaptedFunction function = new TupleAdaptedFunction(new String[]{"a", "b"}, new Concat(), new String[]{"c"});
+        final TupleBatch<String> batch = new TupleBatch<>(2);
+        batch.put("a", batch.addRow(), "x");
+        batch.put("b", 0, "y");
+        batch.put("a", batch.addRow(), "z");
+        batch.put("b", 1, "w");
+
+        // When
+        function.applyBatch(batch);
+
+        // Then
+        assertEquals("x,y", batch.get("c", 0));
+        assertEquals("z,w", batch.get("c", 1));
+    }
+}
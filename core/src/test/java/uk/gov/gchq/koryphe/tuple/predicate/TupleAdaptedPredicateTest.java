@@ -2,9 +2,13 @@ package uk.gov.gchq.koryphe.tuple.predicate;
 
 import org.junit.jupiter.api.Test;
 
+import uk.gov.gchq.koryphe.impl.predicate.AreEqual;
 import uk.gov.gchq.koryphe.impl.predicate.IsA;
 import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
+import uk.gov.gchq.koryphe.predicate.BatchPredicate;
 import uk.gov.gchq.koryphe.predicate.PredicateTest;
+import uk.gov.gchq.koryphe.tuple.ArrayTuple;
+import uk.gov.gchq.koryphe.tuple.TupleBatch;
 import uk.gov.gchq.koryphe.util.JsonSerialiser;
 
 import java.io.IOException;
@@ -50,4 +54,70 @@ class TupleAdaptedPredicateTest extends PredicateTest<TupleAdaptedPredicate> {
                 new TupleAdaptedPredicate(new IsA(String.class), new String[] { "Different" })
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldTestBatchOfSelectedValues() {
+        // Given
+        final TupleAdaptedPredicate<Integer, Comparable> predicate = new TupleAdaptedPredicate<>(new IsMoreThan(2), new Integer[]{1});
+        final Object[] inputs = {new ArrayTuple("a", 1), new ArrayTuple("b", 3), new ArrayTuple("c", 5)};
+        final int[] selection = {2, 0};
+
+        // When
+        final int passed = predicate.testBatch(inputs, selection, 2);
+
+        // Then
+        assertEquals(1, passed);
+        assertEquals(2, selection[0]);
+    }
+
+    @Test
+    public void shouldPassWholeBatchWithNoPredicate() {
+        // Given
+        final TupleAdaptedPredicate<Integer, Integer> predicate = new TupleAdaptedPredicate<>();
+        final int[] selection = BatchPredicate.selectAll(2);
+
+        // When / Then
+        assertEquals(2, predicate.testBatch(new Object[]{new ArrayTuple(1), new ArrayTuple(2)}, selection, 2));
+    }
+
+    @Test
+    public void shouldTestColumnOfTupleBatch() {
+        // Given
+        final TupleAdaptedPredicate<String, Comparable> predicate = new TupleAdaptedPredicate<>(new IsMoreThan(2L), new String[]{"count"});
+        final TupleBatch<String> batch = new TupleBatch<>(4);
+        for (final Long count : new Long[]{1L, 3L, null, 5L}) {
+            batch.put("count", batch.addRow(), count);
+        }
+        final int[] selection = BatchPredicate.selectAll(batch.size());
+
+        // When
+        final int passed = predicate.testBatch(batch, selection, batch.size());
+
+        // Then
+        assertEquals(2, passed);
+        assertEquals(1, selection[0]);
+        assertEquals(3, selection[1]);
+    }
+
+    @Test
+    public void shouldTestRowsOfTupleBatchForMultipleSelections() {
+        // Given
+        final TupleAdaptedPredicate predicate = new TupleAdaptedPredicate(new AreEqual(), new String[]{"a", "b"});
+        final TupleBatch<String> batch = new TupleBatch<>(3);
+        final String[][] records = {{"x", "x"}, {"x", "y"}, {"y", "y"}};
+        for (final String[] record : records) {
+            final int index = batch.addRow();
+            batch.put("a", index, record[0]);
+            batch.put("b", index, record[1]);
+        }
+        final int[] selection = BatchPredicate.selectAll(batch.size());
+
+        // When
+        final int passed = predicate.testBatch(batch, selection, batch.size());
+
+        // Then
+        assertEquals(2, passed);
+        assertEquals(0, selection[0]);
+        assertEquals(2, selection[1]);
+    }
+}
@@ -0,0 +1,363 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.koryphe.util;
+
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.koryphe.iterable.CloseableIterable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CompressionUtilTest {
+    private static final byte[] DATA = "line 1\nline 2\nline 3\n".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    public void shouldRoundTripGzip() throws IOException {
+        // Given
+        final byte[] data = randomData(100000);
+
+        // When
+        final byte[] result = CompressionUtil.decompress(CompressionUtil.compress(data, CompressionFormat.GZIP), CompressionFormat.GZIP);
+
+        // Then
+        assertArrayEquals(data, result);
+    }
+
+    @Test
+    public void shouldRoundTripDeflate() throws IOException {
+        // Given
+        final byte[] data = randomData(100000);
+
+        // When
+        final byte[] result = CompressionUtil.decompress(CompressionUtil.compress(data, CompressionFormat.DEFLATE), CompressionFormat.DEFLATE);
+
+        // Then
+        assertArrayEquals(data, result);
+    }
+
+    @Test
+    public void shouldBeCompatibleWithJdkGzipStreams() throws IOException {
+        // Given
+        final byte[] data = randomData(50000);
+
+        // When
+        final byte[] jdkDecompressed = readFully(new GZIPInputStream(new ByteArrayInputStream(CompressionUtil.compress(data, CompressionFormat.GZIP))));
+        final byte[] decompressed = CompressionUtil.decompress(jdkGzip(data), CompressionFormat.GZIP);
+
+        // Then
+        assertArrayEquals(data, jdkDecompressed);
+        assertArrayEquals(data, decompressed);
+    }
+
+    @Test
+    public void shouldBeCompatibleWithJdkDeflateStreams() throws IOException {
+        // Given
+        final byte[] data = randomData(50000);
+        final ByteArrayOutputStream jdkDeflated = new ByteArrayOutputStream();
+        try (final DeflaterOutputStream out = new DeflaterOutputStream(jdkDeflated)) {
+            out.write(data);
+        }
+
+        // When
+        final byte[] jdkInflated = readFully(new InflaterInputStream(new ByteArrayInputStream(CompressionUtil.compress(data, CompressionFormat.DEFLATE))));
+        final byte[] inflated = CompressionUtil.decompress(jdkDeflated.toByteArray(), CompressionFormat.DEFLATE);
+
+        // Then
+        assertArrayEquals(data, jdkInflated);
+        assertArrayEquals(data, inflated);
+    }
+
+    @Test
+    public void shouldDecompressConcatenatedGzipMembers() throws IOException {
+        // Given
+        final byte[] first = randomData(20000);
+        final byte[] second = randomData(30000);
+        final ByteArrayOutputStream concatenated = new ByteArrayOutputStream();
+        concatenated.write(jdkGzip(first));
+        concatenated.write(CompressionUtil.compress(second, CompressionFormat.GZIP));
+
+        // When
+        final byte[] result = CompressionUtil.decompress(concatenated.toByteArray(), CompressionFormat.GZIP);
+
+        // Then
+        final ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        expected.write(first);
+        expected.write(second);
+        assertArrayEquals(expected.toByteArray(), result);
+    }
+
+    @Test
+    public void shouldSkipOptionalGzipHeaderFields() throws IOException {
+        // Given
+        final byte[] gzip = jdkGzip(DATA);
+        final ByteArrayOutputStream withName = new ByteArrayOutputStream();
+        withName.write(gzip, 0, 3);
+        withName.write(8 | 16);
+        withName.write(gzip, 4, 6);
+        withName.write("data.txt\0a comment\0".getBytes(StandardCharsets.US_ASCII));
+        withName.write(gzip, 10, gzip.length - 10);
+
+        // When
+        final byte[] result = CompressionUtil.decompress(withName.toByteArray(), CompressionFormat.GZIP);
+
+        // Then
+        assertArrayEquals(DATA, result);
+    }
+
+    @Test
+    public void shouldFailOnCorruptGzipTrailer() {
+        // Given
+        final byte[] gzip = jdkGzip(DATA);
+        gzip[gzip.length - 8] ^= 1;
+
+        // When / Then
+        final Exception exception = assertThrows(ZipException.class, () -> CompressionUtil.decompress(gzip, CompressionFormat.GZIP));
+        assertEquals("Corrupt GZIP trailer", exception.getMessage());
+    }
+
+    @Test
+    public void shouldFailOnDataThatIsNotGzip() {
+        // When / Then
+        final Exception exception = assertThrows(ZipException.class, () -> CompressionUtil.decompress(DATA, CompressionFormat.GZIP));
+        assertEquals("Not in GZIP format", exception.getMessage());
+    }
+
+    @Test
+    public void shouldDecompressWithInterleavedStreamsAfterDoubleClose() throws IOException {
+        // Given
+        final byte[] data1 = randomData(40000);
+        final byte[] data2 = randomData(40000);
+        final byte[] gzip1 = CompressionUtil.compress(data1, CompressionFormat.GZIP);
+        final byte[] gzip2 = CompressionUtil.compress(data2, CompressionFormat.GZIP);
+        final InputStream closedTwice = CompressionUtil.decompress(new ByteArrayInputStream(gzip1), CompressionFormat.GZIP);
+        closedTwice.close();
+        closedTwice.close();
+
+        // When
+        final ByteArrayOutputStream out1 = new ByteArrayOutputStream();
+        final ByteArrayOutputStream out2 = new ByteArrayOutputStream();
+        try (final InputStream in1 = CompressionUtil.decompress(new ByteArrayInputStream(gzip1), CompressionFormat.GZIP);
+             final InputStream in2 = CompressionUtil.decompress(new ByteArrayInputStream(gzip2), CompressionFormat.GZIP)) {
+            final byte[] buffer = new byte[1000];
+            boolean finished = false;
+            while (!finished) {
+                final int read1 = in1.read(buffer);
+                if (read1 > 0) {
+                    out1.write(buffer, 0, read1);
+                }
+                final int read2 = in2.read(buffer);
+                if (read2 > 0) {
+                    out2.write(buffer, 0, read2);
+                }
+                finished = -1 == read1 && -1 == read2;
+            }
+        }
+
+        // Then
+        assertArrayEquals(data1, out1.toByteArray());
+        assertArrayEquals(data2, out2.toByteArray());
+    }
+
+    @Test
+    public void shouldNotWriteToPooledDeflaterAfterClose() throws IOException {
+        for (final CompressionFormat format : CompressionFormat.values()) {
+            // Given
+            final OutputStream closed = CompressionUtil.compress(new ByteArrayOutputStream(), format);
+            closed.write("first".getBytes(StandardCharsets.UTF_8));
+            closed.close();
+            final ByteArrayOutputStream target = new ByteArrayOutputStream();
+            final OutputStream open = CompressionUtil.compress(target, format);
+            open.write("second-".getBytes(StandardCharsets.UTF_8));
+
+            // When
+            final Exception exception = assertThrows(IOException.class, () -> closed.write("STALE".getBytes(StandardCharsets.UTF_8)));
+            assertThrows(IOException.class, closed::flush);
+            closed.close();
+            open.close();
+
+            // Then
+            assertEquals("Stream closed", exception.getMessage());
+            assertEquals("second-", new String(CompressionUtil.decompress(target.toByteArray(), format), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void shouldSplitDecompressedDataIntoLines() {
+        // Given
+        final ByteBuffer buffer = ByteBuffer.wrap(jdkGzip(DATA));
+
+        // When
+        final List<String> lines = Lists.newArrayList(CompressionUtil.lines(buffer, CompressionFormat.GZIP, StandardCharsets.UTF_8));
+
+        // Then
+        assertEquals(Arrays.asList("line 1", "line 2", "line 3"), lines);
+        assertEquals(0, buffer.position());
+    }
+
+    @Test
+    public void shouldLazilyDecompressLines() throws IOException {
+        // Given
+        final StringBuilder text = new StringBuilder();
+        final Random random = new Random(1);
+        for (int i = 0; i < 100000; i++) {
+            text.append(Long.toHexString(random.nextLong())).append('\n');
+        }
+        final byte[] gzip = jdkGzip(text.toString().getBytes(StandardCharsets.UTF_8));
+        final CountingInputStream source = new CountingInputStream(gzip);
+
+        // When
+        final Iterator<String> lines = CompressionUtil.lines(source, CompressionFormat.GZIP, StandardCharsets.UTF_8).iterator();
+        final String firstLine = lines.next();
+
+        // Then
+        assertEquals(text.substring(0, text.indexOf("\n")), firstLine);
+        assertTrue(source.read < gzip.length / 10, "read " + source.read + " of " + gzip.length + " bytes");
+    }
+
+    @Test
+    public void shouldCloseSourceStreamWhenLinesAreExhausted() {
+        // Given
+        final CountingInputStream source = new CountingInputStream(jdkGzip(DATA));
+
+        // When
+        final List<String> lines = Lists.newArrayList(CompressionUtil.lines(source, CompressionFormat.GZIP, StandardCharsets.UTF_8));
+
+        // Then
+        assertEquals(3, lines.size());
+        assertTrue(source.closed.get());
+    }
+
+    @Test
+    public void shouldSplitDecompressedDataIntoChunks() throws IOException {
+        // Given
+        final byte[] data = randomData(2500);
+        final byte[] deflated = CompressionUtil.compress(data, CompressionFormat.DEFLATE);
+
+        // When
+        final List<byte[]> chunks = Lists.newArrayList(CompressionUtil.chunks(deflated, CompressionFormat.DEFLATE, 1000));
+
+        // Then
+        assertEquals(3, chunks.size());
+        assertArrayEquals(Arrays.copyOfRange(data, 0, 1000), chunks.get(0));
+        assertArrayEquals(Arrays.copyOfRange(data, 1000, 2000), chunks.get(1));
+        assertArrayEquals(Arrays.copyOfRange(data, 2000, 2500), chunks.get(2));
+    }
+
+    @Test
+    public void shouldThrowUncheckedExceptionForInvalidLines() {
+        // Given
+        final CloseableIterable<String> lines = CompressionUtil.lines(DATA, CompressionFormat.GZIP, StandardCharsets.UTF_8);
+
+        // When / Then
+        final Exception exception = assertThrows(UncheckedIOException.class, lines::iterator);
+        assertEquals("Failed to decompress data", exception.getMessage());
+    }
+
+    @Test
+    public void shouldRejectUnsupportedInputs() {
+        // When / Then
+        final Exception exception = assertThrows(IllegalArgumentException.class, () -> CompressionUtil.toInputStream("not bytes"));
+        assertEquals("Unable to read compressed data from java.lang.String, expected an InputStream, ByteBuffer or byte[]", exception.getMessage());
+    }
+
+    private static byte[] randomData(final int size) {
+        final byte[] data = new byte[size];
+        final Random random = new Random(size);
+        for (int i = 0; i < size; i++) {
+            data[i] = (byte) ('a' + random.nextInt(8));
+        }
+        return data;
+    }
+
+    private static byte[] jdkGzip(final byte[] data) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final OutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(data);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] readFully(final InputStream in) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (final InputStream closeable = in) {
+            final byte[] buffer = new byte[4096];
+            int read;
+            while ((read = closeable.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static final class CountingInputStream extends ByteArrayInputStream {
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private int read;
+
+        private CountingInputStream(final byte[] data) {
+            super(data);
+        }
+
+        @Override
+        public synchronized int read() {
+            final int b = super.read();
+            if (-1 != b) {
+                read++;
+            }
+            return b;
+        }
+
+        @Override
+        public synchronized int read(final byte[] b, final int off, final int len) {
+            final int count = super.read(b, off, len);
+            if (count > 0) {
+                read += count;
+            }
+            return count;
+        }
+
+        @Override
+        public void close() throws IOException {
+            closed.set(true);
+            super.close();
+        }
+    }
+}
@@ -20,6 +20,7 @@ import com.google.common.collect.Lists;
 import org.junit.jupiter.api.Test;
 
 import uk.gov.gchq.koryphe.iterable.CloseableIterable;
+import uk.gov.gchq.koryphe.iterable.CloseableIterator;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -27,8 +28,20 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -217,4 +230,244 @@ public class IterableUtilTest {
         // Then
         assertEquals(values, Lists.newArrayList(equalValues));
     }
+
+    @Test
+    public void shouldMapAsyncInInputOrder() {
+        // Given
+        final List<Integer> values = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+        final Function<Integer, Integer> slowDouble = value -> {
+            sleep(value % 3);
+            return value * 2;
+        };
+
+        // When
+        final CloseableIterable<Integer> result = IterableUtil.mapAsync(values, Collections.singletonList(slowDouble), null, 8, false);
+
+        // Then
+        final List<Integer> expected = values.stream().map(value -> value * 2).collect(Collectors.toList());
+        assertEquals(expected, Lists.newArrayList(result));
+    }
+
+    @Test
+    public void shouldMapAsyncInCompletionOrder() throws InterruptedException {
+        // Given
+        final CountDownLatch release = new CountDownLatch(1);
+        final Function<Integer, Integer> blockFirst = value -> {
+            if (0 == value) {
+                await(release);
+            }
+            return value;
+        };
+
+        // When
+        final CloseableIterator<Integer> itr = IterableUtil.<Integer, Integer>mapAsync(Arrays.asList(0, 1, 2),
+                Collections.singletonList(blockFirst), null, 3, true).iterator();
+        final List<Integer> firstResults = Lists.newArrayList(itr.next(), itr.next());
+        release.countDown();
+
+        // Then
+        assertTrue(firstResults.containsAll(Arrays.asList(1, 2)));
+        assertEquals(0, (int) itr.next());
+        assertFalse(itr.hasNext());
+    }
+
+    @Test
+    public void shouldLimitNumberOfItemsInFlight() {
+        // Given
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        final Function<Integer, Integer> tracked = value -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            sleep(2);
+            running.decrementAndGet();
+            return value;
+        };
+        final List<Integer> values = IntStream.range(0, 50).boxed().collect(Collectors.toList());
+
+        // When
+        final List<Integer> result = Lists.newArrayList(IterableUtil.mapAsync(values, Collections.singletonList(tracked), null, 2, false));
+
+        // Then
+        assertEquals(values, result);
+        assertTrue(maxRunning.get() <= 2, "max running was " + maxRunning.get());
+    }
+
+    @Test
+    public void shouldPropagateExceptionsFromAsyncFunctions() {
+        // Given
+        final Function<Integer, Integer> failOnTwo = value -> {
+            if (2 == value) {
+                throw new IllegalArgumentException("Bad value: " + value);
+            }
+            return value;
+        };
+        final CloseableIterable<Integer> result = IterableUtil.mapAsync(Arrays.asList(0, 1, 2, 3), Collections.singletonList(failOnTwo), null, 4, false);
+
+        // When / Then
+        final Exception exception = assertThrows(IllegalArgumentException.class, () -> Lists.newArrayList(result));
+        assertEquals("Bad value: 2", exception.getMessage());
+    }
+
+    @Test
+    public void shouldReportIncompatibleAsyncFunctions() {
+        // Given
+        final Function<String, String> toUpper = String::toUpperCase;
+        final CloseableIterable<Object> result = IterableUtil.mapAsync(Arrays.asList(1, 2), Collections.singletonList(toUpper), null, 2, false);
+
+        // When / Then
+        final Exception exception = assertThrows(IllegalArgumentException.class, () -> Lists.newArrayList(result));
+        assertEquals("The input/output types of the functions were incompatible", exception.getMessage());
+    }
+
+    @Test
+    public void shouldCancelTasksAndCloseSourceWhenAsyncIteratorClosed() throws InterruptedException {
+        // Given
+        final TrackedIterable<Integer> source = new TrackedIterable<>(Arrays.asList(0, 1, 2, 3));
+        final CountDownLatch started = new CountDownLatch(2);
+        final CountDownLatch interrupted = new CountDownLatch(2);
+        final Function<Integer, Integer> blocking = value -> {
+            started.countDown();
+            try {
+                Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+            } catch (final InterruptedException e) {
+                interrupted.countDown();
+            }
+            return value;
+        };
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final CloseableIterator<Integer> itr = IterableUtil.<Integer, Integer>mapAsync(source, Collections.singletonList(blocking), executor, 2, false).iterator();
+            assertTrue(itr.hasNext());
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+
+            // When
+            itr.close();
+
+            // Then
+            assertTrue(source.closed.get());
+            assertTrue(interrupted.await(10, TimeUnit.SECONDS));
+            assertFalse(itr.hasNext());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldThrowExceptionIfMaxInFlightIsLessThanOne() {
+        // When / Then
+        final Exception exception = assertThrows(IllegalArgumentException.class,
+                () -> IterableUtil.mapAsync(Arrays.asList(1, 2), Collections.singletonList(Function.identity()), null, 0, false));
+        assertEquals("The maximum number of items in flight must be at least 1", exception.getMessage());
+    }
+
+    @Test
+    public void shouldThrowExceptionIfMaxInFlightIsMoreThanMaximum() {
+        // When / Then
+        final Exception exception = assertThrows(IllegalArgumentException.class,
+                () -> IterableUtil.mapAsync(Arrays.asList(1, 2), Collections.singletonList(Function.identity()), null,
+                        IterableUtil.MAX_IN_FLIGHT + 1, false));
+        assertEquals("The maximum number of items in flight must be at most " + IterableUtil.MAX_IN_FLIGHT, exception.getMessage());
+    }
+
+    @Test
+    public void shouldMapAsyncWhenMoreItemsInFlightThanThreads() {
+        // Given
+        final int maxInFlight = Runtime.getRuntime().availableProcessors() * 4;
+        final List<Integer> values = IntStream.range(0, maxInFlight * 4).boxed().collect(Collectors.toList());
+        final Function<Integer, Integer> slowDouble = value -> {
+            sleep(1);
+            return value * 2;
+        };
+
+        // When
+        final CloseableIterable<Integer> result = IterableUtil.mapAsync(values, Collections.singletonList(slowDouble), null, maxInFlight, false);
+
+        // Then
+        final List<Integer> expected = values.stream().map(value -> value * 2).collect(Collectors.toList());
+        assertEquals(expected, Lists.newArrayList(result));
+    }
+
+    @Test
+    public void shouldRunBlockingFunctionsConcurrentlyBeyondTheNumberOfProcessors() {
+        // Given
+        final int maxInFlight = Runtime.getRuntime().availableProcessors() * 4;
+        final CountDownLatch allRunning = new CountDownLatch(maxInFlight);
+        final Function<Integer, Boolean> blocking = value -> {
+            allRunning.countDown();
+            try {
+                return allRunning.await(10, TimeUnit.SECONDS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        };
+        final List<Integer> values = IntStream.range(0, maxInFlight).boxed().collect(Collectors.toList());
+
+        // When
+        final List<Boolean> result = Lists.newArrayList(IterableUtil.mapAsync(values, Collections.singletonList(blocking), null, maxInFlight, false));
+
+        // Then
+        assertEquals(Collections.nCopies(maxInFlight, true), result);
+    }
+
+    @Test
+    public void shouldNotRunTasksOnConsumingThreadWhenExecutorRejectsThem() {
+        // Given
+        final TrackedIterable<Integer> source = new TrackedIterable<>(Arrays.asList(0, 1, 2, 3));
+        final Executor rejecting = task -> {
+            throw new RejectedExecutionException("Rejected");
+        };
+        final CloseableIterator<Integer> itr = IterableUtil.<Integer, Integer>mapAsync(source, Collections.singletonList(Function.identity()), rejecting, 2, false).iterator();
+
+        // When / Then
+        assertThrows(RejectedExecutionException.class, itr::hasNext);
+        assertTrue(source.closed.get());
+        assertFalse(itr.hasNext());
+    }
+
+    private static void sleep(final long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class TrackedIterable<T> implements Iterable<T> {
+        private final List<T> values;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private TrackedIterable(final List<T> values) {
+            this.values = values;
+        }
+
+        @Override
+        public CloseableIterator<T> iterator() {
+            final Iterator<T> itr = values.iterator();
+            return new CloseableIterator<T>() {
+                @Override
+                public boolean hasNext() {
+                    return itr.hasNext();
+                }
+
+                @Override
+                public T next() {
+                    return itr.next();
+                }
+
+                @Override
+                public void close() {
+                    closed.set(true);
+                }
+            };
+        }
+    }
 }
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.koryphe.util;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MemoisingCacheTest {
+
+    @Test
+    public void shouldCreateNewCacheInHolderWhenSizingChanges() {
+        // Given
+        final MemoisingCacheHolder<Integer, String> holder = new MemoisingCacheHolder<>();
+        final MemoisingCache<Integer, String> first = holder.getCache();
+
+        // When
+        holder.setMaximumSize(10);
+
+        // Then
+        assertSame(holder.getCache(), holder.getCache());
+        assertNotSame(first, holder.getCache());
+        final MemoisingCacheHolder<Integer, String> other = new MemoisingCacheHolder<>();
+        other.setMaximumSize(10);
+        assertEquals(other, holder);
+        assertEquals(other.hashCode(), holder.hashCode());
+    }
+
+    @Test
+    public void shouldWeighValuesByLength() {
+        assertEquals(3, MemoisingCache.weigh("abc"));
+        assertEquals(2, MemoisingCache.weigh(new int[2]));
+        assertEquals(2, MemoisingCache.weigh(Arrays.asList(1, 2)));
+        assertEquals(1, MemoisingCache.weigh(ImmutableMap.of("a", 1)));
+        assertEquals(1, MemoisingCache.weigh(Collections.emptyList()));
+        assertEquals(1, MemoisingCache.weigh(5L));
+        assertEquals(1, MemoisingCache.weigh(null));
+    }
+
+    @Test
+    public void shouldBoundTotalWeight() {
+        // Given
+        final MemoisingCache<Integer, String> cache = new MemoisingCache<>(0, 100, 0, 0);
+
+        // When
+        for (int i = 0; i < 100; i++) {
+            cache.get(i, key -> "0123456789");
+        }
+
+        // Then
+        final CacheStatistics statistics = cache.getStatistics();
+        assertTrue(statistics.getSize() <= 10, statistics.toString());
+        assertTrue(statistics.getEvictions() > 0, statistics.toString());
+    }
+
+    @Test
+    public void shouldExpireEntries() throws InterruptedException {
+        // Given
+        final AtomicInteger count = new AtomicInteger();
+        final MemoisingCache<String, Integer> cache = new MemoisingCache<>(10, 0, 0, 1);
+        cache.get("a", key -> count.incrementAndGet());
+
+        // When
+        Thread.sleep(20);
+        cache.get("a", key -> count.incrementAndGet());
+
+        // Then
+        assertEquals(2, count.get());
+    }
+
+    @Test
+    public void shouldClearEntries() {
+        // Given
+        final AtomicInteger count = new AtomicInteger();
+        final MemoisingCache<String, Integer> cache = new MemoisingCache<>(10, 0, 0, 0);
+        cache.get("a", key -> count.incrementAndGet());
+
+        // When
+        cache.clear();
+        cache.get("a", key -> count.incrementAndGet());
+
+        // Then
+        assertEquals(2, count.get());
+        assertEquals(0.0, cache.getStatistics().getHitRate());
+    }
+
+    @Test
+    public void shouldEstimateFrequencies() {
+        // Given
+        final FrequencySketch sketch = new FrequencySketch(100);
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            sketch.increment(42);
+        }
+        sketch.increment(7);
+
+        // Then
+        assertEquals(5, sketch.frequency(42));
+        assertEquals(1, sketch.frequency(7));
+        assertEquals(0, sketch.frequency(8));
+    }
+
+    @Test
+    public void shouldLimitTheSizeOfTheFrequencySketch() {
+        // Given
+        final FrequencySketch defaultSketch = new FrequencySketch(MemoisingCacheHolder.DEFAULT_MAXIMUM_SIZE);
+
+        // When
+        final FrequencySketch largeSketch = new FrequencySketch(Long.MAX_VALUE);
+
+        // Then
+        assertEquals(1 << 16, defaultSketch.tableSize());
+        assertEquals(1 << 16, largeSketch.tableSize());
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.koryphe.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MultiPatternMatcherTest {
+
+    @Test
+    public void shouldMatchTheSamePatternsAsSequentialMatching() {
+        // Given
+        final Pattern[] patterns = {
+                Pattern.compile("abc"),
+                Pattern.compile("a(b|c)+"),
+                Pattern.compile("(x)(y)?z"),
+                Pattern.compile("(a)\\1"),
+                Pattern.compile("ABC", Pattern.CASE_INSENSITIVE),
+                Pattern.compile("\\Qa.b"),
+                Pattern.compile("(?<name>q)r"),
+                Pattern.compile("[0-9]{3}"),
+                Pattern.compile("abc")
+        };
+        final String[] inputs = {"abc", "ab", "abcb", "xz", "xyz", "aa", "Abc", "a.b", "axb", "qr", "123", "12", "", "other"};
+
+        // When
+        final MultiPatternMatcher matcher = new MultiPatternMatcher(patterns);
+
+        // Then
+        for (final String input : inputs) {
+            int expected = -1;
+            for (int i = 0; i < patterns.length; i++) {
+                if (patterns[i].matcher(input).matches()) {
+                    expected = i;
+                    break;
+                }
+            }
+            assertEquals(expected, matcher.indexOf(input), input);
+            assertEquals(expected >= 0, matcher.matches(input), input);
+        }
+    }
+
+    @Test
+    public void shouldCombineOnlyPatternsWithoutFlagsOrBackreferences() {
+        // When
+        final MultiPatternMatcher matcher = new MultiPatternMatcher(
+                Pattern.compile("literal"),
+                Pattern.compile("a+"),
+                Pattern.compile("b+"),
+                Pattern.compile("(c)\\1"),
+                Pattern.compile("d", Pattern.CASE_INSENSITIVE));
+
+        // Then
+        assertTrue(matcher.isCombined());
+        assertEquals(2, matcher.getFallbackCount());
+    }
+
+    @Test
+    public void shouldMatchNothingWithNoPatterns() {
+        // Given
+        final MultiPatternMatcher matcher = new MultiPatternMatcher();
+
+        // When / Then
+        assertFalse(matcher.matches("anything"));
+        assertEquals(-1, matcher.indexOf("anything"));
+    }
+}
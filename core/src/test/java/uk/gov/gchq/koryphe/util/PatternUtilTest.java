@@ -0,0 +1,108 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.koryphe.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PatternUtilTest {
+
+    @AfterEach
+    public void after() {
+        PatternUtil.setCacheSize(PatternUtil.DEFAULT_CACHE_SIZE);
+    }
+
+    @Test
+    public void shouldReuseCompiledPattern() {
+        // When
+        final Pattern first = PatternUtil.compile("a+b");
+        final Pattern second = PatternUtil.compile("a+b");
+
+        // Then
+        assertSame(first, second);
+    }
+
+    @Test
+    public void shouldClearCacheWhenFull() {
+        // Given
+        PatternUtil.setCacheSize(2);
+        final Pattern first = PatternUtil.compile("a");
+        PatternUtil.compile("b");
+
+        // When
+        PatternUtil.compile("c");
+
+        // Then
+        assertEquals(1, PatternUtil.getCachedCount());
+        assertNotSame(first, PatternUtil.compile("a"));
+    }
+
+    @Test
+    public void shouldNotCacheWhenCacheSizeIsZero() {
+        // Given
+        PatternUtil.setCacheSize(0);
+
+        // When
+        final Pattern first = PatternUtil.compile("a");
+        final Pattern second = PatternUtil.compile("a");
+
+        // Then
+        assertNotSame(first, second);
+        assertEquals(0, PatternUtil.getCachedCount());
+    }
+
+    @Test
+    public void shouldDetectLiteralExpressions() {
+        assertTrue(PatternUtil.isLiteral(","));
+        assertTrue(PatternUtil.isLiteral("a b-c"));
+        assertFalse(PatternUtil.isLiteral(""));
+        assertFalse(PatternUtil.isLiteral((String) null));
+        assertFalse(PatternUtil.isLiteral("a.b"));
+        assertFalse(PatternUtil.isLiteral("\\s"));
+        assertFalse(PatternUtil.isLiteral("a|b"));
+        assertTrue(PatternUtil.isLiteral(Pattern.compile("abc")));
+        assertFalse(PatternUtil.isLiteral(Pattern.compile("abc", Pattern.CASE_INSENSITIVE)));
+    }
+
+    @Test
+    public void shouldSplitLiteralTheSameAsPattern() {
+        final String[] inputs = {"", ",", ",,", "a", "a,b", ",a,,b,", "a,,", "::a::b::", "a::::b"};
+        for (final String separator : new String[]{",", "::"}) {
+            final Pattern pattern = Pattern.compile(separator);
+            for (final String input : inputs) {
+                assertArrayEquals(pattern.split(input), PatternUtil.splitLiteral(input, separator), input);
+            }
+        }
+    }
+
+    @Test
+    public void shouldDetectLiteralReplacements() {
+        assertTrue(PatternUtil.isLiteralReplacement("abc"));
+        assertFalse(PatternUtil.isLiteralReplacement("$1"));
+        assertFalse(PatternUtil.isLiteralReplacement("a\\b"));
+        assertFalse(PatternUtil.isLiteralReplacement(null));
+    }
+}
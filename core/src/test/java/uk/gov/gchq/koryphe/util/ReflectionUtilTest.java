@@ -24,18 +24,22 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import uk.gov.gchq.koryphe.Since;
 import uk.gov.gchq.koryphe.serialisation.json.obj.first.TestCustomNumber;
 
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class ReflectionUtilTest {
 
@@ -43,7 +47,7 @@ public class ReflectionUtilTest {
     @AfterEach
     public void cleanUp() {
         ReflectionUtil.resetReflectionPackages();
-        ReflectionUtil.resetReflectionCache();
+        ReflectionUtil.setUseClassIndex(true);
     }
 
     @Test
@@ -168,4 +172,59 @@ public class ReflectionUtilTest {
         expected.add(UnsignedLong.class.getPackage().getName());
         assertEquals(expected, ReflectionUtil.getReflectionPackages());
     }
+
+    @Test
+    public void shouldKeepTheClassIndexWhenPackagesAreAdded() {
+        // Given
+        final ClassIndex index = ReflectionUtil.getClassIndex();
+
+        // When
+        ReflectionUtil.addReflectionPackages(UnsignedLong.class.getPackage().getName());
+
+        // Then
+        assertSame(index, ReflectionUtil.getClassIndex());
+        assertThat(ReflectionUtil.getSubTypes(Number.class), IsCollectionContaining.hasItem(UnsignedLong.class));
+    }
+
+    @Test
+    public void shouldOnlyScanPackagesThatAreNotCoveredByTheClassIndex() {
+        // When
+        final ClassIndex index = ReflectionUtil.getClassIndex();
+
+        // Then
+        assertTrue(index.isCovered("uk.gov.gchq.koryphe"));
+        assertTrue(index.isCovered("uk.gov.gchq.koryphe.impl.function"));
+        assertFalse(index.isCovered("uk.gov.gchq"));
+        assertFalse(index.isCovered(UnsignedLong.class.getPackage().getName()));
+    }
+
+    @Test
+    public void shouldReturnTheSameSubTypesWithoutTheClassIndex() {
+        // Given
+        ReflectionUtil.addReflectionPackages(UnsignedLong.class.getPackage().getName());
+        final Set<Class> numbers = ReflectionUtil.getSubTypes(Number.class);
+        final Set<Class> functions = ReflectionUtil.getSubTypes(Function.class);
+        final Set<Class> predicates = ReflectionUtil.getSubTypes(Predicate.class);
+
+        // When
+        ReflectionUtil.setUseClassIndex(false);
+
+        // Then
+        assertEquals(ReflectionUtil.getSubTypes(Number.class), numbers);
+        assertEquals(ReflectionUtil.getSubTypes(Function.class), functions);
+        assertEquals(ReflectionUtil.getSubTypes(Predicate.class), predicates);
+    }
+
+    @Test
+    public void shouldReturnTheSameAnnotatedTypesWithoutTheClassIndex() {
+        // Given
+        final Set<Class> annotated = ReflectionUtil.getAnnotatedTypes(Since.class);
+
+        // When
+        ReflectionUtil.setUseClassIndex(false);
+
+        // Then
+        assertFalse(annotated.isEmpty());
+        assertEquals(ReflectionUtil.getAnnotatedTypes(Since.class), annotated);
+    }
 }